@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.formatters;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks highlighting realistic HQL statements with {@link QueryHighlighter}.
+ *
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class QueryHighlighterBenchmark {
+
+	@Param({"simple", "join", "subquery"})
+	public String query;
+
+	private final QueryHighlighter highlighter = new QueryHighlighter();
+	private String hql;
+
+	@Setup
+	public void setUp() {
+		if ("simple".equals(query)) {
+			hql = "from net.sf.hibernate.jconsole.model.Customer c where c.name = :name";
+		} else if ("join".equals(query)) {
+			hql = "select distinct o from net.sf.hibernate.jconsole.model.Order o " +
+					"inner join fetch o.customer c left outer join fetch o.lines l " +
+					"where o.created between :from and :to and (c.region in (:regions) or c.vip = true) " +
+					"and l.quantity >= 10 order by o.created desc, c.name asc";
+		} else {
+			hql = "select c.name, count(o), sum(l.price * l.quantity) " +
+					"from net.sf.hibernate.jconsole.model.Customer c join c.orders o join o.lines l " +
+					"where not exists (select 1 from net.sf.hibernate.jconsole.model.Complaint x " +
+					"where x.customer = c and x.status <> 'CLOSED') and o.total > ( " +
+					"select avg(o2.total) from net.sf.hibernate.jconsole.model.Order o2 where o2.region = c.region) " +
+					"group by c.name having count(o) > 5 order by 3 desc";
+		}
+	}
+
+	@Benchmark
+	public String highlight() {
+		return highlighter.highlight(hql);
+	}
+}
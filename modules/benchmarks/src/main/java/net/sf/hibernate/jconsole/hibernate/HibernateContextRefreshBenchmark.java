@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.hibernate;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks a full {@link HibernateContext#refresh()} against an in-process MBean server.
+ * <p/>
+ * Every refresh follows an update of 10 keys, thus the refresh transfers a realistic amount of changes
+ * besides the counters, key list fingerprints and samples.
+ *
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class HibernateContextRefreshBenchmark {
+
+	@Param({"100", "2000"})
+	public int keys;
+
+	private SyntheticStatistics statistics;
+	private HibernateContext context;
+
+	@Setup
+	public void setUp() throws Exception {
+		statistics = new SyntheticStatistics(keys);
+		context = statistics.newContext();
+		context.refresh();
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		statistics.close();
+	}
+
+	@Benchmark
+	public long refresh() throws Exception {
+		statistics.advance(10);
+		context.refresh();
+		return context.getRefreshCount();
+	}
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.hibernate;
+
+import net.sf.hibernate.jconsole.ui.EntitiesTable;
+import net.sf.hibernate.jconsole.ui.QueriesTable;
+import net.sf.hibernate.jconsole.ui.widgets.AbstractRefreshableJTable;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Macro benchmark measuring how the plugin scales with the size of the monitored application.
+ * <p/>
+ * For every key count, {@link SyntheticStatistics} simulates an application with the given amount of queries and
+ * a tenth of it as entities and collections. The benchmark reports the latency of the first and of the following
+ * refreshes of {@link HibernateContext}, the latency of refreshing the queries and entities tables and the heap
+ * retained by the context after the refreshes.
+ * <p/>
+ * Run with: <code>mvn -Pscale-benchmark verify</code> or
+ * <code>java -Djava.awt.headless=true -cp ... net.sf.hibernate.jconsole.hibernate.StatisticsScaleBenchmark
+ * [-rmi] [keys...]</code>, "-rmi" reads the statistics through a loopback RMI connector instead of in-process.
+ *
+ * @version 1.0
+ */
+public class StatisticsScaleBenchmark {
+
+	private static final int REFRESHES = 20;
+	private static final int SESSIONS_PER_REFRESH = 1000;
+
+	private final boolean remote;
+
+	public StatisticsScaleBenchmark(boolean remote) {
+		this.remote = remote;
+	}
+
+	/**
+	 * Runs the benchmark for the given amount of keys and prints a single result line.
+	 *
+	 * @param keys the amount of queries, the amount of entities and collections is a tenth of it.
+	 * @throws Exception in case of the benchmark failed.
+	 */
+	public void run(int keys) throws Exception {
+		SyntheticStatistics statistics = new SyntheticStatistics(Math.max(1, keys / 10), Math.max(1, keys / 10),
+				Math.max(1, keys / 100), keys);
+		try {
+			// Initializes the MBeans and classes used by every context before taking the heap baseline.
+			newContext(statistics).refresh();
+			long baseline = usedHeap();
+
+			HibernateContext context = newContext(statistics);
+			long time = System.nanoTime();
+			context.refresh();
+			long firstRefresh = System.nanoTime() - time;
+
+			long[] refreshes = new long[REFRESHES];
+			for (int i = 0; i < refreshes.length; i++) {
+				statistics.advance(SESSIONS_PER_REFRESH);
+				time = System.nanoTime();
+				context.refresh();
+				refreshes[i] = System.nanoTime() - time;
+			}
+			Arrays.sort(refreshes);
+
+			long retainedHeap = usedHeap() - baseline;
+
+			long queriesTable = refreshTable(new QueriesTable(), context);
+			long entitiesTable = refreshTable(new EntitiesTable(), context);
+
+			System.out.printf("%-8d %-6s %10.1f %10.1f %10.1f %10.1f %10.1f %12.1f%n", keys,
+					remote ? "rmi" : "local", millis(firstRefresh), millis(refreshes[refreshes.length / 2]),
+					millis(refreshes[refreshes.length - 1]), millis(queriesTable), millis(entitiesTable),
+					retainedHeap / (1024D * 1024D));
+
+			// Keeps the context reachable until the heap was measured.
+			if (context.getRefreshCount() == 0)
+				throw new IllegalStateException("The context was not refreshed.");
+		} finally {
+			statistics.close();
+		}
+	}
+
+	private HibernateContext newContext(SyntheticStatistics statistics) throws Exception {
+		return remote ? statistics.newRemoteContext() : statistics.newContext();
+	}
+
+	/**
+	 * Returns the median time of refreshing the given table with the statistics of the context.
+	 */
+	private static long refreshTable(AbstractRefreshableJTable<?> table, HibernateContext context) {
+		JScrollPane scrollPane = new JScrollPane(table);
+		scrollPane.setSize(1024, 768);
+		table.refresh(context);
+
+		long[] times = new long[5];
+		for (int i = 0; i < times.length; i++) {
+			long time = System.nanoTime();
+			table.refresh(context);
+			times[i] = System.nanoTime() - time;
+		}
+		Arrays.sort(times);
+		return times[times.length / 2];
+	}
+
+	private static long usedHeap() throws InterruptedException {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+			Thread.sleep(100);
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	private static double millis(long nanos) {
+		return nanos / 1000000D;
+	}
+
+	public static void main(String[] args) throws Exception {
+		boolean remote = false;
+		List<Integer> keys = new ArrayList<Integer>();
+		for (String arg : args) {
+			if ("-rmi".equals(arg))
+				remote = true;
+			else
+				keys.add(Integer.parseInt(arg));
+		}
+		if (keys.isEmpty())
+			keys.addAll(Arrays.asList(1000, 10000, 100000));
+
+		System.out.printf("%-8s %-6s %10s %10s %10s %10s %10s %12s%n", "keys", "mode", "first ms", "median ms",
+				"max ms", "queries ms", "entities ms", "retained MB");
+		StatisticsScaleBenchmark benchmark = new StatisticsScaleBenchmark(remote);
+		for (Integer count : keys)
+			benchmark.run(count);
+	}
+}
@@ -0,0 +1,404 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.hibernate;
+
+import net.sf.hibernate.jconsole.util.HibernateJmxBinding;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.Region;
+import org.hibernate.engine.SessionFactoryImplementor;
+import org.hibernate.stat.StatisticsImpl;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXConnectorServer;
+import javax.management.remote.JMXConnectorServerFactory;
+import javax.management.remote.JMXServiceURL;
+import javax.management.remote.rmi.RMIConnectorServer;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.rmi.registry.LocateRegistry;
+import java.rmi.registry.Registry;
+import java.rmi.server.RMIServerSocketFactory;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.*;
+
+/**
+ * Simulates the statistics of a large application without running one.
+ * <p/>
+ * A synthetic session factory declares the configured amount of entities, collections, cache regions and
+ * queries and uses Hibernate's own statistics implementation. The statistics are published with
+ * {@link HibernateJmxBinding} to a private MBean server, exactly like inside a monitored application. They can be
+ * read in-process ({@link #newContext()}) or through a JMX connector server on the loopback interface
+ * ({@link #newRemoteContext()}), which adds the real costs of RMI and serialization.
+ * <p/>
+ * Counters evolve with {@link #advance(int)}, which simulates sessions that access a few hot keys much more often
+ * than the long tail of other keys. All data is derived from a fixed seed, runs with the same configuration
+ * produce the same statistics.
+ * <p/>
+ * Run as stand-in application with:
+ * <code>java -cp ... net.sf.hibernate.jconsole.hibernate.SyntheticStatistics [entities] [collections]
+ * [regions] [queries]</code> and connect JConsole to the printed service URL.
+ *
+ * @version 1.0
+ */
+public class SyntheticStatistics {
+
+	private final String[] entities, collections, regions, queries;
+	private final Random random;
+
+	private final StatisticsImpl statistics;
+	private final SessionFactory sessionFactory;
+	private final MBeanServer mBeanServer = MBeanServerFactory.newMBeanServer();
+	private final HibernateJmxBinding binding;
+
+	private Registry registry;
+	private JMXConnectorServer connectorServer;
+	private final List<JMXConnector> connectors = new ArrayList<JMXConnector>();
+
+	/**
+	 * Creates and publishes statistics with the given amount of entities, collections and queries, using one
+	 * cache region for every 10 entities.
+	 *
+	 * @param keys the amount of entities, collections and queries.
+	 * @throws Exception in case of publishing the statistics failed.
+	 */
+	public SyntheticStatistics(int keys) throws Exception {
+		this(keys, keys, Math.max(1, keys / 10), keys);
+	}
+
+	/**
+	 * Creates and publishes statistics with the given amount of keys.
+	 *
+	 * @param entityCount     the amount of entities.
+	 * @param collectionCount the amount of collection roles.
+	 * @param regionCount     the amount of second level cache regions.
+	 * @param queryCount      the amount of distinct query strings.
+	 * @throws Exception in case of publishing the statistics failed.
+	 */
+	public SyntheticStatistics(int entityCount, int collectionCount, int regionCount, int queryCount)
+			throws Exception {
+		random = new Random(31L * (31L * (31L * entityCount + collectionCount) + regionCount) + queryCount);
+
+		entities = new String[entityCount];
+		for (int i = 0; i < entityCount; i++)
+			entities[i] = "net.sf.hibernate.jconsole.model.module" + (i % 50) + ".Entity" + i;
+		collections = new String[collectionCount];
+		for (int i = 0; i < collectionCount; i++)
+			collections[i] = entities[i % Math.max(1, entityCount)] + ".children" + (i / Math.max(1, entityCount));
+		regions = new String[regionCount];
+		for (int i = 0; i < regionCount; i++)
+			regions[i] = "net.sf.hibernate.jconsole.model.region" + i;
+		queries = new String[queryCount];
+		for (int i = 0; i < queryCount; i++)
+			queries[i] = toQuery(i);
+
+		sessionFactory = (SessionFactory) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class[]{SessionFactoryImplementor.class}, new SessionFactoryHandler());
+		statistics = new StatisticsImpl((SessionFactoryImplementor) sessionFactory);
+		statistics.setStatisticsEnabled(true);
+
+		// Every key is used once, thus all statistics exist from the beginning.
+		for (String entity : entities)
+			statistics.loadEntity(entity);
+		for (String collection : collections)
+			statistics.loadCollection(collection);
+		for (String region : regions)
+			statistics.secondLevelCachePut(region);
+		for (String query : queries)
+			statistics.queryExecuted(query, random.nextInt(100), toExecutionTime());
+
+		binding = new HibernateJmxBinding(mBeanServer, sessionFactory);
+		binding.registerJmxBinding();
+	}
+
+	private String toQuery(int index) {
+		String entity = entities.length == 0 ? "Entity" : entities[index % entities.length];
+		switch (index % 4) {
+			case 0:
+				return "from " + entity + " e where e.id = " + index;
+			case 1:
+				return "select e from " + entity + " e left join fetch e.children c where c.created > :since " +
+						"and e.state in (" + index + ", " + (index + 1) + ") order by c.created desc";
+			case 2:
+				return "select count(e), max(e.version) from " + entity + " e where e.owner.id = :owner " +
+						"and e.version > " + index + " group by e.state";
+			default:
+				return "update " + entity + " e set e.version = e.version + 1 where e.id in (select x.id from " +
+						entity + " x where x.batch = " + index + ")";
+		}
+	}
+
+	/**
+	 * Returns an index in the range 0 to count, preferring low indexes (hot keys).
+	 */
+	private int pick(int count) {
+		double value = random.nextDouble();
+		return (int) (count * value * value * value);
+	}
+
+	private long toExecutionTime() {
+		return 1 + (long) (-Math.log(1 - random.nextDouble()) * 20);
+	}
+
+	/**
+	 * Simulates the given amount of sessions, every session loads entities and collections, uses the cache and
+	 * executes a query.
+	 *
+	 * @param sessions the amount of sessions to simulate.
+	 */
+	public void advance(int sessions) {
+		for (int i = 0; i < sessions; i++) {
+			statistics.openSession();
+
+			if (entities.length > 0) {
+				String entity = entities[pick(entities.length)];
+				statistics.loadEntity(entity);
+				int action = random.nextInt(100);
+				if (action < 20)
+					statistics.fetchEntity(entity);
+				else if (action < 30)
+					statistics.updateEntity(entity);
+				else if (action < 35)
+					statistics.insertEntity(entity);
+				else if (action < 36)
+					statistics.deleteEntity(entity);
+			}
+			if (collections.length > 0) {
+				String collection = collections[pick(collections.length)];
+				statistics.loadCollection(collection);
+				if (random.nextInt(10) == 0)
+					statistics.updateCollection(collection);
+			}
+			if (regions.length > 0) {
+				String region = regions[pick(regions.length)];
+				if (random.nextInt(10) < 8)
+					statistics.secondLevelCacheHit(region);
+				else {
+					statistics.secondLevelCacheMiss(region);
+					statistics.secondLevelCachePut(region);
+				}
+			}
+			if (queries.length > 0)
+				statistics.queryExecuted(queries[pick(queries.length)], random.nextInt(100), toExecutionTime());
+
+			statistics.prepareStatement();
+			statistics.closeStatement();
+			statistics.flush();
+			statistics.endTransaction(random.nextInt(100) != 0);
+			statistics.closeSession();
+		}
+	}
+
+	/**
+	 * Creates a new context that reads the statistics from the in-process MBean server.
+	 *
+	 * @return a new context that reads the statistics from the in-process MBean server.
+	 */
+	public HibernateContext newContext() {
+		HibernateContext context = new HibernateContext();
+		context.setConnection(mBeanServer);
+		return context;
+	}
+
+	/**
+	 * Creates a new context that reads the statistics through the JMX connector server.
+	 *
+	 * @return a new context that reads the statistics through the JMX connector server.
+	 * @throws IOException in case of connecting failed.
+	 */
+	public HibernateContext newRemoteContext() throws IOException {
+		JMXConnector connector = JMXConnectorFactory.connect(startConnectorServer());
+		synchronized (connectors) {
+			connectors.add(connector);
+		}
+
+		HibernateContext context = new HibernateContext();
+		context.setConnection(connector.getMBeanServerConnection());
+		return context;
+	}
+
+	/**
+	 * Starts an RMI connector server on the loopback interface, unless already started.
+	 *
+	 * @return the service URL of the connector server.
+	 * @throws IOException in case of starting the server failed.
+	 */
+	public synchronized JMXServiceURL startConnectorServer() throws IOException {
+		if (connectorServer == null) {
+			final InetAddress loopback = InetAddress.getByName(null);
+			RMIServerSocketFactory socketFactory = new RMIServerSocketFactory() {
+				public ServerSocket createServerSocket(int port) throws IOException {
+					return new ServerSocket(port, 0, loopback);
+				}
+			};
+
+			int port;
+			ServerSocket socket = new ServerSocket(0, 0, loopback);
+			try {
+				port = socket.getLocalPort();
+			} finally {
+				socket.close();
+			}
+
+			registry = LocateRegistry.createRegistry(port, null, socketFactory);
+			Map<String, Object> environment = new HashMap<String, Object>();
+			environment.put(RMIConnectorServer.RMI_SERVER_SOCKET_FACTORY_ATTRIBUTE, socketFactory);
+
+			JMXServiceURL url = new JMXServiceURL("service:jmx:rmi://" + loopback.getHostAddress() +
+					"/jndi/rmi://" + loopback.getHostAddress() + ":" + port + "/jmxrmi");
+			connectorServer = JMXConnectorServerFactory.newJMXConnectorServer(url, environment, mBeanServer);
+			connectorServer.start();
+		}
+		return connectorServer.getAddress();
+	}
+
+	/**
+	 * Returns the queries of the statistics.
+	 *
+	 * @return the queries of the statistics.
+	 */
+	public String[] getQueries() {
+		return queries.clone();
+	}
+
+	/**
+	 * Unpublishes the statistics and stops the connector server.
+	 *
+	 * @throws Exception in case of the operation failed.
+	 */
+	public synchronized void close() throws Exception {
+		synchronized (connectors) {
+			for (JMXConnector connector : connectors)
+				connector.close();
+			connectors.clear();
+		}
+		if (connectorServer != null) {
+			connectorServer.stop();
+			UnicastRemoteObject.unexportObject(registry, true);
+			connectorServer = null;
+		}
+
+		binding.unregisterJmxBinding();
+		MBeanServerFactory.releaseMBeanServer(mBeanServer);
+	}
+
+	/**
+	 * Answers the calls of Hibernate's statistics and JMX binding on the synthetic session factory.
+	 */
+	private final class SessionFactoryHandler implements InvocationHandler {
+
+		private final Map<String, Object> classMetadata = new LinkedHashMap<String, Object>();
+		private final Map<String, Object> collectionMetadata = new LinkedHashMap<String, Object>();
+		private final Map<String, Region> cacheRegions = new LinkedHashMap<String, Region>();
+
+		private SessionFactoryHandler() {
+			for (String entity : entities)
+				classMetadata.put(entity, null);
+			for (String collection : collections)
+				collectionMetadata.put(collection, null);
+			for (int i = 0; i < regions.length; i++)
+				cacheRegions.put(regions[i], newRegion(regions[i], 100L * (i + 1)));
+		}
+
+		private Region newRegion(final String name, final long elementCount) {
+			return (Region) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{Region.class},
+					new InvocationHandler() {
+						public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+							String methodName = method.getName();
+							if ("getName".equals(methodName) || "toString".equals(methodName))
+								return name;
+							if ("getElementCountInMemory".equals(methodName))
+								return elementCount;
+							if ("getSizeInMemory".equals(methodName))
+								return elementCount * 512;
+							if ("toMap".equals(methodName))
+								return Collections.emptyMap();
+							return toDefaultValue(method.getReturnType());
+						}
+					});
+		}
+
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			String methodName = method.getName();
+			if ("getStatistics".equals(methodName) || "getStatisticsImplementor".equals(methodName))
+				return statistics;
+			if ("getAllClassMetadata".equals(methodName))
+				return classMetadata;
+			if ("getAllCollectionMetadata".equals(methodName))
+				return collectionMetadata;
+			if ("getAllSecondLevelCacheRegions".equals(methodName))
+				return cacheRegions;
+			if ("getSecondLevelCacheRegion".equals(methodName))
+				return cacheRegions.get(args[0]);
+			if ("hashCode".equals(methodName))
+				return System.identityHashCode(proxy);
+			if ("equals".equals(methodName))
+				return proxy == args[0];
+			if ("toString".equals(methodName))
+				return "SyntheticSessionFactory";
+			throw new UnsupportedOperationException(methodName);
+		}
+	}
+
+	private static Object toDefaultValue(Class<?> type) {
+		if (type == long.class)
+			return 0L;
+		if (type == int.class)
+			return 0;
+		if (type == boolean.class)
+			return false;
+		return null;
+	}
+
+	/**
+	 * Runs the synthetic statistics as stand-in application that can be monitored with JConsole.
+	 *
+	 * @param args [entities] [collections] [regions] [queries]
+	 * @throws Exception in case of the application fails to start.
+	 */
+	public static void main(String[] args) throws Exception {
+		int entities = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+		int collections = args.length > 1 ? Integer.parseInt(args[1]) : entities;
+		int regions = args.length > 2 ? Integer.parseInt(args[2]) : Math.max(1, entities / 10);
+		int queries = args.length > 3 ? Integer.parseInt(args[3]) : 100000;
+
+		SyntheticStatistics statistics = new SyntheticStatistics(entities, collections, regions, queries);
+		System.out.println("Simulating " + entities + " entities, " + collections + " collections, " + regions +
+				" cache regions and " + queries + " queries at " + statistics.startConnectorServer());
+
+		final Thread thread = Thread.currentThread();
+		while (!thread.isInterrupted()) {
+			try {
+				statistics.advance(100);
+				Thread.sleep(100);
+			} catch (InterruptedException e) {
+				thread.interrupt();
+			}
+		}
+		statistics.close();
+	}
+}
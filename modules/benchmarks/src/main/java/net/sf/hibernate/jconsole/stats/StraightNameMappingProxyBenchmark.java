@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.stats;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks invoking statistics through {@link StraightNameMappingProxy}, comparing generated accessors with
+ * reflective proxies.
+ *
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class StraightNameMappingProxyBenchmark {
+
+	/**
+	 * Mimics a Hibernate query statistics implementation.
+	 */
+	public static class Delegate {
+		long count;
+
+		public long getExecutionCount() {
+			return count++;
+		}
+
+		public long getExecutionAvgTime() {
+			return count;
+		}
+
+		public long getCacheHitCount() {
+			return count;
+		}
+	}
+
+	private final Delegate delegate = new Delegate();
+	private final QueryStatistics accessor =
+			StraightNameMappingProxy.newInstance(QueryStatistics.class, delegate, 0L);
+	private final QueryStatistics reflectiveProxy =
+			StraightNameMappingProxy.newReflectiveInstance(QueryStatistics.class, delegate, 0L);
+
+	@Benchmark
+	public long generatedAccessor() {
+		return accessor.getExecutionCount() + accessor.getExecutionAvgTime() + accessor.getCacheHitCount();
+	}
+
+	@Benchmark
+	public long reflectiveProxy() {
+		return reflectiveProxy.getExecutionCount() + reflectiveProxy.getExecutionAvgTime() +
+				reflectiveProxy.getCacheHitCount();
+	}
+
+	@Benchmark
+	public QueryStatisticsRecord snapshot() {
+		return new QueryStatisticsRecord(accessor);
+	}
+}
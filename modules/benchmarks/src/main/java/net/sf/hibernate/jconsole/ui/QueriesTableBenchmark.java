@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.ui;
+
+import net.sf.hibernate.jconsole.hibernate.HibernateContext;
+import net.sf.hibernate.jconsole.hibernate.SyntheticStatistics;
+import org.openjdk.jmh.annotations.*;
+
+import javax.swing.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks refreshing a table with thousands of rows ({@link QueriesTable}, an {@code AbstractJTable}).
+ * <p/>
+ * The statistics are read once from {@link SyntheticStatistics}, every refresh updates all rows of the table.
+ *
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class QueriesTableBenchmark {
+
+	@Param({"1000", "5000"})
+	public int rows;
+
+	private SyntheticStatistics statistics;
+	private HibernateContext context;
+	private QueriesTable table;
+
+	@Setup
+	public void setUp() throws Exception {
+		statistics = new SyntheticStatistics(rows);
+		context = statistics.newContext();
+		context.refresh();
+
+		table = new QueriesTable();
+		JScrollPane scrollPane = new JScrollPane(table);
+		scrollPane.setSize(1024, 768);
+		table.refresh(context);
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		statistics.close();
+	}
+
+	@Benchmark
+	public int refresh() {
+		table.refresh(context);
+		return table.getRowCount();
+	}
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static net.sf.hibernate.jconsole.util.DataTable.Column;
+import static net.sf.hibernate.jconsole.util.DataTable.DataFlavour;
+
+/**
+ * Benchmarks adding rows to, shrinking and reading the maximum of a full {@link DataTable}.
+ *
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DataTableBenchmark {
+
+	@Param({"1000", "5000"})
+	public int rows;
+
+	private DataTable table;
+	private long timeStamp;
+
+	@Setup
+	public void setUp() {
+		table = new DataTable(rows, new Column("Executions", DataFlavour.absolute),
+				new Column("Average Time", DataFlavour.average), new Column("Hit Ratio", DataFlavour.percentage),
+				new Column("Loads", DataFlavour.absolute));
+		for (int i = 0; i < rows; i++)
+			addRow();
+	}
+
+	private boolean addRow() {
+		timeStamp += 1000;
+		return table.add(timeStamp, timeStamp / 1000, timeStamp % 97, (timeStamp % 100) / 100D, timeStamp % 13);
+	}
+
+	@Benchmark
+	public boolean add() {
+		return addRow();
+	}
+
+	@Benchmark
+	public DataTable shrinkToSize() {
+		return table.shrinkToSize(rows / 10);
+	}
+
+	@Benchmark
+	public double getMaxValue() {
+		return table.getMaxValue();
+	}
+}
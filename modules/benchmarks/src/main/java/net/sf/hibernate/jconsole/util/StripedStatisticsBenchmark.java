@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.hibernate.jconsole.util;
+
+import org.hibernate.stat.ConcurrentStatisticsImpl;
+import org.hibernate.stat.Statistics;
+import org.hibernate.stat.StatisticsImpl;
+import org.hibernate.stat.StatisticsImplementor;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks recording the statistics events of a session with 64 threads, comparing Hibernate's statistics
+ * implementations with {@link StripedStatistics} decorating Hibernate's concurrent implementation.
+ * <p/>
+ * 'synchronized' is Hibernate's StatisticsImpl (synchronizing every event), 'concurrent' is Hibernate's
+ * ConcurrentStatisticsImpl (3.5 and newer) and 'striped' is StripedStatistics installed on top of the latter.
+ * With 'keys' = 1 all threads update the counters of the same entity and query.
+ *
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Threads(64)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class StripedStatisticsBenchmark {
+
+	@Param({"synchronized", "concurrent", "striped"})
+	String implementation;
+
+	@Param({"1", "64"})
+	int keys;
+
+	StatisticsImplementor statistics;
+	String[] entities, queries;
+
+	@Setup
+	public void setUp() {
+		if ("synchronized".equals(implementation))
+			statistics = new StatisticsImpl();
+		else if ("concurrent".equals(implementation))
+			statistics = new ConcurrentStatisticsImpl();
+		else {
+			statistics = (StatisticsImplementor) Proxy.newProxyInstance(getClass().getClassLoader(),
+					new Class[]{StatisticsImplementor.class, Statistics.class},
+					new StripedStatistics(new ConcurrentStatisticsImpl()));
+		}
+
+		entities = new String[keys];
+		queries = new String[keys];
+		for (int i = 0; i < keys; i++) {
+			entities[i] = "net.sf.hibernate.jconsole.Entity" + i;
+			queries[i] = "from Entity" + i + " e where e.id = :id";
+		}
+	}
+
+	/**
+	 * Selects the entity and query used by a thread.
+	 */
+	@State(Scope.Thread)
+	public static class ThreadKey {
+		private static int threads;
+		int index;
+
+		@Setup
+		public void setUp() {
+			synchronized (ThreadKey.class) {
+				index = threads++;
+			}
+		}
+	}
+
+	@Benchmark
+	public void session(ThreadKey threadKey) {
+		String entity = entities[threadKey.index % keys], query = queries[threadKey.index % keys];
+
+		statistics.openSession();
+		statistics.connect();
+		statistics.prepareStatement();
+		statistics.queryExecuted(query, 1, 2L);
+		statistics.closeStatement();
+		statistics.loadEntity(entity);
+		statistics.fetchEntity(entity);
+		statistics.flush();
+		statistics.endTransaction(true);
+		statistics.closeSession();
+	}
+
+	@Benchmark
+	public long read() {
+		Statistics reader = (Statistics) statistics;
+		return reader.getEntityStatistics(entities[0]).getLoadCount() +
+				reader.getQueryStatistics(queries[0]).getExecutionCount() + reader.getSessionOpenCount();
+	}
+}
@@ -19,13 +19,13 @@
 
 package net.sf.hibernate.jconsole.hibernate;
 
-import net.sf.hibernate.jconsole.AbstractStatisticsContext;
 import net.sf.hibernate.jconsole.stats.Names;
+import net.sf.hibernate.jconsole.stats.StatisticsDelta;
 import net.sf.hibernate.jconsole.util.ClasspathUtil;
-import net.sf.hibernate.jconsole.util.HibernateJmxBinding;
 import net.sf.hibernate.jconsole.util.JMXUtil;
+import net.sf.hibernate.jconsole.util.StatisticsObjectNames;
+import net.sf.hibernate.jconsole.util.StatisticsSnapshotServiceMBean;
 
-import javax.management.Attribute;
 import javax.management.MBeanServerConnection;
 import java.io.File;
 import java.io.FilenameFilter;
@@ -34,11 +34,14 @@ import java.util.*;
 
 /**
  * Is a local context that is used to cache and exchange statistical information.
+ * <p/>
+ * Statistics are read as open data when the connected application offers them (see {@link OpenDataContext}),
+ * otherwise Hibernate's statistics objects are transferred, which requires Hibernate in the class path.
  *
  * @author Juergen_Kellerer, 2009-11-19
  * @version 1.0
  */
-public class HibernateContext extends AbstractStatisticsContext {
+public class HibernateContext extends OpenDataContext {
 
 	private static final long serialVersionUID = -7295609157873741739L;
 
@@ -58,7 +61,6 @@ public class HibernateContext extends AbstractStatisticsContext {
 	};
 
 	private boolean classPathInitialized, instanceNotFoundReported;
-	private Map<Names, Object> attributes = new HashMap<Names, Object>();
 
 	boolean findAndAddHibernateJars(String[] searchPath) {
 		for (String s : searchPath) {
@@ -122,7 +124,9 @@ public class HibernateContext extends AbstractStatisticsContext {
 	@Override
 	public void setConnection(MBeanServerConnection connection) {
 		super.setConnection(connection);
-		initializeClasspath();
+		// Hibernate's classes are not required when reading open data.
+		if (!isOpenDataAvailable())
+			initializeClasspath();
 	}
 
 	/**
@@ -133,6 +137,8 @@ public class HibernateContext extends AbstractStatisticsContext {
 		MBeanServerConnection c = getConnection();
 		if (c == null)
 			return true;
+		if (isOpenDataAvailable())
+			return super.isEnabled();
 
 		try {
 			// Lookup the hibernate classes inside the system class loader, making them
@@ -148,7 +154,7 @@ public class HibernateContext extends AbstractStatisticsContext {
 		}
 
 		try {
-			return c.isRegistered(HibernateJmxBinding.HIBERNATE_STATISTICS);
+			return c.isRegistered(StatisticsObjectNames.HIBERNATE_STATISTICS);
 		} catch (IOException e) {
 			throw new RuntimeException(e);
 		}
@@ -188,19 +194,28 @@ public class HibernateContext extends AbstractStatisticsContext {
 
 	/**
 	 * {@inheritDoc}
+	 * <p/>
+	 * Deltas are used when the connected application registered the companion MBean
+	 * {@link StatisticsObjectNames#HIBERNATE_STATISTICS_SNAPSHOT}, they are read as open data if supported.
 	 */
 	@Override
-	protected Map<Names, Object> getAttributes(List<Names> attributeNames) throws Exception {
-		String[] names = new String[attributeNames.size()];
-		Iterator<Names> iN = attributeNames.iterator();
-		for (int i = 0; i < names.length; i++)
-			names[i] = iN.next().name();
-
-		List<Attribute> attributeList = getConnection().
-				getAttributes(HibernateJmxBinding.HIBERNATE_STATISTICS, names).asList();
-		for (Attribute attribute : attributeList)
-			attributes.put(Names.valueOf(attribute.getName()), attribute.getValue());
-
-		return attributes;
+	@SuppressWarnings("unchecked")
+	protected StatisticsDelta getStatisticsChangedSince(long version) throws Exception {
+		if (isOpenDataAvailable())
+			return super.getStatisticsChangedSince(version);
+		if (!getConnection().isRegistered(StatisticsObjectNames.HIBERNATE_STATISTICS_SNAPSHOT))
+			return null;
+
+		long newVersion = 0;
+		Map<String, Object> changes = Methods.getStatisticsChangedSince.invoke(getConnection(), version);
+		Map<Names, Map<String, ?>> changedStatistics = new EnumMap<Names, Map<String, ?>>(Names.class);
+		for (Map.Entry<String, Object> entry : changes.entrySet()) {
+			if (StatisticsSnapshotServiceMBean.STATISTICS_VERSION.equals(entry.getKey()))
+				newVersion = (Long) entry.getValue();
+			else
+				changedStatistics.put(Names.valueOf(entry.getKey()), (Map<String, ?>) entry.getValue());
+		}
+
+		return new StatisticsDelta(newVersion, changedStatistics);
 	}
 }
@@ -24,7 +24,9 @@ import net.sf.hibernate.jconsole.stats.Names;
 import javax.management.*;
 import java.io.IOException;
 
-import static net.sf.hibernate.jconsole.util.HibernateJmxBinding.HIBERNATE_STATISTICS;
+import static net.sf.hibernate.jconsole.util.StatisticsObjectNames.HIBERNATE_STATISTICS;
+import static net.sf.hibernate.jconsole.util.StatisticsObjectNames.HIBERNATE_STATISTICS_SAMPLER;
+import static net.sf.hibernate.jconsole.util.StatisticsObjectNames.HIBERNATE_STATISTICS_SNAPSHOT;
 
 /**
  * Enumerates used methods.
@@ -38,6 +40,15 @@ public enum Methods {
 	getCollectionStatistics(HIBERNATE_STATISTICS, Names.getCollectionStatistics, String.class.getName()),
 	getSecondLevelCacheStatistics(HIBERNATE_STATISTICS, Names.getSecondLevelCacheStatistics, String.class.getName()),
 	getQueryStatistics(HIBERNATE_STATISTICS, Names.getQueryStatistics, String.class.getName()),
+	getStatisticsChangedSince(HIBERNATE_STATISTICS_SNAPSHOT, Names.getStatisticsChangedSince, long.class.getName()),
+	getStatisticsDataChangedSince(HIBERNATE_STATISTICS_SNAPSHOT, Names.getStatisticsDataChangedSince,
+			long.class.getName()),
+	fingerprintKeyLists(HIBERNATE_STATISTICS_SNAPSHOT, Names.fingerprintKeyLists),
+	getKeyListSince(HIBERNATE_STATISTICS_SNAPSHOT, Names.getKeyListSince,
+			String.class.getName(), int.class.getName(), long.class.getName()),
+	getSamplesSince(HIBERNATE_STATISTICS_SAMPLER, Names.getSamplesSince, long.class.getName()),
+	getQueryLatencyHistograms(HIBERNATE_STATISTICS_SNAPSHOT, Names.getQueryLatencyHistograms,
+			String[].class.getName()),
 	clear(HIBERNATE_STATISTICS, Names.clear),;
 
 	private ObjectName mBeanName;
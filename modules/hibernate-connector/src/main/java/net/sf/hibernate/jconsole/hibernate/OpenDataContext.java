@@ -0,0 +1,370 @@
+/*
+ * Copyright (c) 2010
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.hibernate;
+
+import net.sf.hibernate.jconsole.AbstractStatisticsContext;
+import net.sf.hibernate.jconsole.stats.KeyListFingerprint;
+import net.sf.hibernate.jconsole.stats.LatencyHistogram;
+import net.sf.hibernate.jconsole.stats.Names;
+import net.sf.hibernate.jconsole.stats.StatisticsDelta;
+import net.sf.hibernate.jconsole.stats.StatisticsOpenTypes;
+import net.sf.hibernate.jconsole.stats.StatisticsSamples;
+import net.sf.hibernate.jconsole.util.StatisticsObjectNames;
+import net.sf.hibernate.jconsole.util.StatisticsSamplerMBean;
+import net.sf.hibernate.jconsole.util.StatisticsSnapshotServiceMBean;
+
+import javax.management.Attribute;
+import javax.management.AttributeNotFoundException;
+import javax.management.InstanceNotFoundException;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanServerConnection;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Is a context that reads all statistics as JMX open data and therefore does not require Hibernate on the
+ * JConsole side.
+ * <p/>
+ * Counters and key lists are plain attributes of Hibernate's statistics MBean, while the statistics of entities,
+ * collections, queries and cache regions are read in bulk from the companion MBean
+ * {@link StatisticsObjectNames#HIBERNATE_STATISTICS_SNAPSHOT} as {@link CompositeData} and {@link TabularData}.
+ * The open data is decoded directly into immutable statistics records, thus no Hibernate classes need to be
+ * loaded and no Java serialization of Hibernate's statistics objects is involved.
+ *
+ * @version 1.0
+ */
+public class OpenDataContext extends AbstractStatisticsContext {
+
+	private static final long serialVersionUID = 2262370717811395155L;
+
+	private static final Names[] STATISTICS_CATEGORIES = {Names.getEntityStatistics,
+			Names.getCollectionStatistics, Names.getQueryStatistics, Names.getSecondLevelCacheStatistics};
+
+	/**
+	 * Defines the interval in milliseconds to check again whether a snapshot MBean that was missing is registered.
+	 */
+	static final long SNAPSHOT_RECHECK_INTERVAL = 2000;
+
+	// The operations of the snapshot MBean, 'null' if not yet read from the connection.
+	private transient volatile Set<String> snapshotOperations;
+	// The time when the snapshot MBean was found to be missing, checking again after the recheck interval.
+	private transient volatile long snapshotMissingSince;
+
+	// The key lists as returned by the snapshot MBean, used to fetch appended keys only.
+	private final Map<Names, String[]> keyLists = new EnumMap<Names, String[]>(Names.class);
+	private final Map<Names, Long> keyListHashes = new EnumMap<Names, Long>(Names.class);
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setConnection(MBeanServerConnection connection) {
+		if (getConnection() != connection) {
+			resetSnapshotOperations();
+			synchronized (keyLists) {
+				keyLists.clear();
+				keyListHashes.clear();
+			}
+		}
+		super.setConnection(connection);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * When an MBean disappears (e.g. because the application was redeployed), the operations of the snapshot
+	 * MBean are read again with the next refresh.
+	 */
+	@Override
+	public void refresh() throws Exception {
+		try {
+			super.refresh();
+		} catch (InstanceNotFoundException e) {
+			resetSnapshotOperations();
+			throw e;
+		}
+	}
+
+	private void resetSnapshotOperations() {
+		snapshotOperations = null;
+		snapshotMissingSince = 0;
+	}
+
+	/**
+	 * Returns true if the connected application offers the statistics as open data.
+	 *
+	 * @return true if the connected application offers the statistics as open data.
+	 */
+	protected boolean isOpenDataAvailable() {
+		return isSnapshotOperationAvailable(Names.getStatisticsDataChangedSince);
+	}
+
+	/**
+	 * Returns true if the companion MBean {@link StatisticsObjectNames#HIBERNATE_STATISTICS_SNAPSHOT} is registered
+	 * and offers the given operation (older versions of the MBean do not offer all operations).
+	 * <p/>
+	 * The operations are cached while the MBean is registered. A missing MBean is checked again every
+	 * {@link #SNAPSHOT_RECHECK_INTERVAL} milliseconds, as the application may register it after JConsole attached.
+	 *
+	 * @param operation the operation to check.
+	 * @return true if the snapshot MBean offers the given operation.
+	 */
+	protected boolean isSnapshotOperationAvailable(Names operation) {
+		MBeanServerConnection c = getConnection();
+		if (c == null)
+			return false;
+
+		Set<String> operations = snapshotOperations;
+		if (operations == null) {
+			if (System.currentTimeMillis() - snapshotMissingSince < SNAPSHOT_RECHECK_INTERVAL)
+				return false;
+
+			operations = new HashSet<String>();
+			try {
+				if (!c.isRegistered(StatisticsObjectNames.HIBERNATE_STATISTICS_SNAPSHOT)) {
+					snapshotMissingSince = System.currentTimeMillis();
+					return false;
+				}
+				for (MBeanOperationInfo info : c.getMBeanInfo(
+						StatisticsObjectNames.HIBERNATE_STATISTICS_SNAPSHOT).getOperations())
+					operations.add(info.getName());
+			} catch (InstanceNotFoundException e) {
+				snapshotMissingSince = System.currentTimeMillis();
+				return false;
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+			snapshotOperations = operations;
+		}
+
+		return operations.contains(operation.name());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected boolean isEnabled() {
+		MBeanServerConnection c = getConnection();
+		if (c == null)
+			return true;
+
+		try {
+			return isOpenDataAvailable() && c.isRegistered(StatisticsObjectNames.HIBERNATE_STATISTICS);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * Note: Statistics are only available in bulk when reading open data, this method is not supported.
+	 */
+	@Override
+	protected Object getEntityStatisticsFor(String name) throws Exception {
+		throw new UnsupportedOperationException("Entity statistics are only available in bulk.");
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * Note: Statistics are only available in bulk when reading open data, this method is not supported.
+	 */
+	@Override
+	protected Object getCollectionStatisticsFor(String name) throws Exception {
+		throw new UnsupportedOperationException("Collection statistics are only available in bulk.");
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * Note: Statistics are only available in bulk when reading open data, this method is not supported.
+	 */
+	@Override
+	protected Object getQueryStatisticsFor(String name) throws Exception {
+		throw new UnsupportedOperationException("Query statistics are only available in bulk.");
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * Note: Statistics are only available in bulk when reading open data, this method is not supported.
+	 */
+	@Override
+	protected Object getCacheStatisticsFor(String cacheRegion) throws Exception {
+		throw new UnsupportedOperationException("Cache statistics are only available in bulk.");
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * Reads the changed statistics as open data and decodes them to immutable statistics records.
+	 */
+	@Override
+	protected StatisticsDelta getStatisticsChangedSince(long version) throws Exception {
+		if (!isOpenDataAvailable())
+			return null;
+
+		CompositeData changes = Methods.getStatisticsDataChangedSince.invoke(getConnection(), version);
+		Map<Names, Map<String, ?>> changedStatistics = new EnumMap<Names, Map<String, ?>>(Names.class);
+		for (Names category : STATISTICS_CATEGORIES) {
+			TabularData table = (TabularData) changes.get(category.name());
+			changedStatistics.put(category, StatisticsOpenTypes.fromTabularData(
+					StatisticsOpenTypes.getStatisticsInterface(category), table));
+		}
+
+		return new StatisticsDelta((Long) changes.get(StatisticsOpenTypes.VERSION_ITEM), changedStatistics);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * Reads the histograms from the MBean {@link StatisticsObjectNames#HIBERNATE_STATISTICS_SNAPSHOT}, when
+	 * it offers them.
+	 */
+	@Override
+	protected Map<String, LatencyHistogram> getQueryLatencyHistograms(Collection<String> queries) throws Exception {
+		if (!isSnapshotOperationAvailable(Names.getQueryLatencyHistograms))
+			return null;
+
+		Map<String, long[]> counts = Methods.getQueryLatencyHistograms.invoke(
+				getConnection(), (Object) queries.toArray(new String[queries.size()]));
+		Map<String, LatencyHistogram> histograms = new HashMap<String, LatencyHistogram>(counts.size() * 2);
+		for (Map.Entry<String, long[]> entry : counts.entrySet())
+			histograms.put(entry.getKey(), new LatencyHistogram(entry.getValue()));
+		return histograms;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * Reads the samples from the MBean {@link StatisticsObjectNames#HIBERNATE_STATISTICS_SAMPLER} when it is
+	 * registered. Sample times are translated to the local clock using the current time of the sampler.
+	 */
+	@Override
+	protected StatisticsSamples getSamplesSince(long sequence) throws Exception {
+		if (!getConnection().isRegistered(StatisticsObjectNames.HIBERNATE_STATISTICS_SAMPLER))
+			return null;
+
+		Map<String, long[]> samples = Methods.getSamplesSince.invoke(getConnection(), sequence);
+		long clockOffset = System.currentTimeMillis() - samples.get(StatisticsSamplerMBean.CURRENT_TIME)[0];
+
+		long[] timeStamps = samples.get(StatisticsSamplerMBean.SAMPLE_TIME);
+		for (int i = 0; i < timeStamps.length; i++)
+			timeStamps[i] += clockOffset;
+
+		Map<Names, long[]> values = new EnumMap<Names, long[]>(Names.class);
+		for (Names counter : Names.getAttributes(Names.Kind.counter)) {
+			long[] counterValues = samples.get(counter.name());
+			if (counterValues != null)
+				values.put(counter, counterValues);
+		}
+
+		return new StatisticsSamples(samples.get(StatisticsSamplerMBean.SAMPLE_SEQUENCE)[1], timeStamps, values);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * Reads the factor from the MBean {@link StatisticsObjectNames#HIBERNATE_STATISTICS_SNAPSHOT}, when it is
+	 * registered and offers it.
+	 */
+	@Override
+	protected int fetchSamplingFactor() throws Exception {
+		if (!getConnection().isRegistered(StatisticsObjectNames.HIBERNATE_STATISTICS_SNAPSHOT))
+			return 1;
+
+		try {
+			return (Integer) getConnection().getAttribute(StatisticsObjectNames.HIBERNATE_STATISTICS_SNAPSHOT,
+					StatisticsSnapshotServiceMBean.SAMPLING_FACTOR);
+		} catch (AttributeNotFoundException e) {
+			return 1; // Older versions of the MBean do not sample.
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * When the connected application registered the companion MBean
+	 * {@link StatisticsObjectNames#HIBERNATE_STATISTICS_SNAPSHOT}, the fingerprints of the key lists are compared
+	 * first and only the keys that were appended to changed lists are transferred.
+	 */
+	@Override
+	protected Map<Names, String[]> getChangedKeyLists() throws Exception {
+		if (!isSnapshotOperationAvailable(Names.fingerprintKeyLists))
+			return super.getChangedKeyLists();
+
+		Map<Names, String[]> changedKeyLists = new EnumMap<Names, String[]>(Names.class);
+		Map<String, long[]> fingerprints = Methods.fingerprintKeyLists.invoke(getConnection());
+
+		synchronized (keyLists) {
+			for (Map.Entry<String, long[]> entry : fingerprints.entrySet()) {
+				Names name = Names.valueOf(entry.getKey());
+				long[] fingerprint = entry.getValue();
+
+				String[] keys = keyLists.get(name);
+				Long hash = keyListHashes.get(name);
+				if (keys != null && keys.length == fingerprint[0] && hash == fingerprint[1])
+					continue;
+
+				String[] appendedKeys = keys == null ? null :
+						Methods.getKeyListSince.<String[]>invoke(getConnection(), name.name(), keys.length, hash);
+				if (appendedKeys == null) {
+					keys = new String[0];
+					hash = KeyListFingerprint.EMPTY_HASH;
+					appendedKeys = Methods.getKeyListSince.invoke(getConnection(), name.name(), 0, hash);
+				}
+
+				String[] newKeys = Arrays.copyOf(keys, keys.length + appendedKeys.length);
+				System.arraycopy(appendedKeys, 0, newKeys, keys.length, appendedKeys.length);
+				for (String key : appendedKeys)
+					hash = KeyListFingerprint.hash(hash, key);
+
+				keyLists.put(name, newKeys);
+				keyListHashes.put(name, hash);
+				changedKeyLists.put(name, newKeys);
+			}
+		}
+
+		return changedKeyLists;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected Map<Names, Object> getAttributes(List<Names> attributeNames) throws Exception {
+		String[] names = new String[attributeNames.size()];
+		Iterator<Names> iN = attributeNames.iterator();
+		for (int i = 0; i < names.length; i++)
+			names[i] = iN.next().name();
+
+		Map<Names, Object> attributes = new EnumMap<Names, Object>(Names.class);
+		List<Attribute> attributeList = getConnection().
+				getAttributes(StatisticsObjectNames.HIBERNATE_STATISTICS, names).asList();
+		for (Attribute attribute : attributeList)
+			attributes.put(Names.valueOf(attribute.getName()), attribute.getValue());
+
+		return attributes;
+	}
+}
@@ -26,31 +26,35 @@ import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.annotation.Resource;
 import javax.management.MBeanServer;
-import javax.management.MalformedObjectNameException;
 import javax.management.ObjectName;
 import java.lang.management.ManagementFactory;
+import java.util.logging.Logger;
 
 /**
  * Exposes Hibernate to JMX.
  */
 public class HibernateJmxBinding {
 
-	public static final ObjectName HIBERNATE_STATISTICS;
+	public static final ObjectName HIBERNATE_STATISTICS = StatisticsObjectNames.HIBERNATE_STATISTICS;
+	public static final ObjectName HIBERNATE_STATISTICS_SNAPSHOT = StatisticsObjectNames.HIBERNATE_STATISTICS_SNAPSHOT;
+	public static final ObjectName HIBERNATE_STATISTICS_SAMPLER = StatisticsObjectNames.HIBERNATE_STATISTICS_SAMPLER;
 
-	static {
-		try {
-			HIBERNATE_STATISTICS = new ObjectName(
-					System.getProperty("hibernate.mbean", "Hibernate:application=Statistics"));
-		} catch (MalformedObjectNameException e) {
-			throw new RuntimeException(e);
-		}
-	}
+	private static final Logger LOG = Logger.getLogger(HibernateJmxBinding.class.getName());
 
 	@Resource
 	protected MBeanServer mBeanServer;
 
 	protected SessionFactory sessionFactory;
 	protected ObjectName statisticsBeanName;
+	protected ObjectName statisticsSnapshotBeanName;
+	protected ObjectName statisticsSamplerBeanName;
+	protected StatisticsSampler statisticsSampler;
+	protected StripedStatistics installedStripedStatistics;
+	protected QueryLatencyRecorder queryLatencyRecorder;
+	protected boolean stripedStatistics = Boolean.getBoolean("hibernate.statistics.striped");
+	protected boolean queryLatencyRecording = Boolean.getBoolean("hibernate.statistics.latency");
+	protected boolean samplerEnabled = !"false".equalsIgnoreCase(System.getProperty("hibernate.sampler.enabled"));
+	protected int samplingFactor = Integer.getInteger("hibernate.statistics.sampling", 1);
 
 	/**
 	 * Constructor to use by Spring when annotation configuration is enabled.
@@ -92,6 +96,122 @@ public class HibernateJmxBinding {
 		return statisticsBeanName;
 	}
 
+	/**
+	 * Returns the object name for the published bulk statistics MBean.
+	 *
+	 * @return the object name for the published bulk statistics MBean.
+	 * @throws Exception In case of the object name is invalid.
+	 */
+	public ObjectName getStatisticsSnapshotBeanName() throws Exception {
+		if (statisticsSnapshotBeanName == null)
+			statisticsSnapshotBeanName = HIBERNATE_STATISTICS_SNAPSHOT;
+		return statisticsSnapshotBeanName;
+	}
+
+	/**
+	 * Returns the object name for the published statistics sampler MBean.
+	 *
+	 * @return the object name for the published statistics sampler MBean.
+	 * @throws Exception In case of the object name is invalid.
+	 */
+	public ObjectName getStatisticsSamplerBeanName() throws Exception {
+		if (statisticsSamplerBeanName == null)
+			statisticsSamplerBeanName = HIBERNATE_STATISTICS_SAMPLER;
+		return statisticsSamplerBeanName;
+	}
+
+	/**
+	 * Returns true if Hibernate's statistics counters are replaced with {@link StripedStatistics}.
+	 *
+	 * @return true if Hibernate's statistics counters are replaced with striped statistics.
+	 */
+	public boolean isStripedStatistics() {
+		return stripedStatistics;
+	}
+
+	/**
+	 * Toggles whether Hibernate's statistics counters are replaced with {@link StripedStatistics} when registering
+	 * the binding (defaults to the system property 'hibernate.statistics.striped').
+	 * <p/>
+	 * Striped statistics reduce the contention of many threads updating the statistics and require Hibernate 3.5
+	 * or newer, the setting is ignored with older versions.
+	 *
+	 * @param stripedStatistics true to replace the statistics counters with striped statistics.
+	 */
+	public void setStripedStatistics(boolean stripedStatistics) {
+		this.stripedStatistics = stripedStatistics;
+	}
+
+	/**
+	 * Returns true if the execution times of queries are recorded by a {@link QueryLatencyRecorder}.
+	 *
+	 * @return true if the execution times of queries are recorded in histograms.
+	 */
+	public boolean isQueryLatencyRecording() {
+		return queryLatencyRecording;
+	}
+
+	/**
+	 * Toggles whether a {@link QueryLatencyRecorder} records the execution time of every query when registering
+	 * the binding (defaults to the system property 'hibernate.statistics.latency').
+	 * <p/>
+	 * The recorder decorates Hibernate's statistics, every statistics event passes an additional reflective call.
+	 * It requires a Hibernate version that keeps the statistics in an interface typed field of the session factory,
+	 * the setting is ignored with other versions.
+	 *
+	 * @param queryLatencyRecording true to record the execution times of queries.
+	 */
+	public void setQueryLatencyRecording(boolean queryLatencyRecording) {
+		this.queryLatencyRecording = queryLatencyRecording;
+	}
+
+	/**
+	 * Returns true if the global statistics counters are sampled by a {@link StatisticsSampler}.
+	 *
+	 * @return true if the global statistics counters are sampled in a high frequency.
+	 */
+	public boolean isSamplerEnabled() {
+		return samplerEnabled;
+	}
+
+	/**
+	 * Toggles whether a {@link StatisticsSampler} is registered that samples the global statistics counters in a
+	 * high frequency (defaults to the system property 'hibernate.sampler.enabled', which is true when not set).
+	 * <p/>
+	 * The sampler reads the counters in a background thread every 100ms. When disabled, the plugin records one
+	 * value per refresh instead.
+	 *
+	 * @param samplerEnabled true to register the sampler.
+	 */
+	public void setSamplerEnabled(boolean samplerEnabled) {
+		this.samplerEnabled = samplerEnabled;
+	}
+
+	/**
+	 * Returns the sampling factor N, the statistics of single entities, collections and queries are counted
+	 * for 1 in N sessions.
+	 *
+	 * @return the sampling factor, 1 if all sessions are counted.
+	 */
+	public int getSamplingFactor() {
+		return samplingFactor;
+	}
+
+	/**
+	 * Sets the sampling factor N to count the statistics of single entities, collections and queries for
+	 * 1 in N sessions only (defaults to the system property 'hibernate.statistics.sampling').
+	 * <p/>
+	 * Global counters stay exact, sampled values are scaled back up by the plugin. Sampling is implemented by
+	 * {@link StripedStatistics}, a factor greater than 1 implies {@link #setStripedStatistics(boolean)}.
+	 *
+	 * @param samplingFactor the sampling factor, 1 to count all sessions.
+	 */
+	public void setSamplingFactor(int samplingFactor) {
+		if (samplingFactor < 1)
+			throw new IllegalArgumentException("The sampling factor must be 1 or greater, was " + samplingFactor);
+		this.samplingFactor = samplingFactor;
+	}
+
 	/**
 	 * Registers the JMX binding.
 	 *
@@ -99,11 +219,38 @@ public class HibernateJmxBinding {
 	 */
 	@PostConstruct
 	public void registerJmxBinding() throws Exception {
+		// Replace the statistics counters before anything else references the statistics
+		if (stripedStatistics || samplingFactor > 1) {
+			installedStripedStatistics = StripedStatistics.install(sessionFactory, samplingFactor);
+			if (installedStripedStatistics == null)
+				LOG.warning("Striped statistics are not supported by the Hibernate version in use, " +
+						"keeping the default statistics.");
+		}
+
 		// Enable Hibernate JMX Statistics
 		StatisticsService statsMBean = new StatisticsService();
 		statsMBean.setSessionFactory(sessionFactory);
 		statsMBean.setStatisticsEnabled(true);
 		mBeanServer.registerMBean(statsMBean, getStatisticsBeanName());
+
+		// Record the execution times of queries, if supported by the Hibernate version in use
+		if (queryLatencyRecording) {
+			queryLatencyRecorder = QueryLatencyRecorder.install(sessionFactory);
+			if (queryLatencyRecorder == null)
+				LOG.warning("Query latency recording is not supported by the Hibernate version in use, " +
+						"the statistics of the session factory cannot be decorated.");
+		}
+
+		// Enable bulk access to all statistics
+		mBeanServer.registerMBean(new StatisticsSnapshotService(sessionFactory, queryLatencyRecorder),
+				getStatisticsSnapshotBeanName());
+
+		// Enable high frequency sampling of the counters
+		if (samplerEnabled) {
+			statisticsSampler = new StatisticsSampler(sessionFactory);
+			mBeanServer.registerMBean(statisticsSampler, getStatisticsSamplerBeanName());
+			statisticsSampler.start();
+		}
 	}
 
 	/**
@@ -115,5 +262,22 @@ public class HibernateJmxBinding {
 	public void unregisterJmxBinding() throws Exception {
 		if (statisticsBeanName != null)
 			mBeanServer.unregisterMBean(statisticsBeanName);
+		if (statisticsSnapshotBeanName != null)
+			mBeanServer.unregisterMBean(statisticsSnapshotBeanName);
+		if (statisticsSampler != null) {
+			statisticsSampler.stop();
+			statisticsSampler = null;
+			mBeanServer.unregisterMBean(getStatisticsSamplerBeanName());
+		}
+
+		// Restore the original statistics, removing the decorators in the reverse order of their installation
+		if (queryLatencyRecorder != null) {
+			StatisticsDecorator.uninstall(sessionFactory, queryLatencyRecorder);
+			queryLatencyRecorder = null;
+		}
+		if (installedStripedStatistics != null) {
+			StatisticsDecorator.uninstall(sessionFactory, installedStripedStatistics);
+			installedStripedStatistics = null;
+		}
 	}
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.util;
+
+import net.sf.hibernate.jconsole.stats.LatencyHistogram;
+import org.hibernate.SessionFactory;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Records the execution time of every query into a {@link LatencyHistogram} per query string.
+ * <p/>
+ * Hibernate's query statistics are limited to the average, minimum and maximum execution time. The recorder
+ * is installed as a decorator around the statistics implementation of a session factory (see
+ * {@link #install(SessionFactory)}) and records the time that Hibernate reports for every executed query,
+ * all other calls are passed to the decorated statistics unchanged.
+ * <p/>
+ * Recording is lock free, the buckets of a query are counted in an {@link AtomicLongArray}.
+ *
+ * @version 1.0
+ */
+public class QueryLatencyRecorder extends StatisticsDecorator {
+
+	private static final String QUERY_EXECUTED = "queryExecuted";
+
+	/**
+	 * Installs a recorder into the given session factory.
+	 *
+	 * @param sessionFactory the session factory to install the recorder into.
+	 * @return the installed recorder or 'null' if the statistics of the session factory cannot be decorated
+	 *         (see {@link StatisticsDecorator}).
+	 */
+	public static QueryLatencyRecorder install(SessionFactory sessionFactory) {
+		return install(sessionFactory, new QueryLatencyRecorder(sessionFactory.getStatistics()));
+	}
+
+	private final ConcurrentMap<String, AtomicLongArray> histograms = new ConcurrentHashMap<String, AtomicLongArray>();
+
+	/**
+	 * Creates a recorder that decorates the given statistics.
+	 *
+	 * @param statistics the statistics to pass all calls to.
+	 */
+	public QueryLatencyRecorder(Object statistics) {
+		super(statistics);
+	}
+
+	/**
+	 * Records an execution of the given query.
+	 *
+	 * @param query the query string.
+	 * @param time  the execution time in milliseconds.
+	 */
+	public void record(String query, long time) {
+		AtomicLongArray counts = histograms.get(query);
+		if (counts == null) {
+			AtomicLongArray newCounts = new AtomicLongArray(LatencyHistogram.BUCKET_COUNT);
+			counts = histograms.putIfAbsent(query, newCounts);
+			if (counts == null)
+				counts = newCounts;
+		}
+		counts.incrementAndGet(LatencyHistogram.getBucket(time));
+	}
+
+	/**
+	 * Returns the histograms of the given queries.
+	 *
+	 * @param queries the queries to return the histograms for.
+	 * @return the histograms of all given queries that were executed at least once.
+	 */
+	public Map<String, LatencyHistogram> getHistograms(String... queries) {
+		Map<String, LatencyHistogram> result = new LinkedHashMap<String, LatencyHistogram>(queries.length * 2);
+		for (String query : queries) {
+			AtomicLongArray counts = histograms.get(query);
+			if (counts == null)
+				continue;
+
+			long[] copy = new long[counts.length()];
+			for (int i = 0; i < copy.length; i++)
+				copy[i] = counts.get(i);
+			result.put(query, new LatencyHistogram(copy));
+		}
+		return result;
+	}
+
+	/**
+	 * Clears all recorded histograms.
+	 */
+	public void clear() {
+		histograms.clear();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		String name = method.getName();
+		if (QUERY_EXECUTED.equals(name) && args != null && args.length == 3 && args[2] instanceof Number)
+			record(String.valueOf(args[0]), ((Number) args[2]).longValue());
+		else if ("clear".equals(name) && (args == null || args.length == 0))
+			clear();
+
+		return invokeStatistics(method, args);
+	}
+}
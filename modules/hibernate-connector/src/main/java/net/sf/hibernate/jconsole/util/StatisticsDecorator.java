@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.util;
+
+import org.hibernate.SessionFactory;
+
+import java.lang.reflect.*;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Is the base of invocation handlers that decorate the statistics implementation of a session factory.
+ * <p/>
+ * Hibernate does not offer a hook to replace or extend its statistics implementation. Decorators are installed
+ * by replacing the statistics instance of the session factory with a proxy that implements the same interfaces
+ * (see {@link #install(SessionFactory, StatisticsDecorator)}). This requires that the session factory keeps its
+ * statistics in a field that is declared with an interface type, which is not the case for all versions of
+ * Hibernate. Decorators may be stacked, every decorator passes the calls it does not handle to the statistics
+ * it decorates.
+ *
+ * @version 1.0
+ */
+public abstract class StatisticsDecorator implements InvocationHandler {
+
+	/**
+	 * Installs the given decorator into the session factory, unless a decorator of the same type is installed.
+	 *
+	 * @param sessionFactory the session factory to install the decorator into.
+	 * @param decorator      the decorator to install, decorating the current statistics of the session factory.
+	 * @param <D>            the type of the decorator.
+	 * @return the installed decorator or 'null' if the statistics of the session factory cannot be decorated.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <D extends StatisticsDecorator> D install(SessionFactory sessionFactory, D decorator) {
+		Object statistics = decorator.getStatistics();
+		if (statistics == null || statistics != sessionFactory.getStatistics())
+			return null;
+
+		D installed = (D) find(statistics, decorator.getClass());
+		if (installed != null)
+			return installed;
+
+		Set<Class<?>> interfaces = new LinkedHashSet<Class<?>>();
+		for (Class<?> c = statistics.getClass(); c != null; c = c.getSuperclass())
+			interfaces.addAll(Arrays.asList(c.getInterfaces()));
+
+		Object proxy;
+		try {
+			proxy = Proxy.newProxyInstance(statistics.getClass().getClassLoader(),
+					interfaces.toArray(new Class<?>[interfaces.size()]), decorator);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+
+		if (!replaceField(sessionFactory, statistics, proxy))
+			return null;
+		((StatisticsDecorator) decorator).proxy = proxy;
+		return decorator;
+	}
+
+	/**
+	 * Removes the given decorator from the session factory, restoring the statistics it decorates.
+	 * <p/>
+	 * Only the outermost decorator can be removed, decorators must be uninstalled in the reverse order
+	 * of their installation.
+	 *
+	 * @param sessionFactory the session factory to remove the decorator from.
+	 * @param decorator      the decorator to remove.
+	 * @return true if the decorated statistics were restored.
+	 */
+	public static boolean uninstall(SessionFactory sessionFactory, StatisticsDecorator decorator) {
+		Object proxy = decorator.proxy;
+		if (proxy == null || proxy != sessionFactory.getStatistics())
+			return false;
+		if (!replaceField(sessionFactory, proxy, decorator.getStatistics()))
+			return false;
+		decorator.proxy = null;
+		return true;
+	}
+
+	/**
+	 * Returns the decorator of the given type, if it is contained in the chain of decorators of the statistics.
+	 *
+	 * @param statistics    the statistics to search.
+	 * @param decoratorType the type of decorator to find.
+	 * @return the decorator or 'null' if not found.
+	 */
+	static StatisticsDecorator find(Object statistics, Class<?> decoratorType) {
+		while (statistics != null && Proxy.isProxyClass(statistics.getClass())) {
+			InvocationHandler handler = Proxy.getInvocationHandler(statistics);
+			if (!(handler instanceof StatisticsDecorator))
+				break;
+			if (decoratorType.isInstance(handler))
+				return (StatisticsDecorator) handler;
+			statistics = ((StatisticsDecorator) handler).getStatistics();
+		}
+		return null;
+	}
+
+	/**
+	 * Replaces the value of all instance fields of the given object that reference the current value.
+	 *
+	 * @param target	   the object to modify.
+	 * @param currentValue the value to replace.
+	 * @param newValue	 the value to set.
+	 * @return true if at least one field was replaced.
+	 */
+	static boolean replaceField(Object target, Object currentValue, Object newValue) {
+		boolean replaced = false;
+		for (Class<?> c = target.getClass(); c != null; c = c.getSuperclass()) {
+			for (Field field : c.getDeclaredFields()) {
+				if (Modifier.isStatic(field.getModifiers()) || !field.getType().isInstance(newValue))
+					continue;
+				try {
+					field.setAccessible(true);
+					if (field.get(target) == currentValue) {
+						field.set(target, newValue);
+						replaced = true;
+					}
+				} catch (Exception e) {
+					// The field cannot be modified, trying the next field.
+				}
+			}
+		}
+		return replaced;
+	}
+
+	private final Object statistics;
+	// The proxy that replaces the statistics while the decorator is installed.
+	private volatile Object proxy;
+
+	/**
+	 * Creates a decorator for the given statistics.
+	 *
+	 * @param statistics the statistics to pass all calls to that are not handled by the decorator.
+	 */
+	protected StatisticsDecorator(Object statistics) {
+		this.statistics = statistics;
+	}
+
+	/**
+	 * Returns the decorated statistics.
+	 *
+	 * @return the decorated statistics.
+	 */
+	public Object getStatistics() {
+		return statistics;
+	}
+
+	/**
+	 * Invokes the given method on the decorated statistics.
+	 *
+	 * @param method the method to invoke.
+	 * @param args   the arguments of the invocation.
+	 * @return the result of the invocation.
+	 * @throws Throwable the exception thrown by the decorated statistics.
+	 */
+	protected Object invokeStatistics(Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(statistics, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.util;
+
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+/**
+ * Defines the names of the statistics MBeans.
+ * <p/>
+ * Note: This class must not depend on Hibernate, it is used on the JConsole side where Hibernate
+ * may not be available.
+ *
+ * @version 1.0
+ */
+public final class StatisticsObjectNames {
+
+	public static final ObjectName HIBERNATE_STATISTICS;
+	public static final ObjectName HIBERNATE_STATISTICS_SNAPSHOT;
+	public static final ObjectName HIBERNATE_STATISTICS_SAMPLER;
+
+	static {
+		try {
+			HIBERNATE_STATISTICS = new ObjectName(
+					System.getProperty("hibernate.mbean", "Hibernate:application=Statistics"));
+			HIBERNATE_STATISTICS_SNAPSHOT = new ObjectName(
+					System.getProperty("hibernate.mbean.snapshot", "Hibernate:application=StatisticsSnapshot"));
+			HIBERNATE_STATISTICS_SAMPLER = new ObjectName(
+					System.getProperty("hibernate.mbean.sampler", "Hibernate:application=StatisticsSampler"));
+		} catch (MalformedObjectNameException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private StatisticsObjectNames() {
+	}
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.util;
+
+import net.sf.hibernate.jconsole.stats.Names;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Samples the global counters of Hibernate's statistics in a high frequency inside the monitored application.
+ * <p/>
+ * Bursts that are shorter than the refresh interval of the monitoring side disappear in the cumulative counters.
+ * The sampler takes a snapshot of all counters every {@link #INTERVAL} milliseconds and keeps the last
+ * {@link #CAPACITY} snapshots in a fixed size ring buffer of primitives (no allocation per sample).
+ * The monitoring side fetches the samples it did not see yet using {@link #getSamplesSince(long)}.
+ *
+ * @version 1.0
+ */
+public class StatisticsSampler implements StatisticsSamplerMBean {
+
+	/**
+	 * Defines the interval between two samples in milliseconds.
+	 */
+	public static final long INTERVAL = Math.max(1, Long.getLong("hibernate.sampler.interval", 100));
+	/**
+	 * Defines the amount of samples that are kept (defaults to 1 minute at the default interval).
+	 */
+	public static final int CAPACITY = Math.max(1, Integer.getInteger("hibernate.sampler.capacity", 600));
+
+	private static final Logger LOG = Logger.getLogger(StatisticsSampler.class.getName());
+
+	private final SessionFactory sessionFactory;
+	private final long interval;
+	private final int capacity;
+
+	private final Names[] counters;
+	private final Method[] getters;
+	private final long[] currentValues;
+
+	private final long[] timeStamps;
+	private final long[] values;
+	private long nextSequence;
+
+	private ScheduledExecutorService executor;
+	private volatile boolean failureReported;
+
+	/**
+	 * Creates a sampler using the default interval and capacity.
+	 *
+	 * @param sessionFactory the session factory to sample the statistics of.
+	 */
+	public StatisticsSampler(SessionFactory sessionFactory) {
+		this(sessionFactory, INTERVAL, CAPACITY);
+	}
+
+	/**
+	 * Creates a sampler.
+	 *
+	 * @param sessionFactory the session factory to sample the statistics of.
+	 * @param interval	   the interval between two samples in milliseconds.
+	 * @param capacity	   the amount of samples to keep.
+	 */
+	public StatisticsSampler(SessionFactory sessionFactory, long interval, int capacity) {
+		if (interval <= 0 || capacity <= 0)
+			throw new IllegalArgumentException("Interval and capacity must be greater than 0.");
+		this.sessionFactory = sessionFactory;
+		this.interval = interval;
+		this.capacity = capacity;
+
+		// Sampling all counters that are available in the Hibernate version in use.
+		List<Names> availableCounters = new ArrayList<Names>();
+		List<Method> availableGetters = new ArrayList<Method>();
+		for (Names counter : Names.getAttributes(Names.Kind.counter)) {
+			try {
+				Method getter = Statistics.class.getMethod("get" + counter.name());
+				if (getter.getReturnType() == long.class || getter.getReturnType() == int.class) {
+					availableCounters.add(counter);
+					availableGetters.add(getter);
+				}
+			} catch (NoSuchMethodException e) {
+				// Not supported by this version of Hibernate.
+			}
+		}
+		counters = availableCounters.toArray(new Names[availableCounters.size()]);
+		getters = availableGetters.toArray(new Method[availableGetters.size()]);
+		currentValues = new long[counters.length];
+
+		timeStamps = new long[capacity];
+		values = new long[capacity * counters.length];
+	}
+
+	/**
+	 * Starts sampling in a background thread, does nothing when the sampler was already started.
+	 */
+	public synchronized void start() {
+		if (executor != null)
+			return;
+
+		executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "HibernateJConsole-Sampler");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		executor.scheduleAtFixedRate(new Runnable() {
+			public void run() {
+				try {
+					sample(System.currentTimeMillis());
+					failureReported = false;
+				} catch (RuntimeException e) {
+					// Reporting once per sequence of failures, the sampler runs inside the monitored application.
+					if (!failureReported) {
+						LOG.log(Level.WARNING, "Failed sampling the Hibernate statistics: " + e);
+						LOG.log(Level.FINE, "Failed sampling the Hibernate statistics.", e);
+						failureReported = true;
+					}
+				}
+			}
+		}, 0, interval, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Stops sampling, the samples taken so far are kept.
+	 */
+	public synchronized void stop() {
+		if (executor != null) {
+			executor.shutdownNow();
+			executor = null;
+		}
+	}
+
+	/**
+	 * Takes a snapshot of all counters.
+	 *
+	 * @param timeStamp the time of the sample.
+	 */
+	void sample(long timeStamp) {
+		Statistics statistics = sessionFactory.getStatistics();
+		// Reading outside of the lock, the buffer is only blocked for copying.
+		synchronized (currentValues) {
+			try {
+				for (int i = 0; i < getters.length; i++)
+					currentValues[i] = ((Number) getters[i].invoke(statistics)).longValue();
+			} catch (Exception e) {
+				throw new IllegalStateException("Failed reading the statistics counters.", e);
+			}
+
+			synchronized (this) {
+				int index = (int) (nextSequence % capacity);
+				timeStamps[index] = timeStamp;
+				System.arraycopy(currentValues, 0, values, index * counters.length, counters.length);
+				nextSequence++;
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getInterval() {
+		return interval;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public synchronized long getNextSequence() {
+		return nextSequence;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public synchronized boolean isRunning() {
+		return executor != null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public synchronized Map<String, long[]> getSamplesSince(long sequence) {
+		long firstSequence = Math.max(0, nextSequence - capacity);
+		if (sequence > firstSequence && sequence <= nextSequence)
+			firstSequence = sequence;
+		int count = (int) (nextSequence - firstSequence);
+
+		long[] sampleTimes = new long[count];
+		long[][] counterValues = new long[counters.length][count];
+		for (int i = 0; i < count; i++) {
+			int index = (int) ((firstSequence + i) % capacity);
+			sampleTimes[i] = timeStamps[index];
+			for (int c = 0, offset = index * counters.length; c < counters.length; c++)
+				counterValues[c][i] = values[offset + c];
+		}
+
+		Map<String, long[]> samples = new LinkedHashMap<String, long[]>(counters.length * 2 + 6);
+		samples.put(SAMPLE_SEQUENCE, new long[]{firstSequence, nextSequence});
+		samples.put(SAMPLE_TIME, sampleTimes);
+		samples.put(CURRENT_TIME, new long[]{System.currentTimeMillis()});
+		for (int c = 0; c < counters.length; c++)
+			samples.put(counters[c].name(), counterValues[c]);
+		return samples;
+	}
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.util;
+
+import java.util.Map;
+
+/**
+ * Defines the management interface of {@link StatisticsSampler}.
+ *
+ * @version 1.0
+ */
+public interface StatisticsSamplerMBean {
+
+	/**
+	 * Is the key of the sequence range inside the map returned by {@link #getSamplesSince(long)}.
+	 * The value contains the sequence of the first returned sample at index 0 and the sequence
+	 * to pass to the next call at index 1.
+	 */
+	String SAMPLE_SEQUENCE = "SampleSequence";
+
+	/**
+	 * Is the key of the sample times inside the map returned by {@link #getSamplesSince(long)}.
+	 */
+	String SAMPLE_TIME = "SampleTime";
+
+	/**
+	 * Is the key of the current time of the sampler inside the map returned by {@link #getSamplesSince(long)},
+	 * allows callers to translate the sample times to their own clock.
+	 */
+	String CURRENT_TIME = "CurrentTime";
+
+	/**
+	 * Returns the interval between two samples.
+	 *
+	 * @return the interval between two samples in milliseconds.
+	 */
+	long getInterval();
+
+	/**
+	 * Returns the maximum amount of samples that are kept.
+	 *
+	 * @return the maximum amount of samples that are kept.
+	 */
+	int getCapacity();
+
+	/**
+	 * Returns the sequence that will be assigned to the next sample.
+	 *
+	 * @return the sequence that will be assigned to the next sample.
+	 */
+	long getNextSequence();
+
+	/**
+	 * Returns true if the sampler is running.
+	 *
+	 * @return true if the sampler is running.
+	 */
+	boolean isRunning();
+
+	/**
+	 * Returns the samples with a sequence greater or equal to the given sequence.
+	 * <p/>
+	 * The returned map contains one array per sampled counter, keyed by the attribute name of the counter in
+	 * Hibernate's statistics MBean (e.g. "QueryExecutionCount"). The arrays hold the absolute counter values
+	 * in the order the samples were taken, {@link #SAMPLE_TIME} holds the matching sample times,
+	 * {@link #SAMPLE_SEQUENCE} and {@link #CURRENT_TIME} are described above.
+	 * <p/>
+	 * Note: Samples that were already overwritten are missing, passing {@code 0} or a sequence that is
+	 * unknown to this sampler returns all samples that are kept.
+	 *
+	 * @param sequence the sequence of the first sample to return.
+	 * @return the samples with a sequence greater or equal to the given sequence.
+	 */
+	Map<String, long[]> getSamplesSince(long sequence);
+}
@@ -0,0 +1,341 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.util;
+
+import net.sf.hibernate.jconsole.stats.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.CompositeDataSupport;
+import javax.management.openmbean.OpenDataException;
+import java.util.*;
+
+/**
+ * Implements a companion MBean to Hibernate's statistics service that returns
+ * all statistics in one bulk operation instead of requiring one invocation per name.
+ *
+ * @version 1.0
+ */
+public class StatisticsSnapshotService implements StatisticsSnapshotServiceMBean {
+
+	/**
+	 * Enumerates the kinds of statistics that are exposed by the service.
+	 */
+	enum Kind {
+		entity(Names.getEntityStatistics, Names.EntityNames, EntityStatistics.class) {
+			String[] getNames(Statistics statistics) {
+				return statistics.getEntityNames();
+			}
+
+			Object getStatistics(Statistics statistics, String name) {
+				return statistics.getEntityStatistics(name);
+			}
+
+			long fingerprint(Object statistics) {
+				EntityStatistics s = StraightNameMappingProxy.newInstance(EntityStatistics.class, statistics, 0L);
+				return hash(s.getLoadCount(), s.getFetchCount(), s.getInsertCount(), s.getUpdateCount(),
+						s.getDeleteCount(), s.getOptimisticFailureCount());
+			}
+		},
+		collection(Names.getCollectionStatistics, Names.CollectionRoleNames, CollectionStatistics.class) {
+			String[] getNames(Statistics statistics) {
+				return statistics.getCollectionRoleNames();
+			}
+
+			Object getStatistics(Statistics statistics, String name) {
+				return statistics.getCollectionStatistics(name);
+			}
+
+			long fingerprint(Object statistics) {
+				CollectionStatistics s = StraightNameMappingProxy.newInstance(CollectionStatistics.class, statistics, 0L);
+				return hash(s.getLoadCount(), s.getFetchCount(), s.getRecreateCount(), s.getRemoveCount(),
+						s.getUpdateCount());
+			}
+		},
+		query(Names.getQueryStatistics, Names.Queries, QueryStatistics.class) {
+			String[] getNames(Statistics statistics) {
+				return statistics.getQueries();
+			}
+
+			Object getStatistics(Statistics statistics, String name) {
+				return statistics.getQueryStatistics(name);
+			}
+
+			long fingerprint(Object statistics) {
+				QueryStatistics s = StraightNameMappingProxy.newInstance(QueryStatistics.class, statistics, 0L);
+				return hash(s.getExecutionCount(), s.getCacheHitCount(), s.getCachePutCount(), s.getCacheMissCount(),
+						s.getExecutionRowCount(), s.getExecutionAvgTime(), s.getExecutionMaxTime(),
+						s.getExecutionMinTime());
+			}
+		},
+		cache(Names.getSecondLevelCacheStatistics, Names.SecondLevelCacheRegionNames, SecondLevelCacheStatistics.class) {
+			String[] getNames(Statistics statistics) {
+				return statistics.getSecondLevelCacheRegionNames();
+			}
+
+			Object getStatistics(Statistics statistics, String name) {
+				return statistics.getSecondLevelCacheStatistics(name);
+			}
+
+			long fingerprint(Object statistics) {
+				SecondLevelCacheStatistics s = StraightNameMappingProxy.newInstance(
+						SecondLevelCacheStatistics.class, statistics, 0L);
+				return hash(s.getHitCount(), s.getMissCount(), s.getPutCount(), s.getElementCountInMemory(),
+						s.getElementCountOnDisk(), s.getSizeInMemory());
+			}
+		},;
+
+		private final Names operation, keyList;
+		private final Class<?> statisticsInterface;
+
+		private Kind(Names operation, Names keyList, Class<?> statisticsInterface) {
+			this.operation = operation;
+			this.keyList = keyList;
+			this.statisticsInterface = statisticsInterface;
+		}
+
+		abstract String[] getNames(Statistics statistics);
+
+		abstract Object getStatistics(Statistics statistics, String name);
+
+		/**
+		 * Returns a value that changes whenever any of the counters in the given statistics changes.
+		 *
+		 * @param statistics the statistics to create the fingerprint for.
+		 * @return a value that changes whenever any of the counters changes.
+		 */
+		abstract long fingerprint(Object statistics);
+
+		static long hash(long... values) {
+			long hash = 17;
+			for (long value : values)
+				hash = 31 * hash + value;
+			return hash;
+		}
+	}
+
+	/**
+	 * Keeps the keys of one kind in the order they were first seen, together with the hashes of all prefixes.
+	 */
+	static final class KeyList {
+
+		final List<String> keys = new ArrayList<String>();
+		final Set<String> knownKeys = new HashSet<String>();
+		long[] hashes = {KeyListFingerprint.EMPTY_HASH};
+
+		/**
+		 * Updates the list with the current keys, appends new keys and starts over if keys were removed.
+		 *
+		 * @param currentKeys the current keys.
+		 */
+		void update(String[] currentKeys) {
+			if (currentKeys.length < keys.size())
+				clear();
+
+			for (String key : currentKeys) {
+				if (knownKeys.add(key))
+					append(key);
+			}
+
+			if (currentKeys.length < keys.size()) { // Keys were removed and replaced by others.
+				clear();
+				update(currentKeys);
+			}
+		}
+
+		void append(String key) {
+			if (hashes.length == keys.size() + 1)
+				hashes = Arrays.copyOf(hashes, hashes.length * 2);
+			hashes[keys.size() + 1] = KeyListFingerprint.hash(hashes[keys.size()], key);
+			keys.add(key);
+		}
+
+		void clear() {
+			keys.clear();
+			knownKeys.clear();
+		}
+
+		long[] getFingerprint() {
+			return new long[]{keys.size(), hashes[keys.size()]};
+		}
+
+		String[] getKeysSince(int count, long hash) {
+			if (count < 0 || count > keys.size() || hashes[count] != hash)
+				return null;
+			List<String> tail = keys.subList(count, keys.size());
+			return tail.toArray(new String[tail.size()]);
+		}
+	}
+
+	private SessionFactory sessionFactory;
+	private QueryLatencyRecorder queryLatencyRecorder;
+
+	// Versions start at the epoch of this instance, the epoch is kept in the upper 32 bits.
+	private final long epoch = (1L + new Random().nextInt(Integer.MAX_VALUE)) << 32;
+	private long version = epoch;
+	private final Map<Kind, Map<String, long[]>> changes = new HashMap<Kind, Map<String, long[]>>();
+	private final Map<String, KeyList> keyLists = new HashMap<String, KeyList>();
+
+	/**
+	 * Creates a new snapshot service for the given SessionFactory.
+	 *
+	 * @param sessionFactory The SessionFactory to read the statistics from.
+	 */
+	public StatisticsSnapshotService(SessionFactory sessionFactory) {
+		this(sessionFactory, null);
+	}
+
+	/**
+	 * Creates a new snapshot service for the given SessionFactory.
+	 *
+	 * @param sessionFactory	   The SessionFactory to read the statistics from.
+	 * @param queryLatencyRecorder The recorder to read the query latency histograms from, may be 'null'.
+	 */
+	public StatisticsSnapshotService(SessionFactory sessionFactory, QueryLatencyRecorder queryLatencyRecorder) {
+		this.sessionFactory = sessionFactory;
+		this.queryLatencyRecorder = queryLatencyRecorder;
+		for (Kind kind : Kind.values()) {
+			changes.put(kind, new HashMap<String, long[]>());
+			keyLists.put(kind.keyList.name(), new KeyList());
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public synchronized Map<String, Object> getStatisticsChangedSince(long version) {
+		final Statistics statistics = sessionFactory.getStatistics();
+		final Map<String, Object> changedStatistics = new HashMap<String, Object>();
+
+		if (version > this.version || version < epoch) // Unknown version, e.g. from a previous instance.
+			version = 0;
+
+		// All statistics that are found to be changed in this pass share the same new version.
+		final long nextVersion = this.version + 1;
+		boolean changed = false;
+
+		for (Kind kind : Kind.values()) {
+			Map<String, long[]> kindChanges = changes.get(kind);
+			Map<String, Object> values = new HashMap<String, Object>();
+
+			String[] names = kind.getNames(statistics);
+			if (kindChanges.size() > names.length) // Statistics were cleared.
+				kindChanges.keySet().retainAll(Arrays.asList(names));
+
+			for (String name : names) {
+				Object value = kind.getStatistics(statistics, name);
+				long fingerprint = value == null ? 0 : kind.fingerprint(value);
+
+				// change[0] = fingerprint, change[1] = version
+				long[] change = kindChanges.get(name);
+				if (change == null) {
+					change = new long[]{fingerprint, nextVersion};
+					kindChanges.put(name, change);
+					changed = true;
+				} else if (change[0] != fingerprint) {
+					change[0] = fingerprint;
+					change[1] = nextVersion;
+					changed = true;
+				}
+
+				if (change[1] > version)
+					values.put(name, value);
+			}
+
+			changedStatistics.put(kind.operation.name(), values);
+		}
+
+		if (changed)
+			this.version = nextVersion;
+		changedStatistics.put(STATISTICS_VERSION, this.version);
+
+		return changedStatistics;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized CompositeData getStatisticsDataChangedSince(long version) {
+		Map<String, Object> changes = getStatisticsChangedSince(version);
+		Map<String, Object> items = new HashMap<String, Object>();
+		items.put(StatisticsOpenTypes.VERSION_ITEM, changes.get(STATISTICS_VERSION));
+
+		try {
+			for (Kind kind : Kind.values()) {
+				Map<String, ?> statistics = (Map<String, ?>) changes.get(kind.operation.name());
+				items.put(kind.operation.name(), StatisticsOpenTypes.toTabularData(kind.statisticsInterface, statistics));
+			}
+			return new CompositeDataSupport(StatisticsOpenTypes.getChangesType(), items);
+		} catch (OpenDataException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public synchronized Map<String, long[]> fingerprintKeyLists() {
+		final Statistics statistics = sessionFactory.getStatistics();
+		final Map<String, long[]> fingerprints = new HashMap<String, long[]>();
+		for (Kind kind : Kind.values()) {
+			KeyList keyList = keyLists.get(kind.keyList.name());
+			keyList.update(kind.getNames(statistics));
+			fingerprints.put(kind.keyList.name(), keyList.getFingerprint());
+		}
+		return fingerprints;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public synchronized String[] getKeyListSince(String attribute, int count, long hash) {
+		KeyList keyList = keyLists.get(attribute);
+		if (keyList == null)
+			throw new IllegalArgumentException("Unknown key list '" + attribute + "'.");
+		return keyList.getKeysSince(count, hash);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Map<String, long[]> getQueryLatencyHistograms(String[] queries) {
+		Map<String, long[]> counts = new HashMap<String, long[]>();
+		if (queryLatencyRecorder != null) {
+			for (Map.Entry<String, LatencyHistogram> entry : queryLatencyRecorder.getHistograms(queries).entrySet())
+				counts.put(entry.getKey(), entry.getValue().getCounts());
+		}
+		return counts;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public int getSamplingFactor() {
+		StripedStatistics statistics = (StripedStatistics) StatisticsDecorator.find(
+				sessionFactory.getStatistics(), StripedStatistics.class);
+		return statistics == null ? 1 : statistics.getSamplingFactor();
+	}
+
+	public SessionFactory getSessionFactory() {
+		return sessionFactory;
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.util;
+
+import javax.management.openmbean.CompositeData;
+import java.util.Map;
+
+/**
+ * Defines the management interface of {@link StatisticsSnapshotService}.
+ *
+ * @version 1.0
+ */
+public interface StatisticsSnapshotServiceMBean {
+
+	/**
+	 * Is the key of the change version inside the map returned by {@link #getStatisticsChangedSince(long)}.
+	 */
+	String STATISTICS_VERSION = "StatisticsVersion";
+
+	/**
+	 * Is the name of the attribute {@link #getSamplingFactor()}.
+	 */
+	String SAMPLING_FACTOR = "SamplingFactor";
+
+	/**
+	 * Returns the sampling factor N of the statistics of entities, collections and queries.
+	 * <p/>
+	 * When greater than 1, the counters of entities, collections and queries are updated for 1 in N sessions
+	 * and have to be multiplied with the factor to estimate totals. Global counters and the statistics of cache
+	 * regions are always exact.
+	 *
+	 * @return the sampling factor, 1 if the statistics are not sampled.
+	 */
+	int getSamplingFactor();
+
+	/**
+	 * Returns the statistics that changed after the given version.
+	 * <p/>
+	 * Every statistic is assigned a monotonically increasing change version whenever one of its counters
+	 * is found to be modified. The returned map is keyed by the names of the single statistics operations of
+	 * Hibernate's statistics MBean (e.g. "getEntityStatistics") and contains a map of statistic name to
+	 * statistics object for every kind of statistics, including only statistics with a version greater than
+	 * the given one. In addition the current
+	 * version is stored as {@code Long} under the key {@link #STATISTICS_VERSION} and is meant to be passed
+	 * to the next call.
+	 * <p/>
+	 * Versions carry a random epoch of the service instance in their upper 32 bits, versions returned by
+	 * another instance (e.g. before the application was restarted) are therefore recognized as unknown.
+	 * <p/>
+	 * Note: Passing {@code 0} or a version that is unknown to this service returns all statistics.
+	 *
+	 * @param version the last version that is known to the caller.
+	 * @return the statistics that changed after the given version.
+	 */
+	Map<String, Object> getStatisticsChangedSince(long version);
+
+	/**
+	 * Returns the statistics that changed after the given version as open data.
+	 * <p/>
+	 * Works like {@link #getStatisticsChangedSince(long)} but returns a composite of the type
+	 * {@code StatisticsOpenTypes.getChangesType()} that contains only JDK types. Receivers can read the
+	 * statistics without having Hibernate in the class path and without deserializing Hibernate's
+	 * statistics objects.
+	 *
+	 * @param version the last version that is known to the caller.
+	 * @return the statistics that changed after the given version.
+	 */
+	CompositeData getStatisticsDataChangedSince(long version);
+
+	/**
+	 * Returns the fingerprints of the key lists "EntityNames", "CollectionRoleNames", "Queries" and
+	 * "SecondLevelCacheRegionNames".
+	 * <p/>
+	 * The returned map is keyed by the attribute name of the key list and contains the amount of keys
+	 * at index 0 and the hash of the keys at index 1 (see {@code KeyListFingerprint}). Keys are listed in the
+	 * order they were first seen by this service, new keys are appended to the end of the list.
+	 * <p/>
+	 * Note: The method is intentionally not named like a getter, as it would be exposed as an attribute otherwise.
+	 *
+	 * @return the fingerprints of the key lists.
+	 */
+	Map<String, long[]> fingerprintKeyLists();
+
+	/**
+	 * Returns the keys that were appended to the given key list after the first {@code count} keys.
+	 *
+	 * @param attribute the attribute name of the key list, e.g. "Queries".
+	 * @param count     the amount of keys that are known to the caller.
+	 * @param hash      the hash of the keys that are known to the caller.
+	 * @return the keys following the first {@code count} keys or 'null' if the known keys are not a prefix of
+	 *         the current key list (the caller has to start over with {@code count = 0}).
+	 */
+	String[] getKeyListSince(String attribute, int count, long hash);
+
+	/**
+	 * Returns the execution time histograms of the given queries.
+	 * <p/>
+	 * The histograms are returned as bucket counts in the layout of {@code LatencyHistogram}, trailing empty
+	 * buckets are omitted. Queries that were not executed since recording started are not contained.
+	 * The returned map is empty if the execution times cannot be recorded with the Hibernate version in use.
+	 *
+	 * @param queries the query strings to return the histograms for.
+	 * @return the bucket counts of the histograms keyed by query string.
+	 */
+	Map<String, long[]> getQueryLatencyHistograms(String[] queries);
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Implements a counter that is spread over several cells to avoid contention when many threads update it.
+ * <p/>
+ * Every thread updates the cell selected by its thread id, the cells are padded to separate cache lines.
+ * Reading the counter sums all cells, the sum is exact when no updates happen concurrently and otherwise
+ * contains an arbitrary subset of the concurrent updates.
+ *
+ * @version 1.0
+ */
+public final class StripedCounter {
+
+	/**
+	 * Defines the amount of cells per counter, a power of two.
+	 */
+	static final int STRIPES = toStripes(Runtime.getRuntime().availableProcessors());
+
+	// 8 longs = 64 bytes, the cache line size of most CPUs.
+	static final int PADDING = 8;
+
+	static int toStripes(int processors) {
+		int stripes = 1;
+		while (stripes < processors * 2 && stripes < 64)
+			stripes <<= 1;
+		return stripes;
+	}
+
+	/**
+	 * Returns the stripe that is updated by the current thread.
+	 *
+	 * @param stripes the amount of stripes, a power of two.
+	 * @return the stripe of the current thread, in the range 0 to stripes - 1.
+	 */
+	static int stripe(int stripes) {
+		long hash = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+		return (int) (hash >>> 32) & (stripes - 1);
+	}
+
+	private static int cellIndex() {
+		return stripe(STRIPES) * PADDING;
+	}
+
+	private final AtomicLongArray cells = new AtomicLongArray(STRIPES * PADDING);
+
+	/**
+	 * Adds the given value.
+	 *
+	 * @param value the value to add.
+	 */
+	public void add(long value) {
+		cells.addAndGet(cellIndex(), value);
+	}
+
+	/**
+	 * Adds one.
+	 */
+	public void increment() {
+		cells.incrementAndGet(cellIndex());
+	}
+
+	/**
+	 * Returns the sum of all cells.
+	 *
+	 * @return the sum of all cells.
+	 */
+	public long sum() {
+		long sum = 0;
+		for (int i = 0, length = cells.length(); i < length; i += PADDING)
+			sum += cells.get(i);
+		return sum;
+	}
+
+	/**
+	 * Resets the counter to 0, updates that happen concurrently may be lost.
+	 */
+	public void reset() {
+		for (int i = 0, length = cells.length(); i < length; i += PADDING)
+			cells.set(i, 0);
+	}
+}
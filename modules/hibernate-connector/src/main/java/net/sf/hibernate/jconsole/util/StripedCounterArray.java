@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.hibernate.jconsole.util;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Implements a fixed amount of counters that are spread over several stripes to avoid contention when many
+ * threads update them.
+ * <p/>
+ * Unlike an array of {@link StripedCounter}s, the counters of one stripe share the same cache lines, so that the
+ * memory required per array stays small enough to keep one array per entity, collection, query or cache region.
+ * Every thread updates the stripe selected by its thread id, reading a counter combines all stripes.
+ *
+ * @version 1.0
+ */
+final class StripedCounterArray implements Serializable {
+
+	private static final long serialVersionUID = -2739484617725683651L;
+
+	private final int length, width, stripes;
+	private final AtomicLongArray cells;
+
+	/**
+	 * Creates a new array of counters that start at 0.
+	 *
+	 * @param length  the amount of counters.
+	 * @param stripes the amount of stripes, a power of two.
+	 */
+	StripedCounterArray(int length, int stripes) {
+		this.length = length;
+		this.stripes = stripes;
+		width = (length + StripedCounter.PADDING - 1) / StripedCounter.PADDING * StripedCounter.PADDING;
+		cells = new AtomicLongArray(width * stripes);
+	}
+
+	private int offset() {
+		return StripedCounter.stripe(stripes) * width;
+	}
+
+	/**
+	 * Returns the amount of counters.
+	 *
+	 * @return the amount of counters.
+	 */
+	int length() {
+		return length;
+	}
+
+	/**
+	 * Sets the counter in all stripes, used to initialize counters that are updated as minimum or maximum.
+	 *
+	 * @param index the index of the counter.
+	 * @param value the value to set.
+	 */
+	void fill(int index, long value) {
+		for (int i = index, size = cells.length(); i < size; i += width)
+			cells.set(i, value);
+	}
+
+	/**
+	 * Adds one to the given counter.
+	 *
+	 * @param index the index of the counter.
+	 */
+	void increment(int index) {
+		cells.incrementAndGet(offset() + index);
+	}
+
+	/**
+	 * Adds the given value to the given counter.
+	 *
+	 * @param index the index of the counter.
+	 * @param value the value to add.
+	 */
+	void add(int index, long value) {
+		cells.addAndGet(offset() + index, value);
+	}
+
+	/**
+	 * Lowers the given counter to the value if the value is smaller.
+	 *
+	 * @param index the index of the counter.
+	 * @param value the value to apply.
+	 */
+	void updateMinimum(int index, long value) {
+		int cell = offset() + index;
+		long current;
+		while (value < (current = cells.get(cell)) && !cells.compareAndSet(cell, current, value)) {
+			// Retrying until updated or no longer the minimum.
+		}
+	}
+
+	/**
+	 * Raises the given counter to the value if the value is larger.
+	 *
+	 * @param index the index of the counter.
+	 * @param value the value to apply.
+	 */
+	void updateMaximum(int index, long value) {
+		int cell = offset() + index;
+		long current;
+		while (value > (current = cells.get(cell)) && !cells.compareAndSet(cell, current, value)) {
+			// Retrying until updated or no longer the maximum.
+		}
+	}
+
+	/**
+	 * Returns the sum of the given counter over all stripes.
+	 *
+	 * @param index the index of the counter.
+	 * @return the sum of the counter.
+	 */
+	long sum(int index) {
+		long sum = 0;
+		for (int i = index, size = cells.length(); i < size; i += width)
+			sum += cells.get(i);
+		return sum;
+	}
+
+	/**
+	 * Returns the minimum of the given counter over all stripes.
+	 *
+	 * @param index the index of the counter.
+	 * @return the minimum of the counter.
+	 */
+	long min(int index) {
+		long min = Long.MAX_VALUE;
+		for (int i = index, size = cells.length(); i < size; i += width)
+			min = Math.min(min, cells.get(i));
+		return min;
+	}
+
+	/**
+	 * Returns the maximum of the given counter over all stripes.
+	 *
+	 * @param index the index of the counter.
+	 * @return the maximum of the counter.
+	 */
+	long max(int index) {
+		long max = Long.MIN_VALUE;
+		for (int i = index, size = cells.length(); i < size; i += width)
+			max = Math.max(max, cells.get(i));
+		return max;
+	}
+}
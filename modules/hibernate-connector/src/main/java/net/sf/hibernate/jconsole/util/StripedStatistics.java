@@ -0,0 +1,582 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.util;
+
+import net.sf.hibernate.jconsole.stats.Names;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.io.Serializable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implements a drop-in replacement for the counters of Hibernate's statistics that scales with many threads.
+ * <p/>
+ * Hibernate's statistics implementations update shared counters (Hibernate 3.3 and older even synchronize every
+ * update on the statistics instance), which becomes a point of contention when hundreds of threads use the same
+ * session factory. This decorator takes over all events that update counters:
+ * <ul>
+ * <li>Global counters are {@link StripedCounter}s, every thread updates its own cell.</li>
+ * <li>Counters of entities, collections, queries and cache regions are kept in concurrent maps, each key has
+ * its own {@link StripedCounterArray}, so that updating the same key from many threads does not contend
+ * either.</li>
+ * </ul>
+ * Statistics are answered from these counters, reading sums up the cells without blocking any updates.
+ * All calls that do not update or read counters (e.g. enabling statistics or reading the cache region sizes)
+ * are passed to the decorated statistics. Every method of the proxy is resolved to its event once, later calls
+ * find the event by the identity of the method.
+ * <p/>
+ * <p/>
+ * With a sampling factor N greater than 1, the counters of entities, collections and queries are updated for
+ * every N-th session of a thread only (see {@link #getSamplingFactor()}). Global counters and the counters of
+ * cache regions stay exact. Readers multiply sampled counters with the sampling factor to estimate totals,
+ * keys that were only used by sessions that were not sampled are not listed.
+ * <p/>
+ * Note: The statistics of single entities, collections, queries and cache regions are returned as proxies of
+ * their interfaces, which requires Hibernate 3.5 or newer (see {@link #isSupported()}). Like Hibernate's own
+ * implementations, the proxies are created once per key and show the live counters of the key.
+ *
+ * @version 1.0
+ */
+public class StripedStatistics extends StatisticsDecorator {
+
+	/**
+	 * Installs striped statistics into the given session factory.
+	 * <p/>
+	 * The counters are initialized with the current values of the decorated statistics, the counters of single
+	 * entities, collections, queries and cache regions start at 0.
+	 *
+	 * @param sessionFactory the session factory to install the statistics into.
+	 * @return the installed statistics or 'null' if not supported by the Hibernate version in use.
+	 */
+	public static StripedStatistics install(SessionFactory sessionFactory) {
+		return install(sessionFactory, 1);
+	}
+
+	/**
+	 * Installs striped statistics into the given session factory, sampling the counters of single entities,
+	 * collections and queries.
+	 *
+	 * @param sessionFactory the session factory to install the statistics into.
+	 * @param samplingFactor the sampling factor N, counting the events of 1 in N sessions.
+	 * @return the installed statistics or 'null' if not supported by the Hibernate version in use.
+	 */
+	public static StripedStatistics install(SessionFactory sessionFactory, int samplingFactor) {
+		if (!isSupported())
+			return null;
+		return install(sessionFactory, new StripedStatistics(sessionFactory.getStatistics(), samplingFactor));
+	}
+
+	/**
+	 * Returns true if the Hibernate version in use declares the statistics of single entities, collections,
+	 * queries and cache regions as interfaces.
+	 *
+	 * @return true if striped statistics are supported by the Hibernate version in use.
+	 */
+	public static boolean isSupported() {
+		for (Category category : Category.values()) {
+			try {
+				if (!Statistics.class.getMethod(category.getter, String.class).getReturnType().isInterface())
+					return false;
+			} catch (NoSuchMethodException e) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Enumerates the kinds of keyed statistics and the names of their counters (by index).
+	 */
+	enum Category {
+		entity("getEntityStatistics", "getLoadCount", "getFetchCount", "getUpdateCount", "getInsertCount",
+				"getDeleteCount", "getOptimisticFailureCount"),
+		collection("getCollectionStatistics", "getLoadCount", "getFetchCount", "getUpdateCount",
+				"getRecreateCount", "getRemoveCount"),
+		query("getQueryStatistics", "getExecutionCount", "getExecutionRowCount", "getExecutionTotalTime",
+				"getCacheHitCount", "getCacheMissCount", "getCachePutCount", "getExecutionMinTime",
+				"getExecutionMaxTime"),
+		cache("getSecondLevelCacheStatistics", "getHitCount", "getMissCount", "getPutCount");
+
+		final String getter;
+		final Map<String, Integer> counters = new HashMap<String, Integer>();
+
+		Category(String getter, String... counterGetters) {
+			this.getter = getter;
+			for (int i = 0; i < counterGetters.length; i++)
+				counters.put(counterGetters[i], i);
+		}
+	}
+
+	private static final int QUERY_ROWS = 1, QUERY_TIME = 2, QUERY_MIN_TIME = 6, QUERY_MAX_TIME = 7;
+
+	/**
+	 * Enumerates the events of Hibernate's statistics implementor that update counters.
+	 */
+	enum Event {
+		openSession(Names.SessionOpenCount),
+		closeSession(Names.SessionCloseCount),
+		flush(Names.FlushCount),
+		connect(Names.ConnectCount),
+		prepareStatement(Names.PrepareStatementCount),
+		closeStatement(Names.CloseStatementCount),
+		endTransaction(Names.TransactionCount, null, -1, 1),
+		loadEntity(Names.EntityLoadCount, Category.entity, 0),
+		fetchEntity(Names.EntityFetchCount, Category.entity, 1),
+		updateEntity(Names.EntityUpdateCount, Category.entity, 2),
+		insertEntity(Names.EntityInsertCount, Category.entity, 3),
+		deleteEntity(Names.EntityDeleteCount, Category.entity, 4),
+		optimisticFailure(Names.OptimisticFailureCount, Category.entity, 5),
+		loadCollection(Names.CollectionLoadCount, Category.collection, 0),
+		fetchCollection(Names.CollectionFetchCount, Category.collection, 1),
+		updateCollection(Names.CollectionUpdateCount, Category.collection, 2),
+		recreateCollection(Names.CollectionRecreateCount, Category.collection, 3),
+		removeCollection(Names.CollectionRemoveCount, Category.collection, 4),
+		secondLevelCacheHit(Names.SecondLevelCacheHitCount, Category.cache, 0),
+		secondLevelCacheMiss(Names.SecondLevelCacheMissCount, Category.cache, 1),
+		secondLevelCachePut(Names.SecondLevelCachePutCount, Category.cache, 2),
+		queryExecuted(Names.QueryExecutionCount, Category.query, 0, 3),
+		queryCacheHit(Names.QueryCacheHitCount, Category.query, 3, 2),
+		queryCacheMiss(Names.QueryCacheMissCount, Category.query, 4, 2),
+		queryCachePut(Names.QueryCachePutCount, Category.query, 5, 2);
+
+		final Names counter;
+		final Category category;
+		final int index, argumentCount;
+
+		Event(Names counter) {
+			this(counter, null, -1, 0);
+		}
+
+		Event(Names counter, Category category, int index) {
+			this(counter, category, index, 1);
+		}
+
+		Event(Names counter, Category category, int index, int argumentCount) {
+			this.counter = counter;
+			this.category = category;
+			this.index = index;
+			this.argumentCount = argumentCount;
+		}
+	}
+
+	private static final Map<String, Event> EVENTS = new HashMap<String, Event>();
+
+	static {
+		for (Event event : Event.values())
+			EVENTS.put(event.name(), event);
+	}
+
+	/**
+	 * Enumerates how calls that are not events are handled.
+	 */
+	enum Route {
+		/**
+		 * The call reads counters or clears them and is answered by this decorator.
+		 */
+		handled,
+		/**
+		 * The call is passed to the decorated statistics.
+		 */
+		delegated
+	}
+
+	/**
+	 * Defines the amount of stripes used for the counters of single entities, collections, queries and cache
+	 * regions (less than the global counters use, as there is one set of counters per key).
+	 */
+	static final int KEY_STRIPES = Math.min(StripedCounter.STRIPES, 8);
+
+	private final Map<String, StripedCounter> counters = new HashMap<String, StripedCounter>();
+	private final StripedCounter[] eventCounters = new StripedCounter[Event.values().length];
+	private final StripedCounter successfulTransactionCount;
+	private final Map<Category, ConcurrentMap<String, StripedCounterArray>> keyedCounters =
+			new EnumMap<Category, ConcurrentMap<String, StripedCounterArray>>(Category.class);
+	private final Map<Category, ConcurrentMap<String, Object>> keyStatistics =
+			new EnumMap<Category, ConcurrentMap<String, Object>>(Category.class);
+
+	// Maps the methods passed by the proxy (the same instances on every call) to an Event or a Route.
+	private volatile Map<Method, Object> routes = new IdentityHashMap<Method, Object>();
+
+	private final AtomicLong queryExecutionMaxTime = new AtomicLong();
+	private volatile String queryExecutionMaxTimeQueryString;
+
+	private final int samplingFactor;
+	// [0] = sessions opened by the thread, [1] = 1 if the current session of the thread is sampled.
+	private final ThreadLocal<int[]> sessions = new ThreadLocal<int[]>() {
+		@Override
+		protected int[] initialValue() {
+			return new int[2];
+		}
+	};
+
+	/**
+	 * Creates striped statistics that decorate the given statistics.
+	 *
+	 * @param statistics the statistics to decorate.
+	 */
+	public StripedStatistics(Object statistics) {
+		this(statistics, 1);
+	}
+
+	/**
+	 * Creates striped statistics that decorate the given statistics and sample the counters of single entities,
+	 * collections and queries.
+	 *
+	 * @param statistics     the statistics to decorate.
+	 * @param samplingFactor the sampling factor N, counting the events of 1 in N sessions.
+	 */
+	public StripedStatistics(Object statistics, int samplingFactor) {
+		super(statistics);
+		if (samplingFactor < 1)
+			throw new IllegalArgumentException("The sampling factor must be 1 or greater, was " + samplingFactor);
+		this.samplingFactor = samplingFactor;
+
+		List<Names> names = new ArrayList<Names>();
+		for (Event event : Event.values())
+			names.add(event.counter);
+		names.add(Names.SuccessfulTransactionCount);
+
+		for (Names name : names) {
+			StripedCounter counter = new StripedCounter();
+			counter.add(readCounter("get" + name.name()));
+			counters.put("get" + name.name(), counter);
+		}
+		for (Event event : Event.values())
+			eventCounters[event.ordinal()] = counters.get("get" + event.counter.name());
+		successfulTransactionCount = counters.get("get" + Names.SuccessfulTransactionCount.name());
+		queryExecutionMaxTime.set(readCounter("get" + Names.QueryExecutionMaxTime.name()));
+
+		for (Category category : Category.values()) {
+			keyedCounters.put(category, new ConcurrentHashMap<String, StripedCounterArray>());
+			keyStatistics.put(category, new ConcurrentHashMap<String, Object>());
+		}
+	}
+
+	/**
+	 * Returns the sampling factor N, the counters of single entities, collections and queries are updated for
+	 * 1 in N sessions.
+	 *
+	 * @return the sampling factor, 1 if all sessions are counted.
+	 */
+	public int getSamplingFactor() {
+		return samplingFactor;
+	}
+
+	private boolean isSampled() {
+		return samplingFactor == 1 || sessions.get()[1] != 0;
+	}
+
+	private long readCounter(String getter) {
+		try {
+			Object value = getStatistics().getClass().getMethod(getter).invoke(getStatistics());
+			return value instanceof Number ? ((Number) value).longValue() : 0;
+		} catch (Exception e) {
+			return 0;
+		}
+	}
+
+	private StripedCounterArray getKeyedCounters(Category category, String key) {
+		ConcurrentMap<String, StripedCounterArray> map = keyedCounters.get(category);
+		StripedCounterArray keyCounters = map.get(key);
+		if (keyCounters == null) {
+			StripedCounterArray newCounters = new StripedCounterArray(category.counters.size(), KEY_STRIPES);
+			if (category == Category.query)
+				newCounters.fill(QUERY_MIN_TIME, Long.MAX_VALUE);
+			keyCounters = map.putIfAbsent(key, newCounters);
+			if (keyCounters == null)
+				keyCounters = newCounters;
+		}
+		return keyCounters;
+	}
+
+	/**
+	 * Applies the given event.
+	 *
+	 * @param event the event to apply.
+	 * @param args  the arguments of the event.
+	 */
+	void apply(Event event, Object[] args) {
+		eventCounters[event.ordinal()].increment();
+
+		if (event == Event.openSession) {
+			if (samplingFactor > 1) {
+				int[] threadSessions = sessions.get();
+				threadSessions[1] = threadSessions[0]++ % samplingFactor == 0 ? 1 : 0;
+			}
+		} else if (event == Event.endTransaction) {
+			if (Boolean.TRUE.equals(args[0]))
+				successfulTransactionCount.increment();
+		} else if (event.category == Category.cache) {
+			getKeyedCounters(Category.cache, String.valueOf(args[0])).increment(event.index);
+		} else if (event.category != null) {
+			String key = String.valueOf(args[0]);
+			boolean sampled = isSampled();
+			StripedCounterArray keyCounters = sampled ? getKeyedCounters(event.category, key) : null;
+			if (sampled)
+				keyCounters.increment(event.index);
+
+			if (event == Event.queryExecuted) {
+				long time = ((Number) args[2]).longValue();
+				if (sampled) {
+					keyCounters.add(QUERY_ROWS, ((Number) args[1]).longValue());
+					keyCounters.add(QUERY_TIME, time);
+					keyCounters.updateMinimum(QUERY_MIN_TIME, time);
+					keyCounters.updateMaximum(QUERY_MAX_TIME, time);
+				}
+				updateQueryExecutionMaxTime(key, time);
+			} else if (event.category == Category.query && args[1] != null) {
+				// Query cache events are also counted for the cache region (which is not sampled).
+				getKeyedCounters(Category.cache, String.valueOf(args[1])).increment(event.index - 3);
+			}
+		}
+	}
+
+	private void updateQueryExecutionMaxTime(String query, long time) {
+		long current;
+		while (time > (current = queryExecutionMaxTime.get())) {
+			if (queryExecutionMaxTime.compareAndSet(current, time)) {
+				queryExecutionMaxTimeQueryString = query;
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Returns a snapshot of the counters of the given key.
+	 *
+	 * @param category the category of the key.
+	 * @param key      the key to return the counters for.
+	 * @return a snapshot of the counters of the given key.
+	 */
+	long[] getCounters(Category category, String key) {
+		StripedCounterArray keyCounters = keyedCounters.get(category).get(key);
+		long[] values = new long[category.counters.size()];
+		if (keyCounters != null) {
+			for (int i = 0; i < values.length; i++)
+				values[i] = readKeyCounter(category, keyCounters, i);
+		}
+		return values;
+	}
+
+	static long readKeyCounter(Category category, StripedCounterArray keyCounters, int index) {
+		if (category == Category.query) {
+			if (index == QUERY_MIN_TIME)
+				return keyCounters.sum(0) == 0 ? 0 : keyCounters.min(index);
+			if (index == QUERY_MAX_TIME)
+				return keyCounters.max(index);
+		}
+		return keyCounters.sum(index);
+	}
+
+	/**
+	 * Resets all counters.
+	 */
+	public void clear() {
+		for (StripedCounter counter : counters.values())
+			counter.reset();
+		for (Category category : Category.values()) {
+			keyedCounters.get(category).clear();
+			keyStatistics.get(category).clear();
+		}
+		queryExecutionMaxTime.set(0);
+		queryExecutionMaxTimeQueryString = null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		Object route = routes.get(method);
+		if (route == null)
+			route = addRoute(method);
+
+		if (route instanceof Event) {
+			apply((Event) route, args);
+			return null;
+		}
+		if (route == Route.handled)
+			return invokeHandled(method, args);
+		return invokeStatistics(method, args);
+	}
+
+	private synchronized Object addRoute(Method method) {
+		Object route = routes.get(method);
+		if (route == null) {
+			route = toRoute(method);
+			Map<Method, Object> newRoutes = new IdentityHashMap<Method, Object>(routes);
+			newRoutes.put(method, route);
+			routes = newRoutes;
+		}
+		return route;
+	}
+
+	/**
+	 * Returns how calls to the given method are handled.
+	 *
+	 * @param method the method to route.
+	 * @return the Event to apply or the Route of the call.
+	 */
+	Object toRoute(Method method) {
+		String name = method.getName();
+		Class<?>[] parameterTypes = method.getParameterTypes();
+
+		Event event = EVENTS.get(name);
+		if (event != null && event.argumentCount == parameterTypes.length)
+			return event;
+
+		if (parameterTypes.length == 0) {
+			if (counters.containsKey(name) || "getQueryExecutionMaxTime".equals(name) ||
+					"getQueryExecutionMaxTimeQueryString".equals(name) || "getQueries".equals(name) ||
+					"clear".equals(name))
+				return Route.handled;
+		} else if (parameterTypes.length == 1 && parameterTypes[0] == String.class &&
+				method.getReturnType().isInterface()) {
+			for (Category category : Category.values()) {
+				if (category.getter.equals(name))
+					return Route.handled;
+			}
+		}
+		return Route.delegated;
+	}
+
+	private Object invokeHandled(Method method, Object[] args) throws Throwable {
+		String name = method.getName();
+		if (args == null || args.length == 0) {
+			StripedCounter counter = counters.get(name);
+			if (counter != null)
+				return counter.sum();
+			if ("getQueryExecutionMaxTime".equals(name))
+				return queryExecutionMaxTime.get();
+			if ("getQueryExecutionMaxTimeQueryString".equals(name))
+				return queryExecutionMaxTimeQueryString;
+			if ("getQueries".equals(name)) {
+				Set<String> queries = new LinkedHashSet<String>();
+				String[] decoratedQueries = (String[]) invokeStatistics(method, args);
+				if (decoratedQueries != null)
+					queries.addAll(Arrays.asList(decoratedQueries));
+				queries.addAll(keyedCounters.get(Category.query).keySet());
+				return queries.toArray(new String[queries.size()]);
+			}
+			if ("clear".equals(name))
+				clear();
+		} else if (args[0] != null) {
+			for (Category category : Category.values()) {
+				if (category.getter.equals(name))
+					return getKeyStatistics(method, args, category);
+			}
+		}
+
+		return invokeStatistics(method, args);
+	}
+
+	private Object getKeyStatistics(Method method, Object[] args, Category category) throws Throwable {
+		String key = (String) args[0];
+		ConcurrentMap<String, Object> map = keyStatistics.get(category);
+		Object statistics = map.get(key);
+		if (statistics != null)
+			return statistics;
+
+		// Cache regions are not created on demand and the region sizes come from the decorated statistics.
+		Object delegate = null;
+		if (category == Category.cache) {
+			delegate = invokeStatistics(method, args);
+			if (delegate == null)
+				return null;
+		}
+
+		Class<?> type = method.getReturnType();
+		Object newStatistics = Proxy.newProxyInstance(type.getClassLoader(), new Class[]{type},
+				new KeyStatistics(category, key, getKeyedCounters(category, key), delegate));
+		statistics = map.putIfAbsent(key, newStatistics);
+		return statistics == null ? newStatistics : statistics;
+	}
+
+	/**
+	 * Answers the statistics of a single key from its counters.
+	 */
+	static final class KeyStatistics implements InvocationHandler, Serializable {
+
+		private static final long serialVersionUID = 3319263860935342016L;
+
+		private final Category category;
+		private final String key;
+		private final StripedCounterArray counters;
+		private final Object delegate;
+
+		KeyStatistics(Category category, String key, StripedCounterArray counters, Object delegate) {
+			this.category = category;
+			this.key = key;
+			this.counters = counters;
+			this.delegate = delegate;
+		}
+
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+			Integer index = category.counters.get(name);
+			if (index != null)
+				return readKeyCounter(category, counters, index);
+			if ("getExecutionAvgTime".equals(name)) {
+				long count = counters.sum(0);
+				return count == 0 ? 0L : counters.sum(QUERY_TIME) / count;
+			}
+			if ("toString".equals(name)) {
+				long[] values = new long[counters.length()];
+				for (int i = 0; i < values.length; i++)
+					values[i] = readKeyCounter(category, counters, i);
+				return category + "[" + key + "]" + Arrays.toString(values);
+			}
+			if ("hashCode".equals(name))
+				return System.identityHashCode(proxy);
+			if ("equals".equals(name))
+				return proxy == args[0];
+
+			if (delegate != null) {
+				try {
+					return method.invoke(delegate, args);
+				} catch (InvocationTargetException e) {
+					throw e.getCause();
+				}
+			}
+			return toDefaultValue(method.getReturnType());
+		}
+
+		private static Object toDefaultValue(Class<?> type) {
+			if (type == long.class)
+				return 0L;
+			if (type == int.class)
+				return 0;
+			if (type == double.class)
+				return 0D;
+			if (type == float.class)
+				return 0F;
+			if (type == boolean.class)
+				return false;
+			return null;
+		}
+	}
+}
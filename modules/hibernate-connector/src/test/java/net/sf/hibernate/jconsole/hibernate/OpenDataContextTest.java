@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.hibernate.jconsole.hibernate;
+
+import net.sf.hibernate.jconsole.util.StatisticsObjectNames;
+import net.sf.hibernate.jconsole.util.StatisticsSnapshotService;
+import org.hibernate.SessionFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.management.InstanceNotFoundException;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests that OpenDataContext notices a snapshot MBean that is registered or unregistered after connecting.
+ *
+ * @version 1.0
+ */
+public class OpenDataContextTest {
+
+	MBeanServer server = MBeanServerFactory.newMBeanServer();
+	OpenDataContext context = new OpenDataContext();
+
+	@Before
+	public void setUp() throws Exception {
+		context.setConnection(server);
+	}
+
+	private void registerSnapshotService() throws Exception {
+		server.registerMBean(new StatisticsSnapshotService(mock(SessionFactory.class)),
+				StatisticsObjectNames.HIBERNATE_STATISTICS_SNAPSHOT);
+	}
+
+	@Test
+	public void testLateRegistrationIsNoticed() throws Exception {
+		assertFalse(context.isOpenDataAvailable());
+
+		registerSnapshotService();
+		Thread.sleep(OpenDataContext.SNAPSHOT_RECHECK_INTERVAL + 100);
+
+		assertTrue(context.isOpenDataAvailable());
+	}
+
+	@Test
+	public void testUnregistrationIsNoticedOnRefresh() throws Exception {
+		registerSnapshotService();
+		assertTrue(context.isOpenDataAvailable());
+
+		server.unregisterMBean(StatisticsObjectNames.HIBERNATE_STATISTICS_SNAPSHOT);
+		try {
+			context.refresh();
+			fail("Expected the refresh to fail without the statistics MBean.");
+		} catch (InstanceNotFoundException expected) {
+			// expected.
+		}
+
+		assertFalse(context.isOpenDataAvailable());
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.util;
+
+import net.sf.hibernate.jconsole.stats.LatencyHistogram;
+import org.hibernate.stat.Statistics;
+import org.hibernate.stat.StatisticsImplementor;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Tests the recording of query execution times with QueryLatencyRecorder.
+ *
+ * @version 1.0
+ */
+public class QueryLatencyRecorderTest {
+
+	static class StatisticsHolder {
+		StatisticsImplementor statistics;
+	}
+
+	StatisticsImplementor statistics = mock(StatisticsImplementor.class, withSettings().extraInterfaces(Statistics.class));
+	QueryLatencyRecorder recorder = new QueryLatencyRecorder(statistics);
+
+	@Test
+	public void testRecordsHistogramPerQuery() {
+		for (int i = 1; i <= 100; i++)
+			recorder.record("from A", i);
+		recorder.record("from B", 1000);
+
+		Map<String, LatencyHistogram> histograms = recorder.getHistograms("from A", "from B", "from C");
+		assertEquals(2, histograms.size());
+		assertEquals(100, histograms.get("from A").getTotalCount());
+		assertEquals(51, histograms.get("from A").getValueAtPercentile(50));
+		assertEquals(LatencyHistogram.getHighestValue(LatencyHistogram.getBucket(1000)),
+				histograms.get("from B").getValueAtPercentile(99));
+	}
+
+	@Test
+	public void testDecoratorRecordsAndDelegates() {
+		StatisticsHolder holder = new StatisticsHolder();
+		holder.statistics = statistics;
+
+		StatisticsImplementor proxy = (StatisticsImplementor) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class[]{StatisticsImplementor.class, Statistics.class}, recorder);
+		assertTrue(StatisticsDecorator.replaceField(holder, statistics, proxy));
+		assertSame(proxy, holder.statistics);
+
+		holder.statistics.queryExecuted("from A", 10, 5L);
+		verify(statistics).queryExecuted("from A", 10, 5L);
+		assertEquals(1, recorder.getHistograms("from A").get("from A").getTotalCount());
+
+		((Statistics) holder.statistics).clear();
+		assertTrue(recorder.getHistograms("from A").isEmpty());
+	}
+}
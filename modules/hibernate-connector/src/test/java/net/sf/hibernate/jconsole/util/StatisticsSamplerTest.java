@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.util;
+
+import net.sf.hibernate.jconsole.stats.Names;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static net.sf.hibernate.jconsole.util.StatisticsSamplerMBean.SAMPLE_SEQUENCE;
+import static net.sf.hibernate.jconsole.util.StatisticsSamplerMBean.SAMPLE_TIME;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the ring buffer of StatisticsSampler.
+ *
+ * @version 1.0
+ */
+public class StatisticsSamplerTest {
+
+	Statistics statistics = mock(Statistics.class);
+	SessionFactory sessionFactory = mock(SessionFactory.class);
+
+	StatisticsSampler sampler = new StatisticsSampler(sessionFactory, 100, 2);
+
+	@Before
+	public void setUp() throws Exception {
+		when(sessionFactory.getStatistics()).thenReturn(statistics);
+		when(statistics.getQueryExecutionCount()).thenReturn(1L, 2L, 3L);
+	}
+
+	@Test
+	public void testSamplesSinceReturnsNewSamplesOnly() {
+		sampler.sample(10);
+		sampler.sample(20);
+
+		Map<String, long[]> samples = sampler.getSamplesSince(0);
+		assertArrayEquals(new long[]{0, 2}, samples.get(SAMPLE_SEQUENCE));
+		assertArrayEquals(new long[]{10, 20}, samples.get(SAMPLE_TIME));
+		assertArrayEquals(new long[]{1, 2}, samples.get(Names.QueryExecutionCount.name()));
+		assertArrayEquals(new long[]{0, 0}, samples.get(Names.EntityLoadCount.name()));
+
+		samples = sampler.getSamplesSince(2);
+		assertEquals(0, samples.get(SAMPLE_TIME).length);
+		assertArrayEquals(new long[]{2, 2}, samples.get(SAMPLE_SEQUENCE));
+	}
+
+	@Test
+	public void testOverwrittenSamplesAreMissing() {
+		sampler.sample(10);
+		sampler.sample(20);
+		sampler.sample(30);
+
+		Map<String, long[]> samples = sampler.getSamplesSince(0);
+		assertArrayEquals(new long[]{1, 3}, samples.get(SAMPLE_SEQUENCE));
+		assertArrayEquals(new long[]{20, 30}, samples.get(SAMPLE_TIME));
+		assertArrayEquals(new long[]{2, 3}, samples.get(Names.QueryExecutionCount.name()));
+
+		// Unknown sequences return all samples that are kept.
+		assertArrayEquals(new long[]{20, 30}, sampler.getSamplesSince(100).get(SAMPLE_TIME));
+	}
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.util;
+
+import net.sf.hibernate.jconsole.stats.KeyListFingerprint;
+import net.sf.hibernate.jconsole.stats.Names;
+import net.sf.hibernate.jconsole.stats.StatisticsOpenTypes;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import java.util.Map;
+
+import static net.sf.hibernate.jconsole.util.StatisticsSnapshotServiceMBean.STATISTICS_VERSION;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the bulk and delta operations of StatisticsSnapshotService.
+ *
+ * @version 1.0
+ */
+public class StatisticsSnapshotServiceTest {
+
+	Statistics statistics = mock(Statistics.class);
+	SessionFactory sessionFactory = mock(SessionFactory.class);
+	EntityStatistics first = mock(EntityStatistics.class), second = mock(EntityStatistics.class);
+
+	StatisticsSnapshotService service = new StatisticsSnapshotService(sessionFactory);
+
+	@Before
+	public void setUp() throws Exception {
+		when(sessionFactory.getStatistics()).thenReturn(statistics);
+		when(statistics.getEntityNames()).thenReturn(new String[]{"first", "second"});
+		when(statistics.getCollectionRoleNames()).thenReturn(new String[0]);
+		when(statistics.getQueries()).thenReturn(new String[0]);
+		when(statistics.getSecondLevelCacheRegionNames()).thenReturn(new String[0]);
+		when(statistics.getEntityStatistics("first")).thenReturn(first);
+		when(statistics.getEntityStatistics("second")).thenReturn(second);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> getChangedEntities(Map<String, Object> changes) {
+		return (Map<String, Object>) changes.get(Names.getEntityStatistics.name());
+	}
+
+	@Test
+	public void testInitialDeltaContainsAllStatistics() {
+		Map<String, Object> changes = service.getStatisticsChangedSince(0);
+		assertEquals(2, getChangedEntities(changes).size());
+		assertTrue((Long) changes.get(STATISTICS_VERSION) > 0);
+	}
+
+	@Test
+	public void testDeltaContainsChangedStatisticsOnly() {
+		long version = (Long) service.getStatisticsChangedSince(0).get(STATISTICS_VERSION);
+
+		Map<String, Object> changes = service.getStatisticsChangedSince(version);
+		assertTrue(getChangedEntities(changes).isEmpty());
+		assertEquals(version, changes.get(STATISTICS_VERSION));
+
+		when(second.getLoadCount()).thenReturn(5L);
+		changes = service.getStatisticsChangedSince(version);
+		assertEquals(1, getChangedEntities(changes).size());
+		assertSame(second, getChangedEntities(changes).get("second"));
+		assertEquals(version + 1, changes.get(STATISTICS_VERSION));
+	}
+
+	@Test
+	public void testOpenDataContainsChangedStatistics() {
+		when(second.getLoadCount()).thenReturn(5L);
+		CompositeData changes = service.getStatisticsDataChangedSince(0);
+		assertEquals(service.getStatisticsChangedSince(0).get(STATISTICS_VERSION),
+				changes.get(StatisticsOpenTypes.VERSION_ITEM));
+
+		TabularData entities = (TabularData) changes.get(Names.getEntityStatistics.name());
+		assertEquals(2, entities.size());
+		Map<String, net.sf.hibernate.jconsole.stats.EntityStatistics> records = StatisticsOpenTypes.fromTabularData(
+				net.sf.hibernate.jconsole.stats.EntityStatistics.class, entities);
+		assertEquals(5L, records.get("second").getLoadCount());
+		assertEquals(0L, records.get("first").getLoadCount());
+	}
+
+	@Test
+	public void testUnknownVersionReturnsAllStatistics() {
+		long version = (Long) service.getStatisticsChangedSince(0).get(STATISTICS_VERSION);
+		Map<String, Object> changes = service.getStatisticsChangedSince(version + 1000);
+		assertEquals(2, getChangedEntities(changes).size());
+		assertEquals(2, getChangedEntities(service.getStatisticsChangedSince(1000)).size());
+	}
+
+	@Test
+	public void testVersionOfPreviousInstanceIsUnknown() {
+		long version = (Long) service.getStatisticsChangedSince(0).get(STATISTICS_VERSION);
+
+		StatisticsSnapshotService restarted = new StatisticsSnapshotService(sessionFactory);
+		restarted.getStatisticsChangedSince(0);
+		Map<String, Object> changes = restarted.getStatisticsChangedSince(version);
+		assertEquals(2, getChangedEntities(changes).size());
+	}
+
+	@Test
+	public void testKeyListFingerprintsMatchTheKeys() {
+		long[] fingerprint = service.fingerprintKeyLists().get(Names.EntityNames.name());
+		assertEquals(2, fingerprint[0]);
+		assertEquals(KeyListFingerprint.hash("first", "second"), fingerprint[1]);
+		assertArrayEquals(new String[]{"first", "second"},
+				service.getKeyListSince(Names.EntityNames.name(), 0, KeyListFingerprint.EMPTY_HASH));
+
+		fingerprint = service.fingerprintKeyLists().get(Names.Queries.name());
+		assertEquals(0, fingerprint[0]);
+		assertEquals(KeyListFingerprint.EMPTY_HASH, fingerprint[1]);
+	}
+
+	@Test
+	public void testAppendedKeysAreReturnedAsTail() {
+		service.fingerprintKeyLists();
+		long hash = KeyListFingerprint.hash("first", "second");
+
+		when(statistics.getEntityNames()).thenReturn(new String[]{"third", "second", "first"});
+		long[] fingerprint = service.fingerprintKeyLists().get(Names.EntityNames.name());
+		assertEquals(3, fingerprint[0]);
+		assertEquals(KeyListFingerprint.hash(hash, "third"), fingerprint[1]);
+		assertArrayEquals(new String[]{"third"}, service.getKeyListSince(Names.EntityNames.name(), 2, hash));
+		assertNull(service.getKeyListSince(Names.EntityNames.name(), 2, hash + 1));
+	}
+
+	@Test
+	public void testRemovedKeysStartOver() {
+		service.fingerprintKeyLists();
+		long hash = KeyListFingerprint.hash("first", "second");
+
+		when(statistics.getEntityNames()).thenReturn(new String[]{"second", "third"});
+		long[] fingerprint = service.fingerprintKeyLists().get(Names.EntityNames.name());
+		assertEquals(2, fingerprint[0]);
+		assertEquals(KeyListFingerprint.hash("second", "third"), fingerprint[1]);
+		assertNull(service.getKeyListSince(Names.EntityNames.name(), 2, hash));
+	}
+}
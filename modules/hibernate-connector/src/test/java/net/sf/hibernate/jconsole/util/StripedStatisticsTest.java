@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.util;
+
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.hibernate.stat.StatisticsImplementor;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+
+import static net.sf.hibernate.jconsole.util.StripedStatistics.Category;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Tests the counting of statistics events with StripedStatistics.
+ *
+ * @version 1.0
+ */
+public class StripedStatisticsTest {
+
+	StatisticsImplementor statistics = mock(StatisticsImplementor.class, withSettings().extraInterfaces(Statistics.class));
+	StripedStatistics stripedStatistics = new StripedStatistics(statistics);
+	StatisticsImplementor implementor = (StatisticsImplementor) Proxy.newProxyInstance(getClass().getClassLoader(),
+			new Class[]{StatisticsImplementor.class, Statistics.class}, stripedStatistics);
+	Statistics proxy = (Statistics) implementor;
+
+	@Test
+	public void testCountsGlobalEvents() {
+		implementor.openSession();
+		implementor.openSession();
+		implementor.closeSession();
+		implementor.endTransaction(true);
+		implementor.endTransaction(false);
+
+		assertEquals(2, proxy.getSessionOpenCount());
+		assertEquals(1, proxy.getSessionCloseCount());
+		assertEquals(2, proxy.getTransactionCount());
+		assertEquals(1, proxy.getSuccessfulTransactionCount());
+	}
+
+	@Test
+	public void testCountsKeyedEvents() {
+		implementor.loadEntity("A");
+		implementor.loadEntity("A");
+		implementor.loadEntity("B");
+		implementor.secondLevelCacheHit("region");
+		implementor.queryCacheHit("from A", "queries");
+
+		assertEquals(3, proxy.getEntityLoadCount());
+		assertEquals(2, stripedStatistics.getCounters(Category.entity, "A")[0]);
+		assertEquals(1, stripedStatistics.getCounters(Category.entity, "B")[0]);
+		assertEquals(0, stripedStatistics.getCounters(Category.entity, "C")[0]);
+
+		assertEquals(1, proxy.getSecondLevelCacheHitCount());
+		assertEquals(1, proxy.getQueryCacheHitCount());
+		assertEquals(1, stripedStatistics.getCounters(Category.cache, "region")[0]);
+		assertEquals(1, stripedStatistics.getCounters(Category.cache, "queries")[0]);
+		assertEquals(1, stripedStatistics.getCounters(Category.query, "from A")[3]);
+	}
+
+	@Test
+	public void testRecordsQueryExecutions() {
+		implementor.queryExecuted("from A", 10, 5L);
+		implementor.queryExecuted("from A", 20, 3L);
+		implementor.queryExecuted("from B", 1, 7L);
+
+		assertEquals(3, proxy.getQueryExecutionCount());
+		assertEquals(7, proxy.getQueryExecutionMaxTime());
+		assertEquals("from B", proxy.getQueryExecutionMaxTimeQueryString());
+		assertEquals(Arrays.asList("from A", "from B"), Arrays.asList(proxy.getQueries()));
+
+		long[] counters = stripedStatistics.getCounters(Category.query, "from A");
+		assertEquals(2, counters[0]);
+		assertEquals(30, counters[1]);
+		assertEquals(8, counters[2]);
+		assertEquals(3, counters[6]);
+		assertEquals(5, counters[7]);
+		assertEquals(0, stripedStatistics.getCounters(Category.query, "from C")[6]);
+	}
+
+	@Test
+	public void testKeyStatisticsAreCreatedOnceAndLive() {
+		implementor.queryExecuted("from A", 10, 5L);
+		implementor.queryExecuted("from A", 20, 3L);
+
+		QueryStatistics queryStatistics = proxy.getQueryStatistics("from A");
+		assertSame(queryStatistics, proxy.getQueryStatistics("from A"));
+		assertEquals(2, queryStatistics.getExecutionCount());
+		assertEquals(4, queryStatistics.getExecutionAvgTime());
+		assertEquals(3, queryStatistics.getExecutionMinTime());
+
+		implementor.queryExecuted("from A", 1, 1L);
+		assertEquals(3, queryStatistics.getExecutionCount());
+		assertEquals(1, queryStatistics.getExecutionMinTime());
+		assertEquals(5, queryStatistics.getExecutionMaxTime());
+
+		proxy.clear();
+		assertNotSame(queryStatistics, proxy.getQueryStatistics("from A"));
+		assertEquals(0, proxy.getQueryStatistics("from A").getExecutionMinTime());
+	}
+
+	@Test
+	public void testSamplesKeyedCountersPerSession() {
+		stripedStatistics = new StripedStatistics(statistics, 2);
+		implementor = (StatisticsImplementor) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class[]{StatisticsImplementor.class, Statistics.class}, stripedStatistics);
+		proxy = (Statistics) implementor;
+
+		for (int i = 0; i < 4; i++) {
+			implementor.openSession();
+			implementor.loadEntity("A");
+			implementor.queryExecuted("from A", 1, i);
+			implementor.secondLevelCacheHit("region");
+		}
+
+		assertEquals(2, stripedStatistics.getSamplingFactor());
+		assertEquals(4, proxy.getEntityLoadCount());
+		assertEquals(4, proxy.getQueryExecutionCount());
+		assertEquals(3, proxy.getQueryExecutionMaxTime());
+		assertEquals(2, stripedStatistics.getCounters(Category.entity, "A")[0]);
+		assertEquals(2, stripedStatistics.getCounters(Category.query, "from A")[0]);
+		assertEquals(4, stripedStatistics.getCounters(Category.cache, "region")[0]);
+	}
+
+	@Test
+	public void testClearResetsAndDelegates() {
+		implementor.openSession();
+		implementor.queryExecuted("from A", 10, 5L);
+		proxy.clear();
+
+		verify((Statistics) statistics).clear();
+		assertEquals(0, proxy.getSessionOpenCount());
+		assertEquals(0, proxy.getQueryExecutionMaxTime());
+		assertEquals(0, stripedStatistics.getCounters(Category.query, "from A")[0]);
+	}
+
+	@Test
+	public void testDelegatesOtherCalls() {
+		proxy.isStatisticsEnabled();
+		verify((Statistics) statistics).isStatisticsEnabled();
+	}
+}
@@ -22,7 +22,7 @@ package net.sf.hibernate.jconsole.tester;
 import org.junit.Test;
 
 /**
- * Tests whether HibernateContextTester runs inside this Hibernate version.
+ * Tests whether HibernateContextTester and the Workload run inside this Hibernate version.
  *
  * @author Juergen_Kellerer, 2010-09-18
  * @version 1.0
@@ -32,4 +32,19 @@ public class HibernateContextTesterTest {
 	public void testTestContext() throws Exception {
 		HibernateContextTester.testContext();
 	}
+
+	@Test
+	public void testWorkload() throws Exception {
+		Workload.testWorkload();
+	}
+
+	@Test
+	public void testJmxBindingRestoresStatistics() throws Exception {
+		HibernateContextTester.testJmxBindingRestoresStatistics();
+	}
+
+	@Test
+	public void testGeneratedAccessors() throws Exception {
+		HibernateContextTester.testGeneratedAccessors();
+	}
 }
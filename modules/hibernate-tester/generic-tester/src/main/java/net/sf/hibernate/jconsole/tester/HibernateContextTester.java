@@ -21,8 +21,17 @@ package net.sf.hibernate.jconsole.tester;
 
 import net.sf.hibernate.jconsole.hibernate.HibernateContext;
 import net.sf.hibernate.jconsole.hibernate.Methods;
+import net.sf.hibernate.jconsole.stats.EntityStatistics;
 import net.sf.hibernate.jconsole.stats.QueryStatistics;
-
+import net.sf.hibernate.jconsole.stats.StraightNameMappingProxy;
+import net.sf.hibernate.jconsole.util.HibernateJmxBinding;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+
+import javax.management.MBeanServerFactory;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.util.Random;
 
 /**
@@ -56,6 +65,93 @@ public final class HibernateContextTester {
 		measureStateAfterDummyAction(context);
 	}
 
+	/**
+	 * Runs a test whether HibernateJmxBinding restores the statistics of the session factory when it is
+	 * unregistered, after decorating them with all optional decorators.
+	 *
+	 * @throws Exception in case of the test was not successful.
+	 */
+	public static void testJmxBindingRestoresStatistics() throws Exception {
+		Configuration cfg = HibernateSessions.newConfiguration("restoredb");
+		cfg.addResource("net/sf/hibernate/jconsole/tester/test-message-entity.hbm.xml");
+		SessionFactory sessionFactory = cfg.buildSessionFactory();
+		try {
+			Object statistics = sessionFactory.getStatistics();
+
+			HibernateJmxBinding binding = new HibernateJmxBinding(MBeanServerFactory.newMBeanServer(), sessionFactory);
+			binding.setStripedStatistics(true);
+			binding.setQueryLatencyRecording(true);
+			binding.setSamplerEnabled(false);
+			binding.registerJmxBinding();
+			binding.unregisterJmxBinding();
+
+			if (sessionFactory.getStatistics() != statistics)
+				throw new IllegalArgumentException("Expected the original statistics to be restored.");
+		} finally {
+			sessionFactory.close();
+		}
+	}
+
+	/**
+	 * Runs a test whether the accessors generated for the statistics interfaces attach to the entity and
+	 * query statistics classes of the hibernate version on the classpath and return what the statistics
+	 * return when called reflectively.
+	 *
+	 * @throws Exception in case of the test was not successful.
+	 */
+	public static void testGeneratedAccessors() throws Exception {
+		Configuration cfg = HibernateSessions.newConfiguration("accessordb");
+		cfg.setProperty("hibernate.generate_statistics", "true");
+		cfg.addResource("net/sf/hibernate/jconsole/tester/test-message-entity.hbm.xml");
+		SessionFactory sessionFactory = cfg.buildSessionFactory();
+		try {
+			final String query = "SELECT m FROM TestMessageEntity m WHERE m.text = :text";
+			Session session = HibernateSessions.openSession(sessionFactory);
+			try {
+				session.beginTransaction();
+				session.persist(new TestMessageEntity("Accessor Message"));
+				session.createQuery(query).setParameter("text", "Accessor Message").list();
+				session.getTransaction().rollback();
+			} finally {
+				session.close();
+			}
+
+			Object statistics = sessionFactory.getStatistics();
+			assertAccessorMatches(EntityStatistics.class, statistics.getClass().
+					getMethod("getEntityStatistics", String.class).invoke(statistics, TestMessageEntity.class.getName()));
+			assertAccessorMatches(QueryStatistics.class, statistics.getClass().
+					getMethod("getQueryStatistics", String.class).invoke(statistics, query));
+		} finally {
+			sessionFactory.close();
+		}
+	}
+
+	private static void assertAccessorMatches(Class<?> interfaceClass, Object delegate) throws Exception {
+		assertNotNull(delegate);
+		Object accessor = StraightNameMappingProxy.newInstance(interfaceClass, delegate, 0L);
+		if (Proxy.isProxyClass(accessor.getClass()))
+			throw new IllegalArgumentException("Expected a generated accessor for " + delegate.getClass().getName());
+
+		boolean counted = false;
+		for (Method method : interfaceClass.getMethods()) {
+			if (method.getParameterTypes().length != 0)
+				continue;
+			Object expected = 0L, actual = method.invoke(accessor);
+			try {
+				Method target = delegate.getClass().getMethod(method.getName());
+				target.setAccessible(true);
+				expected = target.invoke(delegate);
+			} catch (NoSuchMethodException ignored) {
+				// Not defined in this hibernate version, the accessor returns the default value.
+			}
+			assertEquals(expected, actual);
+			counted |= !Long.valueOf(0L).equals(actual);
+		}
+
+		if (!counted)
+			throw new IllegalArgumentException("Expected " + delegate.getClass().getName() + " to count events.");
+	}
+
 	static void measureStateAfterDummyAction(HibernateContext context) {
 		assertEquals(1, context.getQueries().length);
 		QueryStatistics qs = context.getQueryStatistics().values().iterator().next();
@@ -87,11 +183,18 @@ public final class HibernateContextTester {
 
 	/**
 	 * Implements a main method allowing to start this tester as a mini hibernate application.
+	 * <p/>
+	 * When started with arguments, runs a {@link Workload} configured by the arguments instead.
 	 *
 	 * @param args the cl args.
 	 * @throws Exception in case of the tester fails to init hibernate.
 	 */
 	public static void main(String[] args) throws Exception {
+		if (args.length > 0) {
+			Workload.main(args);
+			return;
+		}
+
 		testContext();
 
 		// Waiting on user abort
@@ -50,6 +50,18 @@ public final class HibernateSessions {
 	 */
 	public static Session getSession() {
 		initSessionFactory();
+		return openSession(sessionFactory);
+	}
+
+	/**
+	 * Opens a new session with the given session factory.
+	 * <p/>
+	 * The method is called reflectively as the return type of "openSession" differs between Hibernate 3 and 4.
+	 *
+	 * @param sessionFactory the session factory to open the session with.
+	 * @return a new hibernate session.
+	 */
+	public static Session openSession(SessionFactory sessionFactory) {
 		try {
 			final Method openSessionMethod = sessionFactory.getClass().getMethod("openSession");
 			return (Session) openSessionMethod.invoke(sessionFactory);
@@ -58,6 +70,23 @@ public final class HibernateSessions {
 		}
 	}
 
+	/**
+	 * Creates a new configuration using the given in-memory database.
+	 *
+	 * @param database the name of the in-memory database, including optional connection properties.
+	 * @return a new configuration without mappings.
+	 */
+	public static Configuration newConfiguration(String database) {
+		Configuration cfg = new Configuration();
+		cfg.setProperties(System.getProperties());
+
+		cfg.setProperty("hibernate.connection.url", "jdbc:hsqldb:mem:" + database);
+		cfg.setProperty("hibernate.connection.driver_class", "org.hsqldb.jdbc.JDBCDriver");
+		cfg.setProperty("hibernate.connection.username", "SA");
+		cfg.setProperty("hibernate.hbm2ddl.auto", "create-drop");
+		return cfg;
+	}
+
 	/**
 	 * Initializes the session factory (once for the JVM).
 	 */
@@ -72,18 +101,13 @@ public final class HibernateSessions {
 	}
 
 	private static void doInitSessionFactory() throws Exception {
-		Configuration cfg = new Configuration();
+		Configuration cfg = newConfiguration("mymemdb");
 		cfg.addResource("net/sf/hibernate/jconsole/tester/test-message-entity.hbm.xml");
-		cfg.setProperties(System.getProperties());
-
-		cfg.setProperty("hibernate.connection.url", "jdbc:hsqldb:mem:mymemdb");
-		cfg.setProperty("hibernate.connection.driver_class", "org.hsqldb.jdbc.JDBCDriver");
-		cfg.setProperty("hibernate.connection.username", "SA");
-		cfg.setProperty("hibernate.hbm2ddl.auto", "create-drop");
 
 		sessionFactory = cfg.buildSessionFactory();
 		mBeanServer = ManagementFactory.getPlatformMBeanServer();
 		HibernateJmxBinding binding = new HibernateJmxBinding(mBeanServer, sessionFactory);
+		binding.setQueryLatencyRecording(true);
 		binding.registerJmxBinding();
 	}
 
@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.tester;
+
+import net.sf.hibernate.jconsole.hibernate.HibernateContext;
+import net.sf.hibernate.jconsole.stats.LatencyHistogram;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the instrumentation tax of the statistics for the Hibernate version on the classpath.
+ * <p/>
+ * The same {@link Workload} runs once for every {@link Mode}, each run is warmed up before its throughput and
+ * latency percentiles are measured. The results are printed and appended to a CSV report, together with the
+ * relative change against the run without statistics. Running all tester modules with
+ * <code>mvn -Pstatistics-overhead verify</code> collects the results of all Hibernate versions in
+ * target/statistics-overhead.csv.
+ * <p/>
+ * Run with: <code>java -cp ... net.sf.hibernate.jconsole.tester.StatisticsOverheadBenchmark report.csv label
+ * [warmup=10] [measure=30] [pollInterval=1000] [workload properties...]</code>
+ *
+ * @version 1.0
+ */
+public class StatisticsOverheadBenchmark {
+
+	private static final String HEADER = "date,tester,hibernate,mode,threads,ops/sec,ops/sec delta %," +
+			"p50 us,p99 us,p99.9 us,p99 delta %,errors";
+
+	/**
+	 * Defines the instrumentation levels that are compared.
+	 */
+	public enum Mode {
+		/**
+		 * Hibernate statistics are disabled.
+		 */
+		off,
+		/**
+		 * Hibernate statistics are enabled, nothing reads them.
+		 */
+		statistics,
+		/**
+		 * HibernateJmxBinding is registered and a poller refreshes a HibernateContext like the plugin does.
+		 */
+		jmxPolling
+	}
+
+	/**
+	 * Is the result of one run.
+	 */
+	public static class Result {
+		final Mode mode;
+		final double opsPerSecond;
+		final LatencyHistogram latencies;
+		final long errors;
+
+		Result(Mode mode, double opsPerSecond, LatencyHistogram latencies, long errors) {
+			this.mode = mode;
+			this.opsPerSecond = opsPerSecond;
+			this.latencies = latencies;
+			this.errors = errors;
+		}
+	}
+
+	private int warmupSeconds = 10;
+	private int measureSeconds = 30;
+	private int pollInterval = 1000;
+	private final List<String> workloadArgs = new ArrayList<String>();
+
+	/**
+	 * Applies arguments of the form "name=value", arguments that are not known by the benchmark configure the
+	 * workload.
+	 *
+	 * @param args the arguments to apply.
+	 * @return this instance.
+	 */
+	public StatisticsOverheadBenchmark configure(String... args) {
+		for (String arg : args) {
+			if (arg.startsWith("warmup="))
+				warmupSeconds = Integer.parseInt(arg.substring("warmup=".length()));
+			else if (arg.startsWith("measure="))
+				measureSeconds = Integer.parseInt(arg.substring("measure=".length()));
+			else if (arg.startsWith("pollInterval="))
+				pollInterval = Integer.parseInt(arg.substring("pollInterval=".length()));
+			else
+				workloadArgs.add(arg);
+		}
+		// Fails fast on invalid workload arguments.
+		newWorkload(Mode.off);
+		return this;
+	}
+
+	private Workload newWorkload(Mode mode) {
+		Workload workload = new Workload();
+		workload.setOpsPerSecond(0);
+		workload.configure(workloadArgs.toArray(new String[workloadArgs.size()]));
+		workload.setStatistics(mode != Mode.off);
+		workload.setJmxBinding(mode == Mode.jmxPolling);
+		return workload;
+	}
+
+	/**
+	 * Runs the workload with the given mode.
+	 *
+	 * @param mode the instrumentation level to run with.
+	 * @return the result of the run.
+	 * @throws Exception in case of the run failed.
+	 */
+	public Result run(Mode mode) throws Exception {
+		Workload workload = newWorkload(mode);
+		workload.start();
+
+		Poller poller = null;
+		try {
+			if (mode == Mode.jmxPolling) {
+				poller = new Poller();
+				poller.start();
+			}
+
+			Thread.sleep(TimeUnit.SECONDS.toMillis(warmupSeconds));
+			long operations = workload.getOperationCount(), errors = workload.getErrorCount();
+			LatencyHistogram latencies = workload.getLatencyHistogram();
+			long time = System.nanoTime();
+
+			long refreshes = poller == null ? 0 : poller.refreshes;
+
+			Thread.sleep(TimeUnit.SECONDS.toMillis(measureSeconds));
+			double seconds = (System.nanoTime() - time) / (double) TimeUnit.SECONDS.toNanos(1);
+			// A run in the polling mode is only valid if the poller was refreshing all along.
+			if (poller != null)
+				poller.verify(refreshes);
+			return new Result(mode, (workload.getOperationCount() - operations) / seconds,
+					workload.getLatencyHistogram().since(latencies), workload.getErrorCount() - errors);
+		} finally {
+			if (poller != null)
+				poller.interrupt();
+			workload.stop();
+			if (poller != null)
+				poller.join();
+		}
+	}
+
+	/**
+	 * Runs all modes, prints the results and appends them to the given report.
+	 *
+	 * @param report the CSV file to append the results to.
+	 * @param label  the name of the tester module.
+	 * @throws Exception in case of a run failed.
+	 */
+	public void run(File report, String label) throws Exception {
+		List<Result> results = new ArrayList<Result>();
+		for (Mode mode : Mode.values())
+			results.add(run(mode));
+
+		String date = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss").format(new Date());
+		String version = getHibernateVersion();
+		Result baseline = results.get(0);
+		int threads = newWorkload(baseline.mode).getThreads();
+
+		StringBuilder lines = new StringBuilder();
+		for (Result result : results) {
+			lines.append(String.format("%s,%s,%s,%s,%d,%.1f,%.1f,%d,%d,%d,%.1f,%d%n", date, label, version,
+					result.mode, threads, result.opsPerSecond,
+					delta(result.opsPerSecond, baseline.opsPerSecond),
+					result.latencies.getValueAtPercentile(50), result.latencies.getValueAtPercentile(99),
+					result.latencies.getValueAtPercentile(99.9),
+					delta(result.latencies.getValueAtPercentile(99), baseline.latencies.getValueAtPercentile(99)),
+					result.errors));
+		}
+
+		System.out.println("Statistics overhead of " + label + " (Hibernate " + version + "):");
+		System.out.println(HEADER);
+		System.out.print(lines);
+
+		append(report, lines.toString());
+	}
+
+	private static double delta(double value, double baseline) {
+		return baseline == 0 ? 0 : (value - baseline) * 100D / baseline;
+	}
+
+	private static void append(File report, String lines) throws IOException {
+		File directory = report.getAbsoluteFile().getParentFile();
+		if (!directory.isDirectory() && !directory.mkdirs())
+			throw new IOException("Failed creating " + directory);
+
+		boolean header = !report.isFile() || report.length() == 0;
+		Writer writer = new FileWriter(report, true);
+		try {
+			if (header)
+				writer.write(HEADER + String.format("%n"));
+			writer.write(lines);
+		} finally {
+			writer.close();
+		}
+	}
+
+	/**
+	 * Returns the version of Hibernate on the classpath, using the APIs of the different versions reflectively.
+	 *
+	 * @return the version of Hibernate on the classpath.
+	 */
+	static String getHibernateVersion() {
+		try {
+			return (String) Class.forName("org.hibernate.Version").getMethod("getVersionString").invoke(null);
+		} catch (Exception ignored) {
+			// Hibernate 3.3 and older.
+		}
+		try {
+			return (String) Class.forName("org.hibernate.cfg.Environment").getField("VERSION").get(null);
+		} catch (Exception ignored) {
+			// Not available.
+		}
+		return "unknown";
+	}
+
+	/**
+	 * Refreshes a context from the platform MBean server in the configured interval.
+	 */
+	private final class Poller extends Thread {
+
+		private volatile Exception failure;
+		private volatile long refreshes;
+
+		private Poller() {
+			super("StatisticsPoller");
+			setDaemon(true);
+		}
+
+		@Override
+		public void run() {
+			HibernateContext context = new HibernateContext();
+			context.setConnection(ManagementFactory.getPlatformMBeanServer());
+			try {
+				while (!isInterrupted()) {
+					context.refresh();
+					refreshes++;
+					Thread.sleep(pollInterval);
+				}
+			} catch (InterruptedException e) {
+				// Stopped by the benchmark.
+			} catch (Exception e) {
+				failure = e;
+			}
+		}
+
+		/**
+		 * Verifies that the poller did not fail and refreshed since the given count.
+		 *
+		 * @param refreshesBefore the refresh count at the begin of the measurement.
+		 * @throws IllegalStateException in case of the poller failed or did not refresh.
+		 */
+		void verify(long refreshesBefore) {
+			if (failure != null)
+				throw new IllegalStateException("Failed polling the statistics.", failure);
+			if (refreshes == refreshesBefore || !isAlive())
+				throw new IllegalStateException("The statistics were not polled while measuring.");
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		if (args.length < 2) {
+			System.err.println("Usage: StatisticsOverheadBenchmark report.csv label [warmup=10] [measure=30] " +
+					"[pollInterval=1000] [workload properties...]");
+			System.exit(1);
+		}
+
+		String[] properties = new String[args.length - 2];
+		System.arraycopy(args, 2, properties, 0, properties.length);
+		new StatisticsOverheadBenchmark().configure(properties).run(new File(args[0]), args[1]);
+	}
+}
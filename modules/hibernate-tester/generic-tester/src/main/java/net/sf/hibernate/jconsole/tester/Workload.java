@@ -0,0 +1,573 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.tester;
+
+import net.sf.hibernate.jconsole.stats.LatencyHistogram;
+import net.sf.hibernate.jconsole.util.HibernateJmxBinding;
+import org.hibernate.Query;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.Statistics;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Drives a configurable, multi-threaded workload against Hibernate.
+ * <p/>
+ * The workload uses its own session factory and in-memory database with the entity types of
+ * {@link WorkloadSchema}. Worker threads run one operation per session and transaction, chosen by weight from
+ * loads, queries, collection fetches, updates and inserts. Entities and collections use the second level cache
+ * and a part of the queries uses the query cache, if a cache implementation is available in the Hibernate version
+ * at hand (HashtableCacheProvider in 3.x, Ehcache in 4.x).
+ * <p/>
+ * Start from the command line with the CLI tester of any Hibernate version, e.g.:
+ * <code>java -jar hibernate-3-3-tester-1.0.8-cli.jar threads=16 opsPerSecond=2000 entityTypes=50</code>
+ *
+ * @version 1.0
+ */
+public class Workload {
+
+	private static final String HASHTABLE_CACHE_PROVIDER = "org.hibernate.cache.HashtableCacheProvider";
+	private static final String EHCACHE_REGION_FACTORY = "org.hibernate.cache.ehcache.EhCacheRegionFactory";
+
+	private static final WorkloadSchema.QueryShape[] QUERY_SHAPES = WorkloadSchema.QueryShape.values();
+
+	private int threads = 4;
+	private int opsPerSecond = 200;
+	private int entityTypes = 20;
+	private int rowsPerType = 100;
+	private boolean secondLevelCache = true;
+	private int queryCachePercent = 30;
+	private int loads = 40, queries = 30, collectionFetches = 10, updates = 10, inserts = 10;
+	private boolean statistics = true;
+	private boolean jmxBinding;
+
+	private final AtomicLong operationCount = new AtomicLong(), errorCount = new AtomicLong();
+	private final AtomicLongArray latencies = new AtomicLongArray(LatencyHistogram.BUCKET_COUNT);
+	private volatile RuntimeException lastError;
+
+	private volatile boolean running;
+	private Thread[] workers;
+	private WorkloadSchema schema;
+	private SessionFactory sessionFactory;
+	private HibernateJmxBinding binding;
+	private AtomicLong[] rowCounts;
+
+	/**
+	 * Applies arguments of the form "name=value" to the properties of this workload.
+	 *
+	 * @param args the arguments to apply.
+	 * @return this instance.
+	 */
+	public Workload configure(String... args) {
+		for (String arg : args) {
+			int index = arg.indexOf('=');
+			if (index == -1)
+				throw new IllegalArgumentException("Expected 'name=value' but was '" + arg + "'");
+
+			String name = arg.substring(0, index), value = arg.substring(index + 1);
+			if ("threads".equals(name))
+				setThreads(Integer.parseInt(value));
+			else if ("opsPerSecond".equals(name))
+				setOpsPerSecond(Integer.parseInt(value));
+			else if ("entityTypes".equals(name))
+				setEntityTypes(Integer.parseInt(value));
+			else if ("rowsPerType".equals(name))
+				setRowsPerType(Integer.parseInt(value));
+			else if ("statistics".equals(name))
+				setStatistics(Boolean.parseBoolean(value));
+			else if ("secondLevelCache".equals(name))
+				setSecondLevelCache(Boolean.parseBoolean(value));
+			else if ("queryCachePercent".equals(name))
+				setQueryCachePercent(Integer.parseInt(value));
+			else if ("mix".equals(name)) {
+				String[] weights = value.split(",");
+				if (weights.length != 5)
+					throw new IllegalArgumentException("Expected 'mix=loads,queries,collectionFetches,updates," +
+							"inserts' but was '" + arg + "'");
+				setMix(Integer.parseInt(weights[0].trim()), Integer.parseInt(weights[1].trim()),
+						Integer.parseInt(weights[2].trim()), Integer.parseInt(weights[3].trim()),
+						Integer.parseInt(weights[4].trim()));
+			} else
+				throw new IllegalArgumentException("Unknown workload property '" + name + "'");
+		}
+		return this;
+	}
+
+	public int getThreads() {
+		return threads;
+	}
+
+	public void setThreads(int threads) {
+		if (threads < 1)
+			throw new IllegalArgumentException("threads must be 1 or more, was " + threads);
+		this.threads = threads;
+	}
+
+	public int getOpsPerSecond() {
+		return opsPerSecond;
+	}
+
+	/**
+	 * Sets the target throughput of all threads together.
+	 *
+	 * @param opsPerSecond the operations per second, 0 runs as fast as possible.
+	 */
+	public void setOpsPerSecond(int opsPerSecond) {
+		if (opsPerSecond < 0)
+			throw new IllegalArgumentException("opsPerSecond must not be negative, was " + opsPerSecond);
+		this.opsPerSecond = opsPerSecond;
+	}
+
+	public int getEntityTypes() {
+		return entityTypes;
+	}
+
+	public void setEntityTypes(int entityTypes) {
+		if (entityTypes < 1)
+			throw new IllegalArgumentException("entityTypes must be 1 or more, was " + entityTypes);
+		this.entityTypes = entityTypes;
+	}
+
+	public int getRowsPerType() {
+		return rowsPerType;
+	}
+
+	public void setRowsPerType(int rowsPerType) {
+		if (rowsPerType < 1)
+			throw new IllegalArgumentException("rowsPerType must be 1 or more, was " + rowsPerType);
+		this.rowsPerType = rowsPerType;
+	}
+
+	public boolean isSecondLevelCache() {
+		return secondLevelCache;
+	}
+
+	public void setSecondLevelCache(boolean secondLevelCache) {
+		this.secondLevelCache = secondLevelCache;
+	}
+
+	public int getQueryCachePercent() {
+		return queryCachePercent;
+	}
+
+	public void setQueryCachePercent(int queryCachePercent) {
+		if (queryCachePercent < 0 || queryCachePercent > 100)
+			throw new IllegalArgumentException("queryCachePercent must be 0 to 100, was " + queryCachePercent);
+		this.queryCachePercent = queryCachePercent;
+	}
+
+	/**
+	 * Sets the relative weights of the operations.
+	 *
+	 * @param loads             the weight of loading an entity by id.
+	 * @param queries           the weight of executing a query.
+	 * @param collectionFetches the weight of loading an entity and fetching its children.
+	 * @param updates           the weight of updating an entity.
+	 * @param inserts           the weight of inserting an entity.
+	 */
+	public void setMix(int loads, int queries, int collectionFetches, int updates, int inserts) {
+		if (loads < 0 || queries < 0 || collectionFetches < 0 || updates < 0 || inserts < 0 ||
+				loads + queries + collectionFetches + updates + inserts == 0)
+			throw new IllegalArgumentException("The weights must not be negative and not all 0.");
+		this.loads = loads;
+		this.queries = queries;
+		this.collectionFetches = collectionFetches;
+		this.updates = updates;
+		this.inserts = inserts;
+	}
+
+	public boolean isStatistics() {
+		return statistics;
+	}
+
+	/**
+	 * Sets whether Hibernate collects statistics ("hibernate.generate_statistics").
+	 * <p/>
+	 * Note: {@link HibernateJmxBinding} enables the statistics in any case.
+	 *
+	 * @param statistics true to collect statistics.
+	 */
+	public void setStatistics(boolean statistics) {
+		this.statistics = statistics;
+	}
+
+	public boolean isJmxBinding() {
+		return jmxBinding;
+	}
+
+	/**
+	 * Sets whether the statistics are published to the platform MBean server.
+	 *
+	 * @param jmxBinding true to publish the statistics with {@link HibernateJmxBinding}.
+	 */
+	public void setJmxBinding(boolean jmxBinding) {
+		this.jmxBinding = jmxBinding;
+	}
+
+	/**
+	 * Returns the amount of successful operations.
+	 *
+	 * @return the amount of successful operations.
+	 */
+	public long getOperationCount() {
+		return operationCount.get();
+	}
+
+	/**
+	 * Returns the amount of failed operations.
+	 *
+	 * @return the amount of failed operations.
+	 */
+	public long getErrorCount() {
+		return errorCount.get();
+	}
+
+	/**
+	 * Returns the last error of a failed operation.
+	 *
+	 * @return the last error of a failed operation or 'null'.
+	 */
+	public RuntimeException getLastError() {
+		return lastError;
+	}
+
+	/**
+	 * Returns the latencies of the successful operations in microseconds.
+	 *
+	 * @return the latencies of the successful operations in microseconds.
+	 */
+	public LatencyHistogram getLatencyHistogram() {
+		long[] counts = new long[latencies.length()];
+		for (int i = 0; i < counts.length; i++)
+			counts[i] = latencies.get(i);
+		return new LatencyHistogram(counts);
+	}
+
+	/**
+	 * Returns the Hibernate statistics of the running workload.
+	 *
+	 * @return the Hibernate statistics of the running workload.
+	 */
+	public Statistics getStatistics() {
+		return sessionFactory.getStatistics();
+	}
+
+	/**
+	 * Returns the schema of the running workload.
+	 *
+	 * @return the schema of the running workload.
+	 */
+	public WorkloadSchema getSchema() {
+		return schema;
+	}
+
+	/**
+	 * Builds the session factory, inserts the initial rows and starts the worker threads.
+	 *
+	 * @throws Exception in case of Hibernate failed to initialize.
+	 */
+	public synchronized void start() throws Exception {
+		if (running)
+			throw new IllegalStateException("The workload is already running.");
+
+		Configuration cfg = HibernateSessions.newConfiguration("workload;hsqldb.tx=mvcc");
+		cfg.setProperty("hibernate.generate_statistics", String.valueOf(statistics));
+		schema = new WorkloadSchema(entityTypes, secondLevelCache && configureCache(cfg));
+		cfg.addInputStream(new ByteArrayInputStream(schema.toMappingXml().getBytes("UTF-8")));
+		sessionFactory = cfg.buildSessionFactory();
+
+		if (jmxBinding) {
+			binding = new HibernateJmxBinding(ManagementFactory.getPlatformMBeanServer(), sessionFactory);
+			binding.registerJmxBinding();
+		}
+
+		insertRows();
+
+		running = true;
+		workers = new Thread[threads];
+		for (int i = 0; i < threads; i++) {
+			workers[i] = new Worker(i);
+			workers[i].start();
+		}
+	}
+
+	/**
+	 * Stops the worker threads and closes the session factory.
+	 *
+	 * @throws Exception in case of the operation failed.
+	 */
+	public synchronized void stop() throws Exception {
+		running = false;
+		if (workers != null) {
+			for (Thread worker : workers)
+				worker.join();
+			workers = null;
+		}
+
+		if (binding != null) {
+			binding.unregisterJmxBinding();
+			binding = null;
+		}
+		if (sessionFactory != null)
+			sessionFactory.close();
+	}
+
+	/**
+	 * Waits until the given amount of operations were executed.
+	 *
+	 * @param operations the amount of operations to wait for.
+	 * @param timeout    the maximum time to wait in milliseconds.
+	 * @return true if the operations were executed, false if the timeout elapsed before.
+	 * @throws InterruptedException in case of the thread was interrupted.
+	 */
+	public boolean awaitOperations(long operations, long timeout) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + timeout;
+		while (operationCount.get() + errorCount.get() < operations) {
+			if (System.currentTimeMillis() > deadline)
+				return false;
+			Thread.sleep(10);
+		}
+		return true;
+	}
+
+	private static boolean configureCache(Configuration cfg) {
+		if (isAvailable(HASHTABLE_CACHE_PROVIDER))
+			cfg.setProperty("hibernate.cache.provider_class", HASHTABLE_CACHE_PROVIDER);
+		else if (isAvailable(EHCACHE_REGION_FACTORY))
+			cfg.setProperty("hibernate.cache.region.factory_class", EHCACHE_REGION_FACTORY);
+		else
+			return false;
+
+		cfg.setProperty("hibernate.cache.use_second_level_cache", "true");
+		cfg.setProperty("hibernate.cache.use_query_cache", "true");
+		return true;
+	}
+
+	private static boolean isAvailable(String className) {
+		try {
+			Class.forName(className, false, Workload.class.getClassLoader());
+			return true;
+		} catch (ClassNotFoundException e) {
+			return false;
+		}
+	}
+
+	private void insertRows() {
+		Random random = new Random(entityTypes);
+		String[] entityNames = schema.getEntityNames();
+		rowCounts = new AtomicLong[entityNames.length];
+
+		for (int type = 0; type < entityNames.length; type++) {
+			WorkloadEntity[] rows = new WorkloadEntity[rowsPerType];
+			Session session = HibernateSessions.openSession(sessionFactory);
+			try {
+				Transaction transaction = session.beginTransaction();
+				for (int i = 0; i < rows.length; i++) {
+					rows[i] = new WorkloadEntity(entityNames[type] + "-" + (i % 10) + "-" + i,
+							random.nextInt(1000), i == 0 ? null : rows[random.nextInt(i)]);
+					session.save(entityNames[type], rows[i]);
+				}
+				transaction.commit();
+			} finally {
+				session.close();
+			}
+			rowCounts[type] = new AtomicLong(rows.length);
+		}
+	}
+
+	/**
+	 * Returns a value between 0 and count, preferring low values (hot entity types and rows).
+	 */
+	private static int pick(Random random, long count) {
+		double value = random.nextDouble();
+		return (int) (count * value * value);
+	}
+
+	void execute(Random random) {
+		String[] entityNames = schema.getEntityNames();
+		int type = pick(random, entityNames.length);
+		String entityName = entityNames[type];
+		long id = 1 + pick(random, rowCounts[type].get());
+
+		long time = System.nanoTime();
+		Session session = HibernateSessions.openSession(sessionFactory);
+		Transaction transaction = null;
+		try {
+			transaction = session.beginTransaction();
+
+			int action = random.nextInt(loads + queries + collectionFetches + updates + inserts);
+			if ((action -= loads) < 0)
+				session.get(entityName, id);
+			else if ((action -= queries) < 0) {
+				Query query = QUERY_SHAPES[random.nextInt(QUERY_SHAPES.length)].
+						createQuery(session, entityName, id, random);
+				if (schema.isCached() && random.nextInt(100) < queryCachePercent)
+					query.setCacheable(true);
+				query.list();
+			} else if ((action -= collectionFetches) < 0) {
+				WorkloadEntity entity = (WorkloadEntity) session.get(entityName, id);
+				if (entity != null)
+					entity.getChildren().size();
+			} else if ((action -= updates) < 0) {
+				WorkloadEntity entity = (WorkloadEntity) session.get(entityName, id);
+				if (entity != null)
+					entity.setAmount(random.nextInt(1000));
+			} else {
+				WorkloadEntity parent = (WorkloadEntity) session.get(entityName, id);
+				long row = rowCounts[type].incrementAndGet();
+				session.save(entityName, new WorkloadEntity(entityName + "-" + (row % 10) + "-" + row,
+						random.nextInt(1000), parent));
+			}
+
+			transaction.commit();
+			operationCount.incrementAndGet();
+			latencies.incrementAndGet(LatencyHistogram.getBucket(
+					TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - time)));
+		} catch (RuntimeException e) {
+			errorCount.incrementAndGet();
+			lastError = e;
+			if (transaction != null && transaction.isActive())
+				transaction.rollback();
+		} finally {
+			session.close();
+		}
+	}
+
+	/**
+	 * Executes operations at the configured rate until the workload is stopped.
+	 */
+	private final class Worker extends Thread {
+
+		private final Random random;
+
+		private Worker(int index) {
+			super("Workload-" + index);
+			setDaemon(true);
+			random = new Random(31L * entityTypes + index);
+		}
+
+		@Override
+		public void run() {
+			final long interval = opsPerSecond == 0 ? 0 : TimeUnit.SECONDS.toNanos(threads) / opsPerSecond;
+			long next = System.nanoTime();
+
+			while (running) {
+				if (interval > 0) {
+					next += interval;
+					long wait = next - System.nanoTime();
+					if (wait > 0) {
+						try {
+							TimeUnit.NANOSECONDS.sleep(wait);
+						} catch (InterruptedException e) {
+							return;
+						}
+					} else if (wait < -TimeUnit.SECONDS.toNanos(1)) {
+						// Falls behind the target rate, restarts the schedule instead of catching up with a burst.
+						next = System.nanoTime();
+					}
+				}
+				execute(random);
+			}
+		}
+	}
+
+	/**
+	 * Runs a short workload and verifies that all kinds of operations are counted in the statistics.
+	 *
+	 * @throws Exception in case of the test was not successful.
+	 */
+	public static void testWorkload() throws Exception {
+		Workload workload = new Workload();
+		workload.setThreads(2);
+		workload.setOpsPerSecond(0);
+		workload.setEntityTypes(3);
+		workload.setRowsPerType(20);
+
+		workload.start();
+		try {
+			assertTrue(workload.awaitOperations(500, 60000), "Expected 500 operations within 60 seconds");
+		} finally {
+			workload.stop();
+		}
+
+		// Concurrent writes to the same rows may fail occasionally, but not systematically.
+		if (workload.getErrorCount() * 20 > workload.getOperationCount())
+			throw new IllegalStateException("Expected less than 5% failed operations, was " +
+					workload.getErrorCount() + " of " + workload.getOperationCount(), workload.getLastError());
+
+		Statistics statistics = workload.getStatistics();
+		assertTrue(statistics.getEntityLoadCount() > 0, "Expected entity loads");
+		assertTrue(statistics.getEntityInsertCount() > 0, "Expected entity inserts");
+		assertTrue(statistics.getEntityUpdateCount() > 0, "Expected entity updates");
+		assertTrue(statistics.getCollectionLoadCount() > 0, "Expected collection loads");
+		assertTrue(statistics.getQueryExecutionCount() > 0, "Expected query executions");
+		if (workload.getSchema().isCached()) {
+			assertTrue(statistics.getSecondLevelCachePutCount() > 0, "Expected second level cache puts");
+			assertTrue(statistics.getQueryCachePutCount() > 0, "Expected query cache puts");
+		}
+	}
+
+	private static void assertTrue(boolean condition, String message) {
+		if (!condition)
+			throw new IllegalArgumentException(message);
+	}
+
+	/**
+	 * Runs the workload until the JVM is stopped and prints the throughput every 10 seconds.
+	 *
+	 * @param args the workload properties as "name=value" (threads, opsPerSecond, entityTypes, rowsPerType,
+	 *             statistics, secondLevelCache, queryCachePercent,
+	 *             mix=loads,queries,collectionFetches,updates,inserts).
+	 * @throws Exception in case of the workload fails to start.
+	 */
+	public static void main(String[] args) throws Exception {
+		Workload workload = new Workload().configure(args);
+		workload.setJmxBinding(true);
+		workload.start();
+
+		System.out.printf("Running %d threads at %s ops/sec on %d entity types (second level cache: %s)%n",
+				workload.getThreads(), workload.getOpsPerSecond() == 0 ? "max" : workload.getOpsPerSecond(),
+				workload.getEntityTypes(), workload.getSchema().isCached());
+
+		final Thread thread = Thread.currentThread();
+		long lastCount = 0;
+		while (!thread.isInterrupted()) {
+			try {
+				Thread.sleep(10000);
+			} catch (InterruptedException e) {
+				thread.interrupt();
+			}
+
+			long count = workload.getOperationCount();
+			System.out.printf("%d operations (%.1f ops/sec), %d errors%n", count, (count - lastCount) / 10D,
+					workload.getErrorCount());
+			lastCount = count;
+		}
+		workload.stop();
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.tester;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Entity of the generated workload schema.
+ * <p/>
+ * The class is mapped once for every entity type of {@link WorkloadSchema}, using entity names to tell them apart.
+ *
+ * @version 1.0
+ */
+public class WorkloadEntity {
+
+	private Long id;
+	private String name;
+	private long amount;
+	private Date created;
+	private WorkloadEntity parent;
+	private Set<WorkloadEntity> children = new HashSet<WorkloadEntity>();
+
+	protected WorkloadEntity() {
+	}
+
+	public WorkloadEntity(String name, long amount, WorkloadEntity parent) {
+		this.name = name;
+		this.amount = amount;
+		this.parent = parent;
+		created = new Date();
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public long getAmount() {
+		return amount;
+	}
+
+	public void setAmount(long amount) {
+		this.amount = amount;
+	}
+
+	public Date getCreated() {
+		return created;
+	}
+
+	public void setCreated(Date created) {
+		this.created = created;
+	}
+
+	public WorkloadEntity getParent() {
+		return parent;
+	}
+
+	public void setParent(WorkloadEntity parent) {
+		this.parent = parent;
+	}
+
+	public Set<WorkloadEntity> getChildren() {
+		return children;
+	}
+
+	public void setChildren(Set<WorkloadEntity> children) {
+		this.children = children;
+	}
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.tester;
+
+import org.hibernate.Query;
+import org.hibernate.Session;
+
+import java.util.Date;
+import java.util.Random;
+
+/**
+ * Generates the schema and the HQL used by {@link Workload}.
+ * <p/>
+ * Every entity type is a mapping of {@link WorkloadEntity} under its own entity name and table, with a parent
+ * association and the inverse collection of children. Every entity type is queried with all {@link QueryShape}s.
+ *
+ * @version 1.0
+ */
+public class WorkloadSchema {
+
+	private static final String[] NOUNS = {
+			"Customer", "Invoice", "Product", "Shipment", "Account",
+			"Payment", "Article", "Supplier", "Warehouse", "Contract"
+	};
+
+	/**
+	 * Defines the HQL shapes executed by the workload.
+	 */
+	public enum QueryShape {
+		byId("from %s e where e.id = :id"),
+		amountRange("select e from %s e where e.amount between :low and :high order by e.amount desc"),
+		fetchChildren("select distinct e from %s e left join fetch e.children where e.id = :id"),
+		aggregate("select count(e), max(e.amount) from %s e where e.created > :since"),
+		childNames("select c.name from %s c where c.parent.id = :id order by c.name"),
+		nameLike("from %s e where e.name like :name");
+
+		private final String hql;
+
+		QueryShape(String hql) {
+			this.hql = hql;
+		}
+
+		/**
+		 * Creates the query for the given entity and binds parameters taken from a small value range, allowing the
+		 * query cache to hit.
+		 *
+		 * @param session    the session to create the query with.
+		 * @param entityName the entity to query.
+		 * @param id         an existing id of the entity.
+		 * @param random     the source of parameter values.
+		 * @return the query ready to execute.
+		 */
+		public Query createQuery(Session session, String entityName, long id, Random random) {
+			Query query = session.createQuery(String.format(hql, entityName));
+			if (this != fetchChildren)
+				query.setMaxResults(50);
+
+			switch (this) {
+				case amountRange:
+					long low = random.nextInt(10) * 100L;
+					return query.setParameter("low", low).setParameter("high", low + 100);
+				case aggregate:
+					return query.setParameter("since", new Date(random.nextInt(10) * 1000L));
+				case nameLike:
+					return query.setParameter("name", entityName + "-" + random.nextInt(10) + "%");
+				default:
+					return query.setParameter("id", id);
+			}
+		}
+	}
+
+	private final String[] entityNames;
+	private final boolean cached;
+
+	/**
+	 * Creates a schema with the given amount of entity types.
+	 *
+	 * @param entityTypes the amount of entity types.
+	 * @param cached      whether entities and collections use the second level cache.
+	 */
+	public WorkloadSchema(int entityTypes, boolean cached) {
+		if (entityTypes < 1)
+			throw new IllegalArgumentException("At least one entity type is required, was " + entityTypes);
+
+		this.cached = cached;
+		entityNames = new String[entityTypes];
+		for (int i = 0; i < entityTypes; i++)
+			entityNames[i] = NOUNS[i % NOUNS.length] + (i < NOUNS.length ? "" : String.valueOf(i / NOUNS.length));
+	}
+
+	/**
+	 * Returns the entity names of the schema.
+	 *
+	 * @return the entity names of the schema.
+	 */
+	public String[] getEntityNames() {
+		return entityNames.clone();
+	}
+
+	/**
+	 * Returns true if entities and collections use the second level cache.
+	 *
+	 * @return true if entities and collections use the second level cache.
+	 */
+	public boolean isCached() {
+		return cached;
+	}
+
+	/**
+	 * Returns the Hibernate mapping document of all entity types.
+	 *
+	 * @return the Hibernate mapping document of all entity types.
+	 */
+	public String toMappingXml() {
+		String cache = cached ? "\t\t<cache usage=\"read-write\"/>\n" : "";
+		StringBuilder xml = new StringBuilder("<?xml version=\"1.0\"?>\n" +
+				"<!DOCTYPE hibernate-mapping PUBLIC \"-//Hibernate/Hibernate Mapping DTD//EN\"\n" +
+				"\t\t\"http://hibernate.sourceforge.net/hibernate-mapping-3.0.dtd\">\n" +
+				"<hibernate-mapping>\n");
+
+		for (String entityName : entityNames) {
+			String table = "WL_" + entityName.toUpperCase();
+			xml.append("\t<class name=\"").append(WorkloadEntity.class.getName()).
+					append("\" entity-name=\"").append(entityName).append("\" table=\"").append(table).append("\">\n").
+					append(cache).
+					append("\t\t<id name=\"id\" column=\"ID\"><generator class=\"increment\"/></id>\n").
+					append("\t\t<property name=\"name\" column=\"NAME\"/>\n").
+					append("\t\t<property name=\"amount\" column=\"AMOUNT\"/>\n").
+					append("\t\t<property name=\"created\" column=\"CREATED\" type=\"timestamp\"/>\n").
+					append("\t\t<many-to-one name=\"parent\" entity-name=\"").append(entityName).
+					append("\" column=\"PARENT_ID\"/>\n").
+					append("\t\t<set name=\"children\" inverse=\"true\">\n").
+					append(cache.length() == 0 ? "" : "\t" + cache).
+					append("\t\t\t<key column=\"PARENT_ID\"/>\n").
+					append("\t\t\t<one-to-many entity-name=\"").append(entityName).append("\"/>\n").
+					append("\t\t</set>\n").
+					append("\t</class>\n");
+		}
+
+		return xml.append("</hibernate-mapping>\n").toString();
+	}
+}
@@ -19,12 +19,15 @@
 
 package net.sf.hibernate.jconsole;
 
+import net.sf.hibernate.jconsole.RefreshDiagnostics.Phase;
 import net.sf.hibernate.jconsole.stats.*;
 import net.sf.hibernate.jconsole.util.DataTable;
 
 import javax.management.MBeanServerConnection;
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Partially implemented abstraction layer for JPA providers.
@@ -38,6 +41,25 @@ public abstract class AbstractStatisticsContext implements Serializable {
 
 	public static final int HISTORY_LENGTH = Integer.getInteger("hibernate.history.length", 5000);
 
+	/**
+	 * Defines the size of the shared pool that is used to fetch statistics in parallel, 1 to refresh sequentially.
+	 */
+	public static final int REFRESH_THREADS = Integer.getInteger("hibernate.refresh.threads", 4);
+
+	private static final Names[] STATISTICS_CATEGORIES = {Names.getEntityStatistics,
+			Names.getCollectionStatistics, Names.getQueryStatistics, Names.getSecondLevelCacheStatistics};
+
+	private static final Map<Names, Class<?>> STATISTICS_INTERFACES = new EnumMap<Names, Class<?>>(Names.class);
+
+	static {
+		STATISTICS_INTERFACES.put(Names.getEntityStatistics, EntityStatistics.class);
+		STATISTICS_INTERFACES.put(Names.getCollectionStatistics, CollectionStatistics.class);
+		STATISTICS_INTERFACES.put(Names.getQueryStatistics, QueryStatistics.class);
+		STATISTICS_INTERFACES.put(Names.getSecondLevelCacheStatistics, SecondLevelCacheStatistics.class);
+	}
+
+	private static ExecutorService refreshExecutor;
+
 	private static final ServiceLoader<AbstractStatisticsContext> CONTEXT_LOADER =
 			ServiceLoader.load(AbstractStatisticsContext.class, AbstractStatisticsContext.class.getClassLoader());
 
@@ -57,7 +79,21 @@ public abstract class AbstractStatisticsContext implements Serializable {
 
 	private transient MBeanServerConnection connection;
 
+	private final ReentrantLock refreshLock = new ReentrantLock();
+	private volatile long refreshCount;
+
+	private final PollingPolicy pollingPolicy = new PollingPolicy();
+	private final RefreshDiagnostics diagnostics = new RefreshDiagnostics();
+	private final HistoryMemoryGovernor historyMemoryGovernor = new HistoryMemoryGovernor();
+	private volatile Map<Names, Set<String>> skippedStatistics = Collections.emptyMap();
+
 	private Map<Names, Object> attributes = new HashMap<Names, Object>();
+	private volatile long statisticsVersion;
+	private volatile boolean constantAttributesFetched;
+	private volatile long sampleSequence;
+	private volatile StatisticsSamples samples;
+	private volatile int samplingFactor = 1;
+	private volatile long historyResolution = RefreshScheduler.MIN_INTERVAL;
 
 	private Map<String, EntityStatistics> entityStatistics = new LinkedHashMap<String, EntityStatistics>();
 	private Map<String, EntityStatisticsTable> entityStatisticsTables = new LinkedHashMap<String, EntityStatisticsTable>();
@@ -66,11 +102,15 @@ public abstract class AbstractStatisticsContext implements Serializable {
 	private Map<String, CollectionStatisticsTable> collectionStatisticTables = new LinkedHashMap<String, CollectionStatisticsTable>();
 
 	private Map<String, QueryStatistics> queryStatistics = new LinkedHashMap<String, QueryStatistics>();
+	private Map<String, LatencyHistogram> queryLatencyHistograms = new HashMap<String, LatencyHistogram>();
 	private Map<String, QueryStatisticsTable> queryStatisticsTables = new LinkedHashMap<String, QueryStatisticsTable>();
 
 	private Map<String, SecondLevelCacheStatistics> cacheStatistics = new LinkedHashMap<String, SecondLevelCacheStatistics>();
 	private Map<String, SecondLevelCacheStatisticsTable> cacheStatisticsTables = new LinkedHashMap<String, SecondLevelCacheStatisticsTable>();
 
+	// The activity (see activityOf) of keys whose histories were evicted, used to detect when they change again.
+	private Map<Names, Map<String, Long>> evictedActivities = new EnumMap<Names, Map<String, Long>>(Names.class);
+
 	private List<AbstractStatisticsTable> statisticsTables = new ArrayList<AbstractStatisticsTable>();
 	private PrimaryStatisticsTable statisticsTable;
 
@@ -123,8 +163,67 @@ public abstract class AbstractStatisticsContext implements Serializable {
 	 */
 	protected abstract Object getCacheStatisticsFor(String cacheRegion) throws Exception;
 
+	/**
+	 * Returns the statistics that changed since the given version in one bulk operation.
+	 * <p/>
+	 * Note: The default implementation returns 'null' to signal that deltas are not supported,
+	 * causing the statistics to be fetched one by one using the {@code getXXXStatisticsFor(name)} methods.
+	 *
+	 * @param version the version of the last delta or {@code 0} to fetch all statistics.
+	 * @return the statistics that changed since the given version or 'null' if deltas are not supported.
+	 * @throws Exception in case of the operation failed.
+	 */
+	protected StatisticsDelta getStatisticsChangedSince(long version) throws Exception {
+		return null;
+	}
+
+	/**
+	 * Returns the counter samples that were taken inside the monitored application since the given sequence.
+	 * <p/>
+	 * Note: The default implementation returns 'null' to signal that samples are not supported,
+	 * causing the counters to be recorded once per refresh.
+	 *
+	 * @param sequence the sequence of the first sample to return, {@code 0} to return all available samples.
+	 * @return the samples since the given sequence or 'null' if sampling is not supported.
+	 * @throws Exception in case of the operation failed.
+	 */
+	protected StatisticsSamples getSamplesSince(long sequence) throws Exception {
+		return null;
+	}
+
+	/**
+	 * Returns the execution time histograms of the given queries.
+	 * <p/>
+	 * Note: The default implementation returns 'null' to signal that histograms are not supported.
+	 *
+	 * @param queries the queries to return the histograms for.
+	 * @return the histograms keyed by query or 'null' if histograms are not supported.
+	 * @throws Exception in case of the operation failed.
+	 */
+	protected Map<String, LatencyHistogram> getQueryLatencyHistograms(Collection<String> queries) throws Exception {
+		return null;
+	}
+
+	/**
+	 * Returns the sampling factor N of the statistics of entities, collections and queries, when the connected
+	 * application counts them for 1 in N sessions only.
+	 * <p/>
+	 * The factor is fetched once per connection. Fetched statistics of entities, collections and queries are
+	 * multiplied with it to show estimated totals, cache region statistics are never sampled.
+	 * <p/>
+	 * Note: The default implementation returns 1 to signal that the statistics are not sampled.
+	 *
+	 * @return the sampling factor, 1 if the statistics are not sampled.
+	 * @throws Exception in case of the operation failed.
+	 */
+	protected int fetchSamplingFactor() throws Exception {
+		return 1;
+	}
+
 	/**
 	 * Returns plain attributes.
+	 * <p/>
+	 * Note: The method may be called concurrently when refreshing in parallel.
 	 *
 	 * @param attributeNames the names of the attributes to return.
 	 * @return the names mapped to the values.
@@ -132,6 +231,26 @@ public abstract class AbstractStatisticsContext implements Serializable {
 	 */
 	protected abstract Map<Names, Object> getAttributes(List<Names> attributeNames) throws Exception;
 
+	/**
+	 * Returns the key lists ({@link Names.Kind#keyList}) that changed since the last call.
+	 * <p/>
+	 * Key lists like {@link Names#Queries} may be large and rarely change. Implementations that can detect
+	 * changes without transferring the lists (e.g. by comparing a fingerprint) should return the changed
+	 * lists only. Lists that are not contained in the returned map keep their last state.
+	 * <p/>
+	 * Note: The default implementation fetches all key lists as plain attributes.
+	 *
+	 * @return the key lists that changed since the last call.
+	 * @throws Exception in case of the operation failed.
+	 */
+	protected Map<Names, String[]> getChangedKeyLists() throws Exception {
+		Map<Names, String[]> keyLists = new EnumMap<Names, String[]>(Names.class);
+		Map<Names, Object> values = getAttributes(Names.getAttributes(Names.Kind.keyList));
+		for (Names name : Names.getAttributes(Names.Kind.keyList))
+			keyLists.put(name, (String[]) values.get(name));
+		return keyLists;
+	}
+
 	/**
 	 * Returns true if the context is enabled.
 	 * <p/>
@@ -158,23 +277,328 @@ public abstract class AbstractStatisticsContext implements Serializable {
 		return StraightNameMappingProxy.newInstance(interfaceClass, delegate, 0L);
 	}
 
+	/**
+	 * Creates an immutable snapshot of the given delegate, implementing the interface {@code T}.
+	 * <p/>
+	 * All values are read once from the delegate (using {@link #proxyFor(Class, Object)}), the snapshot
+	 * does not keep a reference to it.
+	 *
+	 * @param interfaceClass the statistics interface to be implemented by the snapshot.
+	 * @param delegate       the delegate to read the values from.
+	 * @param <T>            the interface type.
+	 * @return an immutable snapshot of the given delegate, implementing the interface {@code T}.
+	 */
+	protected <T> T snapshotOf(Class<T> interfaceClass, Object delegate) {
+		if (isRecord(delegate) && interfaceClass.isInstance(delegate))
+			return interfaceClass.cast(delegate); // Records are immutable and can be used as they are.
+
+		Object snapshot;
+		if (interfaceClass == EntityStatistics.class)
+			snapshot = EntityStatisticsRecord.of(proxyFor(EntityStatistics.class, delegate));
+		else if (interfaceClass == CollectionStatistics.class)
+			snapshot = CollectionStatisticsRecord.of(proxyFor(CollectionStatistics.class, delegate));
+		else if (interfaceClass == QueryStatistics.class)
+			snapshot = QueryStatisticsRecord.of(proxyFor(QueryStatistics.class, delegate));
+		else if (interfaceClass == SecondLevelCacheStatistics.class)
+			snapshot = SecondLevelCacheStatisticsRecord.of(proxyFor(SecondLevelCacheStatistics.class, delegate));
+		else
+			snapshot = proxyFor(interfaceClass, delegate);
+		return interfaceClass.cast(snapshot);
+	}
+
+	private static boolean isRecord(Object delegate) {
+		return delegate instanceof EntityStatisticsRecord || delegate instanceof CollectionStatisticsRecord ||
+				delegate instanceof QueryStatisticsRecord || delegate instanceof SecondLevelCacheStatisticsRecord;
+	}
+
 	/**
 	 * Refreshes the statistics by recording the most recent data.
+	 * <p/>
+	 * When {@link #REFRESH_THREADS} is greater than 1, attributes and the statistics of the single categories
+	 * (entities, collections, queries and cache regions) are fetched in parallel using a shared bounded pool.
+	 * The fetched statistics are joined and applied to this context before the tables are refreshed, thus
+	 * the tables always see a consistent snapshot.
+	 * <p/>
+	 * Refreshes do not overlap. Fetching happens without holding the monitor of this context, only applying
+	 * the fetched data does. Readers that synchronize on the context (e.g. the UI) are therefore not blocked
+	 * by slow remote calls and never see a partially applied snapshot.
 	 *
 	 * @throws Exception in case of the operation fails for any reason.
 	 */
-	public synchronized void refresh() throws Exception {
+	public void refresh() throws Exception {
+		refreshLock.lock();
+		try {
+			RefreshDiagnostics.Timer timer = diagnostics.start(Phase.refresh);
+			try {
+				doRefresh();
+			} finally {
+				timer.stop();
+				synchronized (this) {
+					diagnostics.completeTick();
+				}
+			}
+		} finally {
+			refreshLock.unlock();
+		}
+	}
+
+	/**
+	 * Returns true if a refresh is currently running.
+	 *
+	 * @return true if a refresh is currently running.
+	 */
+	public boolean isRefreshing() {
+		return refreshLock.isLocked();
+	}
+
+	/**
+	 * Returns the number of completed refreshes, allows to detect whether new data was published.
+	 *
+	 * @return the number of completed refreshes.
+	 */
+	public long getRefreshCount() {
+		return refreshCount;
+	}
+
+	/**
+	 * Returns the minimum time in milliseconds between two rows of the histories.
+	 *
+	 * @return the minimum time in milliseconds between two rows of the histories.
+	 */
+	public long getHistoryResolution() {
+		return historyResolution;
+	}
+
+	/**
+	 * Sets the minimum time in milliseconds between two rows of the histories, which follows the current
+	 * refresh interval so that histories record every scheduled refresh but no additional refreshes.
+	 *
+	 * @param historyResolution the minimum time in milliseconds between two rows of the histories.
+	 */
+	public void setHistoryResolution(long historyResolution) {
+		this.historyResolution = historyResolution;
+	}
+
+	/**
+	 * Returns the policy that decides how often the statistics of single keys are fetched.
+	 *
+	 * @return the policy that decides how often the statistics of single keys are fetched.
+	 */
+	public PollingPolicy getPollingPolicy() {
+		return pollingPolicy;
+	}
+
+	/**
+	 * Returns the diagnostics measuring the time and allocations spent in the phases of a refresh cycle.
+	 *
+	 * @return the diagnostics measuring the time and allocations spent in the phases of a refresh cycle.
+	 */
+	public RefreshDiagnostics getDiagnostics() {
+		return diagnostics;
+	}
+
+	/**
+	 * Returns the governor that bounds the memory used by the histories of single keys.
+	 *
+	 * @return the governor that bounds the memory used by the histories of single keys.
+	 */
+	public HistoryMemoryGovernor getHistoryMemoryGovernor() {
+		return historyMemoryGovernor;
+	}
+
+	/**
+	 * Returns true if the statistics of the given key were refreshed (or confirmed unchanged) by the last refresh.
+	 *
+	 * @param category the statistics category, e.g. {@link Names#getEntityStatistics}.
+	 * @param name     the name of the entity, collection, query or cache region.
+	 * @return true if the statistics are current, false if fetching them was skipped by the polling policy.
+	 */
+	public boolean isCurrent(Names category, String name) {
+		Set<String> skipped = skippedStatistics.get(category);
+		return skipped == null || !skipped.contains(name);
+	}
+
+	private void doRefresh() throws Exception {
 		if (getConnection() == null)
 			throw new IllegalStateException("Cannot call refresh when not connected.");
 
-		refreshAttributes();
-		refreshEntityStatistics();
-		refreshCollectionStatistics();
+		// Constant attributes are fetched once, key lists when they changed and counters on every refresh.
+		final List<Names> attributeNames = new ArrayList<Names>(Names.getAttributes(Names.Kind.counter));
+		final boolean fetchConstants = !constantAttributesFetched;
+		if (fetchConstants)
+			attributeNames.addAll(Names.getAttributes(Names.Kind.constant));
+
+		Future<Map<Names, Object>> attributesFetch = submit(diagnostics.timed(Phase.attributes, new Callable<Map<Names, Object>>() {
+			public Map<Names, Object> call() throws Exception {
+				return getAttributes(attributeNames);
+			}
+		}));
+		Future<Map<Names, String[]>> keyListsFetch = submit(diagnostics.timed(Phase.keyLists, new Callable<Map<Names, String[]>>() {
+			public Map<Names, String[]> call() throws Exception {
+				return getChangedKeyLists();
+			}
+		}));
+		Future<StatisticsDelta> deltaFetch = submit(diagnostics.timed(Phase.delta, new Callable<StatisticsDelta>() {
+			public StatisticsDelta call() throws Exception {
+				return getStatisticsChangedSince(statisticsVersion);
+			}
+		}));
+		Future<StatisticsSamples> samplesFetch = submit(diagnostics.timed(Phase.samples, new Callable<StatisticsSamples>() {
+			public StatisticsSamples call() throws Exception {
+				return getSamplesSince(sampleSequence);
+			}
+		}));
+		Future<Integer> samplingFactorFetch = !fetchConstants ? null : submit(diagnostics.timed(Phase.samplingFactor, new Callable<Integer>() {
+			public Integer call() throws Exception {
+				return fetchSamplingFactor();
+			}
+		}));
+
+		// Attributes that were not fetched keep their last state.
+		final Map<Names, Object> fetchedAttributes = new HashMap<Names, Object>(attributes);
+		fetchedAttributes.putAll(join(attributesFetch));
+		final Map<Names, String[]> fetchedKeyLists = join(keyListsFetch);
+		fetchedAttributes.putAll(fetchedKeyLists);
+		StatisticsDelta delta = join(deltaFetch);
+		StatisticsSamples fetchedSamples = join(samplesFetch);
+		final int factor = samplingFactorFetch == null ? samplingFactor : Math.max(1, join(samplingFactorFetch));
+
+		List<Future<Map<String, Object>>> statisticsFetches;
+		final Collection<String> queries;
+		Map<Names, Set<String>> skipped = Collections.emptyMap();
+		if (delta != null) {
+			// Fetching the changed statistics only, unchanged statistics keep their last state.
+			Map<Names, Map<String, ?>> changedStatistics = new EnumMap<Names, Map<String, ?>>(Names.class);
+			for (Names category : STATISTICS_CATEGORIES)
+				changedStatistics.put(category, delta.getChangedStatistics(category));
+			statisticsFetches = submitStatisticsFetches(null, changedStatistics, factor);
+			queries = changedStatistics.get(Names.getQueryStatistics).keySet();
+		} else {
+			Map<Names, Collection<String>> names = new EnumMap<Names, Collection<String>>(Names.class);
+			names.put(Names.getEntityStatistics, Arrays.asList(toNames(fetchedAttributes, Names.EntityNames)));
+			names.put(Names.getCollectionStatistics, Arrays.asList(toNames(fetchedAttributes, Names.CollectionRoleNames)));
+			names.put(Names.getQueryStatistics, Arrays.asList(toNames(fetchedAttributes, Names.Queries)));
+			names.put(Names.getSecondLevelCacheStatistics,
+					Arrays.asList(toNames(fetchedAttributes, Names.SecondLevelCacheRegionNames)));
+			skipped = applyPollingPolicy(names);
+			statisticsFetches = submitStatisticsFetches(names, null, factor);
+			queries = names.get(Names.getQueryStatistics);
+		}
 
-		refreshQueryStatistics();
-		refreshCacheStatistics();
+		// Histograms are fetched for the queries whose statistics are fetched.
+		Future<Map<String, LatencyHistogram>> histogramsFetch = submit(diagnostics.timed(Phase.histograms, new Callable<Map<String, LatencyHistogram>>() {
+			public Map<String, LatencyHistogram> call() throws Exception {
+				return queries.isEmpty() ? null : getQueryLatencyHistograms(queries);
+			}
+		}));
+
+		List<Map<String, Object>> fetchedStatistics = new ArrayList<Map<String, Object>>(statisticsFetches.size());
+		for (Future<Map<String, Object>> fetch : statisticsFetches)
+			fetchedStatistics.add(join(fetch));
+		Map<String, LatencyHistogram> fetchedHistograms = join(histogramsFetch);
+
+		// Joined, applying the fetched data to the context.
+		synchronized (this) {
+			RefreshDiagnostics.Timer timer = diagnostics.start(Phase.apply);
+			removeStaleStatistics(fetchedKeyLists);
+			for (Map.Entry<Names, Object> e : fetchedAttributes.entrySet())
+				this.attributes.put(e.getKey(), e.getValue());
+			if (fetchConstants)
+				constantAttributesFetched = true;
+			samplingFactor = factor;
+			if (delta != null)
+				statisticsVersion = delta.getVersion();
+			if (fetchedSamples != null)
+				sampleSequence = fetchedSamples.getNextSequence();
+			samples = fetchedSamples;
+			skippedStatistics = skipped;
+
+			applyEntityStatistics(fetchedStatistics.get(0));
+			applyCollectionStatistics(fetchedStatistics.get(1));
+			applyQueryStatistics(fetchedStatistics.get(2));
+			if (fetchedHistograms != null)
+				queryLatencyHistograms.putAll(fetchedHistograms);
+			applyCacheStatistics(fetchedStatistics.get(3));
+			timer.stop();
+
+			timer = diagnostics.start(Phase.refreshTables);
+			refreshTables();
+			timer.stop();
+
+			timer = diagnostics.start(Phase.historyBudget);
+			governHistories();
+			timer.stop();
+			refreshCount++;
+		}
+	}
 
-		refreshTables();
+	/**
+	 * Removes the statistics and histories of keys that are no longer contained in the given key lists, e.g. after
+	 * the statistics were cleared inside the connected application.
+	 *
+	 * @param keyLists the key lists that were fetched with this refresh.
+	 */
+	private void removeStaleStatistics(Map<Names, String[]> keyLists) {
+		for (Map.Entry<Names, String[]> entry : keyLists.entrySet()) {
+			String[] keys = entry.getValue();
+			if (keys == null || Arrays.equals(keys, (String[]) attributes.get(entry.getKey())))
+				continue;
+
+			Set<String> currentKeys = new HashSet<String>(Arrays.asList(keys));
+			switch (entry.getKey()) {
+				case EntityNames:
+					entityStatistics.keySet().retainAll(currentKeys);
+					entityStatisticsTables.keySet().retainAll(currentKeys);
+					getEvictedActivities(Names.getEntityStatistics).keySet().retainAll(currentKeys);
+					pollingPolicy.retainKeys(Names.getEntityStatistics, currentKeys);
+					break;
+				case CollectionRoleNames:
+					collectionStatistics.keySet().retainAll(currentKeys);
+					collectionStatisticTables.keySet().retainAll(currentKeys);
+					getEvictedActivities(Names.getCollectionStatistics).keySet().retainAll(currentKeys);
+					pollingPolicy.retainKeys(Names.getCollectionStatistics, currentKeys);
+					break;
+				case Queries:
+					queryStatistics.keySet().retainAll(currentKeys);
+					queryStatisticsTables.keySet().retainAll(currentKeys);
+					queryLatencyHistograms.keySet().retainAll(currentKeys);
+					getEvictedActivities(Names.getQueryStatistics).keySet().retainAll(currentKeys);
+					pollingPolicy.retainKeys(Names.getQueryStatistics, currentKeys);
+					break;
+				case SecondLevelCacheRegionNames:
+					cacheStatistics.keySet().retainAll(currentKeys);
+					cacheStatisticsTables.keySet().retainAll(currentKeys);
+					getEvictedActivities(Names.getSecondLevelCacheStatistics).keySet().retainAll(currentKeys);
+					pollingPolicy.retainKeys(Names.getSecondLevelCacheStatistics, currentKeys);
+					break;
+			}
+		}
+	}
+
+	/**
+	 * Removes the names that are not due from the names to fetch one by one.
+	 *
+	 * @param names the names to fetch per category, is modified by this method.
+	 * @return the names that were removed per category.
+	 */
+	private Map<Names, Set<String>> applyPollingPolicy(Map<Names, Collection<String>> names) {
+		long now = System.currentTimeMillis();
+		Map<Names, Set<String>> skipped = new EnumMap<Names, Set<String>>(Names.class);
+		for (Map.Entry<Names, Collection<String>> entry : names.entrySet()) {
+			Names category = entry.getKey();
+			List<String> due = new ArrayList<String>(entry.getValue().size());
+			Set<String> notDue = new HashSet<String>();
+			for (String name : entry.getValue()) {
+				if (pollingPolicy.isDue(category, name, now)) {
+					pollingPolicy.polled(category, name, now);
+					due.add(name);
+				} else
+					notDue.add(name);
+			}
+			entry.setValue(due);
+			skipped.put(category, notDue);
+		}
+		return skipped;
 	}
 
 	void refreshTables() throws Exception {
@@ -190,53 +614,309 @@ public abstract class AbstractStatisticsContext implements Serializable {
 			table.refresh(this);
 	}
 
-	void refreshAttributes() throws Exception {
-		for (Map.Entry<Names, Object> e : getAttributes(Names.getAllAttributes()).entrySet())
-			this.attributes.put(e.getKey(), e.getValue());
+	/**
+	 * Keeps the histories of single keys within the memory budget, evicted histories are created again
+	 * when the statistics of their key change.
+	 * <p/>
+	 * The (small) statistics records of evicted keys are kept, so that the keys remain listed in the tables.
+	 * Their activity is remembered to notice when they change (see {@link #isIdleSinceEviction(Names, String,
+	 * Object)}).
+	 */
+	void governHistories() {
+		Map<Names, Map<String, ? extends DataTable>> tables =
+				new EnumMap<Names, Map<String, ? extends DataTable>>(Names.class);
+		tables.put(Names.getEntityStatistics, entityStatisticsTables);
+		tables.put(Names.getCollectionStatistics, collectionStatisticTables);
+		tables.put(Names.getQueryStatistics, queryStatisticsTables);
+		tables.put(Names.getSecondLevelCacheStatistics, cacheStatisticsTables);
+		historyMemoryGovernor.govern(tables, pollingPolicy, System.currentTimeMillis());
+
+		rememberEvicted(Names.getEntityStatistics, entityStatistics, entityStatisticsTables);
+		rememberEvicted(Names.getCollectionStatistics, collectionStatistics, collectionStatisticTables);
+		rememberEvicted(Names.getQueryStatistics, queryStatistics, queryStatisticsTables);
+		rememberEvicted(Names.getSecondLevelCacheStatistics, cacheStatistics, cacheStatisticsTables);
+	}
+
+	/**
+	 * Remembers the activity of keys whose history was evicted.
+	 */
+	private void rememberEvicted(Names category, Map<String, ?> statistics, Map<String, ?> tables) {
+		if (statistics.size() == tables.size())
+			return;
+
+		Map<String, Long> activities = getEvictedActivities(category);
+		for (Map.Entry<String, ?> entry : statistics.entrySet()) {
+			if (!tables.containsKey(entry.getKey()) && !activities.containsKey(entry.getKey()))
+				activities.put(entry.getKey(), activityOf(entry.getValue()));
+		}
+	}
+
+	/**
+	 * Returns true if the history of the given key was evicted and its statistics did not change since,
+	 * the history is not created again in this case.
+	 *
+	 * @param category   the statistics category.
+	 * @param name       the name of the entity, collection, query or cache region.
+	 * @param statistics the statistics that were fetched for the key.
+	 * @return true if the key's history was evicted and the key stayed idle since.
+	 */
+	private boolean isIdleSinceEviction(Names category, String name, Object statistics) {
+		Map<String, Long> activities = getEvictedActivities(category);
+		Long activity = activities.get(name);
+		if (activity == null)
+			return false;
+		if (activity == activityOf(statistics))
+			return true;
+		activities.remove(name);
+		return false;
 	}
 
-	void refreshEntityStatistics() throws Exception {
-		for (String name : getEntityNames()) {
-			entityStatistics.put(name, proxyFor(EntityStatistics.class, getEntityStatisticsFor(name)));
-			if (!entityStatisticsTables.containsKey(name))
+	private Map<String, Long> getEvictedActivities(Names category) {
+		Map<String, Long> activities = evictedActivities.get(category);
+		if (activities == null)
+			evictedActivities.put(category, activities = new HashMap<String, Long>());
+		return activities;
+	}
+
+	/**
+	 * Returns the sum of the counters of the given statistics that count events. As counters only grow,
+	 * the sum changes whenever an event was counted (or the statistics were cleared).
+	 */
+	static long activityOf(Object statistics) {
+		if (statistics instanceof EntityStatistics) {
+			EntityStatistics s = (EntityStatistics) statistics;
+			return s.getLoadCount() + s.getFetchCount() + s.getInsertCount() + s.getUpdateCount() +
+					s.getDeleteCount() + s.getOptimisticFailureCount();
+		} else if (statistics instanceof CollectionStatistics) {
+			CollectionStatistics s = (CollectionStatistics) statistics;
+			return s.getLoadCount() + s.getFetchCount() + s.getRecreateCount() + s.getRemoveCount() +
+					s.getUpdateCount();
+		} else if (statistics instanceof QueryStatistics) {
+			QueryStatistics s = (QueryStatistics) statistics;
+			return s.getExecutionCount() + s.getCacheHitCount() + s.getCacheMissCount() + s.getCachePutCount();
+		} else if (statistics instanceof SecondLevelCacheStatistics) {
+			SecondLevelCacheStatistics s = (SecondLevelCacheStatistics) statistics;
+			return s.getHitCount() + s.getMissCount() + s.getPutCount();
+		}
+		return 0;
+	}
+
+	/**
+	 * Submits the fetches of entity, collection, query and cache statistics (in this order).
+	 *
+	 * @param names          the names to fetch per category or 'null' to fetch the names
+	 *                       contained in the bulk statistics.
+	 * @param bulkStatistics the statistics that were fetched in bulk, may be 'null'.
+	 * @param factor         the sampling factor to scale the sampled statistics with.
+	 * @return the futures of the fetches.
+	 */
+	private List<Future<Map<String, Object>>> submitStatisticsFetches(
+			Map<Names, Collection<String>> names, Map<Names, Map<String, ?>> bulkStatistics, int factor) {
+		List<Future<Map<String, Object>>> fetches = new ArrayList<Future<Map<String, Object>>>(4);
+		for (Names category : STATISTICS_CATEGORIES) {
+			Map<String, ?> bulk = bulkStatistics == null ? null : bulkStatistics.get(category);
+			Collection<String> categoryNames = names == null ? null : names.get(category);
+			if (categoryNames == null)
+				categoryNames = bulk == null ? Collections.<String>emptySet() : bulk.keySet();
+			StatisticsFetch fetch = new StatisticsFetch(category, categoryNames, bulk, factor);
+			fetches.add(submit(diagnostics.timed(phaseOf(category), fetch)));
+		}
+		return fetches;
+	}
+
+	/**
+	 * Returns the diagnostics phase that measures fetching the given statistics category.
+	 */
+	private static Phase phaseOf(Names category) {
+		switch (category) {
+			case getEntityStatistics:
+				return Phase.entities;
+			case getCollectionStatistics:
+				return Phase.collections;
+			case getQueryStatistics:
+				return Phase.queries;
+			default:
+				return Phase.cacheRegions;
+		}
+	}
+
+	/**
+	 * Fetches the statistics of a single category and converts them to snapshots.
+	 */
+	private final class StatisticsFetch implements Callable<Map<String, Object>> {
+
+		private final Names category;
+		private final Collection<String> names;
+		private final Map<String, ?> bulkStatistics;
+		private final int factor;
+
+		private StatisticsFetch(Names category, Collection<String> names, Map<String, ?> bulkStatistics, int factor) {
+			this.category = category;
+			this.names = names;
+			this.bulkStatistics = bulkStatistics;
+			this.factor = factor;
+		}
+
+		public Map<String, Object> call() throws Exception {
+			Map<String, Object> statistics = new LinkedHashMap<String, Object>();
+			for (String name : names) {
+				Object delegate = bulkStatistics == null ? fetch(name) : bulkStatistics.get(name);
+				statistics.put(name, scale(snapshotOf(STATISTICS_INTERFACES.get(category), delegate)));
+			}
+			return statistics;
+		}
+
+		/**
+		 * Scales sampled statistics up to estimated totals, cache region statistics are not sampled.
+		 */
+		private Object scale(Object snapshot) {
+			if (factor == 1)
+				return snapshot;
+			if (snapshot instanceof EntityStatisticsRecord)
+				return ((EntityStatisticsRecord) snapshot).scaled(factor);
+			if (snapshot instanceof CollectionStatisticsRecord)
+				return ((CollectionStatisticsRecord) snapshot).scaled(factor);
+			if (snapshot instanceof QueryStatisticsRecord)
+				return ((QueryStatisticsRecord) snapshot).scaled(factor);
+			return snapshot;
+		}
+
+		private Object fetch(String name) throws Exception {
+			switch (category) {
+				case getEntityStatistics:
+					return getEntityStatisticsFor(name);
+				case getCollectionStatistics:
+					return getCollectionStatisticsFor(name);
+				case getQueryStatistics:
+					return getQueryStatisticsFor(name);
+				default:
+					return getCacheStatisticsFor(name);
+			}
+		}
+	}
+
+	/**
+	 * Runs the given task inside the refresh pool or directly if refreshing in parallel is disabled.
+	 */
+	private static <V> Future<V> submit(Callable<V> task) {
+		ExecutorService executor = getRefreshExecutor();
+		if (executor != null)
+			return executor.submit(task);
+
+		FutureTask<V> future = new FutureTask<V>(task);
+		future.run();
+		return future;
+	}
+
+	/**
+	 * Waits for the given task and rethrows any failure as it was thrown by the task.
+	 */
+	private static <V> V join(Future<V> future) throws Exception {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof Exception)
+				throw (Exception) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw e;
+		} catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns the shared pool used to refresh in parallel.
+	 *
+	 * @return the shared pool or 'null' if refreshing in parallel is disabled.
+	 */
+	static synchronized ExecutorService getRefreshExecutor() {
+		if (refreshExecutor == null && REFRESH_THREADS > 1) {
+			refreshExecutor = Executors.newFixedThreadPool(REFRESH_THREADS, new ThreadFactory() {
+				private int threadCount;
+
+				public synchronized Thread newThread(Runnable r) {
+					Thread thread = new Thread(r, "HibernateJConsole-Refresh-" + (++threadCount));
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		return refreshExecutor;
+	}
+
+	void applyEntityStatistics(Map<String, ?> statistics) {
+		for (Map.Entry<String, ?> entry : statistics.entrySet()) {
+			String name = entry.getKey();
+			boolean hasHistory = entityStatisticsTables.containsKey(name);
+			if (!hasHistory && isIdleSinceEviction(Names.getEntityStatistics, name, entry.getValue()))
+				continue;
+			entityStatistics.put(name, (EntityStatistics) entry.getValue());
+			if (!hasHistory)
 				entityStatisticsTables.put(name, new EntityStatisticsTable(name));
 		}
 	}
 
-	void refreshCollectionStatistics() throws Exception {
-		for (String name : getCollectionRoleNames()) {
-			collectionStatistics.put(name, proxyFor(CollectionStatistics.class, getCollectionStatisticsFor(name)));
-			if (!collectionStatisticTables.containsKey(name))
+	void applyCollectionStatistics(Map<String, ?> statistics) {
+		for (Map.Entry<String, ?> entry : statistics.entrySet()) {
+			String name = entry.getKey();
+			boolean hasHistory = collectionStatisticTables.containsKey(name);
+			if (!hasHistory && isIdleSinceEviction(Names.getCollectionStatistics, name, entry.getValue()))
+				continue;
+			collectionStatistics.put(name, (CollectionStatistics) entry.getValue());
+			if (!hasHistory)
 				collectionStatisticTables.put(name, new CollectionStatisticsTable(name));
 		}
 	}
 
-	void refreshQueryStatistics() throws Exception {
-		for (String name : getQueries()) {
-			queryStatistics.put(name, proxyFor(QueryStatistics.class, getQueryStatisticsFor(name)));
-			if (!queryStatisticsTables.containsKey(name))
+	void applyQueryStatistics(Map<String, ?> statistics) {
+		for (Map.Entry<String, ?> entry : statistics.entrySet()) {
+			String name = entry.getKey();
+			boolean hasHistory = queryStatisticsTables.containsKey(name);
+			if (!hasHistory && isIdleSinceEviction(Names.getQueryStatistics, name, entry.getValue()))
+				continue;
+			queryStatistics.put(name, (QueryStatistics) entry.getValue());
+			if (!hasHistory)
 				queryStatisticsTables.put(name, new QueryStatisticsTable(name));
 		}
 	}
 
-	void refreshCacheStatistics() throws Exception {
-		for (String name : getCacheRegionNames()) {
-			cacheStatistics.put(name, proxyFor(SecondLevelCacheStatistics.class, getCacheStatisticsFor(name)));
-			if (!cacheStatisticsTables.containsKey(name))
+	void applyCacheStatistics(Map<String, ?> statistics) {
+		for (Map.Entry<String, ?> entry : statistics.entrySet()) {
+			String name = entry.getKey();
+			boolean hasHistory = cacheStatisticsTables.containsKey(name);
+			if (!hasHistory && isIdleSinceEviction(Names.getSecondLevelCacheStatistics, name, entry.getValue()))
+				continue;
+			cacheStatistics.put(name, (SecondLevelCacheStatistics) entry.getValue());
+			if (!hasHistory)
 				cacheStatisticsTables.put(name, new SecondLevelCacheStatisticsTable(name));
 		}
 	}
 
-	private String[] toNames(Names attribute) {
+	private static String[] toNames(Map<Names, Object> attributes, Names attribute) {
 		String[] names = (String[]) attributes.get(attribute);
 		return names == null ? new String[0] : names;
 	}
 
+	private String[] toNames(Names attribute) {
+		return toNames(attributes, attribute);
+	}
+
 	public MBeanServerConnection getConnection() {
 		return connection;
 	}
 
 	public void setConnection(MBeanServerConnection connection) {
+		if (this.connection != connection) {
+			statisticsVersion = 0;
+			constantAttributesFetched = false;
+			sampleSequence = 0;
+			samples = null;
+			samplingFactor = 1;
+		}
 		this.connection = connection;
 	}
 
@@ -260,6 +940,36 @@ public abstract class AbstractStatisticsContext implements Serializable {
 		return attributes;
 	}
 
+	/**
+	 * Returns the counter samples that were fetched with the last refresh.
+	 *
+	 * @return the counter samples that were fetched with the last refresh or 'null' if sampling is not supported.
+	 */
+	public StatisticsSamples getSamples() {
+		return samples;
+	}
+
+	/**
+	 * Returns the sampling factor of the statistics of entities, collections and queries.
+	 * <p/>
+	 * When greater than 1, the connected application counts these statistics for 1 in N sessions and all
+	 * values shown are estimated totals (see {@link #fetchSamplingFactor()}).
+	 *
+	 * @return the sampling factor, 1 if the statistics are exact.
+	 */
+	public int getSamplingFactor() {
+		return samplingFactor;
+	}
+
+	/**
+	 * Returns true if the statistics of entities, collections and queries are sampled estimates.
+	 *
+	 * @return true if the statistics of entities, collections and queries are sampled estimates.
+	 */
+	public boolean isSampled() {
+		return samplingFactor > 1;
+	}
+
 	public DataTable getStatisticsTable() {
 		return statisticsTable;
 	}
@@ -288,6 +998,15 @@ public abstract class AbstractStatisticsContext implements Serializable {
 		return queryStatistics;
 	}
 
+	/**
+	 * Returns the execution time histograms of the queries, if supported by the connected application.
+	 *
+	 * @return the execution time histograms keyed by query (empty if not supported).
+	 */
+	public Map<String, LatencyHistogram> getQueryLatencyHistograms() {
+		return queryLatencyHistograms;
+	}
+
 	public Map<String, QueryStatisticsTable> getQueryStatisticsTables() {
 		return queryStatisticsTables;
 	}
@@ -22,9 +22,14 @@ package net.sf.hibernate.jconsole;
 import net.sf.hibernate.jconsole.ui.MainTab;
 
 import javax.management.InstanceNotFoundException;
+import javax.management.MBeanServer;
 import javax.management.MBeanServerConnection;
+import javax.management.ObjectName;
 import javax.swing.*;
+import java.lang.management.ManagementFactory;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Is the entry point of the plugin.
@@ -40,22 +45,31 @@ public class HibernateJConsolePlugin extends com.sun.tools.jconsole.JConsolePlug
 		ToolTipManager.sharedInstance().setDismissDelay(60 * 1000);
 	}
 
-	private boolean instanceNotFoundReported;
+	// Runs the refreshes of multiple contexts side by side (contexts use the bounded refresh pool internally).
+	private static final ExecutorService contextExecutor = Executors.newCachedThreadPool(new ThreadFactory() {
+		public Thread newThread(Runnable r) {
+			Thread thread = new Thread(r, "HibernateJConsole-ContextRefresh");
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+
+	// Distinguishes the diagnostics of multiple plugin instances (one per JConsole connection).
+	private static final AtomicInteger pluginIds = new AtomicInteger();
 
+	private volatile boolean instanceNotFoundReported;
+
+	/**
+	 * Is created on every update tick of JConsole and publishes the latest refreshed data to the tabs.
+	 * <p/>
+	 * Refreshing the statistics is done by the {@link RefreshScheduler} on its own schedule, the updater only
+	 * refreshes inline when the scheduler did not complete a refresh so far.
+	 */
 	private class Updater extends SwingWorker<Object, Object> {
 		@Override
 		protected Object doInBackground() throws Exception {
-			for (Map.Entry<String, AbstractStatisticsContext> entry : contexts.entrySet()) {
-				try {
-					entry.getValue().refresh();
-				} catch (InstanceNotFoundException e) {
-					tabs.get(entry.getKey()).setHibernateAvailable(false);
-					if (!instanceNotFoundReported) {
-						e.printStackTrace();
-						instanceNotFoundReported = true;
-					}
-				}
-			}
+			if (scheduler.getRefreshCount() == 0)
+				scheduler.refreshNow();
 			return null;
 		}
 
@@ -64,8 +78,19 @@ public class HibernateJConsolePlugin extends com.sun.tools.jconsole.JConsolePlug
 			try {
 				for (Map.Entry<String, MainTab> entry : tabs.entrySet()) {
 					AbstractStatisticsContext context = contexts.get(entry.getKey());
-					if (context != null)
-						entry.getValue().refresh(context);
+					if (context != null) {
+						// Publishing to the tab only when the context was refreshed since the last tick.
+						long refreshCount = context.getRefreshCount();
+						Long publishedCount = publishedRefreshCounts.put(entry.getKey(), refreshCount);
+						if (publishedCount == null || publishedCount != refreshCount) {
+							synchronized (context) {
+								RefreshDiagnostics.Timer timer = context.getDiagnostics().start(
+										RefreshDiagnostics.Phase.publish);
+								entry.getValue().refresh(context);
+								timer.stop();
+							}
+						}
+					}
 					entry.getValue().repaint();
 				}
 			} catch (RuntimeException e) {
@@ -77,6 +102,15 @@ public class HibernateJConsolePlugin extends com.sun.tools.jconsole.JConsolePlug
 	final Map<String, MainTab> tabs = new LinkedHashMap<String, MainTab>();
 	final Map<String, AbstractStatisticsContext> contexts = new HashMap<String, AbstractStatisticsContext>();
 
+	private final Map<String, Long> publishedRefreshCounts = new HashMap<String, Long>();
+	private final List<ObjectName> diagnosticsNames = new ArrayList<ObjectName>();
+
+	final RefreshScheduler scheduler = new RefreshScheduler(new Callable<Boolean>() {
+		public Boolean call() throws Exception {
+			return refreshContexts();
+		}
+	});
+
 	/**
 	 * Constructs the plugin.
 	 */
@@ -88,6 +122,7 @@ public class HibernateJConsolePlugin extends com.sun.tools.jconsole.JConsolePlug
 			String key = addMainTab(new MainTab());
 			contexts.put(key, context);
 		}
+		registerDiagnostics();
 
 		if (statisticsContexts.isEmpty()) {
 			MainTab mt = new MainTab();
@@ -96,6 +131,90 @@ public class HibernateJConsolePlugin extends com.sun.tools.jconsole.JConsolePlug
 		}
 	}
 
+	/**
+	 * Refreshes all contexts, multiple contexts are refreshed side by side.
+	 *
+	 * @return true if at least one context was refreshed, false if no context is available (the scheduler
+	 *         backs off in this case).
+	 * @throws Exception in case of refreshing failed.
+	 */
+	boolean refreshContexts() throws Exception {
+		boolean parallel = contexts.size() > 1 && AbstractStatisticsContext.REFRESH_THREADS > 1;
+		boolean refreshed = false;
+		Map<String, Future<Boolean>> refreshes = new LinkedHashMap<String, Future<Boolean>>();
+		for (final Map.Entry<String, AbstractStatisticsContext> entry : contexts.entrySet()) {
+			Callable<Boolean> refresh = new Callable<Boolean>() {
+				public Boolean call() throws Exception {
+					return refresh(entry.getKey(), entry.getValue());
+				}
+			};
+
+			if (parallel)
+				refreshes.put(entry.getKey(), contextExecutor.submit(refresh));
+			else
+				refreshed |= refresh.call();
+		}
+
+		for (Future<Boolean> refresh : refreshes.values()) {
+			try {
+				refreshed |= refresh.get();
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof Exception)
+					throw (Exception) e.getCause();
+				throw e;
+			}
+		}
+		return refreshed;
+	}
+
+	private boolean refresh(String key, AbstractStatisticsContext context) throws Exception {
+		if (context.getConnection() == null)
+			return false;
+		try {
+			context.setHistoryResolution(scheduler.getInterval());
+			context.refresh();
+			return true;
+		} catch (InstanceNotFoundException e) {
+			tabs.get(key).setHibernateAvailable(false);
+			if (!instanceNotFoundReported) {
+				e.printStackTrace();
+				instanceNotFoundReported = true;
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Registers the refresh diagnostics of all contexts with the platform MBean server of JConsole, allowing
+	 * to inspect the plugin itself (e.g. by connecting a second JConsole).
+	 */
+	private void registerDiagnostics() {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		int pluginId = pluginIds.incrementAndGet();
+		for (Map.Entry<String, AbstractStatisticsContext> entry : contexts.entrySet()) {
+			try {
+				ObjectName name = new ObjectName(RefreshDiagnosticsMBean.OBJECT_NAME_PREFIX +
+						",plugin=" + pluginId + ",tab=" + ObjectName.quote(entry.getKey()));
+				server.registerMBean(entry.getValue().getDiagnostics(), name);
+				diagnosticsNames.add(name);
+			} catch (Exception e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	private void unregisterDiagnostics() {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		for (ObjectName name : diagnosticsNames) {
+			try {
+				server.unregisterMBean(name);
+			} catch (Exception e) {
+				e.printStackTrace();
+			}
+		}
+		diagnosticsNames.clear();
+	}
+
 	private String addMainTab(MainTab mainTab) {
 		String key = MainTab.NAME;
 
@@ -133,6 +252,7 @@ public class HibernateJConsolePlugin extends com.sun.tools.jconsole.JConsolePlug
 		switch (getContext().getConnectionState()) {
 			case CONNECTING:
 			case DISCONNECTED:
+				scheduler.stop();
 				for (AbstractStatisticsContext context : contexts.values())
 					context.setConnection(null);
 				return null;
@@ -145,7 +265,21 @@ public class HibernateJConsolePlugin extends com.sun.tools.jconsole.JConsolePlug
 					tabs.get(entry.getKey()).setHibernateAvailable(context.isEnabled());
 				}
 
-				return contexts.isEmpty() ? null : new Updater();
+				if (contexts.isEmpty())
+					return null;
+
+				scheduler.start();
+				return new Updater();
 		}
 	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void dispose() {
+		scheduler.stop();
+		unregisterDiagnostics();
+		super.dispose();
+	}
 }
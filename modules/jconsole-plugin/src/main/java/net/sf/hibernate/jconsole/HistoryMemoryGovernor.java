@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole;
+
+import net.sf.hibernate.jconsole.stats.Names;
+import net.sf.hibernate.jconsole.util.DataTable;
+
+import java.io.Serializable;
+import java.util.*;
+
+import static net.sf.hibernate.jconsole.AbstractStatisticsContext.HISTORY_LENGTH;
+
+/**
+ * Bounds the memory used by the histories of single keys (entities, collections, queries and cache regions).
+ * <p/>
+ * The context creates a history table for every key it sees, each holding up to
+ * {@link AbstractStatisticsContext#HISTORY_LENGTH} rows. The governor accounts the bytes used by every table and
+ * when the total exceeds the budget ({@link #MEMORY_BUDGET}), it frees memory from the least recently used keys,
+ * where a key is used when it is in focus (visible or selected in the UI) or when its statistics changed:
+ * <ol>
+ * <li>Histories are compacted to the last {@link #COMPACT_LENGTH} rows, until 90% of the budget are reached.</li>
+ * <li>If this is not sufficient, histories are evicted. The context keeps listing evicted keys with their last
+ * statistics and creates the history again when the statistics of the key change, not when they are fetched
+ * unchanged.</li>
+ * </ol>
+ * Keys in focus are never compacted or evicted and compacted histories are restored to their full length when
+ * they come into focus again. New histories count as used once they record a change, idle keys are therefore
+ * the first to be compacted or evicted, even when they were seen recently.
+ * <p/>
+ * Note: Is called by the refreshing thread while holding the monitor of the context.
+ *
+ * @version 1.0
+ */
+public class HistoryMemoryGovernor implements Serializable {
+
+	private static final long serialVersionUID = 3260128773045116947L;
+
+	/**
+	 * Defines the memory budget in bytes of all histories of a context (configured in MB).
+	 */
+	public static final long MEMORY_BUDGET = Long.getLong("hibernate.history.budget", 32) * 1024 * 1024;
+	/**
+	 * Defines the number of rows compacted histories keep.
+	 */
+	public static final int COMPACT_LENGTH = Integer.getInteger("hibernate.history.compact.length", 120);
+
+	/**
+	 * Tracks the usage of a single history.
+	 */
+	private static final class Usage implements Serializable {
+
+		private static final long serialVersionUID = -6715209812416283544L;
+
+		final Names category;
+		final String key;
+		final DataTable table;
+		long lastViewed, lastChanged, lastSequence, bytes;
+		boolean compacted;
+
+		private Usage(Names category, String key, DataTable table) {
+			this.category = category;
+			this.key = key;
+			this.table = table;
+		}
+
+		long getLastUsed() {
+			return Math.max(lastViewed, lastChanged);
+		}
+	}
+
+	private static final Comparator<Usage> LEAST_RECENTLY_USED_FIRST = new Comparator<Usage>() {
+		public int compare(Usage o1, Usage o2) {
+			long u1 = o1.getLastUsed(), u2 = o2.getLastUsed();
+			return u1 < u2 ? -1 : (u1 == u2 ? 0 : 1);
+		}
+	};
+
+	private long budget = MEMORY_BUDGET;
+	private final Map<Names, Map<String, Usage>> usages = new EnumMap<Names, Map<String, Usage>>(Names.class);
+
+	private volatile long memoryUsage;
+	private volatile long compactionCount, evictionCount;
+
+	/**
+	 * Accounts the memory of the given histories and compacts or evicts histories when the budget is exceeded.
+	 *
+	 * @param tables        the histories per category and key, evicted histories are removed from the maps.
+	 * @param pollingPolicy the policy knowing the keys that are in focus.
+	 * @param now           the current time in milliseconds.
+	 */
+	public void govern(Map<Names, ? extends Map<String, ? extends DataTable>> tables, PollingPolicy pollingPolicy,
+					   long now) {
+		long total = 0;
+		List<Usage> candidates = new ArrayList<Usage>();
+		for (Map.Entry<Names, ? extends Map<String, ? extends DataTable>> entry : tables.entrySet()) {
+			Names category = entry.getKey();
+			Set<String> focusedKeys = pollingPolicy.getFocusedKeys(category);
+			Map<String, Usage> categoryUsages = getUsages(category);
+			categoryUsages.keySet().retainAll(entry.getValue().keySet());
+
+			for (Map.Entry<String, ? extends DataTable> tableEntry : entry.getValue().entrySet()) {
+				String key = tableEntry.getKey();
+				DataTable table = tableEntry.getValue();
+				Usage usage = categoryUsages.get(key);
+				if (usage == null || usage.table != table)
+					categoryUsages.put(key, usage = new Usage(category, key, table));
+
+				if (hasChanged(usage))
+					usage.lastChanged = now;
+
+				if (focusedKeys.contains(key)) {
+					usage.lastViewed = now;
+					if (usage.compacted) {
+						table.setMaxEntries(HISTORY_LENGTH);
+						usage.compacted = false;
+					}
+				} else
+					candidates.add(usage);
+
+				usage.bytes = table.getMemoryUsage();
+				total += usage.bytes;
+			}
+		}
+
+		if (total > budget) {
+			long target = budget / 10 * 9;
+			Collections.sort(candidates, LEAST_RECENTLY_USED_FIRST);
+
+			for (Iterator<Usage> i = candidates.iterator(); i.hasNext() && total > target; ) {
+				Usage usage = i.next();
+				if (usage.compacted)
+					continue;
+				usage.table.setMaxEntries(Math.min(COMPACT_LENGTH, usage.table.getMaxEntries()));
+				usage.compacted = true;
+				total -= usage.bytes - (usage.bytes = usage.table.getMemoryUsage());
+				compactionCount++;
+			}
+
+			for (Iterator<Usage> i = candidates.iterator(); i.hasNext() && total > target; ) {
+				Usage usage = i.next();
+				tables.get(usage.category).remove(usage.key);
+				getUsages(usage.category).remove(usage.key);
+				total -= usage.bytes;
+				evictionCount++;
+			}
+		}
+
+		memoryUsage = total;
+	}
+
+	/**
+	 * Returns true if rows were added to the history since the last call and the latest row is not all zero.
+	 */
+	private static boolean hasChanged(Usage usage) {
+		DataTable table = usage.table;
+		long sequence = table.getNextSequence();
+		if (sequence == usage.lastSequence)
+			return false;
+		usage.lastSequence = sequence;
+
+		int lastRow = table.size() - 1;
+		for (int i = 0, columns = lastRow < 0 ? 0 : table.getColumns().size(); i < columns; i++) {
+			if (table.getValue(lastRow, i) != 0D)
+				return true;
+		}
+		return false;
+	}
+
+	private Map<String, Usage> getUsages(Names category) {
+		Map<String, Usage> categoryUsages = usages.get(category);
+		if (categoryUsages == null)
+			usages.put(category, categoryUsages = new HashMap<String, Usage>());
+		return categoryUsages;
+	}
+
+	/**
+	 * Returns the memory budget in bytes.
+	 *
+	 * @return the memory budget in bytes.
+	 */
+	public long getBudget() {
+		return budget;
+	}
+
+	/**
+	 * Sets the memory budget in bytes (defaults to {@link #MEMORY_BUDGET}).
+	 *
+	 * @param budget the memory budget in bytes.
+	 */
+	public void setBudget(long budget) {
+		if (budget < 0)
+			throw new IllegalArgumentException("The budget must not be negative, was " + budget);
+		this.budget = budget;
+	}
+
+	/**
+	 * Returns the bytes used by all histories, as accounted by the last call to {@link #govern}.
+	 *
+	 * @return the bytes used by all histories.
+	 */
+	public long getMemoryUsage() {
+		return memoryUsage;
+	}
+
+	/**
+	 * Returns the bytes used by the history of the given key, as accounted by the last call to {@link #govern}.
+	 *
+	 * @param category the statistics category.
+	 * @param key      the name of the entity, collection, query or cache region.
+	 * @return the bytes used by the history or 0 if the key has no history.
+	 */
+	public long getMemoryUsage(Names category, String key) {
+		Map<String, Usage> categoryUsages = usages.get(category);
+		Usage usage = categoryUsages == null ? null : categoryUsages.get(key);
+		return usage == null ? 0 : usage.bytes;
+	}
+
+	/**
+	 * Returns true if the history of the given key is compacted.
+	 *
+	 * @param category the statistics category.
+	 * @param key      the name of the entity, collection, query or cache region.
+	 * @return true if the history of the given key is compacted.
+	 */
+	public boolean isCompacted(Names category, String key) {
+		Map<String, Usage> categoryUsages = usages.get(category);
+		Usage usage = categoryUsages == null ? null : categoryUsages.get(key);
+		return usage != null && usage.compacted;
+	}
+
+	/**
+	 * Returns the number of histories that were compacted so far.
+	 *
+	 * @return the number of histories that were compacted so far.
+	 */
+	public long getCompactionCount() {
+		return compactionCount;
+	}
+
+	/**
+	 * Returns the number of histories that were evicted so far.
+	 *
+	 * @return the number of histories that were evicted so far.
+	 */
+	public long getEvictionCount() {
+		return evictionCount;
+	}
+}
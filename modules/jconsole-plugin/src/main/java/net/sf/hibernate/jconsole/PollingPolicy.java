@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole;
+
+import net.sf.hibernate.jconsole.stats.Names;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Decides how often the statistics of single keys (entities, collections, queries and cache regions) are fetched.
+ * <p/>
+ * Summary attributes are cheap and fetched on every refresh, while statistics of single keys are expensive when
+ * they have to be fetched one by one. Keys that are in focus (visible or selected in the UI) are fetched every
+ * {@link #DETAIL_INTERVAL} milliseconds, all other keys every {@link #TAIL_INTERVAL} milliseconds. Keys that were
+ * never fetched before are fetched on the next refresh.
+ * <p/>
+ * Note: Focus may be changed from any thread, the poll times are only accessed by the refreshing thread.
+ *
+ * @version 1.0
+ */
+public class PollingPolicy implements Serializable {
+
+	private static final long serialVersionUID = -2480719350174470425L;
+
+	/**
+	 * Defines the interval in milliseconds to fetch statistics of keys that are in focus.
+	 */
+	public static final long DETAIL_INTERVAL = Long.getLong("hibernate.refresh.detail.interval", 2000);
+	/**
+	 * Defines the interval in milliseconds to fetch statistics of all other keys.
+	 */
+	public static final long TAIL_INTERVAL = Long.getLong("hibernate.refresh.tail.interval", 20000);
+
+	private volatile Map<Names, Set<String>> focusedKeys = Collections.emptyMap();
+	private final Map<Names, Map<String, Long>> pollTimes = new EnumMap<Names, Map<String, Long>>(Names.class);
+
+	/**
+	 * Sets the keys of the given category that are currently in focus.
+	 *
+	 * @param category the statistics category, e.g. {@link Names#getEntityStatistics}.
+	 * @param keys     the keys that are visible or selected.
+	 */
+	public synchronized void setFocusedKeys(Names category, Collection<String> keys) {
+		Map<Names, Set<String>> newFocusedKeys = new EnumMap<Names, Set<String>>(Names.class);
+		newFocusedKeys.putAll(focusedKeys);
+		newFocusedKeys.put(category, Collections.unmodifiableSet(new HashSet<String>(keys)));
+		focusedKeys = newFocusedKeys;
+	}
+
+	/**
+	 * Returns the keys of the given category that are currently in focus.
+	 *
+	 * @param category the statistics category.
+	 * @return the keys of the given category that are currently in focus.
+	 */
+	public Set<String> getFocusedKeys(Names category) {
+		Set<String> keys = focusedKeys.get(category);
+		return keys == null ? Collections.<String>emptySet() : keys;
+	}
+
+	/**
+	 * Returns true if the statistics of the given key should be fetched.
+	 *
+	 * @param category the statistics category.
+	 * @param key      the key to check.
+	 * @param now      the current time in milliseconds.
+	 * @return true if the statistics of the given key should be fetched.
+	 */
+	public boolean isDue(Names category, String key, long now) {
+		Long lastPoll = getPollTimes(category).get(key);
+		if (lastPoll == null)
+			return true;
+
+		long interval = getFocusedKeys(category).contains(key) ? DETAIL_INTERVAL : TAIL_INTERVAL;
+		return now - lastPoll >= interval;
+	}
+
+	/**
+	 * Records that the statistics of the given key were fetched.
+	 *
+	 * @param category the statistics category.
+	 * @param key      the key that was fetched.
+	 * @param now      the current time in milliseconds.
+	 */
+	public void polled(Names category, String key, long now) {
+		getPollTimes(category).put(key, now);
+	}
+
+	/**
+	 * Forgets the poll times of keys of the given category that are not contained in the given keys.
+	 *
+	 * @param category the statistics category.
+	 * @param keys     the keys that still exist.
+	 */
+	public void retainKeys(Names category, Collection<String> keys) {
+		getPollTimes(category).keySet().retainAll(keys);
+	}
+
+	private Map<String, Long> getPollTimes(Names category) {
+		Map<String, Long> times = pollTimes.get(category);
+		if (times == null)
+			pollTimes.put(category, times = new HashMap<String, Long>());
+		return times;
+	}
+}
@@ -0,0 +1,401 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole;
+
+import net.sf.hibernate.jconsole.util.DataTable;
+
+import java.io.Serializable;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Formatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Measures where the time of a refresh cycle goes, from fetching the statistics to painting the UI.
+ * <p/>
+ * Every {@link Phase} is measured with {@link System#nanoTime()} and, where the JVM supports it, with the bytes
+ * allocated by the measuring thread (com.sun.management.ThreadMXBean). Phases may overlap: fetches run in
+ * parallel inside {@link Phase#refresh}, charts and tables are refreshed inside {@link Phase#publish}.
+ * <p/>
+ * Every refresh of the context completes a tick, adding the time spent in every phase since the previous tick to
+ * the history ({@link #getHistory()}). UI phases run after the refresh they publish and are therefore accounted
+ * to the following tick.
+ *
+ * @version 1.0
+ */
+public class RefreshDiagnostics implements RefreshDiagnosticsMBean, Serializable {
+
+	private static final long serialVersionUID = -4123809146218349871L;
+
+	/**
+	 * Defines the amount of ticks that are kept in the history.
+	 */
+	public static final int HISTORY_LENGTH = Integer.getInteger("hibernate.diagnostics.history.length", 1000);
+
+	/**
+	 * Defines the instrumented phases of a refresh cycle.
+	 */
+	public enum Phase {
+		refresh("Refresh"),
+		attributes("Attributes"),
+		keyLists("Key lists"),
+		samplingFactor("Sampling factor"),
+		delta("Delta"),
+		samples("Samples"),
+		entities("Entities"),
+		collections("Collections"),
+		queries("Queries"),
+		cacheRegions("Cache regions"),
+		histograms("Histograms"),
+		apply("Apply"),
+		refreshTables("History tables"),
+		historyBudget("History budget"),
+		publish("Publish"),
+		charts("Charts"),
+		tables("Tables");
+
+		private final String label;
+
+		Phase(String label) {
+			this.label = label;
+		}
+
+		public String getLabel() {
+			return label;
+		}
+	}
+
+	/**
+	 * Is an immutable summary of the measurements of a single phase.
+	 */
+	public static final class PhaseStatistics {
+		private final long count, lastNanos, averageNanos, maxNanos, lastBytes, averageBytes;
+
+		PhaseStatistics(long count, long lastNanos, long averageNanos, long maxNanos,
+						long lastBytes, long averageBytes) {
+			this.count = count;
+			this.lastNanos = lastNanos;
+			this.averageNanos = averageNanos;
+			this.maxNanos = maxNanos;
+			this.lastBytes = lastBytes;
+			this.averageBytes = averageBytes;
+		}
+
+		public long getCount() {
+			return count;
+		}
+
+		public double getLastTime() {
+			return toMillis(lastNanos);
+		}
+
+		public double getAverageTime() {
+			return toMillis(averageNanos);
+		}
+
+		public double getMaxTime() {
+			return toMillis(maxNanos);
+		}
+
+		/**
+		 * Returns the bytes allocated by the last run.
+		 *
+		 * @return the bytes allocated by the last run, -1 if allocations are not counted.
+		 */
+		public long getLastAllocatedBytes() {
+			return lastBytes;
+		}
+
+		/**
+		 * Returns the average bytes allocated by a run.
+		 *
+		 * @return the average bytes allocated by a run, -1 if allocations are not counted.
+		 */
+		public long getAverageAllocatedBytes() {
+			return averageBytes;
+		}
+	}
+
+	/**
+	 * Measures a single run of a phase, is created with {@link RefreshDiagnostics#start(Phase)}.
+	 */
+	public final class Timer {
+		private final Phase phase;
+		private final long startNanos, startBytes;
+
+		private Timer(Phase phase) {
+			this.phase = phase;
+			startBytes = getAllocatedBytes();
+			startNanos = System.nanoTime();
+		}
+
+		/**
+		 * Stops the timer and records the measurement.
+		 */
+		public void stop() {
+			long nanos = System.nanoTime() - startNanos;
+			record(phase, nanos, startBytes == -1 ? -1 : getAllocatedBytes() - startBytes);
+		}
+	}
+
+	private static final Phase[] PHASES = Phase.values();
+
+	private static final Object THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+	private static final Method ALLOCATED_BYTES_METHOD = findAllocatedBytesMethod();
+
+	/**
+	 * Returns the getThreadAllocatedBytes(long) method of the HotSpot specific ThreadMXBean.
+	 *
+	 * @return the method or 'null' if allocations cannot be counted in this JVM.
+	 */
+	private static Method findAllocatedBytesMethod() {
+		try {
+			Class<?> type = Class.forName("com.sun.management.ThreadMXBean");
+			if (!type.isInstance(THREAD_MX_BEAN) ||
+					!(Boolean) type.getMethod("isThreadAllocatedMemorySupported").invoke(THREAD_MX_BEAN) ||
+					!(Boolean) type.getMethod("isThreadAllocatedMemoryEnabled").invoke(THREAD_MX_BEAN))
+				return null;
+			return type.getMethod("getThreadAllocatedBytes", long.class);
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the bytes allocated by the current thread so far.
+	 *
+	 * @return the bytes allocated by the current thread so far, -1 if allocations cannot be counted.
+	 */
+	static long getAllocatedBytes() {
+		if (ALLOCATED_BYTES_METHOD == null)
+			return -1;
+		try {
+			return (Long) ALLOCATED_BYTES_METHOD.invoke(THREAD_MX_BEAN, Thread.currentThread().getId());
+		} catch (Exception e) {
+			return -1;
+		}
+	}
+
+	private static double toMillis(long nanos) {
+		return nanos / 1000000D;
+	}
+
+	private final long[] counts = new long[PHASES.length];
+	private final long[] totalNanos = new long[PHASES.length];
+	private final long[] maxNanos = new long[PHASES.length];
+	private final long[] lastNanos = new long[PHASES.length];
+	private final long[] tickNanos = new long[PHASES.length];
+	private final long[] totalBytes = new long[PHASES.length];
+	private final long[] lastBytes = new long[PHASES.length];
+
+	private final DataTable history;
+	private transient double[] rowValues;
+
+	public RefreshDiagnostics() {
+		DataTable.Column[] columns = new DataTable.Column[PHASES.length];
+		for (Phase phase : PHASES)
+			columns[phase.ordinal()] = new DataTable.Column(phase.getLabel(), DataTable.DataFlavour.average);
+		history = new DataTable(HISTORY_LENGTH, columns);
+	}
+
+	/**
+	 * Starts measuring a run of the given phase, the returned timer must be stopped when the phase ends.
+	 *
+	 * @param phase the phase to measure.
+	 * @return a timer that records the measurement when stopped.
+	 */
+	public Timer start(Phase phase) {
+		return new Timer(phase);
+	}
+
+	/**
+	 * Wraps the given task, measuring every call as a run of the given phase.
+	 *
+	 * @param phase the phase to measure.
+	 * @param task  the task to measure.
+	 * @param <V>   the result type of the task.
+	 * @return a task that measures the given task.
+	 */
+	public <V> Callable<V> timed(final Phase phase, final Callable<V> task) {
+		return new Callable<V>() {
+			public V call() throws Exception {
+				Timer timer = start(phase);
+				try {
+					return task.call();
+				} finally {
+					timer.stop();
+				}
+			}
+		};
+	}
+
+	synchronized void record(Phase phase, long nanos, long bytes) {
+		int index = phase.ordinal();
+		counts[index]++;
+		totalNanos[index] += nanos;
+		lastNanos[index] = nanos;
+		tickNanos[index] += nanos;
+		if (nanos > maxNanos[index])
+			maxNanos[index] = nanos;
+
+		lastBytes[index] = bytes;
+		if (bytes >= 0 && totalBytes[index] >= 0)
+			totalBytes[index] += bytes;
+		else
+			totalBytes[index] = -1;
+	}
+
+	/**
+	 * Completes a tick, adding the time spent in every phase since the last tick to the history.
+	 * <p/>
+	 * Note: Is called while holding the monitor of the context, like any other change to data tables.
+	 */
+	public synchronized void completeTick() {
+		if (rowValues == null)
+			rowValues = new double[PHASES.length];
+		for (int i = 0; i < rowValues.length; i++) {
+			rowValues[i] = toMillis(tickNanos[i]);
+			tickNanos[i] = 0;
+		}
+		history.add(System.currentTimeMillis(), rowValues);
+	}
+
+	/**
+	 * Returns the time spent per tick in every phase in milliseconds, with one column per phase.
+	 *
+	 * @return the time spent per tick in every phase.
+	 */
+	public DataTable getHistory() {
+		return history;
+	}
+
+	/**
+	 * Returns the measurements of all phases that ran at least once, keyed by the label of the phase.
+	 *
+	 * @return the measurements of all phases that ran at least once.
+	 */
+	public synchronized Map<String, PhaseStatistics> getPhaseStatistics() {
+		Map<String, PhaseStatistics> statistics = new LinkedHashMap<String, PhaseStatistics>();
+		for (Phase phase : PHASES) {
+			int i = phase.ordinal();
+			if (counts[i] == 0)
+				continue;
+			statistics.put(phase.getLabel(), new PhaseStatistics(counts[i], lastNanos[i], totalNanos[i] / counts[i],
+					maxNanos[i], lastBytes[i], totalBytes[i] < 0 ? -1 : totalBytes[i] / counts[i]));
+		}
+		return statistics;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public String[] getPhases() {
+		String[] names = new String[PHASES.length];
+		for (Phase phase : PHASES)
+			names[phase.ordinal()] = phase.getLabel();
+		return names;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public synchronized long[] getCounts() {
+		return counts.clone();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public synchronized double[] getLastTimes() {
+		return toMillis(lastNanos);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public synchronized double[] getAverageTimes() {
+		double[] times = new double[PHASES.length];
+		for (int i = 0; i < times.length; i++)
+			times[i] = counts[i] == 0 ? 0 : toMillis(totalNanos[i] / counts[i]);
+		return times;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public synchronized double[] getMaxTimes() {
+		return toMillis(maxNanos);
+	}
+
+	private static double[] toMillis(long[] nanos) {
+		double[] times = new double[nanos.length];
+		for (int i = 0; i < times.length; i++)
+			times[i] = toMillis(nanos[i]);
+		return times;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public synchronized long[] getLastAllocatedBytes() {
+		return lastBytes.clone();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public synchronized long[] getTotalAllocatedBytes() {
+		return totalBytes.clone();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public boolean isAllocationCounting() {
+		return ALLOCATED_BYTES_METHOD != null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public String getReport() {
+		Formatter report = new Formatter();
+		report.format("%-16s %8s %10s %10s %10s %12s%n", "Phase", "Count", "Last ms", "Avg ms", "Max ms", "Avg KB");
+		for (Map.Entry<String, PhaseStatistics> entry : getPhaseStatistics().entrySet()) {
+			PhaseStatistics s = entry.getValue();
+			report.format("%-16s %8d %10.2f %10.2f %10.2f %12s%n", entry.getKey(), s.getCount(), s.getLastTime(),
+					s.getAverageTime(), s.getMaxTime(), s.getAverageAllocatedBytes() < 0 ? "n/a" :
+					String.valueOf(s.getAverageAllocatedBytes() / 1024));
+		}
+		return report.toString();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public synchronized void reset() {
+		for (long[] values : Arrays.asList(counts, totalNanos, maxNanos, lastNanos, tickNanos, totalBytes, lastBytes))
+			Arrays.fill(values, 0);
+		history.clear();
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole;
+
+/**
+ * Defines the management interface of {@link RefreshDiagnostics}.
+ * <p/>
+ * All arrays are indexed like {@link #getPhases()}, times are in milliseconds and allocations in bytes.
+ *
+ * @version 1.0
+ */
+public interface RefreshDiagnosticsMBean {
+
+	/**
+	 * Is the domain and type of the object names the diagnostics are registered with inside JConsole.
+	 */
+	String OBJECT_NAME_PREFIX = "net.sf.hibernate.jconsole:type=RefreshDiagnostics";
+
+	/**
+	 * Returns the names of the instrumented phases.
+	 *
+	 * @return the names of the instrumented phases.
+	 */
+	String[] getPhases();
+
+	/**
+	 * Returns how often every phase ran.
+	 *
+	 * @return how often every phase ran.
+	 */
+	long[] getCounts();
+
+	/**
+	 * Returns the duration of the last run of every phase.
+	 *
+	 * @return the duration of the last run of every phase.
+	 */
+	double[] getLastTimes();
+
+	/**
+	 * Returns the average duration of every phase.
+	 *
+	 * @return the average duration of every phase.
+	 */
+	double[] getAverageTimes();
+
+	/**
+	 * Returns the longest duration of every phase.
+	 *
+	 * @return the longest duration of every phase.
+	 */
+	double[] getMaxTimes();
+
+	/**
+	 * Returns the bytes allocated by the last run of every phase.
+	 *
+	 * @return the bytes allocated by the last run of every phase, -1 if allocations are not counted.
+	 */
+	long[] getLastAllocatedBytes();
+
+	/**
+	 * Returns the bytes allocated by all runs of every phase.
+	 *
+	 * @return the bytes allocated by all runs of every phase, -1 if allocations are not counted.
+	 */
+	long[] getTotalAllocatedBytes();
+
+	/**
+	 * Returns true if the JVM running JConsole supports counting the allocations of a thread.
+	 *
+	 * @return true if allocations are counted.
+	 */
+	boolean isAllocationCounting();
+
+	/**
+	 * Returns a human readable table of all phases.
+	 *
+	 * @return a human readable table of all phases.
+	 */
+	String getReport();
+
+	/**
+	 * Resets all counters and the history.
+	 */
+	void reset();
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs a refresh task on its own schedule, independent of JConsole's update interval.
+ * <p/>
+ * The delay between two refreshes adapts to the duration of the previous refreshes (which is dominated by the
+ * round trips to the remote MBean server). While the remote side answers quickly, refreshes run at sub-second
+ * intervals ({@link #MIN_INTERVAL}). When refreshing takes more than {@link #BUDGET_PERCENT} percent of the
+ * interval, the scheduler backs off and extends the interval accordingly, up to {@link #MAX_INTERVAL}.
+ * Failed refreshes double the interval, as do refreshes that found nothing to refresh (signalled by a refresh
+ * task returning {@link Boolean#FALSE}, e.g. while the statistics MBean is not registered).
+ * <p/>
+ * Refreshes never overlap. The next refresh is scheduled after the previous one completed, and a refresh that
+ * is requested while another one is still running is skipped.
+ *
+ * @version 1.0
+ */
+public class RefreshScheduler {
+
+	/**
+	 * Defines the shortest interval between two refreshes in milliseconds.
+	 */
+	public static final long MIN_INTERVAL = Long.getLong("hibernate.refresh.interval.min", 500);
+	/**
+	 * Defines the longest interval between two refreshes in milliseconds.
+	 */
+	public static final long MAX_INTERVAL = Long.getLong("hibernate.refresh.interval.max", 30000);
+	/**
+	 * Defines the share of the interval (in percent) that may be spent for refreshing.
+	 */
+	public static final int BUDGET_PERCENT = Math.max(1, Math.min(100, Integer.getInteger("hibernate.refresh.budget", 20)));
+
+	private final Callable<?> refreshTask;
+	private final AtomicBoolean refreshing = new AtomicBoolean();
+	private final AtomicLong skippedCount = new AtomicLong();
+
+	private ScheduledExecutorService executor;
+
+	private volatile long averageDuration = -1;
+	private volatile long interval = MIN_INTERVAL;
+	private volatile long refreshCount;
+	private volatile boolean failureReported;
+
+	/**
+	 * Creates a scheduler for the given refresh task.
+	 *
+	 * @param refreshTask the task to run on every refresh.
+	 */
+	public RefreshScheduler(Callable<?> refreshTask) {
+		if (refreshTask == null)
+			throw new NullPointerException("refreshTask");
+		this.refreshTask = refreshTask;
+	}
+
+	/**
+	 * Starts refreshing in a background thread, does nothing when the scheduler was already started.
+	 */
+	public synchronized void start() {
+		if (executor != null)
+			return;
+
+		executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "HibernateJConsole-Scheduler");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		schedule(executor, 0);
+	}
+
+	/**
+	 * Stops refreshing, a refresh that is currently running is not interrupted.
+	 */
+	public synchronized void stop() {
+		if (executor != null) {
+			executor.shutdownNow();
+			executor = null;
+		}
+	}
+
+	/**
+	 * Returns true if the scheduler was started.
+	 *
+	 * @return true if the scheduler was started.
+	 */
+	public synchronized boolean isStarted() {
+		return executor != null;
+	}
+
+	/**
+	 * Runs the refresh task in the calling thread unless another refresh is currently running.
+	 *
+	 * @return true if the task was run, false if the refresh was skipped.
+	 * @throws Exception in case of the refresh task failed.
+	 */
+	public boolean refreshNow() throws Exception {
+		if (!refreshing.compareAndSet(false, true)) {
+			skippedCount.incrementAndGet();
+			return false;
+		}
+
+		try {
+			long start = System.nanoTime();
+			if (Boolean.FALSE.equals(refreshTask.call()))
+				backOff();
+			else
+				adjustInterval(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+			refreshCount++;
+			failureReported = false;
+			return true;
+		} catch (Exception e) {
+			backOff();
+			throw e;
+		} finally {
+			refreshing.set(false);
+		}
+	}
+
+	/**
+	 * Returns the current interval between two refreshes.
+	 *
+	 * @return the current interval between two refreshes in milliseconds.
+	 */
+	public long getInterval() {
+		return interval;
+	}
+
+	/**
+	 * Returns the smoothed duration of the refreshes.
+	 *
+	 * @return the smoothed duration of the refreshes in milliseconds or -1 if nothing was refreshed yet.
+	 */
+	public long getAverageDuration() {
+		return averageDuration;
+	}
+
+	/**
+	 * Returns the number of refreshes that completed without failure.
+	 *
+	 * @return the number of refreshes that completed without failure.
+	 */
+	public long getRefreshCount() {
+		return refreshCount;
+	}
+
+	/**
+	 * Returns the number of refreshes that were skipped as another refresh was still running.
+	 *
+	 * @return the number of skipped refreshes.
+	 */
+	public long getSkippedCount() {
+		return skippedCount.get();
+	}
+
+	/**
+	 * Adjusts the interval to keep the refresh duration within the budget.
+	 *
+	 * @param duration the duration of the last refresh in milliseconds.
+	 */
+	void adjustInterval(long duration) {
+		long average = averageDuration;
+		// Smoothing the duration (exponentially weighted) to not react on single slow round trips.
+		average = average < 0 ? duration : (average * 7 + duration * 3) / 10;
+		averageDuration = average;
+		interval = Math.min(MAX_INTERVAL, Math.max(MIN_INTERVAL, average * 100 / BUDGET_PERCENT));
+	}
+
+	/**
+	 * Doubles the interval after a refresh failed or found nothing to refresh.
+	 */
+	void backOff() {
+		interval = Math.min(MAX_INTERVAL, Math.max(MIN_INTERVAL, interval * 2));
+	}
+
+	private void schedule(final ScheduledExecutorService executor, long delay) {
+		try {
+			executor.schedule(new Runnable() {
+				public void run() {
+					try {
+						refreshNow();
+					} catch (Exception e) {
+						if (!failureReported) {
+							e.printStackTrace();
+							failureReported = true;
+						}
+					} finally {
+						synchronized (RefreshScheduler.this) {
+							if (RefreshScheduler.this.executor == executor)
+								schedule(executor, interval);
+						}
+					}
+				}
+			}, delay, TimeUnit.MILLISECONDS);
+		} catch (RejectedExecutionException ignored) {
+			// The scheduler was stopped.
+		}
+	}
+}
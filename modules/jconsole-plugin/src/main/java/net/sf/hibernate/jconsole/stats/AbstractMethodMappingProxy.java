@@ -20,6 +20,7 @@
 package net.sf.hibernate.jconsole.stats;
 
 import java.io.Serializable;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -28,6 +29,13 @@ import java.util.Map;
 
 /**
  * Implements an dynamic abstraction layer that maps
+ * <p/>
+ * Interface methods are bound to the delegate methods once per (interface, delegate class) pair.
+ * The bound methods are made accessible to skip the access checks of the reflection API on every
+ * call and are resolved by identity from a small array instead of hashing and comparing methods.
+ * <p/>
+ * Where possible, an accessor class is generated for a binding (see {@link #newAccessor()}) that
+ * calls the delegate methods directly without using reflection.
  *
  * @author Juergen_Kellerer, 2010-09-16
  * @version 1.0
@@ -36,19 +44,70 @@ public abstract class AbstractMethodMappingProxy implements InvocationHandler, S
 
 	private static final long serialVersionUID = -5158861813591604950L;
 
-	private static final Map<Class<?>, Map<Class<?>, Map<Method, Method>>> classMapping =
-			new HashMap<Class<?>, Map<Class<?>, Map<Method, Method>>>();
+	private static final Map<Class<?>, Map<Class<?>, MethodBinding>> classMapping =
+			new HashMap<Class<?>, Map<Class<?>, MethodBinding>>();
+
+	/**
+	 * Binds the methods of an interface to the methods of a delegate class.
+	 */
+	static final class MethodBinding {
+
+		final Class<?> interfaceClass;
+		final Method[] interfaceMethods;
+		final Method[] targetMethods;
+
+		private boolean accessorGenerated;
+		private Constructor<?> accessorConstructor;
+
+		MethodBinding(Class<?> interfaceClass, Method[] interfaceMethods, Method[] targetMethods) {
+			this.interfaceClass = interfaceClass;
+			this.interfaceMethods = interfaceMethods;
+			this.targetMethods = targetMethods;
+		}
+
+		/**
+		 * Returns the constructor of the generated accessor class, generating the class on first access.
+		 *
+		 * @return the constructor of the generated accessor class or 'null' if none could be generated.
+		 */
+		synchronized Constructor<?> getAccessorConstructor() {
+			if (!accessorGenerated) {
+				accessorGenerated = true;
+				accessorConstructor = AccessorClassGenerator.generate(interfaceClass, interfaceMethods, targetMethods);
+			}
+			return accessorConstructor;
+		}
+
+		/**
+		 * Returns the target method that is bound to the given interface method.
+		 *
+		 * @param interfaceMethod the interface method to resolve.
+		 * @return the target method or 'null' if the interface method is not bound.
+		 */
+		Method getTarget(Method interfaceMethod) {
+			// Proxies pass the same method instances with every call, comparing identity first.
+			for (int i = 0; i < interfaceMethods.length; i++) {
+				if (interfaceMethods[i] == interfaceMethod)
+					return targetMethods[i];
+			}
+			for (int i = 0; i < interfaceMethods.length; i++) {
+				if (interfaceMethods[i].equals(interfaceMethod))
+					return targetMethods[i];
+			}
+			return null;
+		}
+	}
 
 	final Object delegate;
 	final Object defaultValue;
 	final Class<?> interfaceClass;
-	final Map<Method, Method> mapping;
+	final MethodBinding binding;
 
 	protected AbstractMethodMappingProxy(Class<?> interfaceClass, Object delegate, Object defaultValue) {
 		this.interfaceClass = interfaceClass;
 		this.delegate = delegate;
 		this.defaultValue = defaultValue;
-		mapping = getMethodMapping(interfaceClass, delegate.getClass());
+		binding = getMethodBinding(interfaceClass, delegate.getClass());
 	}
 
 	/**
@@ -62,12 +121,30 @@ public abstract class AbstractMethodMappingProxy implements InvocationHandler, S
 	protected abstract Method findTargetMethod(Method interfaceMethod, Class<?> targetClass)
 			throws NoSuchMethodException;
 
+	/**
+	 * Creates an accessor that implements the interface by calling the bound delegate methods directly.
+	 * <p/>
+	 * The accessor has the same semantics as a proxy using this invocation handler.
+	 *
+	 * @return a new accessor instance or 'null' if no accessor class can be generated for the binding.
+	 */
+	protected Object newAccessor() {
+		Constructor<?> constructor = binding.getAccessorConstructor();
+		if (constructor == null)
+			return null;
+		try {
+			return constructor.newInstance(delegate, defaultValue);
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	public final Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-		Method target = mapping.get(method);
+		Method target = binding.getTarget(method);
 		try {
 			return target == null ? defaultValue : target.invoke(delegate, args);
 		} catch (InvocationTargetException e) {
@@ -77,33 +154,39 @@ public abstract class AbstractMethodMappingProxy implements InvocationHandler, S
 		}
 	}
 
-	private Map<Method, Method> getMethodMapping(Class<?> forInterface, Class<?> forClass) {
+	private MethodBinding getMethodBinding(Class<?> forInterface, Class<?> forClass) {
 		synchronized (classMapping) {
-			Map<Class<?>, Map<Method, Method>> mapping = classMapping.get(forInterface);
+			Map<Class<?>, MethodBinding> mapping = classMapping.get(forInterface);
 			if (mapping == null) {
-				mapping = new HashMap<Class<?>, Map<Method, Method>>();
+				mapping = new HashMap<Class<?>, MethodBinding>();
 				classMapping.put(forInterface, mapping);
 			}
 
-			Map<Method, Method> methodMapping = mapping.get(forClass);
-			if (methodMapping == null) {
-				methodMapping = createMethodMapping(forInterface, forClass);
-				mapping.put(forClass, methodMapping);
+			MethodBinding methodBinding = mapping.get(forClass);
+			if (methodBinding == null) {
+				methodBinding = createMethodBinding(forInterface, forClass);
+				mapping.put(forClass, methodBinding);
 			}
 
-			return methodMapping;
+			return methodBinding;
 		}
 	}
 
-	private Map<Method, Method> createMethodMapping(Class<?> forInterface, Class<?> forClass) {
-		Map<Method, Method> mapping = new HashMap<Method, Method>();
-		for (Method method : forInterface.getMethods()) {
+	private MethodBinding createMethodBinding(Class<?> forInterface, Class<?> forClass) {
+		Method[] interfaceMethods = forInterface.getMethods();
+		Method[] targetMethods = new Method[interfaceMethods.length];
+		for (int i = 0; i < interfaceMethods.length; i++) {
 			try {
-				mapping.put(method, findTargetMethod(method, forClass));
+				targetMethods[i] = findTargetMethod(interfaceMethods[i], forClass);
+				try {
+					targetMethods[i].setAccessible(true);
+				} catch (SecurityException e) {
+					// Calls are still possible using access checks.
+				}
 			} catch (NoSuchMethodException e) {
-				System.err.println("Failed finding a callable delegate for interface method: " + method);
+				System.err.println("Failed finding a callable delegate for interface method: " + interfaceMethods[i]);
 			}
 		}
-		return mapping;
+		return new MethodBinding(forInterface, interfaceMethods, targetMethods);
 	}
 }
@@ -25,17 +25,13 @@ import net.sf.hibernate.jconsole.util.DataSampler;
 import net.sf.hibernate.jconsole.util.DataTable;
 import net.sf.hibernate.jconsole.util.FixedSizeDataSampler;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
 /**
  * Defines an abstract base to data tables that are fed by data samplers.
  *
  * @author Juergen_Kellerer, 2010-09-20
  * @version 1.0
  */
-public abstract class AbstractStatisticsTable<N extends Number> extends DataTable implements Refreshable {
+public abstract class AbstractStatisticsTable extends DataTable implements Refreshable {
 
 	private static final long serialVersionUID = 6918151294590826570L;
 
@@ -52,7 +48,8 @@ public abstract class AbstractStatisticsTable<N extends Number> extends DataTabl
 		return columns;
 	}
 
-	private Map<String, DataSampler<N>> samplers = new HashMap<String, DataSampler<N>>();
+	private DataSampler[] samplers;
+	private transient double[] rowValues;
 
 	/**
 	 * Used for de-serialization support.
@@ -79,8 +76,9 @@ public abstract class AbstractStatisticsTable<N extends Number> extends DataTabl
 	 */
 	protected AbstractStatisticsTable(int maxEntries, Column... columns) {
 		super(maxEntries, columns);
+		samplers = new DataSampler[columns.length];
 		for (Column column : columns)
-			samplers.put(column.getName(), createSampler(column));
+			samplers[column.getIndex()] = createSampler(column);
 	}
 
 	/**
@@ -89,19 +87,47 @@ public abstract class AbstractStatisticsTable<N extends Number> extends DataTabl
 	 * @param column the column to create the sampler for.
 	 * @return a data sampler for the specified column.
 	 */
-	protected DataSampler<N> createSampler(Column column) {
-		return new FixedSizeDataSampler<N>(2);
+	protected DataSampler createSampler(Column column) {
+		return new FixedSizeDataSampler(2);
 	}
 
 	/**
 	 * Calculates the column value to add to the table on refresh.
+	 * <p/>
+	 * The default implementation returns the change of the sampled value per second, as statistics are not
+	 * necessarily sampled in regular intervals.
 	 *
 	 * @param column  the column to get the value for.
 	 * @param sampler the sampler containing the sampled values.
 	 * @return the column value to add to the table on refresh.
 	 */
-	protected double calculateColumnValue(Column column, DataSampler<N> sampler) {
-		return sampler.getDifference();
+	protected double calculateColumnValue(Column column, DataSampler sampler) {
+		return sampler.getDifferencePerSecond();
+	}
+
+	/**
+	 * Returns true if the context contains current data for this table.
+	 * <p/>
+	 * Tables that depend on statistics which are not fetched on every refresh, return false when the
+	 * statistics were not refreshed, causing the table to skip the sample instead of recording an outdated value.
+	 *
+	 * @param context the context to check.
+	 * @return true if the context contains current data for this table.
+	 */
+	protected boolean isCurrent(AbstractStatisticsContext context) {
+		return true;
+	}
+
+	/**
+	 * Returns true if a row is due at the given time. Rows are recorded at most once per history resolution
+	 * (see {@link AbstractStatisticsContext#getHistoryResolution()}), allowing a quarter of it as timer jitter.
+	 *
+	 * @param timeStamp  the time of the refresh.
+	 * @param resolution the minimum time in milliseconds between two rows.
+	 * @return true if a row is due at the given time.
+	 */
+	protected boolean isDue(long timeStamp, long resolution) {
+		return size() == 0 || timeStamp - getMaxTimestamp() >= resolution - resolution / 4;
 	}
 
 	/**
@@ -118,32 +144,53 @@ public abstract class AbstractStatisticsTable<N extends Number> extends DataTabl
 	 * @param context the context to read the data from.
 	 * @return the value to sample for the specified column.
 	 */
-	protected abstract N calculateSampleValue(Column column, AbstractStatisticsContext context);
+	protected abstract long calculateSampleValue(Column column, AbstractStatisticsContext context);
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	public void refresh(AbstractStatisticsContext context) {
-		applyAttributesToSamplers(context);
-		applySamples();
+		long timeStamp = System.currentTimeMillis();
+		if (isCurrent(context) && isDue(timeStamp, context.getHistoryResolution()))
+			refresh(context, timeStamp);
+	}
+
+	/**
+	 * Records a row with the current data of the given context.
+	 *
+	 * @param context   the context to read the data from.
+	 * @param timeStamp the time of the row.
+	 */
+	protected void refresh(AbstractStatisticsContext context, long timeStamp) {
+		applyAttributesToSamplers(timeStamp, context);
+		applySamples(timeStamp);
+	}
+
+	/**
+	 * Adds a sample that was taken at the given time and records the resulting row.
+	 *
+	 * @param timeStamp	the time when the values were sampled.
+	 * @param sampleValues the values to sample, indexed by column.
+	 */
+	void addSample(long timeStamp, long[] sampleValues) {
+		for (Column column : getColumns())
+			samplers[column.getIndex()].add(timeStamp, sampleValues[column.getIndex()]);
+		applySamples(timeStamp);
 	}
 
-	void applyAttributesToSamplers(AbstractStatisticsContext context) {
-		for (Column column : getColumns()) {
-			N value = calculateSampleValue(column, context);
-			samplers.get(column.getName()).add(value);
-		}
+	void applyAttributesToSamplers(long timeStamp, AbstractStatisticsContext context) {
+		for (Column column : getColumns())
+			samplers[column.getIndex()].add(timeStamp, calculateSampleValue(column, context));
 	}
 
-	void applySamples() {
-		List<Column> columns = getColumns();
+	void applySamples(long timeStamp) {
+		if (rowValues == null)
+			rowValues = new double[samplers.length];
 
-		int i = 0;
-		double[] values = new double[columns.size()];
-		for (DataTable.Column column : columns)
-			values[i++] = calculateColumnValue(column, samplers.get(column.getName()));
+		for (Column column : getColumns())
+			rowValues[column.getIndex()] = calculateColumnValue(column, samplers[column.getIndex()]);
 
-		add(values);
+		add(timeStamp, rowValues);
 	}
 }
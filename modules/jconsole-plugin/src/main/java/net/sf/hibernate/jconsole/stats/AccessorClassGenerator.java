@@ -0,0 +1,409 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.stats;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * Generates accessor classes that implement an interface by calling the bound delegate methods directly.
+ * <p/>
+ * A generated accessor behaves like the reflective {@link AbstractMethodMappingProxy}: Interface methods
+ * without a bound delegate method and calls that fail with a NullPointerException return the default value.
+ * In contrast to the proxy, calls are plain virtual calls without reflection and boxing.
+ * <p/>
+ * The generated classes use the class file format of Java 5 and are defined in a class loader that sees
+ * the interface and the delegate classes. Only interfaces with methods that have no parameters are
+ * supported, 'null' is returned for any other interface or for delegates that are not publicly accessible.
+ *
+ * @version 1.0
+ */
+final class AccessorClassGenerator {
+
+	private static final int ACC_PUBLIC = 0x0001, ACC_PRIVATE = 0x0002, ACC_FINAL = 0x0010, ACC_SUPER = 0x0020;
+
+	private static final String OBJECT = "java/lang/Object";
+	private static final String OBJECT_DESCRIPTOR = "Ljava/lang/Object;";
+	private static final String DELEGATE_FIELD = "delegate", DEFAULT_VALUE_FIELD = "defaultValue";
+
+	private static final Map<Class<?>, Class<?>> wrappers = new HashMap<Class<?>, Class<?>>();
+
+	static {
+		wrappers.put(boolean.class, Boolean.class);
+		wrappers.put(byte.class, Byte.class);
+		wrappers.put(char.class, Character.class);
+		wrappers.put(short.class, Short.class);
+		wrappers.put(int.class, Integer.class);
+		wrappers.put(long.class, Long.class);
+		wrappers.put(float.class, Float.class);
+		wrappers.put(double.class, Double.class);
+	}
+
+	private static int generatedClasses;
+
+	private AccessorClassGenerator() {
+	}
+
+	/**
+	 * Generates an accessor class for the given method binding.
+	 *
+	 * @param interfaceClass   the interface to implement.
+	 * @param interfaceMethods the methods of the interface.
+	 * @param targetMethods    the delegate methods bound to the interface methods ('null' if not bound).
+	 * @return the constructor of the generated class taking the delegate and default value as arguments
+	 *         or 'null' if no accessor can be generated for the given binding.
+	 */
+	static Constructor<?> generate(Class<?> interfaceClass, Method[] interfaceMethods, Method[] targetMethods) {
+		if (!interfaceClass.isInterface() || !Modifier.isPublic(interfaceClass.getModifiers()))
+			return null;
+
+		Map<String, Class<?>> knownClasses = new HashMap<String, Class<?>>();
+		knownClasses.put(interfaceClass.getName(), interfaceClass);
+		for (int i = 0; i < interfaceMethods.length; i++) {
+			Method target = targetMethods[i];
+			if (interfaceMethods[i].getParameterTypes().length != 0)
+				return null;
+			if (target != null) {
+				Class<?> declaringClass = target.getDeclaringClass();
+				if (!Modifier.isPublic(declaringClass.getModifiers()) || Modifier.isStatic(target.getModifiers()))
+					return null;
+				knownClasses.put(declaringClass.getName(), declaringClass);
+				if (!target.getReturnType().isPrimitive())
+					knownClasses.put(target.getReturnType().getName(), target.getReturnType());
+			}
+		}
+
+		String className;
+		synchronized (AccessorClassGenerator.class) {
+			className = interfaceClass.getName() + "$$Accessor" + (++generatedClasses);
+		}
+
+		try {
+			byte[] classFile = new ClassWriter(className, interfaceClass, interfaceMethods, targetMethods).toByteArray();
+			AccessorClassLoader classLoader = new AccessorClassLoader(interfaceClass.getClassLoader(), knownClasses);
+			classLoader.define(className, classFile);
+
+			// Initializing the class to have it verified before it is used.
+			return Class.forName(className, true, classLoader).getConstructor(Object.class, Object.class);
+		} catch (Exception e) {
+			System.err.println("Failed generating an accessor for " + interfaceClass + ", using reflection. Cause: " + e);
+			return null;
+		} catch (LinkageError e) {
+			System.err.println("Failed generating an accessor for " + interfaceClass + ", using reflection. Cause: " + e);
+			return null;
+		}
+	}
+
+	/**
+	 * Defines generated classes and resolves the classes they refer to exactly as bound.
+	 */
+	private static final class AccessorClassLoader extends ClassLoader {
+
+		private final Map<String, Class<?>> knownClasses;
+
+		private AccessorClassLoader(ClassLoader parent, Map<String, Class<?>> knownClasses) {
+			super(parent);
+			this.knownClasses = knownClasses;
+		}
+
+		@Override
+		protected synchronized Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			Class<?> knownClass = knownClasses.get(name);
+			return knownClass != null ? knownClass : super.loadClass(name, resolve);
+		}
+
+		Class<?> define(String name, byte[] classFile) {
+			return defineClass(name, classFile, 0, classFile.length);
+		}
+	}
+
+	/**
+	 * Writes the class file of an accessor class.
+	 */
+	private static final class ClassWriter {
+
+		private final ByteArrayOutputStream constantPoolBytes = new ByteArrayOutputStream();
+		private final DataOutputStream constantPool = new DataOutputStream(constantPoolBytes);
+		private final Map<String, Integer> constants = new HashMap<String, Integer>();
+		private int constantCount = 1;
+
+		private final ByteArrayOutputStream classBytes = new ByteArrayOutputStream();
+		private final DataOutputStream out = new DataOutputStream(classBytes);
+
+		private ClassWriter(String className, Class<?> interfaceClass,
+							Method[] interfaceMethods, Method[] targetMethods) throws IOException {
+			String thisClass = className.replace('.', '/');
+
+			out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+			out.writeShort(classRef(thisClass));
+			out.writeShort(classRef(OBJECT));
+			out.writeShort(1);
+			out.writeShort(classRef(internalName(interfaceClass)));
+
+			out.writeShort(2);
+			for (String field : new String[]{DELEGATE_FIELD, DEFAULT_VALUE_FIELD}) {
+				out.writeShort(ACC_PRIVATE | ACC_FINAL);
+				out.writeShort(utf8(field));
+				out.writeShort(utf8(OBJECT_DESCRIPTOR));
+				out.writeShort(0);
+			}
+
+			Set<String> signatures = new HashSet<String>();
+			List<byte[]> methods = new ArrayList<byte[]>();
+			methods.add(writeConstructor(thisClass));
+			for (int i = 0; i < interfaceMethods.length; i++) {
+				Method method = interfaceMethods[i];
+				if (signatures.add(method.getName() + methodDescriptor(method.getReturnType())))
+					methods.add(writeMethod(thisClass, method, targetMethods[i]));
+			}
+
+			out.writeShort(methods.size());
+			for (byte[] method : methods)
+				out.write(method);
+			out.writeShort(0);
+		}
+
+		byte[] toByteArray() throws IOException {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DataOutputStream file = new DataOutputStream(bytes);
+			file.writeInt(0xCAFEBABE);
+			file.writeShort(0);
+			file.writeShort(49);
+			file.writeShort(constantCount);
+			constantPoolBytes.writeTo(file);
+			classBytes.writeTo(file);
+			file.flush();
+			return bytes.toByteArray();
+		}
+
+		private byte[] writeConstructor(String thisClass) throws IOException {
+			ByteArrayOutputStream code = new ByteArrayOutputStream();
+			DataOutputStream c = new DataOutputStream(code);
+			c.writeByte(0x2a); // aload_0
+			c.writeByte(0xb7); // invokespecial
+			c.writeShort(methodRef(OBJECT, "<init>", "()V", false));
+			c.writeByte(0x2a); // aload_0
+			c.writeByte(0x2b); // aload_1
+			c.writeByte(0xb5); // putfield
+			c.writeShort(fieldRef(thisClass, DELEGATE_FIELD));
+			c.writeByte(0x2a); // aload_0
+			c.writeByte(0x2c); // aload_2
+			c.writeByte(0xb5); // putfield
+			c.writeShort(fieldRef(thisClass, DEFAULT_VALUE_FIELD));
+			c.writeByte(0xb1); // return
+
+			return writeMethodInfo("<init>", "(Ljava/lang/Object;Ljava/lang/Object;)V", 3, code.toByteArray(), null);
+		}
+
+		private byte[] writeMethod(String thisClass, Method method, Method target) throws IOException {
+			Class<?> returnType = method.getReturnType();
+			ByteArrayOutputStream code = new ByteArrayOutputStream();
+			DataOutputStream c = new DataOutputStream(code);
+			int[] exceptionHandler = null;
+
+			if (target != null) {
+				Class<?> owner = target.getDeclaringClass();
+				c.writeByte(0x2a); // aload_0
+				c.writeByte(0xb4); // getfield
+				c.writeShort(fieldRef(thisClass, DELEGATE_FIELD));
+				c.writeByte(0xc0); // checkcast
+				c.writeShort(classRef(internalName(owner)));
+				int invokeStart = code.size();
+				String descriptor = methodDescriptor(target.getReturnType());
+				if (owner.isInterface()) {
+					c.writeByte(0xb9); // invokeinterface
+					c.writeShort(methodRef(internalName(owner), target.getName(), descriptor, true));
+					c.writeByte(1);
+					c.writeByte(0);
+				} else {
+					c.writeByte(0xb6); // invokevirtual
+					c.writeShort(methodRef(internalName(owner), target.getName(), descriptor, false));
+				}
+				int invokeEnd = code.size();
+				c.writeByte(returnOpcode(returnType));
+
+				// A NullPointerException inside the delegate returns the default value.
+				exceptionHandler = new int[]{invokeStart, invokeEnd, code.size(),
+						classRef("java/lang/NullPointerException")};
+				c.writeByte(0x57); // pop
+			}
+
+			if (returnType != void.class) {
+				c.writeByte(0x2a); // aload_0
+				c.writeByte(0xb4); // getfield
+				c.writeShort(fieldRef(thisClass, DEFAULT_VALUE_FIELD));
+				if (returnType.isPrimitive()) {
+					Class<?> wrapper = wrappers.get(returnType);
+					c.writeByte(0xc0); // checkcast
+					c.writeShort(classRef(internalName(wrapper)));
+					c.writeByte(0xb6); // invokevirtual
+					c.writeShort(methodRef(internalName(wrapper), returnType.getName() + "Value",
+							methodDescriptor(returnType), false));
+				} else {
+					c.writeByte(0xc0); // checkcast
+					c.writeShort(classRef(internalName(returnType)));
+				}
+			}
+			c.writeByte(returnOpcode(returnType));
+
+			return writeMethodInfo(method.getName(), methodDescriptor(returnType), 1, code.toByteArray(),
+					exceptionHandler);
+		}
+
+		private byte[] writeMethodInfo(String name, String descriptor, int maxLocals,
+									   byte[] code, int[] exceptionHandler) throws IOException {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DataOutputStream m = new DataOutputStream(bytes);
+			m.writeShort(ACC_PUBLIC);
+			m.writeShort(utf8(name));
+			m.writeShort(utf8(descriptor));
+			m.writeShort(1);
+
+			m.writeShort(utf8("Code"));
+			m.writeInt(2 + 2 + 4 + code.length + 2 + (exceptionHandler == null ? 0 : 8) + 2);
+			m.writeShort(3);
+			m.writeShort(maxLocals);
+			m.writeInt(code.length);
+			m.write(code);
+			if (exceptionHandler == null)
+				m.writeShort(0);
+			else {
+				m.writeShort(1);
+				for (int value : exceptionHandler)
+					m.writeShort(value);
+			}
+			m.writeShort(0);
+
+			m.flush();
+			return bytes.toByteArray();
+		}
+
+		private int utf8(String value) throws IOException {
+			Integer index = constants.get("U" + value);
+			if (index == null) {
+				constantPool.writeByte(1);
+				constantPool.writeUTF(value);
+				index = addConstant("U" + value);
+			}
+			return index;
+		}
+
+		private int classRef(String internalName) throws IOException {
+			Integer index = constants.get("C" + internalName);
+			if (index == null) {
+				int name = utf8(internalName);
+				constantPool.writeByte(7);
+				constantPool.writeShort(name);
+				index = addConstant("C" + internalName);
+			}
+			return index;
+		}
+
+		private int nameAndType(String name, String descriptor) throws IOException {
+			String key = "N" + name + ' ' + descriptor;
+			Integer index = constants.get(key);
+			if (index == null) {
+				int nameIndex = utf8(name), descriptorIndex = utf8(descriptor);
+				constantPool.writeByte(12);
+				constantPool.writeShort(nameIndex);
+				constantPool.writeShort(descriptorIndex);
+				index = addConstant(key);
+			}
+			return index;
+		}
+
+		private int fieldRef(String owner, String name) throws IOException {
+			return memberRef(9, owner, name, OBJECT_DESCRIPTOR);
+		}
+
+		private int methodRef(String owner, String name, String descriptor, boolean interfaceMethod)
+				throws IOException {
+			return memberRef(interfaceMethod ? 11 : 10, owner, name, descriptor);
+		}
+
+		private int memberRef(int tag, String owner, String name, String descriptor) throws IOException {
+			String key = "M" + tag + owner + '.' + name + ' ' + descriptor;
+			Integer index = constants.get(key);
+			if (index == null) {
+				int ownerIndex = classRef(owner), nameAndTypeIndex = nameAndType(name, descriptor);
+				constantPool.writeByte(tag);
+				constantPool.writeShort(ownerIndex);
+				constantPool.writeShort(nameAndTypeIndex);
+				index = addConstant(key);
+			}
+			return index;
+		}
+
+		private int addConstant(String key) {
+			int index = constantCount++;
+			constants.put(key, index);
+			return index;
+		}
+	}
+
+	private static int returnOpcode(Class<?> type) {
+		if (type == void.class)
+			return 0xb1; // return
+		if (type == long.class)
+			return 0xad; // lreturn
+		if (type == float.class)
+			return 0xae; // freturn
+		if (type == double.class)
+			return 0xaf; // dreturn
+		return type.isPrimitive() ? 0xac /* ireturn */ : 0xb0 /* areturn */;
+	}
+
+	private static String internalName(Class<?> type) {
+		return type.isArray() ? descriptor(type) : type.getName().replace('.', '/');
+	}
+
+	private static String methodDescriptor(Class<?> returnType) {
+		return "()" + descriptor(returnType);
+	}
+
+	private static String descriptor(Class<?> type) {
+		if (type.isArray())
+			return type.getName().replace('.', '/');
+		if (type == void.class)
+			return "V";
+		if (type == boolean.class)
+			return "Z";
+		if (type == byte.class)
+			return "B";
+		if (type == char.class)
+			return "C";
+		if (type == short.class)
+			return "S";
+		if (type == int.class)
+			return "I";
+		if (type == long.class)
+			return "J";
+		if (type == float.class)
+			return "F";
+		if (type == double.class)
+			return "D";
+		return 'L' + internalName(type) + ';';
+	}
+}
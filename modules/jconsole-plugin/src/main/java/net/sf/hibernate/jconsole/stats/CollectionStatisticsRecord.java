@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.stats;
+
+/**
+ * Is an immutable snapshot of the statistics of a single collection.
+ * <p/>
+ * All values are copied once when the snapshot is taken, reading them afterwards does not
+ * access the statistics instance the snapshot was taken from.
+ *
+ * @version 1.0
+ */
+public final class CollectionStatisticsRecord implements CollectionStatistics {
+
+	private static final long serialVersionUID = 4550845842995915856L;
+
+	private final long loadCount;
+	private final long fetchCount;
+	private final long recreateCount;
+	private final long removeCount;
+	private final long updateCount;
+
+	/**
+	 * Returns a snapshot of the given statistics.
+	 *
+	 * @param statistics the statistics to copy.
+	 * @return a snapshot of the given statistics or the given instance if it is a snapshot already.
+	 */
+	public static CollectionStatisticsRecord of(CollectionStatistics statistics) {
+		return statistics instanceof CollectionStatisticsRecord ?
+				(CollectionStatisticsRecord) statistics : new CollectionStatisticsRecord(statistics);
+	}
+
+	/**
+	 * Creates a snapshot of the given statistics.
+	 *
+	 * @param statistics the statistics to copy.
+	 */
+	public CollectionStatisticsRecord(CollectionStatistics statistics) {
+		loadCount = statistics.getLoadCount();
+		fetchCount = statistics.getFetchCount();
+		recreateCount = statistics.getRecreateCount();
+		removeCount = statistics.getRemoveCount();
+		updateCount = statistics.getUpdateCount();
+	}
+
+	private CollectionStatisticsRecord(CollectionStatisticsRecord record, long factor) {
+		loadCount = record.loadCount * factor;
+		fetchCount = record.fetchCount * factor;
+		recreateCount = record.recreateCount * factor;
+		removeCount = record.removeCount * factor;
+		updateCount = record.updateCount * factor;
+	}
+
+	/**
+	 * Returns a copy of this snapshot with all counters multiplied by the given factor.
+	 *
+	 * @param factor the factor to multiply the counters with (e.g. the sampling factor).
+	 * @return a scaled copy of this snapshot or this instance if the factor is 1.
+	 */
+	public CollectionStatisticsRecord scaled(long factor) {
+		return factor == 1 ? this : new CollectionStatisticsRecord(this, factor);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getLoadCount() {
+		return loadCount;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getFetchCount() {
+		return fetchCount;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getRecreateCount() {
+		return recreateCount;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getRemoveCount() {
+		return removeCount;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getUpdateCount() {
+		return updateCount;
+	}
+}
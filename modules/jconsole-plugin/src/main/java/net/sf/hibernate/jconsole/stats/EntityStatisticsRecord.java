@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.stats;
+
+/**
+ * Is an immutable snapshot of the statistics of a single entity.
+ * <p/>
+ * All values are copied once when the snapshot is taken, reading them afterwards does not
+ * access the statistics instance the snapshot was taken from.
+ *
+ * @version 1.0
+ */
+public final class EntityStatisticsRecord implements EntityStatistics {
+
+	private static final long serialVersionUID = 400544187282452691L;
+
+	private final long deleteCount;
+	private final long insertCount;
+	private final long loadCount;
+	private final long fetchCount;
+	private final long updateCount;
+	private final long optimisticFailureCount;
+
+	/**
+	 * Returns a snapshot of the given statistics.
+	 *
+	 * @param statistics the statistics to copy.
+	 * @return a snapshot of the given statistics or the given instance if it is a snapshot already.
+	 */
+	public static EntityStatisticsRecord of(EntityStatistics statistics) {
+		return statistics instanceof EntityStatisticsRecord ?
+				(EntityStatisticsRecord) statistics : new EntityStatisticsRecord(statistics);
+	}
+
+	/**
+	 * Creates a snapshot of the given statistics.
+	 *
+	 * @param statistics the statistics to copy.
+	 */
+	public EntityStatisticsRecord(EntityStatistics statistics) {
+		deleteCount = statistics.getDeleteCount();
+		insertCount = statistics.getInsertCount();
+		loadCount = statistics.getLoadCount();
+		fetchCount = statistics.getFetchCount();
+		updateCount = statistics.getUpdateCount();
+		optimisticFailureCount = statistics.getOptimisticFailureCount();
+	}
+
+	private EntityStatisticsRecord(EntityStatisticsRecord record, long factor) {
+		deleteCount = record.deleteCount * factor;
+		insertCount = record.insertCount * factor;
+		loadCount = record.loadCount * factor;
+		fetchCount = record.fetchCount * factor;
+		updateCount = record.updateCount * factor;
+		optimisticFailureCount = record.optimisticFailureCount * factor;
+	}
+
+	/**
+	 * Returns a copy of this snapshot with all counters multiplied by the given factor.
+	 *
+	 * @param factor the factor to multiply the counters with (e.g. the sampling factor).
+	 * @return a scaled copy of this snapshot or this instance if the factor is 1.
+	 */
+	public EntityStatisticsRecord scaled(long factor) {
+		return factor == 1 ? this : new EntityStatisticsRecord(this, factor);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getDeleteCount() {
+		return deleteCount;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getInsertCount() {
+		return insertCount;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getLoadCount() {
+		return loadCount;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getFetchCount() {
+		return fetchCount;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getUpdateCount() {
+		return updateCount;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getOptimisticFailureCount() {
+		return optimisticFailureCount;
+	}
+}
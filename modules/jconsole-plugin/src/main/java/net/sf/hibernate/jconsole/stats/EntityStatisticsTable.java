@@ -29,7 +29,7 @@ import static net.sf.hibernate.jconsole.AbstractStatisticsContext.HISTORY_LENGTH
  * @author Juergen_Kellerer, 2010-09-20
  * @version 1.0
  */
-public class EntityStatisticsTable extends AbstractStatisticsTable<Long> {
+public class EntityStatisticsTable extends AbstractStatisticsTable {
 
 	private static final long serialVersionUID = 7974677503417064806L;
 
@@ -62,7 +62,15 @@ public class EntityStatisticsTable extends AbstractStatisticsTable<Long> {
 	 * {@inheritDoc}
 	 */
 	@Override
-	protected Long calculateSampleValue(Column column, AbstractStatisticsContext context) {
+	protected boolean isCurrent(AbstractStatisticsContext context) {
+		return context.isCurrent(Names.getEntityStatistics, entityName);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected long calculateSampleValue(Column column, AbstractStatisticsContext context) {
 		final String name = column.getName();
 		final EntityStatistics stats = context.getEntityStatistics().get(entityName);
 
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.stats;
+
+/**
+ * Calculates the fingerprint of key lists (e.g. {@link Names#Queries}), allows to detect whether a key list changed
+ * without transferring it.
+ * <p/>
+ * A fingerprint consists of the amount of keys and a hash that is built incrementally from the keys in the order
+ * they appear in the list. Thus the hash of a list that was extended by appending keys can be continued from
+ * the hash of the original list.
+ *
+ * @version 1.0
+ */
+public final class KeyListFingerprint {
+
+	/**
+	 * Is the hash of an empty key list.
+	 */
+	public static final long EMPTY_HASH = 17;
+
+	private KeyListFingerprint() {
+	}
+
+	/**
+	 * Continues the given hash with the given key.
+	 *
+	 * @param hash the hash of the keys before the given key.
+	 * @param key  the key to append.
+	 * @return the hash including the given key.
+	 */
+	public static long hash(long hash, String key) {
+		return 31 * hash + (key == null ? 0 : key.hashCode());
+	}
+
+	/**
+	 * Returns the hash of the given keys.
+	 *
+	 * @param keys the keys to hash.
+	 * @return the hash of the given keys.
+	 */
+	public static long hash(String... keys) {
+		long hash = EMPTY_HASH;
+		for (String key : keys)
+			hash = hash(hash, key);
+		return hash;
+	}
+}
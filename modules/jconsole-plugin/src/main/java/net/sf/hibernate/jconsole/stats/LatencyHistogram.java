@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.stats;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Implements an immutable log-linear latency histogram (in the style of HdrHistogram) with a fixed bucket layout.
+ * <p/>
+ * Values below {@link #SUB_BUCKETS} have one bucket each, every following power of two is split into
+ * {@link #SUB_BUCKETS} buckets of equal width. The bucket width is thus at most 1/{@link #SUB_BUCKETS} of
+ * the values it contains, independent of the magnitude of the values. Values above {@link #MAX_VALUE} are
+ * counted in the last bucket.
+ * <p/>
+ * The layout is shared between the recording side (inside the monitored application) and this class, which
+ * allows to transfer histograms as plain arrays of bucket counts (see {@link #getCounts()}).
+ *
+ * @version 1.0
+ */
+public final class LatencyHistogram implements Serializable {
+
+	private static final long serialVersionUID = -6870293049283613476L;
+
+	/**
+	 * Defines the amount of linear buckets per power of two.
+	 */
+	public static final int SUB_BUCKETS = 8;
+
+	private static final int SUB_BUCKET_BITS = 3;
+
+	/**
+	 * Defines the largest value that has its own bucket (in milliseconds, ~24 days).
+	 */
+	public static final long MAX_VALUE = (1L << 31) - 1;
+
+	/**
+	 * Defines the amount of buckets that is required to record values up to {@link #MAX_VALUE}.
+	 */
+	public static final int BUCKET_COUNT = getBucket(MAX_VALUE) + 1;
+
+	/**
+	 * Is an empty histogram.
+	 */
+	public static final LatencyHistogram EMPTY = new LatencyHistogram(new long[0]);
+
+	/**
+	 * Returns the bucket that counts the given value.
+	 *
+	 * @param value the value to get the bucket for, negative values are counted in the first bucket.
+	 * @return the index of the bucket.
+	 */
+	public static int getBucket(long value) {
+		if (value < SUB_BUCKETS)
+			return value < 0 ? 0 : (int) value;
+		if (value > MAX_VALUE)
+			value = MAX_VALUE;
+
+		int magnitude = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		int subBucket = (int) (value >>> magnitude) & (SUB_BUCKETS - 1);
+		return SUB_BUCKETS + magnitude * SUB_BUCKETS + subBucket;
+	}
+
+	/**
+	 * Returns the largest value that is counted by the given bucket.
+	 *
+	 * @param bucket the index of the bucket.
+	 * @return the largest value that is counted by the given bucket.
+	 */
+	public static long getHighestValue(int bucket) {
+		if (bucket < SUB_BUCKETS)
+			return bucket;
+
+		int magnitude = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+		long subBucket = SUB_BUCKETS + (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+		return ((subBucket + 1) << magnitude) - 1;
+	}
+
+	private final long[] counts;
+	private final long totalCount;
+
+	/**
+	 * Creates a histogram from the given bucket counts.
+	 *
+	 * @param counts the counts indexed by bucket, may be shorter than {@link #BUCKET_COUNT} when
+	 *               the following buckets are empty. The array is not copied.
+	 */
+	public LatencyHistogram(long[] counts) {
+		if (counts.length > BUCKET_COUNT)
+			throw new IllegalArgumentException("Expected at most " + BUCKET_COUNT + " buckets.");
+
+		long total = 0;
+		for (long count : counts)
+			total += count;
+
+		this.counts = counts;
+		this.totalCount = total;
+	}
+
+	/**
+	 * Returns a copy of the bucket counts, trailing empty buckets are omitted.
+	 *
+	 * @return a copy of the bucket counts.
+	 */
+	public long[] getCounts() {
+		int length = counts.length;
+		while (length > 0 && counts[length - 1] == 0)
+			length--;
+		return Arrays.copyOf(counts, length);
+	}
+
+	/**
+	 * Returns the amount of recorded values.
+	 *
+	 * @return the amount of recorded values.
+	 */
+	public long getTotalCount() {
+		return totalCount;
+	}
+
+	/**
+	 * Returns the value below or equal to which the given percentage of the recorded values lie.
+	 * <p/>
+	 * The returned value is the largest value of the bucket that contains the percentile, thus it may
+	 * overestimate the exact percentile by the width of the bucket.
+	 *
+	 * @param percentile the percentile to return (from 0 to 100).
+	 * @return the value at the given percentile or 0 if the histogram is empty.
+	 */
+	public long getValueAtPercentile(double percentile) {
+		if (totalCount == 0)
+			return 0;
+
+		long countAtPercentile = Math.max(1, (long) Math.ceil(Math.min(100D, percentile) / 100D * totalCount));
+		long count = 0;
+		for (int bucket = 0; bucket < counts.length; bucket++) {
+			count += counts[bucket];
+			if (count >= countAtPercentile)
+				return getHighestValue(bucket);
+		}
+		return getHighestValue(counts.length - 1);
+	}
+
+	/**
+	 * Returns a histogram containing the values that were recorded in addition to the given earlier state
+	 * of the same histogram.
+	 *
+	 * @param earlier an earlier state of this histogram, may be 'null'.
+	 * @return a histogram containing the values that were recorded since the given state.
+	 */
+	public LatencyHistogram since(LatencyHistogram earlier) {
+		if (earlier == null || earlier.totalCount == 0)
+			return this;
+
+		long[] difference = counts.clone();
+		for (int bucket = 0, length = Math.min(difference.length, earlier.counts.length); bucket < length; bucket++)
+			difference[bucket] = Math.max(0, difference[bucket] - earlier.counts[bucket]);
+		return new LatencyHistogram(difference);
+	}
+}
@@ -19,9 +19,7 @@
 
 package net.sf.hibernate.jconsole.stats;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
 
 /**
  * Enumerates all used names.
@@ -38,13 +36,19 @@ public enum Names {
 	getCollectionStatistics(Type.method),
 	getSecondLevelCacheStatistics(Type.method),
 	getQueryStatistics(Type.method),
+	getStatisticsChangedSince(Type.method),
+	getStatisticsDataChangedSince(Type.method),
+	fingerprintKeyLists(Type.method),
+	getKeyListSince(Type.method),
+	getSamplesSince(Type.method),
+	getQueryLatencyHistograms(Type.method),
 
 	CloseStatementCount,
 	CollectionFetchCount,
 	CollectionLoadCount,
 	CollectionRecreateCount,
 	CollectionRemoveCount,
-	CollectionRoleNames,
+	CollectionRoleNames(Kind.keyList),
 	CollectionUpdateCount,
 
 	ConnectCount,
@@ -53,7 +57,7 @@ public enum Names {
 	OptimisticFailureCount,
 
 	SessionCloseCount,
-	SessionFactoryJNDIName,
+	SessionFactoryJNDIName(Kind.constant),
 	SessionOpenCount,
 
 	TransactionCount,
@@ -63,10 +67,10 @@ public enum Names {
 	EntityFetchCount,
 	EntityInsertCount,
 	EntityLoadCount,
-	EntityNames,
+	EntityNames(Kind.keyList),
 	EntityUpdateCount,
 
-	Queries,
+	Queries(Kind.keyList),
 	QueryCacheHitCount,
 	QueryCacheMissCount,
 	QueryCachePutCount,
@@ -74,7 +78,7 @@ public enum Names {
 	QueryExecutionMaxTime,
 	QueryExecutionMaxTimeQueryString,
 
-	SecondLevelCacheRegionNames,
+	SecondLevelCacheRegionNames(Kind.keyList),
 	SecondLevelCacheHitCount,
 	SecondLevelCacheMissCount,
 	SecondLevelCachePutCount,;
@@ -83,16 +87,38 @@ public enum Names {
 		method, attribute
 	}
 
+	/**
+	 * Classifies attributes by how often their values change.
+	 */
+	public enum Kind {
+		/**
+		 * Values that do not change while the session factory exists, fetched once.
+		 */
+		constant,
+		/**
+		 * Lists of entity, collection, query and cache region names, fetched when they changed.
+		 */
+		keyList,
+		/**
+		 * Counters and other values that may change at any time, fetched on every refresh.
+		 */
+		counter
+	}
+
 	private static final List<Names> allAttributes, allMethods;
+	private static final Map<Kind, List<Names>> attributesByKind = new EnumMap<Kind, List<Names>>(Kind.class);
 
 	static {
 		List<Names> names = new ArrayList<Names>(values().length);
 		List<Names> methods = new ArrayList<Names>();
+		for (Kind kind : Kind.values())
+			attributesByKind.put(kind, new ArrayList<Names>());
 
 		for (Names name : values()) {
 			switch (name.getType()) {
 				case attribute:
 					names.add(name);
+					attributesByKind.get(name.getKind()).add(name);
 					break;
 				case method:
 					methods.add(name);
@@ -102,15 +128,23 @@ public enum Names {
 
 		allMethods = Collections.unmodifiableList(methods);
 		allAttributes = Collections.unmodifiableList(names);
+		for (Map.Entry<Kind, List<Names>> entry : attributesByKind.entrySet())
+			entry.setValue(Collections.unmodifiableList(entry.getValue()));
 	}
 
 	private Type type = Type.attribute;
+	private Kind kind = Kind.counter;
 
 	private Names() {
 	}
 
 	private Names(Type type) {
 		this.type = type;
+		this.kind = null;
+	}
+
+	private Names(Kind kind) {
+		this.kind = kind;
 	}
 
 	/**
@@ -122,6 +156,15 @@ public enum Names {
 		return type;
 	}
 
+	/**
+	 * Returns the kind of the attribute.
+	 *
+	 * @return the kind of the attribute or 'null' if the name is a method.
+	 */
+	public Kind getKind() {
+		return kind;
+	}
+
 	/**
 	 * Returns all method names as list.
 	 *
@@ -139,4 +182,14 @@ public enum Names {
 	public static List<Names> getAllAttributes() {
 		return allAttributes;
 	}
+
+	/**
+	 * Returns all attribute names of the given kind as list.
+	 *
+	 * @param kind the kind of the attributes to return.
+	 * @return all attribute names of the given kind as list.
+	 */
+	public static List<Names> getAttributes(Kind kind) {
+		return attributesByKind.get(kind);
+	}
 }
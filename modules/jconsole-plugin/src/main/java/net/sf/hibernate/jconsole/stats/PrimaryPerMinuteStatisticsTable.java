@@ -38,15 +38,23 @@ public class PrimaryPerMinuteStatisticsTable extends PrimaryStatisticsTable {
 	 * {@inheritDoc}
 	 */
 	@Override
-	protected DataSampler<Long> createSampler(Column column) {
-		return new TimeboxedDataSampler<Long>(MS_PER_MINUTE);
+	protected boolean isRecordingSamples() {
+		return false;
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	protected double calculateColumnValue(Column column, DataSampler<Long> sampler) {
+	protected DataSampler createSampler(Column column) {
+		return new TimeboxedDataSampler(MS_PER_MINUTE);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected double calculateColumnValue(Column column, DataSampler sampler) {
 		return sampler.getSum();
 	}
 }
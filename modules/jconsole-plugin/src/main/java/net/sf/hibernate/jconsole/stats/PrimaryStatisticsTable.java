@@ -32,7 +32,7 @@ import static net.sf.hibernate.jconsole.stats.Names.*;
  * @author Juergen_Kellerer, 2010-09-20
  * @version 1.0
  */
-public class PrimaryStatisticsTable extends AbstractStatisticsTable<Long> {
+public class PrimaryStatisticsTable extends AbstractStatisticsTable {
 
 	private static final long serialVersionUID = 2792974148567590691L;
 
@@ -42,15 +42,86 @@ public class PrimaryStatisticsTable extends AbstractStatisticsTable<Long> {
 	public static final String COLUMN_FETCHES = "Fetches";
 	public static final String COLUMN_MODIFICATIONS = "Modifications";
 
+	/**
+	 * Defines the time span in MS of the full resolution history when counter samples are recorded.
+	 * <p/>
+	 * Samples arrive far more often than refreshes (every 100ms by default), a history of
+	 * {@link AbstractStatisticsContext#HISTORY_LENGTH} rows would cover a few minutes only. The table therefore
+	 * grows to cover this time span, limited to 20 times the history length. Older rows remain available at
+	 * a lower resolution inside the archives.
+	 */
+	public static final long SAMPLES_HISTORY_SPAN = Long.getLong("hibernate.history.samples.span", 60 * 60 * 1000L);
+
 	public PrimaryStatisticsTable() {
 		super(HISTORY_LENGTH, COLUMN_QUERIES, COLUMN_UNCACHEDQUERIES,
 				COLUMN_LOADS, COLUMN_FETCHES, COLUMN_MODIFICATIONS);
+		setArchives(DEFAULT_ARCHIVES);
 	}
 
 	protected PrimaryStatisticsTable(int maxEntries, String... columns) {
 		super(maxEntries, columns);
 	}
 
+	/**
+	 * Returns true if this table records the counter samples of the context (when available)
+	 * instead of recording one row per refresh.
+	 *
+	 * @return true if this table records the counter samples of the context.
+	 */
+	protected boolean isRecordingSamples() {
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * When the context provides counter samples, one row is recorded per sample using the time the sample was
+	 * taken. Short bursts remain visible this way, even if they are shorter than the refresh interval.
+	 */
+	@Override
+	public void refresh(AbstractStatisticsContext context) {
+		StatisticsSamples samples = isRecordingSamples() ? context.getSamples() : null;
+		if (samples == null) {
+			super.refresh(context);
+			return;
+		}
+
+		long[] sampleValues = new long[getColumns().size()];
+		for (int i = 0, size = samples.size(); i < size; i++) {
+			long timeStamp = samples.getTimeStamp(i);
+			// Samples may be returned twice after reconnecting, the recorded history is kept.
+			if (timeStamp <= getMaxTimestamp())
+				continue;
+
+			Map<Names, Object> attributes = samples.getAttributes(i);
+			for (Column column : getColumns())
+				sampleValues[column.getIndex()] = calculateSampleValue(column, attributes);
+			addSample(timeStamp, sampleValues);
+		}
+
+		adjustMaxEntriesToSamples(samples);
+	}
+
+	/**
+	 * Grows the table to keep {@link #SAMPLES_HISTORY_SPAN} at the sample interval of the given samples.
+	 *
+	 * @param samples the samples to estimate the interval from.
+	 */
+	void adjustMaxEntriesToSamples(StatisticsSamples samples) {
+		int size = samples.size();
+		if (size < 2)
+			return;
+
+		long interval = (samples.getTimeStamp(size - 1) - samples.getTimeStamp(0)) / (size - 1);
+		if (interval <= 0)
+			return;
+
+		long entries = Math.min(SAMPLES_HISTORY_SPAN / interval, HISTORY_LENGTH * 20L);
+		// Never shrinking, as jitter in the estimated interval would otherwise drop rows.
+		if (entries > getMaxEntries())
+			setMaxEntries((int) entries);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -63,8 +134,18 @@ public class PrimaryStatisticsTable extends AbstractStatisticsTable<Long> {
 	 * {@inheritDoc}
 	 */
 	@Override
-	protected Long calculateSampleValue(Column column, AbstractStatisticsContext context) {
-		final Map<Names, Object> attributes = context.getAttributes();
+	protected long calculateSampleValue(Column column, AbstractStatisticsContext context) {
+		return calculateSampleValue(column, context.getAttributes());
+	}
+
+	/**
+	 * Calculates the value to sample for the specified column from the given counter values.
+	 *
+	 * @param column	 the column to sample the value for.
+	 * @param attributes the counter values to read the data from.
+	 * @return the value to sample for the specified column.
+	 */
+	protected long calculateSampleValue(Column column, Map<Names, Object> attributes) {
 		final String name = column.getName();
 
 		if (COLUMN_QUERIES.equals(name))
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.stats;
+
+/**
+ * Is an immutable snapshot of the statistics of a single query.
+ * <p/>
+ * All values are copied once when the snapshot is taken, reading them afterwards does not
+ * access the statistics instance the snapshot was taken from.
+ * Derived values are calculated once per snapshot as well.
+ *
+ * @version 1.0
+ */
+public final class QueryStatisticsRecord implements QueryStatistics {
+
+	private static final long serialVersionUID = 236805169105849016L;
+
+	private final long executionCount;
+	private final long cacheHitCount;
+	private final long cachePutCount;
+	private final long cacheMissCount;
+	private final long executionRowCount;
+	private final long executionAvgTime;
+	private final long executionMaxTime;
+	private final long executionMinTime;
+	private final double totalAverageTime;
+	private final double queryPerformance;
+
+	/**
+	 * Returns a snapshot of the given statistics.
+	 *
+	 * @param statistics the statistics to copy.
+	 * @return a snapshot of the given statistics or the given instance if it is a snapshot already.
+	 */
+	public static QueryStatisticsRecord of(QueryStatistics statistics) {
+		return statistics instanceof QueryStatisticsRecord ?
+				(QueryStatisticsRecord) statistics : new QueryStatisticsRecord(statistics);
+	}
+
+	/**
+	 * Creates a snapshot of the given statistics.
+	 *
+	 * @param statistics the statistics to copy.
+	 */
+	public QueryStatisticsRecord(QueryStatistics statistics) {
+		executionCount = statistics.getExecutionCount();
+		cacheHitCount = statistics.getCacheHitCount();
+		cachePutCount = statistics.getCachePutCount();
+		cacheMissCount = statistics.getCacheMissCount();
+		executionRowCount = statistics.getExecutionRowCount();
+		executionAvgTime = statistics.getExecutionAvgTime();
+		executionMaxTime = statistics.getExecutionMaxTime();
+		executionMinTime = statistics.getExecutionMinTime();
+
+		totalAverageTime = StatisticsUtil.toTotalAverageTime(executionCount, executionAvgTime);
+		queryPerformance = StatisticsUtil.toQueryPerformance(totalAverageTime, cacheHitCount + executionCount);
+	}
+
+	private QueryStatisticsRecord(QueryStatisticsRecord record, long factor) {
+		executionCount = record.executionCount * factor;
+		cacheHitCount = record.cacheHitCount * factor;
+		cachePutCount = record.cachePutCount * factor;
+		cacheMissCount = record.cacheMissCount * factor;
+		executionRowCount = record.executionRowCount * factor;
+		executionAvgTime = record.executionAvgTime;
+		executionMaxTime = record.executionMaxTime;
+		executionMinTime = record.executionMinTime;
+
+		totalAverageTime = StatisticsUtil.toTotalAverageTime(executionCount, executionAvgTime);
+		queryPerformance = StatisticsUtil.toQueryPerformance(totalAverageTime, cacheHitCount + executionCount);
+	}
+
+	/**
+	 * Returns a copy of this snapshot with all counters multiplied by the given factor.
+	 * <p/>
+	 * Execution times are averages and extremes and are not scaled, derived values are calculated from the
+	 * scaled counters.
+	 *
+	 * @param factor the factor to multiply the counters with (e.g. the sampling factor).
+	 * @return a scaled copy of this snapshot or this instance if the factor is 1.
+	 */
+	public QueryStatisticsRecord scaled(long factor) {
+		return factor == 1 ? this : new QueryStatisticsRecord(this, factor);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getExecutionCount() {
+		return executionCount;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getCacheHitCount() {
+		return cacheHitCount;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getCachePutCount() {
+		return cachePutCount;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getCacheMissCount() {
+		return cacheMissCount;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getExecutionRowCount() {
+		return executionRowCount;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getExecutionAvgTime() {
+		return executionAvgTime;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getExecutionMaxTime() {
+		return executionMaxTime;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getExecutionMinTime() {
+		return executionMinTime;
+	}
+
+	/**
+	 * Returns the total time spent on the DB (see {@link StatisticsUtil#toTotalAverageTime(QueryStatistics)}).
+	 *
+	 * @return the total time spent on the DB.
+	 */
+	public double getTotalAverageTime() {
+		return totalAverageTime;
+	}
+
+	/**
+	 * Returns the time spent on the DB per invocation (see {@link StatisticsUtil#toQueryPerformance(QueryStatistics)}).
+	 *
+	 * @return the time spent on the DB per invocation.
+	 */
+	public double getQueryPerformance() {
+		return queryPerformance;
+	}
+}
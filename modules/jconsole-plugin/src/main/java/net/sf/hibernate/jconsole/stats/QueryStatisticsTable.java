@@ -20,6 +20,7 @@
 package net.sf.hibernate.jconsole.stats;
 
 import net.sf.hibernate.jconsole.AbstractStatisticsContext;
+import net.sf.hibernate.jconsole.util.DataSampler;
 
 import static net.sf.hibernate.jconsole.AbstractStatisticsContext.HISTORY_LENGTH;
 import static net.sf.hibernate.jconsole.stats.StatisticsUtil.toQueryPerformance;
@@ -31,7 +32,7 @@ import static net.sf.hibernate.jconsole.stats.StatisticsUtil.toTotalAverageTime;
  * @author Juergen_Kellerer, 2010-09-20
  * @version 1.0
  */
-public class QueryStatisticsTable extends AbstractStatisticsTable<Long> {
+public class QueryStatisticsTable extends AbstractStatisticsTable {
 
 	private static final long serialVersionUID = 7974677503417064806L;
 
@@ -39,15 +40,22 @@ public class QueryStatisticsTable extends AbstractStatisticsTable<Long> {
 	public static final String COLUMN_DB_TIME = "DB Time";
 	public static final String COLUMN_INVOCATIONS = "Invocations";
 	public static final String COLUMN_ROWS_FETCHED = "Rows fetched";
+	public static final String COLUMN_P50 = "p50 (ms)";
+	public static final String COLUMN_P95 = "p95 (ms)";
+	public static final String COLUMN_P99 = "p99 (ms)";
 
 	private String id, queryName;
 
+	// The histogram of the previous refresh and the executions since then.
+	private LatencyHistogram lastHistogram, intervalHistogram = LatencyHistogram.EMPTY;
+
 	public QueryStatisticsTable() {
 		super();
 	}
 
 	public QueryStatisticsTable(String queryName) {
-		super(HISTORY_LENGTH, COLUMN_PERFORMANCE, COLUMN_DB_TIME, COLUMN_INVOCATIONS, COLUMN_ROWS_FETCHED);
+		super(HISTORY_LENGTH, COLUMN_PERFORMANCE, COLUMN_DB_TIME, COLUMN_INVOCATIONS, COLUMN_ROWS_FETCHED,
+				COLUMN_P50, COLUMN_P95, COLUMN_P99);
 		this.queryName = queryName;
 		this.id = "Query Statistics :: " + queryName;
 	}
@@ -64,10 +72,39 @@ public class QueryStatisticsTable extends AbstractStatisticsTable<Long> {
 	 * {@inheritDoc}
 	 */
 	@Override
-	protected Long calculateSampleValue(Column column, AbstractStatisticsContext context) {
+	protected boolean isCurrent(AbstractStatisticsContext context) {
+		return context.isCurrent(Names.getQueryStatistics, queryName);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * Percentiles are calculated from the executions since the previous row (if the connected application
+	 * records execution time histograms), as percentiles of all executions hardly change over time.
+	 */
+	@Override
+	protected void refresh(AbstractStatisticsContext context, long timeStamp) {
+		LatencyHistogram histogram = context.getQueryLatencyHistograms().get(queryName);
+		intervalHistogram = histogram == null ? LatencyHistogram.EMPTY : histogram.since(lastHistogram);
+		lastHistogram = histogram;
+		super.refresh(context, timeStamp);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected long calculateSampleValue(Column column, AbstractStatisticsContext context) {
 		final String name = column.getName();
 		final QueryStatistics stats = context.getQueryStatistics().get(queryName);
 
+		if (COLUMN_P50.equals(name))
+			return intervalHistogram.getValueAtPercentile(50);
+		else if (COLUMN_P95.equals(name))
+			return intervalHistogram.getValueAtPercentile(95);
+		else if (COLUMN_P99.equals(name))
+			return intervalHistogram.getValueAtPercentile(99);
+
 		if (stats != null) {
 			if (COLUMN_DB_TIME.equals(name))
 				return Math.round(toTotalAverageTime(stats) / 1000D);
@@ -81,4 +118,19 @@ public class QueryStatisticsTable extends AbstractStatisticsTable<Long> {
 
 		return 0L;
 	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected double calculateColumnValue(Column column, DataSampler sampler) {
+		final String name = column.getName();
+		// Times and performance are averages, not counters.
+		if (COLUMN_DB_TIME.equals(name) || COLUMN_PERFORMANCE.equals(name))
+			return sampler.getDifference();
+		// Percentiles are already calculated per interval.
+		if (COLUMN_P50.equals(name) || COLUMN_P95.equals(name) || COLUMN_P99.equals(name))
+			return sampler.getLast();
+		return super.calculateColumnValue(column, sampler);
+	}
 }
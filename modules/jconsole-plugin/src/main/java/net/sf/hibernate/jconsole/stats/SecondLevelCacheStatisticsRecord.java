@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.stats;
+
+/**
+ * Is an immutable snapshot of the statistics of a single second level cache region.
+ * <p/>
+ * All values are copied once when the snapshot is taken, reading them afterwards does not
+ * access the statistics instance the snapshot was taken from.
+ *
+ * @version 1.0
+ */
+public final class SecondLevelCacheStatisticsRecord implements SecondLevelCacheStatistics {
+
+	private static final long serialVersionUID = 4366552081017657984L;
+
+	private final long hitCount;
+	private final long missCount;
+	private final long putCount;
+	private final long elementCountInMemory;
+	private final long elementCountOnDisk;
+	private final long sizeInMemory;
+
+	/**
+	 * Returns a snapshot of the given statistics.
+	 *
+	 * @param statistics the statistics to copy.
+	 * @return a snapshot of the given statistics or the given instance if it is a snapshot already.
+	 */
+	public static SecondLevelCacheStatisticsRecord of(SecondLevelCacheStatistics statistics) {
+		return statistics instanceof SecondLevelCacheStatisticsRecord ?
+				(SecondLevelCacheStatisticsRecord) statistics : new SecondLevelCacheStatisticsRecord(statistics);
+	}
+
+	/**
+	 * Creates a snapshot of the given statistics.
+	 *
+	 * @param statistics the statistics to copy.
+	 */
+	public SecondLevelCacheStatisticsRecord(SecondLevelCacheStatistics statistics) {
+		hitCount = statistics.getHitCount();
+		missCount = statistics.getMissCount();
+		putCount = statistics.getPutCount();
+		elementCountInMemory = statistics.getElementCountInMemory();
+		elementCountOnDisk = statistics.getElementCountOnDisk();
+		sizeInMemory = statistics.getSizeInMemory();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getPutCount() {
+		return putCount;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getElementCountInMemory() {
+		return elementCountInMemory;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getElementCountOnDisk() {
+		return elementCountOnDisk;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getSizeInMemory() {
+		return sizeInMemory;
+	}
+}
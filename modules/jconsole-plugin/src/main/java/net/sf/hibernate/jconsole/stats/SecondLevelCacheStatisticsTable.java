@@ -20,6 +20,7 @@
 package net.sf.hibernate.jconsole.stats;
 
 import net.sf.hibernate.jconsole.AbstractStatisticsContext;
+import net.sf.hibernate.jconsole.util.DataSampler;
 
 import static net.sf.hibernate.jconsole.AbstractStatisticsContext.HISTORY_LENGTH;
 import static net.sf.hibernate.jconsole.stats.StatisticsUtil.toRatio;
@@ -30,7 +31,7 @@ import static net.sf.hibernate.jconsole.stats.StatisticsUtil.toRatio;
  * @author Juergen_Kellerer, 2010-09-20
  * @version 1.0
  */
-public class SecondLevelCacheStatisticsTable extends AbstractStatisticsTable<Long> {
+public class SecondLevelCacheStatisticsTable extends AbstractStatisticsTable {
 
 	private static final long serialVersionUID = 7974677503417064806L;
 
@@ -65,7 +66,15 @@ public class SecondLevelCacheStatisticsTable extends AbstractStatisticsTable<Lon
 	 * {@inheritDoc}
 	 */
 	@Override
-	protected Long calculateSampleValue(Column column, AbstractStatisticsContext context) {
+	protected boolean isCurrent(AbstractStatisticsContext context) {
+		return context.isCurrent(Names.getSecondLevelCacheStatistics, cacheRegionName);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected long calculateSampleValue(Column column, AbstractStatisticsContext context) {
 		final String name = column.getName();
 		final SecondLevelCacheStatistics stats = context.getCacheStatistics().get(cacheRegionName);
 
@@ -84,4 +93,16 @@ public class SecondLevelCacheStatisticsTable extends AbstractStatisticsTable<Lon
 
 		return 0L;
 	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected double calculateColumnValue(Column column, DataSampler sampler) {
+		final String name = column.getName();
+		// Hitrate and cache size are levels, not counters.
+		if (COLUMN_HITRATE.equals(name) || COLUMN_CACHE_SIZE.equals(name))
+			return sampler.getDifference();
+		return super.calculateColumnValue(column, sampler);
+	}
 }
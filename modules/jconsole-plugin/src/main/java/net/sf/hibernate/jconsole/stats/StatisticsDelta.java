@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.stats;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Holds the statistics that changed since a previously fetched version.
+ *
+ * @version 1.0
+ */
+public class StatisticsDelta implements Serializable {
+
+	private static final long serialVersionUID = 4185925394385735310L;
+
+	private final long version;
+	private final Map<Names, Map<String, ?>> changedStatistics;
+
+	/**
+	 * Creates a new delta.
+	 *
+	 * @param version		   the version of the delta, to pass when fetching the next delta.
+	 * @param changedStatistics the changed statistics instances mapped by their names, keyed by the name of the
+	 *                          single statistics getter (e.g. {@link Names#getEntityStatistics}).
+	 */
+	public StatisticsDelta(long version, Map<Names, Map<String, ?>> changedStatistics) {
+		this.version = version;
+		this.changedStatistics = changedStatistics;
+	}
+
+	/**
+	 * Returns the version of this delta.
+	 *
+	 * @return the version of this delta.
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 * Returns the changed statistics for the given getter name.
+	 *
+	 * @param name the name of the statistics getter, e.g. {@link Names#getEntityStatistics}.
+	 * @return the changed statistics instances mapped by their names (never 'null').
+	 */
+	public Map<String, ?> getChangedStatistics(Names name) {
+		Map<String, ?> statistics = changedStatistics.get(name);
+		return statistics == null ? Collections.<String, Object>emptyMap() : statistics;
+	}
+}
@@ -0,0 +1,331 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.stats;
+
+import javax.management.openmbean.*;
+import java.lang.reflect.Method;
+import java.util.*;
+
+/**
+ * Converts statistics to and from JMX open types ({@link CompositeData} and {@link TabularData}).
+ * <p/>
+ * Open types contain only JDK types, thus statistics can be transferred without requiring the Hibernate
+ * classes on the receiving side and without using Java serialization for Hibernate's statistics objects.
+ * <p/>
+ * Statistics of one kind are transferred as a table with one row per name. Every row contains the name
+ * (item {@link #NAME_ITEM}) and the values of all getters of the corresponding statistics interface, using
+ * the getter name without the "get" prefix as item name (e.g. "LoadCount").
+ *
+ * @version 1.0
+ */
+public final class StatisticsOpenTypes {
+
+	/**
+	 * Is the name of the row item that contains the name of the entity, collection, query or cache region.
+	 */
+	public static final String NAME_ITEM = "Name";
+
+	/**
+	 * Is the name of the item that contains the version of a change set.
+	 */
+	public static final String VERSION_ITEM = "StatisticsVersion";
+
+	private static final Map<Names, Class<?>> STATISTICS_INTERFACES = new EnumMap<Names, Class<?>>(Names.class);
+	private static final Map<Class<?>, Method[]> GETTERS = new HashMap<Class<?>, Method[]>();
+	private static final Map<Class<?>, String[]> ITEMS = new HashMap<Class<?>, String[]>();
+	private static final Map<Class<?>, TabularType> TABLE_TYPES = new HashMap<Class<?>, TabularType>();
+	private static final CompositeType CHANGES_TYPE;
+
+	static {
+		STATISTICS_INTERFACES.put(Names.getEntityStatistics, EntityStatistics.class);
+		STATISTICS_INTERFACES.put(Names.getCollectionStatistics, CollectionStatistics.class);
+		STATISTICS_INTERFACES.put(Names.getQueryStatistics, QueryStatistics.class);
+		STATISTICS_INTERFACES.put(Names.getSecondLevelCacheStatistics, SecondLevelCacheStatistics.class);
+
+		try {
+			List<String> changeItems = new ArrayList<String>();
+			List<OpenType<?>> changeTypes = new ArrayList<OpenType<?>>();
+			changeItems.add(VERSION_ITEM);
+			changeTypes.add(SimpleType.LONG);
+
+			for (Map.Entry<Names, Class<?>> entry : STATISTICS_INTERFACES.entrySet()) {
+				Class<?> interfaceClass = entry.getValue();
+				TabularType tableType = createTableType(interfaceClass);
+				TABLE_TYPES.put(interfaceClass, tableType);
+				changeItems.add(entry.getKey().name());
+				changeTypes.add(tableType);
+			}
+
+			String[] names = changeItems.toArray(new String[changeItems.size()]);
+			CHANGES_TYPE = new CompositeType("StatisticsChanges", "Statistics that changed since a version",
+					names, names, changeTypes.toArray(new OpenType<?>[changeTypes.size()]));
+		} catch (OpenDataException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private static TabularType createTableType(Class<?> interfaceClass) throws OpenDataException {
+		List<Method> getters = new ArrayList<Method>();
+		for (Method method : interfaceClass.getMethods()) {
+			if (method.getName().startsWith("get") && method.getReturnType() == long.class &&
+					method.getParameterTypes().length == 0)
+				getters.add(method);
+		}
+
+		// Sorting the getters as the order of reflected methods is not specified.
+		Collections.sort(getters, new Comparator<Method>() {
+			public int compare(Method o1, Method o2) {
+				return o1.getName().compareTo(o2.getName());
+			}
+		});
+
+		String[] items = new String[getters.size() + 1];
+		OpenType<?>[] types = new OpenType<?>[items.length];
+		items[0] = NAME_ITEM;
+		types[0] = SimpleType.STRING;
+		for (int i = 0; i < getters.size(); i++) {
+			items[i + 1] = getters.get(i).getName().substring(3);
+			types[i + 1] = SimpleType.LONG;
+		}
+
+		GETTERS.put(interfaceClass, getters.toArray(new Method[getters.size()]));
+		ITEMS.put(interfaceClass, items);
+
+		String typeName = interfaceClass.getSimpleName();
+		CompositeType rowType = new CompositeType(typeName, typeName, items, items, types);
+		return new TabularType(typeName + "Table", typeName + " by name", rowType, new String[]{NAME_ITEM});
+	}
+
+	private StatisticsOpenTypes() {
+	}
+
+	/**
+	 * Returns the statistics interface that corresponds to the given statistics getter.
+	 *
+	 * @param category the statistics getter, e.g. {@link Names#getEntityStatistics}.
+	 * @return the statistics interface, e.g. {@link EntityStatistics}.
+	 */
+	public static Class<?> getStatisticsInterface(Names category) {
+		Class<?> interfaceClass = STATISTICS_INTERFACES.get(category);
+		if (interfaceClass == null)
+			throw new IllegalArgumentException(category + " is not a statistics getter.");
+		return interfaceClass;
+	}
+
+	/**
+	 * Returns the type of the tables that contain statistics of the given interface.
+	 *
+	 * @param interfaceClass the statistics interface, e.g. {@link EntityStatistics}.
+	 * @return the type of the tables that contain statistics of the given interface.
+	 */
+	public static TabularType getTableType(Class<?> interfaceClass) {
+		TabularType type = TABLE_TYPES.get(interfaceClass);
+		if (type == null)
+			throw new IllegalArgumentException(interfaceClass + " is not a statistics interface.");
+		return type;
+	}
+
+	/**
+	 * Returns the type of change sets, a composite of the version ({@link #VERSION_ITEM}) and one table per
+	 * statistics getter (e.g. "getEntityStatistics").
+	 *
+	 * @return the type of change sets.
+	 */
+	public static CompositeType getChangesType() {
+		return CHANGES_TYPE;
+	}
+
+	/**
+	 * Converts the given statistics to a table.
+	 *
+	 * @param interfaceClass the statistics interface, e.g. {@link EntityStatistics}.
+	 * @param statistics     the statistics by name, values may be any object that is supported by
+	 *                       {@link StraightNameMappingProxy}, e.g. Hibernate's statistics objects.
+	 * @return a table containing one row per name.
+	 * @throws OpenDataException in case of the conversion failed.
+	 */
+	public static TabularData toTabularData(Class<?> interfaceClass, Map<String, ?> statistics)
+			throws OpenDataException {
+		TabularType tableType = getTableType(interfaceClass);
+		CompositeType rowType = tableType.getRowType();
+		String[] items = ITEMS.get(interfaceClass);
+		Method[] getters = GETTERS.get(interfaceClass);
+
+		TabularDataSupport table = new TabularDataSupport(tableType, Math.max(16, statistics.size() * 2), 0.75f);
+		for (Map.Entry<String, ?> entry : statistics.entrySet()) {
+			Object delegate = entry.getValue() == null ? new Object() : entry.getValue();
+			Object source = StraightNameMappingProxy.newInstance(interfaceClass, delegate, 0L);
+
+			Object[] values = new Object[items.length];
+			values[0] = entry.getKey();
+			try {
+				for (int i = 0; i < getters.length; i++)
+					values[i + 1] = getters[i].invoke(source);
+			} catch (Exception e) {
+				throw new IllegalStateException("Failed reading the statistics of " + entry.getKey(), e);
+			}
+			table.put(new CompositeDataSupport(rowType, items, values));
+		}
+		return table;
+	}
+
+	/**
+	 * Converts the given table to immutable statistics records.
+	 *
+	 * @param interfaceClass the statistics interface, e.g. {@link EntityStatistics}.
+	 * @param table          the table to convert.
+	 * @param <T>            the interface type.
+	 * @return the statistics records by name.
+	 */
+	public static <T> Map<String, T> fromTabularData(Class<T> interfaceClass, TabularData table) {
+		Map<String, T> statistics = new LinkedHashMap<String, T>(Math.max(16, table.size() * 2));
+		for (Object row : table.values()) {
+			CompositeData data = (CompositeData) row;
+			statistics.put((String) data.get(NAME_ITEM), toRecord(interfaceClass, new CompositeDataStatistics(data)));
+		}
+		return statistics;
+	}
+
+	private static <T> T toRecord(Class<T> interfaceClass, CompositeDataStatistics statistics) {
+		Object record;
+		if (interfaceClass == EntityStatistics.class)
+			record = new EntityStatisticsRecord(statistics);
+		else if (interfaceClass == CollectionStatistics.class)
+			record = new CollectionStatisticsRecord(statistics);
+		else if (interfaceClass == QueryStatistics.class)
+			record = new QueryStatisticsRecord(statistics);
+		else if (interfaceClass == SecondLevelCacheStatistics.class)
+			record = new SecondLevelCacheStatisticsRecord(statistics);
+		else
+			throw new IllegalArgumentException(interfaceClass + " is not a statistics interface.");
+		return interfaceClass.cast(record);
+	}
+
+	/**
+	 * Reads the values of all statistics interfaces from a table row, values that are not contained in the row
+	 * are returned as 0.
+	 */
+	private static final class CompositeDataStatistics implements EntityStatistics, CollectionStatistics,
+			QueryStatistics, SecondLevelCacheStatistics {
+
+		private static final long serialVersionUID = -6185476320566349337L;
+
+		private final CompositeData data;
+
+		private CompositeDataStatistics(CompositeData data) {
+			this.data = data;
+		}
+
+		private long get(String item) {
+			if (!data.containsKey(item))
+				return 0L;
+			Object value = data.get(item);
+			return value == null ? 0L : ((Number) value).longValue();
+		}
+
+		public long getDeleteCount() {
+			return get("DeleteCount");
+		}
+
+		public long getInsertCount() {
+			return get("InsertCount");
+		}
+
+		public long getLoadCount() {
+			return get("LoadCount");
+		}
+
+		public long getFetchCount() {
+			return get("FetchCount");
+		}
+
+		public long getUpdateCount() {
+			return get("UpdateCount");
+		}
+
+		public long getOptimisticFailureCount() {
+			return get("OptimisticFailureCount");
+		}
+
+		public long getRecreateCount() {
+			return get("RecreateCount");
+		}
+
+		public long getRemoveCount() {
+			return get("RemoveCount");
+		}
+
+		public long getExecutionCount() {
+			return get("ExecutionCount");
+		}
+
+		public long getCacheHitCount() {
+			return get("CacheHitCount");
+		}
+
+		public long getCachePutCount() {
+			return get("CachePutCount");
+		}
+
+		public long getCacheMissCount() {
+			return get("CacheMissCount");
+		}
+
+		public long getExecutionRowCount() {
+			return get("ExecutionRowCount");
+		}
+
+		public long getExecutionAvgTime() {
+			return get("ExecutionAvgTime");
+		}
+
+		public long getExecutionMaxTime() {
+			return get("ExecutionMaxTime");
+		}
+
+		public long getExecutionMinTime() {
+			return get("ExecutionMinTime");
+		}
+
+		public long getHitCount() {
+			return get("HitCount");
+		}
+
+		public long getMissCount() {
+			return get("MissCount");
+		}
+
+		public long getPutCount() {
+			return get("PutCount");
+		}
+
+		public long getElementCountInMemory() {
+			return get("ElementCountInMemory");
+		}
+
+		public long getElementCountOnDisk() {
+			return get("ElementCountOnDisk");
+		}
+
+		public long getSizeInMemory() {
+			return get("SizeInMemory");
+		}
+	}
+}
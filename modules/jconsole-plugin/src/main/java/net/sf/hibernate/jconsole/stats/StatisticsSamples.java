@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.stats;
+
+import java.io.Serializable;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Holds counter samples that were taken in a high frequency inside the monitored application.
+ *
+ * @version 1.0
+ */
+public class StatisticsSamples implements Serializable {
+
+	private static final long serialVersionUID = -2906437329786375813L;
+
+	private final long nextSequence;
+	private final long[] timeStamps;
+	private final Map<Names, long[]> values;
+
+	/**
+	 * Creates new samples.
+	 *
+	 * @param nextSequence the sequence of the next sample, to pass when fetching the next samples.
+	 * @param timeStamps   the times when the samples were taken in local system time.
+	 * @param values	   the absolute counter values of all samples, keyed by the counter attribute
+	 *                     (e.g. {@link Names#QueryExecutionCount}).
+	 */
+	public StatisticsSamples(long nextSequence, long[] timeStamps, Map<Names, long[]> values) {
+		this.nextSequence = nextSequence;
+		this.timeStamps = timeStamps;
+		this.values = values;
+	}
+
+	/**
+	 * Returns the sequence of the next sample.
+	 *
+	 * @return the sequence of the next sample.
+	 */
+	public long getNextSequence() {
+		return nextSequence;
+	}
+
+	/**
+	 * Returns the amount of samples.
+	 *
+	 * @return the amount of samples.
+	 */
+	public int size() {
+		return timeStamps.length;
+	}
+
+	/**
+	 * Returns the time when the specified sample was taken.
+	 *
+	 * @param index the index of the sample.
+	 * @return the time when the sample was taken in local system time.
+	 */
+	public long getTimeStamp(int index) {
+		return timeStamps[index];
+	}
+
+	/**
+	 * Returns the counter values of the specified sample in the same form as they are returned
+	 * by {@code AbstractStatisticsContext#getAttributes()}.
+	 *
+	 * @param index the index of the sample.
+	 * @return the counter values of the sample.
+	 */
+	public Map<Names, Object> getAttributes(int index) {
+		Map<Names, Object> attributes = new EnumMap<Names, Object>(Names.class);
+		for (Map.Entry<Names, long[]> entry : values.entrySet())
+			attributes.put(entry.getKey(), entry.getValue()[index]);
+		return attributes;
+	}
+}
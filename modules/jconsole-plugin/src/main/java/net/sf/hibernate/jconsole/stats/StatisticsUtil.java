@@ -33,14 +33,26 @@ public final class StatisticsUtil {
 	}
 
 	public static double toTotalAverageTime(QueryStatistics statistics) {
-		return (double) statistics.getExecutionCount() * toAverageExecutionTime(statistics);
+		if (statistics instanceof QueryStatisticsRecord)
+			return ((QueryStatisticsRecord) statistics).getTotalAverageTime();
+		return toTotalAverageTime(statistics.getExecutionCount(), statistics.getExecutionAvgTime());
+	}
+
+	public static double toTotalAverageTime(long executionCount, long executionAvgTime) {
+		return (double) executionCount * toAverageExecutionTime(executionAvgTime);
 	}
 
 	public static double toAverageExecutionTime(QueryStatistics statistics) {
-		return statistics.getExecutionAvgTime() == 0 ? 0.001D : statistics.getExecutionAvgTime();
+		return toAverageExecutionTime(statistics.getExecutionAvgTime());
+	}
+
+	public static double toAverageExecutionTime(long executionAvgTime) {
+		return executionAvgTime == 0 ? 0.001D : executionAvgTime;
 	}
 
 	public static double toQueryPerformance(QueryStatistics statistics) {
+		if (statistics instanceof QueryStatisticsRecord)
+			return ((QueryStatisticsRecord) statistics).getQueryPerformance();
 		return toQueryPerformance(toTotalAverageTime(statistics), statistics.getCacheHitCount() + statistics.getExecutionCount());
 	}
 
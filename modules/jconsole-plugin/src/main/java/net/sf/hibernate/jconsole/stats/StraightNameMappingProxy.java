@@ -38,8 +38,17 @@ public final class StraightNameMappingProxy extends AbstractMethodMappingProxy {
 
 	private static final Map<Class<?>, Constructor<?>> proxies = new HashMap<Class<?>, Constructor<?>>();
 
+	/**
+	 * Toggles whether generated accessors are used instead of reflective proxies (defaults to 'true').
+	 */
+	static final boolean GENERATE_ACCESSORS =
+			!"false".equalsIgnoreCase(System.getProperty("hibernate.statistics.generate.accessors"));
+
 	/**
 	 * Constructs a new name mapping proxy class.
+	 * <p/>
+	 * Note: The returned instance is a generated accessor that calls the delegate directly when possible
+	 * and falls back to a reflective proxy otherwise.
 	 *
 	 * @param interfaceClass the interface defining the methods.
 	 * @param delegate       the delegate used to query the methods.
@@ -48,6 +57,29 @@ public final class StraightNameMappingProxy extends AbstractMethodMappingProxy {
 	 */
 	@SuppressWarnings("unchecked")
 	public static <T> T newInstance(Class<T> interfaceClass, Object delegate, Object defaultValue) {
+		StraightNameMappingProxy handler = new StraightNameMappingProxy(interfaceClass, delegate, defaultValue);
+		if (GENERATE_ACCESSORS) {
+			Object accessor = handler.newAccessor();
+			if (accessor != null)
+				return (T) accessor;
+		}
+		return newProxyInstance(interfaceClass, handler);
+	}
+
+	/**
+	 * Constructs a new reflective name mapping proxy.
+	 *
+	 * @param interfaceClass the interface defining the methods.
+	 * @param delegate       the delegate used to query the methods.
+	 * @param defaultValue   the default value to return if the delegate does not define a matching method.
+	 * @return a new reflective proxy that dynamically maps method calls on the delegate.
+	 */
+	static <T> T newReflectiveInstance(Class<T> interfaceClass, Object delegate, Object defaultValue) {
+		return newProxyInstance(interfaceClass, new StraightNameMappingProxy(interfaceClass, delegate, defaultValue));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T newProxyInstance(Class<T> interfaceClass, StraightNameMappingProxy handler) {
 		try {
 			Constructor<?> proxyConstructor;
 			synchronized (proxies) {
@@ -58,7 +90,7 @@ public final class StraightNameMappingProxy extends AbstractMethodMappingProxy {
 					proxies.put(interfaceClass, proxyConstructor);
 				}
 			}
-			return (T) proxyConstructor.newInstance(new StraightNameMappingProxy(interfaceClass, delegate, defaultValue));
+			return (T) proxyConstructor.newInstance(handler);
 		} catch (Exception e) {
 			throw new RuntimeException(e);
 		}
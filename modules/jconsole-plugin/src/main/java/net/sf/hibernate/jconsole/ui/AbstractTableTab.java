@@ -36,9 +36,23 @@ public class AbstractTableTab extends RefreshableJPanel {
 
 	protected RefreshableJSplitPane splitPane;
 	protected Refreshable table;
+	protected JLabel samplingLabel = new JLabel();
 
 	public AbstractTableTab() {
 		super(new BorderLayout());
+		samplingLabel.setVisible(false);
+		samplingLabel.setBorder(BorderFactory.createEmptyBorder(2, 4, 2, 4));
+		add(BorderLayout.NORTH, samplingLabel);
+	}
+
+	/**
+	 * Returns true if the statistics shown by this tab are sampled by the connected application.
+	 *
+	 * @param context the context to check.
+	 * @return true if the statistics shown by this tab are sampled estimates.
+	 */
+	protected boolean isSampled(AbstractStatisticsContext context) {
+		return context.isSampled();
 	}
 
 	void init(AbstractChartViewDetails tableDetails) {
@@ -55,6 +69,14 @@ public class AbstractTableTab extends RefreshableJPanel {
 	@Override
 	public void refresh(AbstractStatisticsContext context) {
 		super.refresh(context);
+
+		boolean sampled = isSampled(context);
+		if (sampled) {
+			samplingLabel.setText("Sampled: Counts are estimated from 1 in " +
+					context.getSamplingFactor() + " sessions.");
+		}
+		samplingLabel.setVisible(sampled);
+
 		table.refresh(context);
 	}
 }
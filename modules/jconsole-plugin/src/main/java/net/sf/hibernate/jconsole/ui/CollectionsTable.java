@@ -22,6 +22,7 @@ package net.sf.hibernate.jconsole.ui;
 import net.sf.hibernate.jconsole.AbstractStatisticsContext;
 import net.sf.hibernate.jconsole.formatters.CollectionHighlighter;
 import net.sf.hibernate.jconsole.stats.CollectionStatistics;
+import net.sf.hibernate.jconsole.stats.Names;
 import net.sf.hibernate.jconsole.stats.SecondLevelCacheStatistics;
 import net.sf.hibernate.jconsole.ui.widgets.*;
 
@@ -100,6 +101,14 @@ public class CollectionsTable extends AbstractRefreshableJTable<CollectionStatis
 		return source;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected Names getStatisticsCategory() {
+		return Names.getCollectionStatistics;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
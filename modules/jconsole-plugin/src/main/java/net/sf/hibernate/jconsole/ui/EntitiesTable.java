@@ -22,6 +22,7 @@ package net.sf.hibernate.jconsole.ui;
 import net.sf.hibernate.jconsole.AbstractStatisticsContext;
 import net.sf.hibernate.jconsole.formatters.EntityHighlighter;
 import net.sf.hibernate.jconsole.stats.EntityStatistics;
+import net.sf.hibernate.jconsole.stats.Names;
 import net.sf.hibernate.jconsole.stats.SecondLevelCacheStatistics;
 import net.sf.hibernate.jconsole.ui.widgets.*;
 
@@ -102,6 +103,14 @@ public class EntitiesTable extends AbstractRefreshableJTable<EntityStatistics> {
 		return source;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected Names getStatisticsCategory() {
+		return Names.getEntityStatistics;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
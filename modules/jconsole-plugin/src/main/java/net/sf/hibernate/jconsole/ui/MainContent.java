@@ -49,6 +49,7 @@ public class MainContent extends RefreshableJPanel {
 		tabs.add(CollectionsTab.NAME, new CollectionsTab());
 		tabs.add(EntitiesTab.NAME, new EntitiesTab());
 		tabs.add(SecondLevelCacheTab.NAME, new SecondLevelCacheTab());
+		tabs.add(MonitorHealthTab.NAME, new MonitorHealthTab());
 
 		splitPane = new RefreshableJSplitPane(JSplitPane.VERTICAL_SPLIT, loadChart, tabs);
 		splitPane.setDividerLocation(140);
@@ -24,6 +24,8 @@ import net.sf.hibernate.jconsole.ui.widgets.charts.AbstractChart2D;
 import net.sf.hibernate.jconsole.ui.widgets.charts.Chart2DPanel;
 import net.sf.hibernate.jconsole.util.DataTable;
 
+import javax.swing.*;
+import java.awt.event.ActionEvent;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -36,6 +38,24 @@ public class MainLoadChart extends Chart2DPanel {
 
 	static Map<String, String> labels = new HashMap<String, String>();
 
+	/**
+	 * Defines the selectable history ranges of the load chart.
+	 */
+	enum HistoryRange {
+		recent("Recent samples", 0),
+		day("Last day", 24 * 60 * 60 * 1000L),
+		week("Last week", 7 * 24 * 60 * 60 * 1000L),
+		month("Last month", 31 * 24 * 60 * 60 * 1000L),;
+
+		String label;
+		long timeRange;
+
+		HistoryRange(String label, long timeRange) {
+			this.label = label;
+			this.timeRange = timeRange;
+		}
+	}
+
 	static {
 		labels.put("UnCachedQueries", "Queries on DB");
 	}
@@ -57,5 +77,34 @@ public class MainLoadChart extends Chart2DPanel {
 				return name != null ? name : column.getName();
 			}
 		});
+
+		JPopupMenu menu = new JPopupMenu();
+		ButtonGroup group = new ButtonGroup();
+		for (HistoryRange range : HistoryRange.values()) {
+			JRadioButtonMenuItem item = new JRadioButtonMenuItem(new HistoryRangeAction(range));
+			item.setSelected(range.timeRange == getChart2D().getTimeRange());
+			group.add(item);
+			menu.add(item);
+		}
+		getChart2D().setComponentPopupMenu(menu);
+	}
+
+	private final class HistoryRangeAction extends AbstractAction {
+
+		private static final long serialVersionUID = 2270512541394817346L;
+
+		private final HistoryRange range;
+
+		private HistoryRangeAction(HistoryRange range) {
+			super(range.label);
+			this.range = range;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public void actionPerformed(ActionEvent e) {
+			getChart2D().setTimeRange(range.timeRange);
+		}
 	}
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.ui;
+
+import net.sf.hibernate.jconsole.AbstractStatisticsContext;
+import net.sf.hibernate.jconsole.HistoryMemoryGovernor;
+import net.sf.hibernate.jconsole.ui.widgets.RefreshableJPanel;
+import net.sf.hibernate.jconsole.ui.widgets.RefreshableJSplitPane;
+import net.sf.hibernate.jconsole.ui.widgets.charts.AbstractChart2D;
+import net.sf.hibernate.jconsole.ui.widgets.charts.Chart2DPanel;
+import net.sf.hibernate.jconsole.util.DataTable;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import java.awt.*;
+
+/**
+ * Implements the page showing the health of the monitor itself: the time spent per refresh in every phase of the
+ * refresh cycle, the measurements of all phases and the memory used by the histories of single keys.
+ * <p/>
+ * Publishing to the UI (charts and tables) happens after a refresh and is shown with the following refresh.
+ *
+ * @version 1.0
+ */
+public class MonitorHealthTab extends RefreshableJPanel {
+
+	public static final String NAME = "Monitor Health";
+
+	final Chart2DPanel latencyChart = new Chart2DPanel(new AbstractChart2D() {
+		@Override
+		protected DataTable getDataTable(AbstractStatisticsContext context) {
+			return context.getDiagnostics().getHistory();
+		}
+
+		@Override
+		protected String getLegendForColumn(DataTable.Column column) {
+			return column.getName() + " (ms)";
+		}
+	});
+
+	final MonitorHealthTable table = new MonitorHealthTable();
+	final JLabel historyLabel = new JLabel();
+	final RefreshableJSplitPane splitPane;
+
+	public MonitorHealthTab() {
+		super();
+
+		latencyChart.setBorder(new EmptyBorder(4, 4, 4, 4));
+		latencyChart.setPreferredSize(new Dimension(400, 200));
+
+		splitPane = new RefreshableJSplitPane(JSplitPane.VERTICAL_SPLIT, latencyChart, new JScrollPane(table));
+		splitPane.setDividerLocation(210);
+
+		historyLabel.setBorder(BorderFactory.createEmptyBorder(2, 4, 2, 4));
+
+		add(BorderLayout.NORTH, historyLabel);
+		add(BorderLayout.CENTER, splitPane);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void refresh(AbstractStatisticsContext context) {
+		super.refresh(context);
+		table.refresh(context);
+
+		HistoryMemoryGovernor governor = context.getHistoryMemoryGovernor();
+		historyLabel.setText(String.format("Histories: %.1f of %.1f MB, %d compacted, %d evicted.",
+				toMegaBytes(governor.getMemoryUsage()), toMegaBytes(governor.getBudget()),
+				governor.getCompactionCount(), governor.getEvictionCount()));
+	}
+
+	private static double toMegaBytes(long bytes) {
+		return bytes / (1024D * 1024D);
+	}
+}
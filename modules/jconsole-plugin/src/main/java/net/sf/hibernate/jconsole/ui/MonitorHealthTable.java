@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.ui;
+
+import net.sf.hibernate.jconsole.AbstractStatisticsContext;
+import net.sf.hibernate.jconsole.RefreshDiagnostics;
+import net.sf.hibernate.jconsole.ui.widgets.AbstractRefreshableJTable;
+
+import java.util.Map;
+import java.util.Vector;
+
+/**
+ * Implements a JTable containing the measurements of all phases of the plugin's refresh cycle.
+ *
+ * @version 1.0
+ */
+public class MonitorHealthTable extends AbstractRefreshableJTable<RefreshDiagnostics.PhaseStatistics> {
+
+	private static final Column[] COLUMNS = {
+			new Column("Phase", null, Comparable.class),
+			new Column("Count", "The number of runs of the phase.", Long.class),
+			new Column("Last ms", "The duration of the last run.", Double.class),
+			new Column("Avg ms", "The average duration of a run.", Double.class),
+			new Column("Max ms", "The longest duration of a run.", Double.class),
+			new Column("Last KB", "The memory allocated by the last run (not available on all JVMs).", Comparable.class),
+			new Column("Avg KB", "The average memory allocated by a run (not available on all JVMs).", Comparable.class),
+	};
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected Vector toTableRow(String phase, RefreshDiagnostics.PhaseStatistics s) {
+		Vector<Object> v = new Vector<Object>(COLUMNS.length);
+
+		v.add(phase);
+		v.add(s.getCount());
+		v.add(s.getLastTime());
+		v.add(s.getAverageTime());
+		v.add(s.getMaxTime());
+		v.add(toKiloBytes(s.getLastAllocatedBytes()));
+		v.add(toKiloBytes(s.getAverageAllocatedBytes()));
+
+		return v;
+	}
+
+	private static Comparable<?> toKiloBytes(long bytes) {
+		return bytes < 0 ? "n/a" : (Comparable<?>) (bytes / 1024);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected Map<String, RefreshDiagnostics.PhaseStatistics> toTableData(AbstractStatisticsContext context) {
+		return context.getDiagnostics().getPhaseStatistics();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected Column[] getColumns() {
+		return COLUMNS;
+	}
+}
@@ -22,9 +22,12 @@ package net.sf.hibernate.jconsole.ui;
 import net.sf.hibernate.jconsole.AbstractStatisticsContext;
 import net.sf.hibernate.jconsole.formatters.QueryHighlighter;
 import net.sf.hibernate.jconsole.formatters.ToolTipQueryHighlighter;
+import net.sf.hibernate.jconsole.stats.LatencyHistogram;
+import net.sf.hibernate.jconsole.stats.Names;
 import net.sf.hibernate.jconsole.stats.QueryStatistics;
 import net.sf.hibernate.jconsole.ui.widgets.*;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.Vector;
 
@@ -49,8 +52,16 @@ public class QueriesTable extends AbstractRefreshableJTable<QueryStatistics> {
 					"<i>(The time is estimated using avg-time * direct-invocations)</i></html>", Comparable.class),
 			new Column("Invocations", "The total amount of invocations (cached & direct).", Comparable.class),
 			new Column("Rows Fetched", "The number of rows directly fetched from the DB.", Long.class),
+			new Column("p50", "<html>The median execution time in ms.<br/>" +
+					"<i>(Requires the execution times to be recorded by the HibernateJmxBinding)</i></html>", Long.class),
+			new Column("p95", "<html>The execution time in ms that 95% of all executions did not exceed.<br/>" +
+					"<i>(Requires the execution times to be recorded by the HibernateJmxBinding)</i></html>", Long.class),
+			new Column("p99", "<html>The execution time in ms that 99% of all executions did not exceed.<br/>" +
+					"<i>(Requires the execution times to be recorded by the HibernateJmxBinding)</i></html>", Long.class),
 	};
 
+	Map<String, LatencyHistogram> histograms = Collections.emptyMap();
+
 	long maxExecutionCount;
 	double maxQueryPerformance;
 	double maxTotalAverageTime;
@@ -85,6 +96,17 @@ public class QueriesTable extends AbstractRefreshableJTable<QueryStatistics> {
 		v.add(new ExecutionCountTableCell(maxExecutionCount, s.getExecutionCount() + s.getCacheHitCount(), s.getExecutionCount()));
 		v.add(s.getExecutionRowCount());
 
+		LatencyHistogram histogram = histograms.get(key);
+		if (histogram == null || histogram.getTotalCount() == 0) {
+			v.add(null);
+			v.add(null);
+			v.add(null);
+		} else {
+			v.add(histogram.getValueAtPercentile(50));
+			v.add(histogram.getValueAtPercentile(95));
+			v.add(histogram.getValueAtPercentile(99));
+		}
+
 		return v;
 	}
 
@@ -94,6 +116,7 @@ public class QueriesTable extends AbstractRefreshableJTable<QueryStatistics> {
 	@Override
 	protected Map<String, QueryStatistics> toTableData(AbstractStatisticsContext context) {
 		maxTotalAverageTime = maxQueryPerformance = maxExecutionCount = 0;
+		histograms = context.getQueryLatencyHistograms();
 
 		for (QueryStatistics s : context.getQueryStatistics().values()) {
 			maxExecutionCount = Math.max(maxExecutionCount, s.getExecutionCount() + s.getCacheHitCount());
@@ -104,6 +127,14 @@ public class QueriesTable extends AbstractRefreshableJTable<QueryStatistics> {
 		return context.getQueryStatistics();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected Names getStatisticsCategory() {
+		return Names.getQueryStatistics;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
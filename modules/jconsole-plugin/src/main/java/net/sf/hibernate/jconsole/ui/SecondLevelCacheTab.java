@@ -19,6 +19,8 @@
 
 package net.sf.hibernate.jconsole.ui;
 
+import net.sf.hibernate.jconsole.AbstractStatisticsContext;
+
 /**
  * * Implements the cache page.
  *
@@ -36,5 +38,15 @@ public class SecondLevelCacheTab extends AbstractTableTab {
 		super();
 		init(cacheDetails);
 	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * Cache region statistics are never sampled.
+	 */
+	@Override
+	protected boolean isSampled(AbstractStatisticsContext context) {
+		return false;
+	}
 }
 
@@ -21,6 +21,7 @@ package net.sf.hibernate.jconsole.ui;
 
 import net.sf.hibernate.jconsole.AbstractStatisticsContext;
 import net.sf.hibernate.jconsole.formatters.EntityHighlighter;
+import net.sf.hibernate.jconsole.stats.Names;
 import net.sf.hibernate.jconsole.stats.SecondLevelCacheStatistics;
 import net.sf.hibernate.jconsole.ui.widgets.AbstractRefreshableJTable;
 import net.sf.hibernate.jconsole.ui.widgets.ElementsInCacheTableCell;
@@ -76,6 +77,14 @@ public class SecondLevelCacheTable extends AbstractRefreshableJTable<SecondLevel
 		return context.getCacheStatistics();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected Names getStatisticsCategory() {
+		return Names.getSecondLevelCacheStatistics;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
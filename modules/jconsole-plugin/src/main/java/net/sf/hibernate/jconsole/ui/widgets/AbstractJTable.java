@@ -198,7 +198,7 @@ public abstract class AbstractJTable<E> extends JTable {
 			for (updateIterator.next(); updateIterator.hasNext() && rowIterator.hasNext(); ) {
 				Object value = rowIterator.next();
 				Object newValue = updateIterator.next();
-				if (!value.equals(newValue)) {
+				if (value == null ? newValue != null : !value.equals(newValue)) {
 					rowIterator.set(newValue);
 					changed = true;
 				}
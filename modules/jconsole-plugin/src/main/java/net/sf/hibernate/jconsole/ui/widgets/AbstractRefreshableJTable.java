@@ -21,6 +21,8 @@ package net.sf.hibernate.jconsole.ui.widgets;
 
 import net.sf.hibernate.jconsole.AbstractStatisticsContext;
 import net.sf.hibernate.jconsole.Refreshable;
+import net.sf.hibernate.jconsole.RefreshDiagnostics;
+import net.sf.hibernate.jconsole.stats.Names;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableCellRenderer;
@@ -29,7 +31,9 @@ import javax.swing.table.TableColumnModel;
 import java.awt.*;
 import java.text.NumberFormat;
 import java.util.Enumeration;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Implements the refresh logic and extends the rendering logic.
@@ -95,12 +99,25 @@ public abstract class AbstractRefreshableJTable<E> extends AbstractJTable<E> imp
 	 */
 	protected abstract Map<String, E> toTableData(AbstractStatisticsContext context);
 
+	/**
+	 * Returns the statistics category of the rows, used to fetch statistics of visible and selected rows
+	 * more often than others.
+	 *
+	 * @return the statistics category of the rows or 'null' if the rows are not statistics of single keys.
+	 */
+	protected Names getStatisticsCategory() {
+		return null;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@SuppressWarnings("unchecked")
 	public void refresh(AbstractStatisticsContext context) {
+		RefreshDiagnostics.Timer timer = context.getDiagnostics().start(RefreshDiagnostics.Phase.tables);
 		refresh(toTableData(context));
+		updateFocusedKeys(context);
+		timer.stop();
 
 		if (initial) {
 			TableColumn firstColumn = null;
@@ -129,4 +146,37 @@ public abstract class AbstractRefreshableJTable<E> extends AbstractJTable<E> imp
 			initial = false;
 		}
 	}
+
+	/**
+	 * Reports the keys of the visible and selected rows to the polling policy of the context.
+	 *
+	 * @param context the context to report to.
+	 */
+	void updateFocusedKeys(AbstractStatisticsContext context) {
+		Names category = getStatisticsCategory();
+		if (category == null)
+			return;
+
+		Set<String> keys = new HashSet<String>();
+		for (int row : getSelectedRows())
+			keys.add(getKeyAt(row));
+
+		if (isShowing() && getRowCount() > 0) {
+			Rectangle visibleRect = getVisibleRect();
+			int firstRow = rowAtPoint(visibleRect.getLocation());
+			int lastRow = rowAtPoint(new Point(visibleRect.x, visibleRect.y + visibleRect.height - 1));
+			if (firstRow != -1) {
+				if (lastRow == -1)
+					lastRow = getRowCount() - 1;
+				for (int row = firstRow; row <= lastRow; row++)
+					keys.add(getKeyAt(row));
+			}
+		}
+
+		context.getPollingPolicy().setFocusedKeys(category, keys);
+	}
+
+	private String getKeyAt(int row) {
+		return String.valueOf(getModel().getValueAt(convertRowIndexToModel(row), 0));
+	}
 }
@@ -20,8 +20,10 @@
 package net.sf.hibernate.jconsole.ui.widgets.charts;
 
 import net.sf.hibernate.jconsole.AbstractStatisticsContext;
+import net.sf.hibernate.jconsole.RefreshDiagnostics;
 import net.sf.hibernate.jconsole.ui.widgets.RefreshableJPanel;
 import net.sf.hibernate.jconsole.util.DataTable;
+import net.sf.hibernate.jconsole.util.DataTableDownsampler;
 
 import java.awt.*;
 import java.awt.event.MouseEvent;
@@ -54,6 +56,7 @@ public abstract class AbstractChart2D extends RefreshableJPanel {
 	private Insets graphInsets = new Insets(10, 60, 20, 0);
 
 	private DataTable dataTable;
+	private final DataTableDownsampler downsampler = new DataTableDownsampler();
 	private ChartAxis verticalAxis;
 	private ChartAxis horizontalAxis;
 
@@ -61,6 +64,7 @@ public abstract class AbstractChart2D extends RefreshableJPanel {
 	private Integer[] sortedGraphIndexes;
 	private Color[] graphColors = DEFAULT_GRAPH_COLORS;
 	private int firstColorIndex = 0;
+	private long timeRange;
 
 	private Paint backgroundPaint;
 	private Rectangle verticalAxisBounds, horizontalAxisBounds, graphBounds;
@@ -98,6 +102,29 @@ public abstract class AbstractChart2D extends RefreshableJPanel {
 		this.firstColorIndex = firstColorIndex;
 	}
 
+	/**
+	 * Returns the time range of the history that is shown by this chart.
+	 *
+	 * @return the time range in MS, 0 if the chart shows the full resolution data table.
+	 */
+	public long getTimeRange() {
+		return timeRange;
+	}
+
+	/**
+	 * Sets the time range of the history that is shown by this chart.
+	 * <p/>
+	 * Time ranges that exceed the full resolution data are served from the
+	 * consolidated archives of the data table (if any).
+	 *
+	 * @param timeRange the time range in MS, 0 to show the full resolution data table.
+	 */
+	public synchronized void setTimeRange(long timeRange) {
+		this.timeRange = timeRange;
+		if (lastFreshContext != null)
+			refresh(lastFreshContext);
+	}
+
 	/**
 	 * Returns the color to use for drawing the graph for the given column.
 	 *
@@ -427,12 +454,15 @@ public abstract class AbstractChart2D extends RefreshableJPanel {
 	@Override
 	public synchronized void refresh(AbstractStatisticsContext context) {
 		lastFreshContext = context;
+		RefreshDiagnostics.Timer timer = context.getDiagnostics().start(RefreshDiagnostics.Phase.charts);
 
 		super.refresh(context);
 
 		// Shrinking the data table to have a max accuracy of one measurement point per 4 pixel.
+		// The downsampler keeps its buckets between refreshes and only combines rows that were added meanwhile.
 		Rectangle bounds = getGraphBounds();
-		dataTable = getDataTable(context).shrinkToSize((int) Math.max(1, bounds.getWidth() / 4));
+		dataTable = downsampler.downsample(getDataTable(context).getHistory(timeRange),
+				(int) Math.max(1, bounds.getWidth() / 4));
 		verticalAxis = createVerticalAxis(dataTable);
 		horizontalAxis = createHorizontalAxis(dataTable);
 
@@ -453,5 +483,6 @@ public abstract class AbstractChart2D extends RefreshableJPanel {
 			graphs = null;
 
 		updateVisibility();
+		timer.stop();
 	}
 }
@@ -31,14 +31,29 @@ public abstract class AbstractGraph2D extends AbstractChartElement {
 	private static final long serialVersionUID = 3791460415201358526L;
 
 	protected double maxValue;
-	protected double[] values;
+	private final double[] values;
 	protected int[] xCoordinates, yCoordinates;
 	protected boolean visible = true;
 
+	// The statistics of the source values, calculated once as the values are copied on construction.
+	private final double maxGraphValue, averageGraphValue;
+
 	public AbstractGraph2D(double[] values, double maxValue) {
 		super();
 		this.values = values == null ? null : values.clone();
 		this.maxValue = maxValue;
+
+		double max = Long.MIN_VALUE, average = 0;
+		if (values != null) {
+			for (double value : values) {
+				if (max < value)
+					max = value;
+				average += value;
+			}
+			average /= values.length;
+		}
+		maxGraphValue = max;
+		averageGraphValue = average;
 	}
 
 	double toYCoordinate(double value) {
@@ -113,13 +128,7 @@ public abstract class AbstractGraph2D extends AbstractChartElement {
 	 * @return the maximum value of the graphs source values.
 	 */
 	public double getMaxGraphValue() {
-		double v = Long.MIN_VALUE;
-		if (values != null) {
-			for (double value : values)
-				if (v < value)
-					v = value;
-		}
-		return v;
+		return maxGraphValue;
 	}
 
 	/**
@@ -128,13 +137,7 @@ public abstract class AbstractGraph2D extends AbstractChartElement {
 	 * @return the average value of the graphs source values.
 	 */
 	public double getAverageGraphValue() {
-		double v = 0;
-		if (values != null) {
-			for (double value : values)
-				v += value;
-			v /= values.length;
-		}
-		return v;
+		return averageGraphValue;
 	}
 
 	/**
@@ -19,24 +19,177 @@
 
 package net.sf.hibernate.jconsole.util;
 
-import java.util.LinkedList;
+import java.io.Serializable;
 
 /**
  * Implements a simple sampler for number values.
+ * <p/>
+ * Samples are stored as primitives inside a circular buffer together with the time they
+ * were taken. Sum, average and difference are maintained while samples are added and
+ * removed and can be read without iterating the samples.
+ * Implementations define when samples are removed from the sampler.
  *
  * @author Juergen_Kellerer, 22.11.2009
  */
-public class DataSampler<E extends Number> extends LinkedList<E> {
+public abstract class DataSampler implements Serializable {
 
 	private static final long serialVersionUID = 114661085411237384L;
 
+	private int first, size;
+	private long[] values, timeStamps;
+	private long sum;
+
+	/**
+	 * Creates a new sampler.
+	 *
+	 * @param initialCapacity the initial amount of samples that can be stored without growing the buffer.
+	 */
+	protected DataSampler(int initialCapacity) {
+		initialCapacity = Math.max(1, initialCapacity);
+		values = new long[initialCapacity];
+		timeStamps = new long[initialCapacity];
+	}
+
+	/**
+	 * Returns true if the first (oldest) sample must be removed before adding a new sample.
+	 *
+	 * @param size			   the current amount of samples.
+	 * @param firstTimeStamp the time when the first sample was taken.
+	 * @param timeStamp	  the time of the sample that is about to be added.
+	 * @return true if the first sample must be removed.
+	 */
+	protected abstract boolean isFirstExpired(int size, long firstTimeStamp, long timeStamp);
+
+	private int toBufferIndex(int sampleIndex) {
+		int index = first + sampleIndex;
+		return index >= values.length ? index - values.length : index;
+	}
+
+	private void grow() {
+		int capacity = values.length * 2;
+		long[] newValues = new long[capacity], newTimeStamps = new long[capacity];
+		for (int i = 0; i < size; i++) {
+			int index = toBufferIndex(i);
+			newValues[i] = values[index];
+			newTimeStamps[i] = timeStamps[index];
+		}
+		values = newValues;
+		timeStamps = newTimeStamps;
+		first = 0;
+	}
+
+	/**
+	 * Adds a new sample taken now.
+	 *
+	 * @param value the value to add.
+	 * @return true if the value was added.
+	 */
+	public boolean add(long value) {
+		return add(System.currentTimeMillis(), value);
+	}
+
+	/**
+	 * Adds a new sample.
+	 *
+	 * @param timeStamp the time in MS when the sample was taken.
+	 * @param value	 the value to add.
+	 * @return true if the value was added.
+	 */
+	public boolean add(long timeStamp, long value) {
+		while (size > 0 && isFirstExpired(size, timeStamps[first], timeStamp)) {
+			sum -= values[first];
+			first = toBufferIndex(1);
+			size--;
+		}
+
+		if (size == values.length)
+			grow();
+
+		int index = toBufferIndex(size++);
+		values[index] = value;
+		timeStamps[index] = timeStamp;
+		sum += value;
+
+		return true;
+	}
+
+	/**
+	 * Removes all samples.
+	 */
+	public void clear() {
+		first = size = 0;
+		sum = 0;
+	}
+
+	/**
+	 * Returns the amount of samples.
+	 *
+	 * @return the amount of samples.
+	 */
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns the first (oldest) sample.
+	 *
+	 * @return the first sample or 0 if the sampler is empty.
+	 */
+	public long getFirst() {
+		return size == 0 ? 0 : values[first];
+	}
+
+	/**
+	 * Returns the last (most recent) sample.
+	 *
+	 * @return the last sample or 0 if the sampler is empty.
+	 */
+	public long getLast() {
+		return size == 0 ? 0 : values[toBufferIndex(size - 1)];
+	}
+
+	/**
+	 * Returns the time when the first (oldest) sample was taken.
+	 *
+	 * @return the time when the first sample was taken or -1 if the sampler is empty.
+	 */
+	public long getFirstTimeStamp() {
+		return size == 0 ? -1 : timeStamps[first];
+	}
+
+	/**
+	 * Returns the time when the last (most recent) sample was taken.
+	 *
+	 * @return the time when the last sample was taken or -1 if the sampler is empty.
+	 */
+	public long getLastTimeStamp() {
+		return size == 0 ? -1 : timeStamps[toBufferIndex(size - 1)];
+	}
+
 	/**
 	 * Returns the difference between the first and the last entry.
 	 *
 	 * @return the difference between the first and the last entry.
 	 */
 	public double getDifference() {
-		return getLast().doubleValue() - getFirst().doubleValue();
+		return getLast() - getFirst();
+	}
+
+	/**
+	 * Returns the difference between the first and the last entry per second, based on the times the
+	 * samples were taken.
+	 * <p/>
+	 * Unlike {@link #getDifference()}, the returned rate does not depend on the interval used for sampling.
+	 *
+	 * @return the difference per second or 0 if the sampler contains less than 2 samples.
+	 */
+	public double getDifferencePerSecond() {
+		long time = getLastTimeStamp() - getFirstTimeStamp();
+		return time <= 0 ? 0 : getDifference() * 1000D / time;
 	}
 
 	/**
@@ -45,7 +198,7 @@ public class DataSampler<E extends Number> extends LinkedList<E> {
 	 * @return the average value of all samples.
 	 */
 	public double getAverage() {
-		return getSum() / size();
+		return (double) sum / size;
 	}
 
 	/**
@@ -54,9 +207,6 @@ public class DataSampler<E extends Number> extends LinkedList<E> {
 	 * @return the sum of all samples.
 	 */
 	public double getSum() {
-		double sum = 0;
-		for (E e : this)
-			sum += e.doubleValue();
 		return sum;
 	}
 }
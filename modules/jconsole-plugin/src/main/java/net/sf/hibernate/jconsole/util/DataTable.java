@@ -26,7 +26,13 @@ import java.util.*;
  * Implements a fixed size data table that can be used to record timed data.
  * <p/>
  * Note: This implementation is rather low level and acts as the data backend for
- * the charts.
+ * the charts. Rows are stored column oriented inside a circular buffer that grows
+ * on demand until it reaches the maximum amount of entries, from then on adding a
+ * row overwrites the oldest row without allocating memory.
+ * <p/>
+ * Optionally rows are rolled into consolidated archives of a lower resolution
+ * (see {@link #setArchives(java.util.List)}) to keep a long history with bounded memory,
+ * and time ranges can be viewed without copying (see {@link #createRange(long, long)}).
  *
  * @author Juergen_Kellerer, 22.11.2009
  */
@@ -34,6 +40,11 @@ public class DataTable extends AbstractCollection<DataTable.Row> implements Seri
 
 	private static final long serialVersionUID = -4602723362334733326L;
 
+	private static final int INITIAL_CAPACITY = 16;
+
+	// Approximates the heap used by an array header and by an object header.
+	private static final int ARRAY_OVERHEAD = 16, OBJECT_OVERHEAD = 16;
+
 	/**
 	 * Specifies the type of data contained in a column.
 	 */
@@ -53,25 +64,181 @@ public class DataTable extends AbstractCollection<DataTable.Row> implements Seri
 		 */
 		percentage,;
 
-		double combine(List<Row> rows, Column column) {
-			if (column.dataFlavour != this)
-				throw new IllegalArgumentException("Invalid usage of combine!");
+		/**
+		 * Combines the given range of values to a single value.
+		 *
+		 * @param values the values to combine.
+		 * @param offset the offset of the first value to combine.
+		 * @param length the amount of values to combine.
+		 * @return the combined value.
+		 */
+		double combine(double[] values, int offset, int length) {
+			double sum = 0;
+			for (int i = offset, end = offset + length; i < end; i++)
+				sum += values[i];
 
-			double combinedValue = 0;
-			for (Row row : rows)
-				combinedValue += row.values[column.index];
+			return combine(sum, length);
+		}
 
+		/**
+		 * Combines values to a single value using their sum and count.
+		 *
+		 * @param sum   the sum of all values to combine.
+		 * @param count the amount of values that were summed up.
+		 * @return the combined value.
+		 */
+		double combine(double sum, int count) {
 			switch (this) {
 				case average:
 				case percentage:
-					combinedValue /= rows.size();
+					return sum / count;
+				default:
+					return sum;
+			}
+		}
+	}
+
+	/**
+	 * Defines a consolidated archive (in the spirit of a round robin archive) that
+	 * full resolution rows are rolled into.
+	 * <p/>
+	 * Every archive row combines all rows of one interval using the data flavour of
+	 * the columns. The timestamp of an archive row is the start of its interval.
+	 */
+	public static final class Archive implements Serializable {
+
+		private static final long serialVersionUID = -3116436476937005338L;
+
+		final long interval;
+		final int maxEntries;
+
+		/**
+		 * Constructs a new archive definition.
+		 *
+		 * @param interval   the length of the interval that is combined into one row in MS.
+		 * @param maxEntries the maximum amount of rows kept inside the archive.
+		 */
+		public Archive(long interval, int maxEntries) {
+			if (interval <= 0 || maxEntries <= 0)
+				throw new IllegalArgumentException("Interval and maxEntries must be greater than 0.");
+			this.interval = interval;
+			this.maxEntries = maxEntries;
+		}
+
+		public long getInterval() {
+			return interval;
+		}
+
+		public int getMaxEntries() {
+			return maxEntries;
+		}
+
+		/**
+		 * Returns the time range that is covered by a full archive.
+		 *
+		 * @return the time range that is covered by a full archive in MS.
+		 */
+		public long getTimeRange() {
+			return interval * maxEntries;
+		}
+	}
+
+	/**
+	 * Implements a monotonic deque that answers the minimum or maximum value of a sliding window in O(1).
+	 * <p/>
+	 * Rows are identified by their sequence number. Only rows that may still become the extremum once
+	 * older rows are evicted are kept, which makes the deque small for most series.
+	 */
+	private static final class MonotonicDeque implements Serializable {
+
+		private static final long serialVersionUID = 2411553869012345470L;
+
+		private final boolean maximum;
+		private long[] sequences = new long[4];
+		private double[] values = new double[4];
+		private int head, count;
+
+		private MonotonicDeque(boolean maximum) {
+			this.maximum = maximum;
+		}
+
+		void add(long sequence, double value) {
+			// Removing all tail entries that can never become the extremum while the new value is in the window.
+			while (count > 0) {
+				double tail = values[index(count - 1)];
+				if (maximum ? tail > value : tail < value)
 					break;
+				count--;
+			}
+
+			if (count == sequences.length) {
+				long[] newSequences = new long[count * 2];
+				double[] newValues = new double[count * 2];
+				for (int i = 0; i < count; i++) {
+					newSequences[i] = sequences[index(i)];
+					newValues[i] = values[index(i)];
+				}
+				sequences = newSequences;
+				values = newValues;
+				head = 0;
+			}
+
+			int index = index(count++);
+			sequences[index] = sequence;
+			values[index] = value;
+		}
+
+		void evict(long sequence) {
+			if (count > 0 && sequences[head] == sequence) {
+				head = index(1);
+				count--;
+			}
+		}
+
+		double getValue() {
+			return values[head];
+		}
+
+		void clear() {
+			head = count = 0;
+		}
+
+		/**
+		 * Releases the unused capacity of the deque.
+		 */
+		void trimToSize() {
+			int capacity = Math.max(4, count);
+			if (capacity >= sequences.length)
+				return;
+			long[] newSequences = new long[capacity];
+			double[] newValues = new double[capacity];
+			for (int i = 0; i < count; i++) {
+				newSequences[i] = sequences[index(i)];
+				newValues[i] = values[index(i)];
 			}
+			sequences = newSequences;
+			values = newValues;
+			head = 0;
+		}
+
+		long getMemoryUsage() {
+			return ARRAY_OVERHEAD * 2 + sequences.length * 16L;
+		}
 
-			return combinedValue;
+		private int index(int offset) {
+			int index = head + offset;
+			return index >= sequences.length ? index - sequences.length : index;
 		}
 	}
 
+	/**
+	 * Defines the default archives: 1 day at 1 minute, 1 week at 15 minutes and 31 days at 1 hour.
+	 */
+	public static final List<Archive> DEFAULT_ARCHIVES = Collections.unmodifiableList(Arrays.asList(
+			new Archive(60 * 1000L, 24 * 60),
+			new Archive(15 * 60 * 1000L, 7 * 24 * 4),
+			new Archive(60 * 60 * 1000L, 31 * 24)));
+
 	/**
 	 * Defines a column inside the table.
 	 */
@@ -141,7 +308,23 @@ public class DataTable extends AbstractCollection<DataTable.Row> implements Seri
 
 	private int maxEntries;
 	private Column[] columns = new Column[0];
-	private LinkedList<Row> rows = new LinkedList<Row>();
+
+	// Circular buffer, "first" is the physical index of the oldest row.
+	private int first, size;
+	private long[] timeStamps = new long[0];
+	private double[][] values = new double[0][0];
+
+	// Sliding window aggregates per column, "nextSequence" is the sequence number of the next added row.
+	private long nextSequence;
+	private double[] sums = new double[0];
+	private MonotonicDeque[] minimums = new MonotonicDeque[0], maximums = new MonotonicDeque[0];
+
+	// Consolidated archives and the state of the interval that is currently being combined.
+	private Archive[] archives;
+	private DataTable[] archiveTables;
+	private long[] pendingIntervals;
+	private int[] pendingCounts;
+	private double[][] pendingSums;
 
 	/**
 	 * Used for the serialization option.
@@ -150,6 +333,16 @@ public class DataTable extends AbstractCollection<DataTable.Row> implements Seri
 		super();
 	}
 
+	/**
+	 * Used by views that share the columns with the table they are created from.
+	 *
+	 * @param columns The columns of the viewed table.
+	 */
+	private DataTable(Column[] columns) {
+		super();
+		this.columns = columns;
+	}
+
 	/**
 	 * Used to construct a new fixed size data table.
 	 *
@@ -164,6 +357,195 @@ public class DataTable extends AbstractCollection<DataTable.Row> implements Seri
 		this.columns = columns;
 		for (int i = 0; i < columns.length; i++)
 			columns[i].index = i;
+
+		sums = new double[columns.length];
+		minimums = new MonotonicDeque[columns.length];
+		maximums = new MonotonicDeque[columns.length];
+		for (int i = 0; i < columns.length; i++) {
+			minimums[i] = new MonotonicDeque(false);
+			maximums[i] = new MonotonicDeque(true);
+		}
+
+		allocate(Math.max(0, Math.min(maxEntries, INITIAL_CAPACITY)));
+	}
+
+	private void allocate(int capacity) {
+		long[] newTimeStamps = new long[capacity];
+		double[][] newValues = new double[columns.length][capacity];
+
+		if (size > 0) {
+			copyTo(timeStamps, 0, size, newTimeStamps);
+			for (int i = 0; i < columns.length; i++)
+				copyTo(values[i], 0, size, newValues[i]);
+		}
+
+		timeStamps = newTimeStamps;
+		values = newValues;
+		first = 0;
+	}
+
+	/**
+	 * Copies the given range of logical rows (0 = oldest) of the given ring buffer array to the target.
+	 */
+	private void copyTo(Object source, int fromRow, int length, Object target) {
+		if (length == 0)
+			return;
+		int start = toBufferIndex(fromRow);
+		int firstLength = Math.min(length, timeStamps.length - start);
+		System.arraycopy(source, start, target, 0, firstLength);
+		if (firstLength < length)
+			System.arraycopy(source, 0, target, firstLength, length - firstLength);
+	}
+
+	/**
+	 * Converts the logical row index (0 = oldest) to the index inside the circular buffer.
+	 */
+	private int toBufferIndex(int rowIndex) {
+		int index = first + rowIndex;
+		return index >= timeStamps.length ? index - timeStamps.length : index;
+	}
+
+	/**
+	 * Enables consolidated archives for this table.
+	 * <p/>
+	 * Any row that is added afterwards is also rolled into the given archives, allowing to keep a
+	 * long history at a lower resolution with a bounded amount of memory.
+	 *
+	 * @param archives the archives to keep, ordered from the finest to the coarsest resolution.
+	 */
+	public void setArchives(List<Archive> archives) {
+		int count = archives == null ? 0 : archives.size();
+		this.archives = count == 0 ? null : archives.toArray(new Archive[count]);
+		archiveTables = new DataTable[count];
+		pendingIntervals = new long[count];
+		pendingCounts = new int[count];
+		pendingSums = new double[count][columns.length];
+		for (int i = 0; i < count; i++)
+			archiveTables[i] = new DataTable(this.archives[i].maxEntries, columns);
+	}
+
+	/**
+	 * Returns the maximum number of rows this table keeps.
+	 *
+	 * @return the maximum number of rows this table keeps.
+	 */
+	public int getMaxEntries() {
+		return maxEntries;
+	}
+
+	/**
+	 * Changes the maximum number of rows this table keeps.
+	 * <p/>
+	 * When reduced below the current size, the oldest rows are removed and the storage is shrunk to the remaining
+	 * rows, releasing the memory. Sequence numbers are kept, thus views and downsamplers stay attached to the
+	 * remaining rows.
+	 *
+	 * @param maxEntries the maximum number of rows to keep.
+	 */
+	public void setMaxEntries(int maxEntries) {
+		if (maxEntries < 0)
+			throw new IllegalArgumentException("The max entries must not be negative, was " + maxEntries);
+		this.maxEntries = maxEntries;
+		if (timeStamps.length <= maxEntries)
+			return;
+
+		// Removing the oldest rows that exceed the new limit.
+		for (; size > maxEntries; size--) {
+			long sequence = nextSequence - size;
+			for (int i = 0; i < columns.length; i++) {
+				sums[i] -= values[i][first];
+				minimums[i].evict(sequence);
+				maximums[i].evict(sequence);
+			}
+			first = toBufferIndex(1);
+		}
+
+		allocate(size);
+		for (int i = 0; i < columns.length; i++) {
+			minimums[i].trimToSize();
+			maximums[i].trimToSize();
+		}
+	}
+
+	/**
+	 * Returns an estimate of the heap in bytes that is used by the rows, aggregates and archives of this table.
+	 * <p/>
+	 * The estimate includes allocated but unused capacity, the columns that may be shared with other tables
+	 * are not included.
+	 *
+	 * @return an estimate of the heap in bytes that is used by this table.
+	 */
+	public long getMemoryUsage() {
+		long bytes = OBJECT_OVERHEAD + ARRAY_OVERHEAD * (3L + columns.length) +
+				timeStamps.length * 8L * (1 + columns.length) + sums.length * 8L;
+		for (int i = 0; i < minimums.length; i++)
+			bytes += minimums[i].getMemoryUsage() + maximums[i].getMemoryUsage();
+		if (archiveTables != null) {
+			for (DataTable archive : archiveTables)
+				bytes += archive.getMemoryUsage();
+		}
+		return bytes;
+	}
+
+	/**
+	 * Returns the consolidated archives of this table.
+	 *
+	 * @return the archive tables, ordered from the finest to the coarsest resolution.
+	 */
+	public List<DataTable> getArchives() {
+		return archiveTables == null ? Collections.<DataTable>emptyList() : Arrays.asList(archiveTables);
+	}
+
+	/**
+	 * Returns the table with the finest resolution that contains the history of the given time range.
+	 * <p/>
+	 * This is either this table or one of its archives. When no table covers the time range,
+	 * the archive with the coarsest resolution is returned.
+	 *
+	 * @param timeRange the time range in MS to get the history for, 0 to use this table.
+	 * @return the table with the finest resolution that contains the history of the given time range.
+	 */
+	public DataTable getHistory(long timeRange) {
+		if (timeRange <= 0 || archives == null || covers(timeRange))
+			return this;
+
+		for (DataTable archiveTable : archiveTables) {
+			if (archiveTable.covers(timeRange))
+				return archiveTable;
+		}
+
+		return archiveTables[archiveTables.length - 1];
+	}
+
+	/**
+	 * Returns true if no rows of the given time range were dropped from this table.
+	 */
+	private boolean covers(long timeRange) {
+		return size < maxEntries || getMaxTimestamp() - getMinTimestamp() >= timeRange;
+	}
+
+	/**
+	 * Rolls the given row into all archives, adding a combined row once an interval was completed.
+	 */
+	private void addToArchives(long timeStamp, double[] rowValues) {
+		for (int a = 0; a < archives.length; a++) {
+			long interval = timeStamp / archives[a].interval;
+			double[] sums = pendingSums[a];
+
+			if (pendingCounts[a] > 0 && interval > pendingIntervals[a]) {
+				for (int i = 0; i < sums.length; i++)
+					sums[i] = columns[i].dataFlavour.combine(sums[i], pendingCounts[a]);
+				archiveTables[a].add(pendingIntervals[a] * archives[a].interval, sums);
+
+				Arrays.fill(sums, 0D);
+				pendingCounts[a] = 0;
+			}
+
+			if (pendingCounts[a]++ == 0)
+				pendingIntervals[a] = interval;
+			for (int i = 0; i < sums.length; i++)
+				sums[i] += rowValues[i];
+		}
 	}
 
 	/**
@@ -191,11 +573,37 @@ public class DataTable extends AbstractCollection<DataTable.Row> implements Seri
 	 * @return An array containing a copy of the row values.
 	 */
 	public double[] getColumnValues(Column column) {
-		int i = 0;
-		double[] values = new double[size()];
-		for (Row row : rows)
-			values[i++] = row.values[column.index];
-		return values;
+		double[] columnValues = new double[size];
+		copyTo(values[column.index], 0, size, columnValues);
+		return columnValues;
+	}
+
+	/**
+	 * Returns the timestamp of the specified row.
+	 *
+	 * @param rowIndex the index of the row (0 = oldest row).
+	 * @return the timestamp of the specified row.
+	 */
+	public long getTimeStamp(int rowIndex) {
+		checkRowIndex(rowIndex);
+		return timeStamps[toBufferIndex(rowIndex)];
+	}
+
+	/**
+	 * Returns the value of the specified row and column.
+	 *
+	 * @param rowIndex	the index of the row (0 = oldest row).
+	 * @param columnIndex the index of the column.
+	 * @return the value of the specified row and column.
+	 */
+	public double getValue(int rowIndex, int columnIndex) {
+		checkRowIndex(rowIndex);
+		return values[columnIndex][toBufferIndex(rowIndex)];
+	}
+
+	private void checkRowIndex(int rowIndex) {
+		if (rowIndex < 0 || rowIndex >= size)
+			throw new IndexOutOfBoundsException("Row index: " + rowIndex + ", Size: " + size);
 	}
 
 	/**
@@ -204,7 +612,7 @@ public class DataTable extends AbstractCollection<DataTable.Row> implements Seri
 	 * @return the minimum timestamp in this data table.
 	 */
 	public long getMinTimestamp() {
-		return rows.isEmpty() ? -1 : rows.getFirst().getTimeStamp();
+		return size() == 0 ? -1 : getTimeStamp(0);
 	}
 
 	/**
@@ -213,65 +621,133 @@ public class DataTable extends AbstractCollection<DataTable.Row> implements Seri
 	 * @return the maximum timestamp in this data table.
 	 */
 	public long getMaxTimestamp() {
-		return rows.isEmpty() ? -1 : rows.getLast().getTimeStamp();
+		return size() == 0 ? -1 : getTimeStamp(size() - 1);
 	}
 
 	/**
 	 * Returns the minmum value in this data table.
+	 * <p/>
+	 * Note: The value is answered from aggregates that are maintained while rows are added (O(columns)).
 	 *
 	 * @param includeColumn A boolean array specifying whether a corresponding column shall be included or not.
 	 *                      (defaults to 'true')
 	 * @return the minmum value in this data table or Double.MAX_VALUE if the table is empty.
 	 */
 	public double getMinValue(boolean... includeColumn) {
+		if (size() == 0)
+			return 0D;
+
 		double v = Double.MAX_VALUE;
-		for (Row row : rows) {
-			for (int i = 0; i < row.values.length; i++) {
-				if (i >= includeColumn.length || includeColumn[i]) {
-					double value = row.values[i];
-					if (value < v)
-						v = value;
-				}
-			}
+		for (int i = 0; i < columns.length; i++) {
+			if (i >= includeColumn.length || includeColumn[i])
+				v = Math.min(v, getMinValue(columns[i]));
 		}
-		return rows.isEmpty() ? 0D : v;
+		return v;
 	}
 
 	/**
 	 * Returns the maximum value in this data table.
+	 * <p/>
+	 * Note: The value is answered from aggregates that are maintained while rows are added (O(columns)).
 	 *
 	 * @param includeColumn A boolean array specifying whether a corresponding column shall be included or not.
 	 *                      (defaults to 'true')
 	 * @return the maximum value in this data table or Long.MIN_VALUE if the table is empty.
 	 */
 	public double getMaxValue(boolean... includeColumn) {
+		if (size() == 0)
+			return 0D;
+
 		double v = Long.MIN_VALUE;
-		for (Row row : rows) {
-			for (int i = 0; i < row.values.length; i++) {
-				if (i >= includeColumn.length || includeColumn[i]) {
-					double value = row.values[i];
-					if (value > v)
-						v = value;
-				}
-			}
+		for (int i = 0; i < columns.length; i++) {
+			if (i >= includeColumn.length || includeColumn[i])
+				v = Math.max(v, getMaxValue(columns[i]));
 		}
-		return rows.isEmpty() ? 0D : v;
+		return v;
+	}
+
+	/**
+	 * Returns the minimum value of the specified column.
+	 *
+	 * @param column the column to get the value for.
+	 * @return the minimum value of the specified column or 0 if the table is empty.
+	 */
+	public double getMinValue(Column column) {
+		return size == 0 ? 0D : minimums[column.index].getValue();
+	}
+
+	/**
+	 * Returns the maximum value of the specified column.
+	 *
+	 * @param column the column to get the value for.
+	 * @return the maximum value of the specified column or 0 if the table is empty.
+	 */
+	public double getMaxValue(Column column) {
+		return size == 0 ? 0D : maximums[column.index].getValue();
 	}
 
 	/**
-	 * Returns a new DataTable that contains only elements of the specified time range.
+	 * Returns the sum of all values of the specified column.
+	 *
+	 * @param column the column to get the value for.
+	 * @return the sum of all values of the specified column.
+	 */
+	public double getSum(Column column) {
+		return size == 0 ? 0D : sums[column.index];
+	}
+
+	/**
+	 * Returns the average of all values of the specified column.
+	 *
+	 * @param column the column to get the value for.
+	 * @return the average of all values of the specified column or 0 if the table is empty.
+	 */
+	public double getAverage(Column column) {
+		int size = size();
+		return size == 0 ? 0D : getSum(column) / size;
+	}
+
+	/**
+	 * Returns a view on all rows of the specified time range.
+	 * <p/>
+	 * The rows are located using a binary search on the timestamps (which are expected to be added in
+	 * ascending order) and the view reads them from the storage of this table without copying. The view
+	 * is fixed to the matching rows, rows that are overwritten in this table disappear from the view.
+	 * The view cannot be modified.
 	 *
 	 * @param startTime The start time (inclusive)
 	 * @param endTime   The end time (inclusive)
-	 * @return A new instance of data table sharing the matching rows and columns.
+	 * @return A view on the matching rows sharing storage and columns with this table.
 	 */
 	public DataTable createRange(long startTime, long endTime) {
-		DataTable range = new DataTable(maxEntries, columns);
-		for (Row row : rows) {
-			if (row.timeStamp >= startTime || row.timeStamp <= endTime)
-				range.rows.add(row);
+		long firstSequence = getNextSequence() - size();
+		return new RangeView(getStorage(),
+				firstSequence + findFirstRow(startTime, false), firstSequence + findFirstRow(endTime, true));
+	}
+
+	/**
+	 * Returns the index of the first row having a timestamp greater than (or equal to) the given timestamp.
+	 */
+	private int findFirstRow(long timeStamp, boolean exclusive) {
+		int low = 0, high = size();
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			long value = getTimeStamp(middle);
+			if (value < timeStamp || (exclusive && value == timeStamp))
+				low = middle + 1;
+			else
+				high = middle;
 		}
-		return range;
+		return low;
+	}
+
+	/**
+	 * Returns the table that stores the rows of this table.
+	 *
+	 * @return the table that stores the rows of this table.
+	 */
+	DataTable getStorage() {
+		return this;
 	}
 
 	/**
@@ -282,43 +758,78 @@ public class DataTable extends AbstractCollection<DataTable.Row> implements Seri
 	 * @return A new instance of data table having the given size.
 	 * @param	newSize	The new size of the resulting data table.
 	 */
-	@SuppressWarnings("unchecked")
 	public DataTable shrinkToSize(int newSize) {
-		if (newSize >= rows.size())
+		int size = size();
+		if (newSize >= size)
 			return this;
 
 		DataTable shrinked = new DataTable(newSize, columns);
-		int combineCount = Math.max(1, (int) Math.ceil((double) rows.size() / (double) newSize));
-		List<Row> rowPackage = new ArrayList<Row>(combineCount);
-		for (Row row : rows) {
-			rowPackage.add(row);
-			if (rowPackage.size() == combineCount) {
-				shrinked.rows.add(newCombinedRow(rowPackage));
-				rowPackage.clear();
+		shrinked.allocate(newSize);
+
+		// Working on a linear copy of every column to combine the values in ranges.
+		int combineCount = Math.max(1, (int) Math.ceil((double) size / (double) newSize));
+		int rows = (size + combineCount - 1) / combineCount;
+		double[] columnValues;
+		double[][] combinedValues = new double[columns.length][rows];
+		for (int i = 0; i < columns.length; i++) {
+			columnValues = getColumnValues(columns[i]);
+			for (int offset = 0, r = 0; offset < size; offset += combineCount, r++) {
+				combinedValues[i][r] = columns[i].dataFlavour.combine(
+						columnValues, offset, Math.min(combineCount, size - offset));
 			}
 		}
-		if (!rowPackage.isEmpty())
-			shrinked.rows.add(newCombinedRow(rowPackage));
-		return shrinked;
-	}
 
-	private Row newCombinedRow(List<Row> rows) {
-		if (rows == null || rows.isEmpty())
-			return null;
-		double[] values = new double[columns.length];
-		for (int i = 0; i < values.length; i++) {
-			Column c = columns[i];
-			values[i] = c.dataFlavour.combine(rows, c);
+		double[] rowValues = new double[columns.length];
+		for (int r = 0; r < rows; r++) {
+			for (int i = 0; i < columns.length; i++)
+				rowValues[i] = combinedValues[i][r];
+			shrinked.add(getTimeStamp(r * combineCount), rowValues);
 		}
-		return new Row(rows.get(0).getTimeStamp(), values);
+
+		return shrinked;
 	}
 
 	/**
 	 * {@inheritDoc}
+	 * <p/>
+	 * Note: The returned rows are copies of the table content.
 	 */
 	@Override
 	public Iterator<Row> iterator() {
-		return rows.iterator();
+		return new Iterator<Row>() {
+			int rowIndex;
+
+			public boolean hasNext() {
+				return rowIndex < size();
+			}
+
+			public Row next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+
+				double[] rowValues = new double[columns.length];
+				for (int i = 0; i < rowValues.length; i++)
+					rowValues[i] = getValue(rowIndex, i);
+
+				return new Row(getTimeStamp(rowIndex++), rowValues);
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 * Returns the sequence number that is assigned to the next added row.
+	 * <p/>
+	 * Rows are numbered continuously, the oldest row has the sequence number
+	 * <code>getNextSequence() - size()</code>.
+	 *
+	 * @return the sequence number that is assigned to the next added row.
+	 */
+	public long getNextSequence() {
+		return nextSequence;
 	}
 
 	/**
@@ -326,7 +837,27 @@ public class DataTable extends AbstractCollection<DataTable.Row> implements Seri
 	 */
 	@Override
 	public int size() {
-		return rows.size();
+		return size;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void clear() {
+		first = size = 0;
+		for (int i = 0; i < columns.length; i++) {
+			sums[i] = 0D;
+			minimums[i].clear();
+			maximums[i].clear();
+		}
+		if (archives != null) {
+			for (int a = 0; a < archives.length; a++) {
+				archiveTables[a].clear();
+				Arrays.fill(pendingSums[a], 0D);
+				pendingCounts[a] = 0;
+			}
+		}
 	}
 
 	/**
@@ -341,6 +872,8 @@ public class DataTable extends AbstractCollection<DataTable.Row> implements Seri
 
 	/**
 	 * Adds a new row to the end of this data table.
+	 * <p/>
+	 * Note: The row values are copied into the table, the given array is not retained.
 	 *
 	 * @param timeStamp The timestamp of the local system time in MS when the row was sampled.
 	 * @param rowValues The row values to add.
@@ -349,8 +882,170 @@ public class DataTable extends AbstractCollection<DataTable.Row> implements Seri
 	public boolean add(long timeStamp, double... rowValues) {
 		if (rowValues == null || rowValues.length != columns.length)
 			throw new IllegalArgumentException("Row values may not be empty and must match the column count.");
-		while (rows.size() >= maxEntries)
-			rows.removeFirst();
-		return rows.add(new Row(timeStamp, rowValues));
+		if (maxEntries <= 0)
+			return false;
+
+		if (size == timeStamps.length) {
+			if (size < maxEntries)
+				allocate(Math.min(maxEntries, Math.max(INITIAL_CAPACITY, size * 2)));
+			else {
+				// Overwriting the oldest row.
+				long sequence = nextSequence - size;
+				for (int i = 0; i < columns.length; i++) {
+					sums[i] -= values[i][first];
+					minimums[i].evict(sequence);
+					maximums[i].evict(sequence);
+				}
+
+				first = toBufferIndex(1);
+				size--;
+			}
+		}
+
+		int index = toBufferIndex(size++);
+		long sequence = nextSequence++;
+		timeStamps[index] = timeStamp;
+		for (int i = 0; i < rowValues.length; i++) {
+			double value = rowValues[i];
+			values[i][index] = value;
+			sums[i] += value;
+			minimums[i].add(sequence, value);
+			maximums[i].add(sequence, value);
+		}
+
+		if (archives != null)
+			addToArchives(timeStamp, rowValues);
+
+		return true;
+	}
+
+	/**
+	 * Implements a read-only view on a range of rows of a data table.
+	 * <p/>
+	 * The range is defined by row sequence numbers, thus it stays attached to the same rows
+	 * while the storage table receives new rows. Aggregates are calculated on demand.
+	 */
+	private static final class RangeView extends DataTable {
+
+		private static final long serialVersionUID = 5520913345046120562L;
+
+		private final DataTable storage;
+		private final long startSequence, endSequence;
+
+		private RangeView(DataTable storage, long startSequence, long endSequence) {
+			super(storage.columns);
+			this.storage = storage;
+			this.startSequence = startSequence;
+			this.endSequence = endSequence;
+		}
+
+		private long getStorageFirstSequence() {
+			return storage.nextSequence - storage.size;
+		}
+
+		private long getFirstSequence() {
+			return Math.max(startSequence, getStorageFirstSequence());
+		}
+
+		/**
+		 * Converts the row index of this view to the row index inside the storage.
+		 */
+		private int toStorageRowIndex(int rowIndex) {
+			if (rowIndex < 0 || rowIndex >= size())
+				throw new IndexOutOfBoundsException("Row index: " + rowIndex + ", Size: " + size());
+			return (int) (getFirstSequence() - getStorageFirstSequence()) + rowIndex;
+		}
+
+		@Override
+		DataTable getStorage() {
+			return storage;
+		}
+
+		@Override
+		public long getNextSequence() {
+			return getFirstSequence() + size();
+		}
+
+		@Override
+		public int size() {
+			return (int) Math.max(0, Math.min(endSequence, storage.nextSequence) - getFirstSequence());
+		}
+
+		@Override
+		public long getTimeStamp(int rowIndex) {
+			return storage.getTimeStamp(toStorageRowIndex(rowIndex));
+		}
+
+		@Override
+		public double getValue(int rowIndex, int columnIndex) {
+			return storage.getValue(toStorageRowIndex(rowIndex), columnIndex);
+		}
+
+		@Override
+		public double[] getColumnValues(Column column) {
+			int size = size();
+			double[] columnValues = new double[size];
+			if (size > 0)
+				storage.copyTo(storage.values[column.index], toStorageRowIndex(0), size, columnValues);
+			return columnValues;
+		}
+
+		@Override
+		public double getMinValue(Column column) {
+			double v = 0D;
+			double[] columnValues = storage.values[column.index];
+			for (int r = 0, size = size(); r < size; r++) {
+				double value = columnValues[storage.toBufferIndex(toStorageRowIndex(r))];
+				if (r == 0 || value < v)
+					v = value;
+			}
+			return v;
+		}
+
+		@Override
+		public double getMaxValue(Column column) {
+			double v = 0D;
+			double[] columnValues = storage.values[column.index];
+			for (int r = 0, size = size(); r < size; r++) {
+				double value = columnValues[storage.toBufferIndex(toStorageRowIndex(r))];
+				if (r == 0 || value > v)
+					v = value;
+			}
+			return v;
+		}
+
+		@Override
+		public double getSum(Column column) {
+			double v = 0D;
+			double[] columnValues = storage.values[column.index];
+			for (int r = 0, size = size(); r < size; r++)
+				v += columnValues[storage.toBufferIndex(toStorageRowIndex(r))];
+			return v;
+		}
+
+		@Override
+		public void setArchives(List<Archive> archives) {
+			throw new UnsupportedOperationException("Range views cannot be modified.");
+		}
+
+		@Override
+		public void clear() {
+			throw new UnsupportedOperationException("Range views cannot be modified.");
+		}
+
+		@Override
+		public void setMaxEntries(int maxEntries) {
+			throw new UnsupportedOperationException("Range views cannot be modified.");
+		}
+
+		@Override
+		public long getMemoryUsage() {
+			return OBJECT_OVERHEAD;
+		}
+
+		@Override
+		public boolean add(long timeStamp, double... rowValues) {
+			throw new UnsupportedOperationException("Range views cannot be modified.");
+		}
 	}
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.util;
+
+import java.util.List;
+
+/**
+ * Downsamples a data table to a fixed amount of rows by combining ranges of rows into buckets.
+ * <p/>
+ * In contrast to {@link DataTable#shrinkToSize(int)} the buckets are kept between calls and only rows
+ * that were added since the last call are combined. Buckets are aligned to the sequence numbers of the
+ * source rows, thus they remain stable while rows are appended and evicted. The buckets are rebuilt when
+ * the source table, the requested size or the amount of rows per bucket changes.
+ *
+ * @version 1.0
+ */
+public class DataTableDownsampler {
+
+	private DataTable source;
+	private int newSize, rowsPerBucket;
+
+	private DataTable buckets, downsampled;
+	private long processedSequence, downsampledSequence = -1;
+
+	// The bucket that is currently being filled.
+	private double[] pendingSums;
+	private long pendingTimeStamp;
+	private int pendingCount;
+
+	/**
+	 * Returns the given table downsampled to the given size.
+	 *
+	 * @param table   the table to downsample.
+	 * @param newSize the maximum amount of rows of the resulting data table.
+	 * @return the downsampled table or the given table if it is not larger than the requested size.
+	 *         The returned table must not be modified.
+	 */
+	public synchronized DataTable downsample(DataTable table, int newSize) {
+		int size = table.size();
+		if (size <= newSize) {
+			source = null;
+			return table;
+		}
+
+		long sourceEnd = table.getNextSequence(), sourceStart = sourceEnd - size;
+		int requiredRowsPerBucket = (size + newSize - 1) / newSize;
+
+		if (table != source || newSize != this.newSize || requiredRowsPerBucket != rowsPerBucket ||
+				processedSequence > sourceEnd || processedSequence < sourceStart) {
+			rebuild(table, newSize, requiredRowsPerBucket, sourceStart);
+		} else if (sourceEnd == downsampledSequence)
+			return downsampled;
+
+		List<DataTable.Column> columns = table.getColumns();
+		for (long sequence = processedSequence; sequence < sourceEnd; sequence++) {
+			int rowIndex = (int) (sequence - sourceStart);
+			if (pendingCount == 0)
+				pendingTimeStamp = table.getTimeStamp(rowIndex);
+			for (int i = 0; i < pendingSums.length; i++)
+				pendingSums[i] += table.getValue(rowIndex, i);
+
+			if (++pendingCount == rowsPerBucket) {
+				for (int i = 0; i < pendingSums.length; i++)
+					pendingSums[i] = columns.get(i).getDataFlavour().combine(pendingSums[i], pendingCount);
+				buckets.add(pendingTimeStamp, pendingSums);
+				resetPendingBucket();
+			}
+		}
+		processedSequence = sourceEnd;
+
+		downsampled = createDownsampledTable(sourceStart);
+		downsampledSequence = sourceEnd;
+
+		return downsampled;
+	}
+
+	private void rebuild(DataTable table, int newSize, int rowsPerBucket, long sourceStart) {
+		this.source = table;
+		this.newSize = newSize;
+		this.rowsPerBucket = rowsPerBucket;
+
+		List<DataTable.Column> columns = table.getColumns();
+		buckets = new DataTable(newSize + 1, columns.toArray(new DataTable.Column[columns.size()]));
+		pendingSums = new double[columns.size()];
+		resetPendingBucket();
+
+		// Starting with the first bucket that is completely contained in the source.
+		processedSequence = ((sourceStart + rowsPerBucket - 1) / rowsPerBucket) * rowsPerBucket;
+		downsampledSequence = -1;
+	}
+
+	private void resetPendingBucket() {
+		for (int i = 0; i < pendingSums.length; i++)
+			pendingSums[i] = 0D;
+		pendingCount = 0;
+	}
+
+	/**
+	 * Creates the resulting table from all buckets that are still contained in the source and the pending bucket.
+	 */
+	private DataTable createDownsampledTable(long sourceStart) {
+		List<DataTable.Column> columns = source.getColumns();
+		DataTable.Column[] columnArray = columns.toArray(new DataTable.Column[columns.size()]);
+		DataTable table = new DataTable(newSize, columnArray);
+
+		int bucketCount = buckets.size();
+		long firstBucketSequence = processedSequence - pendingCount - (long) bucketCount * rowsPerBucket;
+		int firstBucket = (int) Math.max(0, (sourceStart - firstBucketSequence + rowsPerBucket - 1) / rowsPerBucket);
+		firstBucket = Math.max(firstBucket, bucketCount + (pendingCount > 0 ? 1 : 0) - newSize);
+
+		double[] rowValues = new double[columnArray.length];
+		for (int r = firstBucket; r < bucketCount; r++) {
+			for (int i = 0; i < rowValues.length; i++)
+				rowValues[i] = buckets.getValue(r, i);
+			table.add(buckets.getTimeStamp(r), rowValues);
+		}
+
+		if (pendingCount > 0) {
+			for (int i = 0; i < rowValues.length; i++)
+				rowValues[i] = columnArray[i].getDataFlavour().combine(pendingSums[i], pendingCount);
+			table.add(pendingTimeStamp, rowValues);
+		}
+
+		return table;
+	}
+}
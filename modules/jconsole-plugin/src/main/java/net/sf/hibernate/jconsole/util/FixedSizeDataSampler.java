@@ -6,7 +6,7 @@ package net.sf.hibernate.jconsole.util;
  * @author Juergen_Kellerer, 2009-11-23
  * @version 1.0
  */
-public class FixedSizeDataSampler<E extends Number> extends DataSampler<E> {
+public class FixedSizeDataSampler extends DataSampler {
 
 	private static final long serialVersionUID = 4470690846499493108L;
 
@@ -18,7 +18,7 @@ public class FixedSizeDataSampler<E extends Number> extends DataSampler<E> {
 	 * @param maxSamples the amount of samples to collect.
 	 */
 	public FixedSizeDataSampler(int maxSamples) {
-		super();
+		super(maxSamples);
 		this.maxSamples = maxSamples;
 	}
 
@@ -26,17 +26,7 @@ public class FixedSizeDataSampler<E extends Number> extends DataSampler<E> {
 	 * {@inheritDoc}
 	 */
 	@Override
-	public boolean add(E e) {
-		while (size() >= maxSamples)
-			removeFirst();
-		return super.add(e);
-	}
-
-	/**
-	 * {@inheritDoc}
-	 */
-	@Override
-	public void addLast(E e) {
-		add(e);
+	protected boolean isFirstExpired(int size, long firstTimeStamp, long timeStamp) {
+		return size >= maxSamples;
 	}
 }
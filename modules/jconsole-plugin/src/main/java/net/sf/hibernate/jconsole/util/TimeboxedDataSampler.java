@@ -19,20 +19,18 @@
 
 package net.sf.hibernate.jconsole.util;
 
-import java.util.IdentityHashMap;
-import java.util.Map;
-
 /**
  * Extends data sampler with timeboxing support.
  *
  * @author Juergen_Kellerer, 22.11.2009
  */
-public class TimeboxedDataSampler<E extends Number> extends DataSampler<E> {
+public class TimeboxedDataSampler extends DataSampler {
 
 	private static final long serialVersionUID = 3450387935184516437L;
 
+	private static final int INITIAL_CAPACITY = 16;
+
 	private long timeboxLength;
-	private Map<E, Long> timeStamps = new IdentityHashMap<E, Long>();
 
 	/**
 	 * Creates a new timeboxed data sampler.
@@ -40,121 +38,15 @@ public class TimeboxedDataSampler<E extends Number> extends DataSampler<E> {
 	 * @param timeboxLength The length of the timebox in ms.
 	 */
 	public TimeboxedDataSampler(long timeboxLength) {
-		super();
+		super(INITIAL_CAPACITY);
 		this.timeboxLength = timeboxLength;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
 	@Override
-	public boolean add(E e) {
-		long time = System.currentTimeMillis();
-
-		boolean removed;
-		do {
-			removed = false;
-			E first = isEmpty() ? null : getFirst();
-			Long firstTime = timeStamps.get(first);
-
-			if (firstTime != null && firstTime < time - timeboxLength) {
-				timeStamps.remove(first);
-				super.removeFirst();
-				removed = true;
-			}
-		} while (removed);
-
-		timeStamps.put(e, time);
-		return super.add(e);
-	}
-
-	@Override
-	public void clear() {
-		timeStamps.clear();
-		super.clear();
-	}
-
-	@Override
-	public void addLast(E e) {
-		add(e);
-	}
-
-	// Disable most standard functions.
-
-	@Override
-	public void addFirst(E e) {
-		throw new UnsupportedOperationException();
-	}
-
-	@Override
-	public void add(int index, E element) {
-		throw new UnsupportedOperationException();
-	}
-
-	@Override
-	public void push(E e) {
-		throw new UnsupportedOperationException();
-	}
-
-	@Override
-	public boolean offerLast(E e) {
-		throw new UnsupportedOperationException();
-	}
-
-	@Override
-	public boolean offerFirst(E e) {
-		throw new UnsupportedOperationException();
-	}
-
-	@Override
-	public boolean offer(E e) {
-		throw new UnsupportedOperationException();
-	}
-
-	@Override
-	public E removeFirst() {
-		throw new UnsupportedOperationException();
-	}
-
-	@Override
-	public E removeLast() {
-		throw new UnsupportedOperationException();
-	}
-
-	@Override
-	public boolean remove(Object o) {
-		throw new UnsupportedOperationException();
-	}
-
-	@Override
-	public E set(int index, E element) {
-		throw new UnsupportedOperationException();
-	}
-
-	@Override
-	public E remove(int index) {
-		throw new UnsupportedOperationException();
-	}
-
-	@Override
-	public E poll() {
-		throw new UnsupportedOperationException();
-	}
-
-	@Override
-	public E remove() {
-		throw new UnsupportedOperationException();
-	}
-
-	@Override
-	public E pop() {
-		throw new UnsupportedOperationException();
-	}
-
-	@Override
-	public boolean removeFirstOccurrence(Object o) {
-		throw new UnsupportedOperationException();
-	}
-
-	@Override
-	public boolean removeLastOccurrence(Object o) {
-		throw new UnsupportedOperationException();
+	protected boolean isFirstExpired(int size, long firstTimeStamp, long timeStamp) {
+		return firstTimeStamp < timeStamp - timeboxLength;
 	}
 }
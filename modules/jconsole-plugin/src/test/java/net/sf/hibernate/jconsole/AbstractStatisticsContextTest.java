@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole;
+
+import net.sf.hibernate.jconsole.stats.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.*;
+
+import static net.sf.hibernate.jconsole.stats.Names.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests how refreshes apply fetched statistics to the context.
+ *
+ * @version 1.0
+ */
+public class AbstractStatisticsContextTest {
+
+	/**
+	 * Implements a context whose statistics return the same configurable count for every counter of a key.
+	 */
+	public static class CountingContext extends AbstractStatisticsContext {
+
+		private static final long serialVersionUID = 1L;
+
+		final Map<String, Long> counts = new HashMap<String, Long>();
+		final Map<Names, Object> attributes = new HashMap<Names, Object>();
+
+		{
+			for (Names name : Names.getAttributes(Kind.counter))
+				attributes.put(name, 0L);
+			for (Names name : Names.getAttributes(Kind.constant))
+				attributes.put(name, 0L);
+			for (Names name : Names.getAttributes(Kind.keyList))
+				attributes.put(name, new String[0]);
+		}
+
+		public void setKeys(Names keyList, String... keys) {
+			attributes.put(keyList, keys);
+		}
+
+		private <T> T statisticsOf(Class<T> type, final String name) {
+			return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class[]{type}, new InvocationHandler() {
+				public Object invoke(Object proxy, Method method, Object[] args) {
+					Class<?> returnType = method.getReturnType();
+					Long count = counts.get(name);
+					if (returnType == long.class)
+						return count == null ? 0L : count;
+					if (returnType == double.class)
+						return 0D;
+					return null;
+				}
+			}));
+		}
+
+		@Override
+		protected Object getEntityStatisticsFor(String name) throws Exception {
+			return statisticsOf(EntityStatistics.class, name);
+		}
+
+		@Override
+		protected Object getCollectionStatisticsFor(String name) throws Exception {
+			return statisticsOf(CollectionStatistics.class, name);
+		}
+
+		@Override
+		protected Object getQueryStatisticsFor(String name) throws Exception {
+			return statisticsOf(QueryStatistics.class, name);
+		}
+
+		@Override
+		protected Object getCacheStatisticsFor(String cacheRegion) throws Exception {
+			return statisticsOf(SecondLevelCacheStatistics.class, cacheRegion);
+		}
+
+		@Override
+		protected Map<Names, Object> getAttributes(List<Names> attributeNames) throws Exception {
+			Map<Names, Object> values = new HashMap<Names, Object>();
+			for (Names name : attributeNames)
+				values.put(name, attributes.get(name));
+			return values;
+		}
+
+		@Override
+		protected boolean isEnabled() {
+			return true;
+		}
+	}
+
+	CountingContext context = new CountingContext();
+
+	@Before
+	public void setUp() throws Exception {
+		context.setConnection(ManagementFactory.getPlatformMBeanServer());
+	}
+
+	@Test
+	public void testKeysRemovedFromKeyListsAreRemoved() throws Exception {
+		context.setKeys(EntityNames, "a", "b");
+		context.setKeys(Queries, "q");
+		context.refresh();
+		assertEquals(new HashSet<String>(Arrays.asList("a", "b")), context.getEntityStatistics().keySet());
+		assertTrue(context.getEntityStatisticsTables().containsKey("b"));
+		assertTrue(context.getQueryStatisticsTables().containsKey("q"));
+
+		context.setKeys(EntityNames, "a");
+		context.setKeys(Queries);
+		context.refresh();
+		assertEquals(Collections.singleton("a"), context.getEntityStatistics().keySet());
+		assertEquals(Collections.singleton("a"), context.getEntityStatisticsTables().keySet());
+		assertTrue(context.getQueryStatistics().isEmpty());
+		assertTrue(context.getQueryStatisticsTables().isEmpty());
+	}
+
+	@Test
+	public void testRowsAreRecordedAtTheHistoryResolution() throws Exception {
+		context.refresh();
+		context.refresh();
+		assertEquals(2, context.getRefreshCount());
+		assertEquals("Expected one row within the history resolution", 1, context.getStatisticsTable().size());
+
+		context.setHistoryResolution(0);
+		context.refresh();
+		assertEquals("Expected a row per refresh without resolution", 2, context.getStatisticsTable().size());
+	}
+
+	@Test
+	public void testEvictedHistoriesAreOnlyCreatedAgainWhenChanged() throws Exception {
+		Map<String, Object> fetched = Collections.<String, Object>singletonMap("a",
+				context.statisticsOf(EntityStatistics.class, "a"));
+		context.counts.put("a", 1L);
+		context.getHistoryMemoryGovernor().setBudget(0);
+
+		context.applyEntityStatistics(fetched);
+		context.governHistories();
+		assertTrue(context.getEntityStatisticsTables().isEmpty());
+		assertTrue("Expected evicted keys to remain listed", context.getEntityStatistics().containsKey("a"));
+
+		context.applyEntityStatistics(fetched);
+		context.governHistories();
+		assertTrue(context.getEntityStatisticsTables().isEmpty());
+		assertTrue(context.getEntityStatistics().containsKey("a"));
+
+		context.counts.put("a", 2L);
+		context.applyEntityStatistics(fetched);
+		assertTrue(context.getEntityStatisticsTables().containsKey("a"));
+		assertTrue(context.getEntityStatistics().containsKey("a"));
+	}
+}
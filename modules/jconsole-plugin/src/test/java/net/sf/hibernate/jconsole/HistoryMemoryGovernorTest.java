@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole;
+
+import net.sf.hibernate.jconsole.stats.Names;
+import net.sf.hibernate.jconsole.util.DataTable;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static net.sf.hibernate.jconsole.AbstractStatisticsContext.HISTORY_LENGTH;
+import static net.sf.hibernate.jconsole.HistoryMemoryGovernor.COMPACT_LENGTH;
+import static net.sf.hibernate.jconsole.stats.Names.getEntityStatistics;
+import static net.sf.hibernate.jconsole.stats.Names.getQueryStatistics;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the memory budget of the histories of single keys.
+ *
+ * @version 1.0
+ */
+public class HistoryMemoryGovernorTest {
+
+	HistoryMemoryGovernor governor = new HistoryMemoryGovernor();
+	PollingPolicy policy = new PollingPolicy();
+
+	Map<String, DataTable> entities = new LinkedHashMap<String, DataTable>();
+	Map<String, DataTable> queries = new LinkedHashMap<String, DataTable>();
+	Map<Names, Map<String, DataTable>> tables = new EnumMap<Names, Map<String, DataTable>>(Names.class);
+
+	{
+		tables.put(getEntityStatistics, entities);
+		tables.put(getQueryStatistics, queries);
+	}
+
+	private static DataTable newTable(int rows, double value) {
+		DataTable table = new DataTable(HISTORY_LENGTH, new DataTable.Column("a", DataTable.DataFlavour.average));
+		for (int i = 0; i < rows; i++)
+			table.add(i, value);
+		return table;
+	}
+
+	@Test
+	public void testAccountsMemoryWithinBudget() {
+		entities.put("a", newTable(1000, 1));
+		queries.put("q", newTable(10, 1));
+		governor.govern(tables, policy, 1);
+
+		long usage = entities.get("a").getMemoryUsage() + queries.get("q").getMemoryUsage();
+		assertEquals(usage, governor.getMemoryUsage());
+		assertEquals(queries.get("q").getMemoryUsage(), governor.getMemoryUsage(getQueryStatistics, "q"));
+		assertEquals(0, governor.getCompactionCount());
+		assertEquals(1000, entities.get("a").size());
+	}
+
+	@Test
+	public void testCompactsLeastRecentlyUsedFirst() {
+		entities.put("idle", newTable(1000, 0));
+		entities.put("active", newTable(1000, 0));
+		governor.govern(tables, policy, 1);
+
+		entities.get("active").add(1000, 5);
+		governor.setBudget(governor.getMemoryUsage() - 1);
+		governor.govern(tables, policy, 2);
+
+		assertTrue(governor.isCompacted(getEntityStatistics, "idle"));
+		assertFalse(governor.isCompacted(getEntityStatistics, "active"));
+		assertEquals(COMPACT_LENGTH, entities.get("idle").size());
+		assertTrue(governor.getMemoryUsage() <= governor.getBudget());
+	}
+
+	@Test
+	public void testEvictsWhenCompactingIsNotSufficient() {
+		for (int i = 0; i < 10; i++)
+			entities.put("e" + i, newTable(1000, i));
+		policy.setFocusedKeys(getEntityStatistics, Arrays.asList("e0"));
+		governor.setBudget(0);
+		governor.govern(tables, policy, 1);
+
+		assertEquals(1, entities.size());
+		assertTrue(entities.containsKey("e0"));
+		assertEquals(9, governor.getEvictionCount());
+		assertEquals(entities.get("e0").getMemoryUsage(), governor.getMemoryUsage());
+	}
+
+	@Test
+	public void testRestoresCompactedHistoriesInFocus() {
+		entities.put("a", newTable(1000, 1));
+		governor.govern(tables, policy, 1);
+		governor.setBudget(governor.getMemoryUsage() - 1);
+		governor.govern(tables, policy, 2);
+		assertEquals(COMPACT_LENGTH, entities.get("a").getMaxEntries());
+
+		policy.setFocusedKeys(getEntityStatistics, Arrays.asList("a"));
+		governor.govern(tables, policy, 3);
+		assertEquals(HISTORY_LENGTH, entities.get("a").getMaxEntries());
+		assertFalse(governor.isCompacted(getEntityStatistics, "a"));
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static net.sf.hibernate.jconsole.PollingPolicy.DETAIL_INTERVAL;
+import static net.sf.hibernate.jconsole.PollingPolicy.TAIL_INTERVAL;
+import static net.sf.hibernate.jconsole.stats.Names.getEntityStatistics;
+import static net.sf.hibernate.jconsole.stats.Names.getQueryStatistics;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the tiered polling of statistics.
+ *
+ * @version 1.0
+ */
+public class PollingPolicyTest {
+
+	PollingPolicy policy = new PollingPolicy();
+
+	@Test
+	public void testUnknownKeysAreDue() {
+		assertTrue(policy.isDue(getEntityStatistics, "a", 0));
+		policy.polled(getEntityStatistics, "a", 0);
+		assertFalse(policy.isDue(getEntityStatistics, "a", 1));
+		assertTrue(policy.isDue(getQueryStatistics, "a", 1));
+	}
+
+	@Test
+	public void testRemovedKeysAreForgotten() {
+		policy.polled(getEntityStatistics, "a", 0);
+		policy.polled(getEntityStatistics, "b", 0);
+		policy.retainKeys(getEntityStatistics, Arrays.asList("a"));
+
+		assertFalse(policy.isDue(getEntityStatistics, "a", 1));
+		assertTrue(policy.isDue(getEntityStatistics, "b", 1));
+	}
+
+	@Test
+	public void testFocusedKeysArePolledMoreOften() {
+		policy.setFocusedKeys(getEntityStatistics, Arrays.asList("focused"));
+		policy.polled(getEntityStatistics, "focused", 0);
+		policy.polled(getEntityStatistics, "tail", 0);
+
+		assertTrue(policy.isDue(getEntityStatistics, "focused", DETAIL_INTERVAL));
+		assertFalse(policy.isDue(getEntityStatistics, "tail", DETAIL_INTERVAL));
+		assertTrue(policy.isDue(getEntityStatistics, "tail", TAIL_INTERVAL));
+
+		policy.setFocusedKeys(getEntityStatistics, Arrays.<String>asList());
+		assertFalse(policy.isDue(getEntityStatistics, "focused", DETAIL_INTERVAL));
+		assertTrue(policy.getFocusedKeys(getEntityStatistics).isEmpty());
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole;
+
+import net.sf.hibernate.jconsole.RefreshDiagnostics.Phase;
+import net.sf.hibernate.jconsole.util.DataTable;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the self-instrumentation of the refresh cycle.
+ *
+ * @version 1.0
+ */
+public class RefreshDiagnosticsTest {
+
+	RefreshDiagnostics diagnostics = new RefreshDiagnostics();
+
+	@Test
+	public void testRecordsPhases() {
+		diagnostics.record(Phase.queries, 2000000, 1024);
+		diagnostics.record(Phase.queries, 4000000, 3072);
+		diagnostics.record(Phase.apply, 1000000, 0);
+
+		Map<String, RefreshDiagnostics.PhaseStatistics> statistics = diagnostics.getPhaseStatistics();
+		assertEquals(2, statistics.size());
+		assertFalse(statistics.containsKey(Phase.refresh.getLabel()));
+
+		RefreshDiagnostics.PhaseStatistics queries = statistics.get(Phase.queries.getLabel());
+		assertEquals(2, queries.getCount());
+		assertEquals(4D, queries.getLastTime(), 0D);
+		assertEquals(3D, queries.getAverageTime(), 0D);
+		assertEquals(4D, queries.getMaxTime(), 0D);
+		assertEquals(3072, queries.getLastAllocatedBytes());
+		assertEquals(2048, queries.getAverageAllocatedBytes());
+
+		assertEquals(2, diagnostics.getCounts()[Phase.queries.ordinal()]);
+		assertEquals(Phase.queries.getLabel(), diagnostics.getPhases()[Phase.queries.ordinal()]);
+		assertTrue(diagnostics.getReport().contains(Phase.apply.getLabel()));
+	}
+
+	@Test
+	public void testUncountedAllocations() {
+		diagnostics.record(Phase.charts, 1000000, 512);
+		diagnostics.record(Phase.charts, 1000000, -1);
+		assertEquals(-1, diagnostics.getPhaseStatistics().get(Phase.charts.getLabel()).getAverageAllocatedBytes());
+	}
+
+	@Test
+	public void testTicksAddHistory() {
+		diagnostics.record(Phase.entities, 1000000, 0);
+		diagnostics.record(Phase.entities, 2000000, 0);
+		diagnostics.completeTick();
+		diagnostics.completeTick();
+
+		DataTable history = diagnostics.getHistory();
+		assertEquals(Phase.values().length, history.getColumns().size());
+		assertEquals(2, history.size());
+		assertEquals(3D, history.getValue(0, Phase.entities.ordinal()), 0D);
+		assertEquals(0D, history.getValue(1, Phase.entities.ordinal()), 0D);
+
+		diagnostics.reset();
+		assertEquals(0, history.size());
+		assertTrue(diagnostics.getPhaseStatistics().isEmpty());
+	}
+
+	@Test
+	public void testTimedTasks() throws Exception {
+		Callable<String> task = diagnostics.timed(Phase.samples, new Callable<String>() {
+			public String call() throws Exception {
+				return "result";
+			}
+		});
+		assertEquals("result", task.call());
+		assertEquals(1, diagnostics.getCounts()[Phase.samples.ordinal()]);
+
+		RefreshDiagnostics.Timer timer = diagnostics.start(Phase.publish);
+		timer.stop();
+		assertEquals(1, diagnostics.getCounts()[Phase.publish.ordinal()]);
+		long bytes = diagnostics.getLastAllocatedBytes()[Phase.publish.ordinal()];
+		assertEquals(diagnostics.isAllocationCounting(), bytes >= 0);
+	}
+}
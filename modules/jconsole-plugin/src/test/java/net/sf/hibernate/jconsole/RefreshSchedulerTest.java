@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole;
+
+import org.junit.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static net.sf.hibernate.jconsole.RefreshScheduler.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the adaptive scheduling of refreshes.
+ *
+ * @version 1.0
+ */
+public class RefreshSchedulerTest {
+
+	final AtomicInteger calls = new AtomicInteger();
+	RefreshScheduler scheduler = new RefreshScheduler(new Callable<Object>() {
+		public Object call() throws Exception {
+			calls.incrementAndGet();
+			return null;
+		}
+	});
+
+	@Test
+	public void testFastRefreshesUseTheMinimumInterval() throws Exception {
+		assertTrue(scheduler.refreshNow());
+		assertEquals(1, calls.get());
+		assertEquals(1, scheduler.getRefreshCount());
+		assertEquals(MIN_INTERVAL, scheduler.getInterval());
+	}
+
+	@Test
+	public void testSlowRefreshesExtendTheInterval() throws Exception {
+		long duration = MIN_INTERVAL * BUDGET_PERCENT / 100 * 4;
+		for (int i = 0; i < 50; i++)
+			scheduler.adjustInterval(duration);
+		assertEquals(duration, scheduler.getAverageDuration());
+		assertEquals(Math.min(MAX_INTERVAL, duration * 100 / BUDGET_PERCENT), scheduler.getInterval());
+
+		for (int i = 0; i < 50; i++)
+			scheduler.adjustInterval(MAX_INTERVAL * 10);
+		assertEquals(MAX_INTERVAL, scheduler.getInterval());
+
+		for (int i = 0; i < 50; i++)
+			scheduler.adjustInterval(0);
+		assertEquals(MIN_INTERVAL, scheduler.getInterval());
+	}
+
+	@Test
+	public void testFailuresBackOff() throws Exception {
+		scheduler = new RefreshScheduler(new Callable<Object>() {
+			public Object call() throws Exception {
+				throw new IllegalStateException();
+			}
+		});
+
+		try {
+			scheduler.refreshNow();
+			fail("Expected the failure to be rethrown.");
+		} catch (IllegalStateException expected) {
+			assertEquals(Math.min(MAX_INTERVAL, MIN_INTERVAL * 2), scheduler.getInterval());
+		}
+	}
+
+	@Test
+	public void testNothingToRefreshBacksOff() throws Exception {
+		scheduler = new RefreshScheduler(new Callable<Object>() {
+			public Object call() throws Exception {
+				return Boolean.FALSE;
+			}
+		});
+
+		assertTrue(scheduler.refreshNow());
+		assertEquals(Math.min(MAX_INTERVAL, MIN_INTERVAL * 2), scheduler.getInterval());
+		assertTrue(scheduler.refreshNow());
+		assertEquals(Math.min(MAX_INTERVAL, MIN_INTERVAL * 4), scheduler.getInterval());
+	}
+
+	@Test
+	public void testOverlappingRefreshesAreSkipped() throws Exception {
+		final CountDownLatch entered = new CountDownLatch(1), release = new CountDownLatch(1);
+		scheduler = new RefreshScheduler(new Callable<Object>() {
+			public Object call() throws Exception {
+				entered.countDown();
+				release.await();
+				return null;
+			}
+		});
+
+		Thread thread = new Thread(new Runnable() {
+			public void run() {
+				try {
+					scheduler.refreshNow();
+				} catch (Exception e) {
+					throw new RuntimeException(e);
+				}
+			}
+		});
+		thread.start();
+		assertTrue(entered.await(10, TimeUnit.SECONDS));
+
+		assertFalse(scheduler.refreshNow());
+		assertEquals(1, scheduler.getSkippedCount());
+
+		release.countDown();
+		thread.join();
+		assertEquals(1, scheduler.getRefreshCount());
+	}
+
+	@Test
+	public void testStartedSchedulerRefreshesRepeatedly() throws Exception {
+		scheduler.start();
+		try {
+			assertTrue(scheduler.isStarted());
+			long timeout = System.currentTimeMillis() + MIN_INTERVAL * 20;
+			while (calls.get() < 2 && System.currentTimeMillis() < timeout)
+				Thread.sleep(10);
+			assertTrue(calls.get() >= 2);
+		} finally {
+			scheduler.stop();
+		}
+		assertFalse(scheduler.isStarted());
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.stats;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the bucket layout and percentiles of LatencyHistogram.
+ *
+ * @version 1.0
+ */
+public class LatencyHistogramTest {
+
+	@Test
+	public void testBucketsKeepRelativeError() {
+		for (long value = 0; value < 100000; value++) {
+			int bucket = LatencyHistogram.getBucket(value);
+			long highestValue = LatencyHistogram.getHighestValue(bucket);
+			assertTrue(highestValue >= value);
+			assertTrue(bucket == 0 || LatencyHistogram.getHighestValue(bucket - 1) < value);
+			assertTrue((highestValue - value) * LatencyHistogram.SUB_BUCKETS <= value);
+		}
+		assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.getBucket(Long.MAX_VALUE));
+		assertEquals(0, LatencyHistogram.getBucket(-1));
+	}
+
+	@Test
+	public void testPercentiles() {
+		long[] counts = new long[LatencyHistogram.BUCKET_COUNT];
+		for (int value = 1; value <= 100; value++)
+			counts[LatencyHistogram.getBucket(value)]++;
+		LatencyHistogram histogram = new LatencyHistogram(counts);
+
+		assertEquals(100, histogram.getTotalCount());
+		assertEquals(5, histogram.getValueAtPercentile(5));
+		assertEquals(51, histogram.getValueAtPercentile(50));
+		assertEquals(103, histogram.getValueAtPercentile(99));
+		assertEquals(0, LatencyHistogram.EMPTY.getValueAtPercentile(99));
+		assertEquals(LatencyHistogram.getBucket(100) + 1, histogram.getCounts().length);
+	}
+
+	@Test
+	public void testSinceReturnsNewValuesOnly() {
+		long[] counts = new long[LatencyHistogram.getBucket(1000) + 1];
+		counts[LatencyHistogram.getBucket(2)] = 10;
+		LatencyHistogram earlier = new LatencyHistogram(counts.clone());
+
+		counts[LatencyHistogram.getBucket(1000)] = 1;
+		LatencyHistogram interval = new LatencyHistogram(counts).since(earlier);
+		assertEquals(1, interval.getTotalCount());
+		assertEquals(LatencyHistogram.getHighestValue(LatencyHistogram.getBucket(1000)),
+				interval.getValueAtPercentile(50));
+	}
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.hibernate.jconsole.stats;
+
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static net.sf.hibernate.jconsole.AbstractStatisticsContext.HISTORY_LENGTH;
+import static net.sf.hibernate.jconsole.stats.PrimaryStatisticsTable.SAMPLES_HISTORY_SPAN;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests that PrimaryStatisticsTable sizes its history by time when recording counter samples.
+ *
+ * @version 1.0
+ */
+public class PrimaryStatisticsTableTest {
+
+	PrimaryStatisticsTable table = new PrimaryStatisticsTable();
+
+	private static StatisticsSamples samplesEvery(long interval, int count) {
+		long[] timeStamps = new long[count];
+		for (int i = 0; i < count; i++)
+			timeStamps[i] = 1000000L + i * interval;
+		return new StatisticsSamples(count, timeStamps, Collections.<Names, long[]>emptyMap());
+	}
+
+	@Test
+	public void testHistoryCoversTimeSpanAtSampleInterval() {
+		table.adjustMaxEntriesToSamples(samplesEvery(100, 10));
+		assertEquals(Math.min(SAMPLES_HISTORY_SPAN / 100, HISTORY_LENGTH * 20L), table.getMaxEntries());
+	}
+
+	@Test
+	public void testHistoryIsNotShrunk() {
+		table.adjustMaxEntriesToSamples(samplesEvery(100, 10));
+		int maxEntries = table.getMaxEntries();
+
+		table.adjustMaxEntriesToSamples(samplesEvery(SAMPLES_HISTORY_SPAN, 10));
+		assertEquals(maxEntries, table.getMaxEntries());
+	}
+
+	@Test
+	public void testHistoryIsLimited() {
+		table.adjustMaxEntriesToSamples(samplesEvery(1, 10));
+		assertEquals(Math.min(SAMPLES_HISTORY_SPAN, HISTORY_LENGTH * 20L), table.getMaxEntries());
+	}
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.stats;
+
+import org.junit.Test;
+
+import javax.management.openmbean.TabularData;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the open data encoding of statistics.
+ *
+ * @version 1.0
+ */
+public class StatisticsOpenTypesTest {
+
+	@Test
+	public void testRoundTripKeepsValues() throws Exception {
+		Map<String, Object> statistics = new LinkedHashMap<String, Object>();
+		statistics.put("from A", new StatisticsRecordTest.QueryDelegate());
+
+		TabularData table = StatisticsOpenTypes.toTabularData(QueryStatistics.class, statistics);
+		assertEquals(StatisticsOpenTypes.getTableType(QueryStatistics.class), table.getTabularType());
+		assertEquals(1, table.size());
+
+		Map<String, QueryStatistics> decoded = StatisticsOpenTypes.fromTabularData(QueryStatistics.class, table);
+		QueryStatistics record = decoded.get("from A");
+		assertTrue(record instanceof QueryStatisticsRecord);
+		assertEquals(10, record.getExecutionCount());
+		assertEquals(4, record.getExecutionAvgTime());
+		assertEquals(0, record.getCachePutCount());
+	}
+
+	@Test
+	public void testCategoriesMapToInterfaces() {
+		assertSame(EntityStatistics.class, StatisticsOpenTypes.getStatisticsInterface(Names.getEntityStatistics));
+		assertSame(SecondLevelCacheStatistics.class,
+				StatisticsOpenTypes.getStatisticsInterface(Names.getSecondLevelCacheStatistics));
+		assertTrue(StatisticsOpenTypes.getChangesType().containsKey(Names.getQueryStatistics.name()));
+		assertTrue(StatisticsOpenTypes.getChangesType().containsKey(StatisticsOpenTypes.VERSION_ITEM));
+	}
+}
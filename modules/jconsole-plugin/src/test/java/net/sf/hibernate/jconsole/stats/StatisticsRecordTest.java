@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.stats;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the immutable statistics snapshots.
+ *
+ * @version 1.0
+ */
+public class StatisticsRecordTest {
+
+	public static class QueryDelegate {
+		long executionCount = 10;
+
+		public long getExecutionCount() {
+			return executionCount;
+		}
+
+		public long getCacheHitCount() {
+			return 10;
+		}
+
+		public long getExecutionAvgTime() {
+			return 4;
+		}
+	}
+
+	@Test
+	public void testSnapshotCopiesValuesOnce() {
+		QueryDelegate delegate = new QueryDelegate();
+		QueryStatistics live = StraightNameMappingProxy.newInstance(QueryStatistics.class, delegate, 0L);
+		QueryStatisticsRecord record = QueryStatisticsRecord.of(live);
+
+		delegate.executionCount = 20;
+		assertEquals(20, live.getExecutionCount());
+		assertEquals(10, record.getExecutionCount());
+		assertEquals(10, record.getCacheHitCount());
+		assertEquals(0, record.getCachePutCount());
+		assertSame(record, QueryStatisticsRecord.of(record));
+	}
+
+	@Test
+	public void testDerivedValuesMatchStatisticsUtil() {
+		QueryStatistics live = StraightNameMappingProxy.newInstance(QueryStatistics.class, new QueryDelegate(), 0L);
+		QueryStatisticsRecord record = new QueryStatisticsRecord(live);
+
+		assertEquals(40, record.getTotalAverageTime(), 0);
+		assertEquals(2, record.getQueryPerformance(), 0);
+		assertEquals(StatisticsUtil.toTotalAverageTime(live), StatisticsUtil.toTotalAverageTime(record), 0);
+		assertEquals(StatisticsUtil.toQueryPerformance(live), StatisticsUtil.toQueryPerformance(record), 0);
+	}
+
+	@Test
+	public void testScaledMultipliesCountersOnly() {
+		QueryStatistics live = StraightNameMappingProxy.newInstance(QueryStatistics.class, new QueryDelegate(), 0L);
+		QueryStatisticsRecord record = new QueryStatisticsRecord(live);
+		QueryStatisticsRecord scaled = record.scaled(5);
+
+		assertSame(record, record.scaled(1));
+		assertEquals(50, scaled.getExecutionCount());
+		assertEquals(50, scaled.getCacheHitCount());
+		assertEquals(4, scaled.getExecutionAvgTime());
+		assertEquals(200, scaled.getTotalAverageTime(), 0);
+		assertEquals(record.getQueryPerformance(), scaled.getQueryPerformance(), 0);
+	}
+}
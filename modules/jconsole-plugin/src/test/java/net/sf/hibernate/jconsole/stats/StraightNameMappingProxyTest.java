@@ -21,7 +21,9 @@ package net.sf.hibernate.jconsole.stats;
 
 import org.junit.Test;
 
-import static org.junit.Assert.assertEquals;
+import java.lang.reflect.Proxy;
+
+import static org.junit.Assert.*;
 
 /**
  * Simple test for StraightNameMappingProxy.
@@ -45,6 +47,39 @@ public class StraightNameMappingProxyTest {
 		}
 	}
 
+	public static class PublicTestDelegate {
+
+		public long getLoadCount() {
+			return 1;
+		}
+
+		public long getFetchCount() {
+			throw new NullPointerException();
+		}
+
+		public int getRecreateCount() {
+			return 1;
+		}
+	}
+
+	@Test
+	public void testGeneratedAccessorKeepsProxySemantics() {
+		CollectionStatistics statistics = StraightNameMappingProxy.
+				newInstance(CollectionStatistics.class, new PublicTestDelegate(), 2L);
+		CollectionStatistics proxy = StraightNameMappingProxy.
+				newReflectiveInstance(CollectionStatistics.class, new PublicTestDelegate(), 2L);
+
+		assertFalse(Proxy.isProxyClass(statistics.getClass()));
+		assertTrue(Proxy.isProxyClass(proxy.getClass()));
+
+		for (CollectionStatistics s : new CollectionStatistics[]{statistics, proxy}) {
+			assertEquals(1, s.getLoadCount());
+			assertEquals(2, s.getFetchCount());
+			assertEquals(2, s.getRecreateCount());
+			assertEquals(2, s.getRemoveCount());
+		}
+	}
+
 	@Test
 	public void testCanMapByMethodName() {
 		CollectionStatistics statistics = StraightNameMappingProxy.
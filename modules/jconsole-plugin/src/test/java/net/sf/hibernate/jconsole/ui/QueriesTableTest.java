@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.hibernate.jconsole.ui;
+
+import net.sf.hibernate.jconsole.AbstractStatisticsContextTest.CountingContext;
+import org.junit.Test;
+
+import javax.swing.*;
+import java.lang.management.ManagementFactory;
+
+import static net.sf.hibernate.jconsole.stats.Names.Queries;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests refreshing the queries table.
+ *
+ * @version 1.0
+ */
+public class QueriesTableTest {
+
+	@Test
+	public void testRefreshesQueriesWithoutLatencyHistograms() throws Exception {
+		CountingContext context = new CountingContext();
+		context.setConnection(ManagementFactory.getPlatformMBeanServer());
+		context.setKeys(Queries, "from A");
+		context.refresh();
+
+		QueriesTable table = new QueriesTable();
+		new JScrollPane(table);
+		table.refresh(context);
+		table.refresh(context);
+
+		assertEquals(1, table.getModel().getRowCount());
+		assertNull(table.getModel().getValueAt(0, table.getModel().getColumnCount() - 1));
+	}
+}
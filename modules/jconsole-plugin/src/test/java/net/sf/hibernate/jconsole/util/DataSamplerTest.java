@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the fixed size and timeboxed data samplers.
+ *
+ * @version 1.0
+ */
+public class DataSamplerTest {
+
+	@Test
+	public void testFixedSizeSamplerKeepsLastSamples() {
+		DataSampler sampler = new FixedSizeDataSampler(2);
+		for (long i = 1; i <= 5; i++)
+			sampler.add(i, i * i);
+
+		assertEquals(2, sampler.size());
+		assertEquals(16, sampler.getFirst());
+		assertEquals(25, sampler.getLast());
+		assertEquals(9, sampler.getDifference(), 0);
+		assertEquals(41, sampler.getSum(), 0);
+		assertEquals(20.5, sampler.getAverage(), 0);
+	}
+
+	@Test
+	public void testDifferencePerSecondIsIndependentOfSampleSpacing() {
+		DataSampler sampler = new FixedSizeDataSampler(2);
+		assertEquals(0, sampler.getDifferencePerSecond(), 0);
+		sampler.add(1000, 10);
+		assertEquals(0, sampler.getDifferencePerSecond(), 0);
+
+		sampler.add(1500, 20);
+		assertEquals(20, sampler.getDifferencePerSecond(), 0);
+		sampler.add(5500, 100);
+		assertEquals(20, sampler.getDifferencePerSecond(), 0);
+	}
+
+	@Test
+	public void testTimeboxedSamplerRemovesExpiredSamples() {
+		DataSampler sampler = new TimeboxedDataSampler(100);
+		for (long time = 0; time <= 1000; time += 10)
+			sampler.add(time, 1);
+
+		assertEquals(11, sampler.size());
+		assertEquals(900, sampler.getFirstTimeStamp());
+		assertEquals(1000, sampler.getLastTimeStamp());
+		assertEquals(11, sampler.getSum(), 0);
+	}
+
+	@Test
+	public void testTimeboxedSamplerAcceptsEqualValues() {
+		DataSampler sampler = new TimeboxedDataSampler(1000);
+		for (int i = 0; i < 100; i++)
+			sampler.add(i, 5);
+
+		assertEquals(100, sampler.size());
+		assertEquals(500, sampler.getSum(), 0);
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.util;
+
+import net.sf.hibernate.jconsole.util.DataTable.Column;
+import net.sf.hibernate.jconsole.util.DataTable.DataFlavour;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the incremental downsampling of data tables.
+ *
+ * @version 1.0
+ */
+public class DataTableDownsamplerTest {
+
+	DataTable table = new DataTable(100,
+			new Column("a", DataFlavour.absolute), new Column("b", DataFlavour.average));
+	DataTableDownsampler downsampler = new DataTableDownsampler();
+
+	@Test
+	public void testSmallTablesAreReturnedUnchanged() {
+		for (int i = 0; i < 10; i++)
+			table.add(i, i, i);
+		assertSame(table, downsampler.downsample(table, 10));
+	}
+
+	@Test
+	public void testBucketsAreAlignedAndUpdatedIncrementally() {
+		for (int i = 0; i < 1000; i++) {
+			table.add(i, 1, i);
+			if (table.size() <= 10)
+				continue;
+
+			DataTable downsampled = downsampler.downsample(table, 10);
+			assertTrue(downsampled.size() <= 10);
+			assertSame(downsampled, downsampler.downsample(table, 10));
+
+			int rowsPerBucket = (table.size() + 9) / 10;
+			long last = downsampled.getMaxTimestamp();
+			for (int r = 0; r < downsampled.size(); r++) {
+				long start = downsampled.getTimeStamp(r);
+				long end = Math.min(start + rowsPerBucket, i + 1);
+				assertTrue(start >= table.getMinTimestamp());
+				assertEquals(0, start % rowsPerBucket);
+				assertEquals(end - start, downsampled.getValue(r, 0), 0);
+				assertEquals((start + end - 1) / 2D, downsampled.getValue(r, 1), 1e-9);
+			}
+			assertEquals(i / rowsPerBucket * rowsPerBucket, last);
+		}
+	}
+
+	@Test
+	public void testRebuildsWhenSizeChanges() {
+		for (int i = 0; i < 100; i++)
+			table.add(i, 1, i);
+
+		assertEquals(10, downsampler.downsample(table, 10).size());
+		DataTable downsampled = downsampler.downsample(table, 20);
+		assertEquals(20, downsampled.size());
+		assertEquals(5, downsampled.getValue(0, 0), 0);
+	}
+}
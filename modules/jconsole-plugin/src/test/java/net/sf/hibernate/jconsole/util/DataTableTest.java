@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2026
+ *
+ * This file is part of HibernateJConsole.
+ *
+ *     HibernateJConsole is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     HibernateJConsole is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with HibernateJConsole.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package net.sf.hibernate.jconsole.util;
+
+import net.sf.hibernate.jconsole.util.DataTable.Column;
+import net.sf.hibernate.jconsole.util.DataTable.DataFlavour;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the circular storage of DataTable.
+ *
+ * @version 1.0
+ */
+public class DataTableTest {
+
+	DataTable table = new DataTable(100,
+			new Column("a", DataFlavour.absolute), new Column("b", DataFlavour.average));
+
+	private void fill(DataTable table, int rows) {
+		for (int i = 0; i < rows; i++)
+			table.add(i, i, i * 10);
+	}
+
+	@Test
+	public void testAddGrowsUpToMaxEntries() {
+		fill(table, 50);
+		assertEquals(50, table.size());
+		assertEquals(0, table.getMinTimestamp());
+		assertEquals(49, table.getMaxTimestamp());
+	}
+
+	@Test
+	public void testAddOverwritesOldestRows() {
+		fill(table, 250);
+		assertEquals(100, table.size());
+		assertEquals(150, table.getMinTimestamp());
+		assertEquals(249, table.getMaxTimestamp());
+
+		double[] values = table.getColumnValues(table.getColumn("a"));
+		assertEquals(100, values.length);
+		for (int i = 0; i < values.length; i++)
+			assertEquals(150 + i, values[i], 0);
+	}
+
+	@Test
+	public void testIteratorReturnsRowsInOrder() {
+		fill(table, 130);
+		int expected = 30;
+		for (Iterator<DataTable.Row> i = table.iterator(); i.hasNext(); expected++) {
+			DataTable.Row row = i.next();
+			assertEquals(expected, row.getTimeStamp());
+			assertEquals(expected * 10, row.getValue(1), 0);
+		}
+		assertEquals(130, expected);
+	}
+
+	@Test
+	public void testMinAndMaxValues() {
+		fill(table, 120);
+		assertEquals(20, table.getMinValue(), 0);
+		assertEquals(1190, table.getMaxValue(), 0);
+		assertEquals(119, table.getMaxValue(true, false), 0);
+		assertEquals(0, new DataTable().getMaxValue(), 0);
+	}
+
+	@Test
+	public void testRunningAggregatesMatchScan() {
+		Random random = new Random(42);
+		Column a = table.getColumn("a"), b = table.getColumn("b");
+		for (int i = 0; i < 1000; i++) {
+			table.add(i, random.nextInt(500), random.nextGaussian());
+
+			double[] av = table.getColumnValues(a), bv = table.getColumnValues(b);
+			double minA = Double.MAX_VALUE, maxB = Long.MIN_VALUE, sumA = 0;
+			for (int r = 0; r < av.length; r++) {
+				minA = Math.min(minA, av[r]);
+				maxB = Math.max(maxB, bv[r]);
+				sumA += av[r];
+			}
+
+			assertEquals(minA, table.getMinValue(a), 0);
+			assertEquals(maxB, table.getMaxValue(b), 0);
+			assertEquals(maxB, table.getMaxValue(false, true), 0);
+			assertEquals(sumA, table.getSum(a), 1e-6);
+			assertEquals(sumA / av.length, table.getAverage(a), 1e-6);
+		}
+
+		table.clear();
+		assertEquals(0, table.getSum(a), 0);
+		table.add(0, 7, -1);
+		assertEquals(7, table.getMinValue(a), 0);
+		assertEquals(-1, table.getMaxValue(b), 0);
+	}
+
+	@Test
+	public void testShrinkCombinesByDataFlavour() {
+		fill(table, 10);
+		DataTable shrinked = table.shrinkToSize(5);
+		assertEquals(5, shrinked.size());
+		assertArrayEquals(new double[]{1, 5, 9, 13, 17}, shrinked.getColumnValues(shrinked.getColumn("a")), 0);
+		assertArrayEquals(new double[]{5, 25, 45, 65, 85}, shrinked.getColumnValues(shrinked.getColumn("b")), 0);
+		assertEquals(0, shrinked.getMinTimestamp());
+		assertEquals(8, shrinked.getMaxTimestamp());
+		assertSame(table, table.shrinkToSize(10));
+	}
+
+	@Test
+	public void testCreateRangeSelectsInclusiveTimeRange() {
+		fill(table, 150);
+		DataTable range = table.createRange(60, 69);
+		assertEquals(10, range.size());
+		assertEquals(60, range.getMinTimestamp());
+		assertEquals(69, range.getMaxTimestamp());
+		assertArrayEquals(new double[]{60, 61, 62, 63, 64, 65, 66, 67, 68, 69},
+				range.getColumnValues(range.getColumn("a")), 0);
+		assertEquals(60, range.getMinValue(), 0);
+		assertEquals(600, range.getMinValue(false, true), 0);
+		assertEquals(690, range.getMaxValue(false, true), 0);
+		assertEquals(645, range.getSum(range.getColumn("a")), 0);
+		assertEquals(64.5, range.getAverage(range.getColumn("a")), 0);
+
+		assertEquals(0, table.createRange(500, 600).size());
+		assertEquals(100, table.createRange(0, 500).size());
+		assertEquals(3, range.createRange(62, 64).size());
+		assertEquals(62, range.createRange(62, 64).getMinTimestamp());
+	}
+
+	@Test
+	public void testRangeViewsShareStorage() {
+		fill(table, 100);
+		DataTable range = table.createRange(10, 19);
+
+		// Rows overwritten in the storage disappear from the view.
+		for (int i = 100; i < 115; i++)
+			table.add(i, i, i * 10);
+		assertEquals(5, range.size());
+		assertEquals(15, range.getTimeStamp(0));
+		assertEquals(19, range.getValue(4, 0), 0);
+
+		DataTable shrinked = range.shrinkToSize(2);
+		assertArrayEquals(new double[]{15 + 16 + 17, 18 + 19}, shrinked.getColumnValues(shrinked.getColumn("a")), 0);
+
+		int rows = 0;
+		for (DataTable.Row row : range)
+			assertEquals(15 + rows++, row.getTimeStamp());
+		assertEquals(5, rows);
+
+		try {
+			range.add(200, 1, 1);
+			fail("Views must not be modifiable.");
+		} catch (UnsupportedOperationException expected) {
+			assertEquals(5, range.size());
+		}
+	}
+
+	@Test
+	public void testClear() {
+		fill(table, 10);
+		table.clear();
+		assertEquals(0, table.size());
+		assertEquals(-1, table.getMaxTimestamp());
+	}
+
+	@Test
+	public void testArchivesCombineCompletedIntervals() {
+		table.setArchives(Arrays.asList(new DataTable.Archive(10, 3), new DataTable.Archive(100, 3)));
+		fill(table, 35);
+
+		DataTable archive = table.getArchives().get(0);
+		assertEquals(3, archive.size());
+		assertEquals(0, archive.getMinTimestamp());
+		assertEquals(20, archive.getMaxTimestamp());
+		assertArrayEquals(new double[]{45, 145, 245}, archive.getColumnValues(archive.getColumn("a")), 0);
+		assertArrayEquals(new double[]{45, 145, 245}, archive.getColumnValues(archive.getColumn("b")), 0);
+		assertEquals(0, table.getArchives().get(1).size());
+
+		fill(table, 45);
+		assertEquals(3, archive.size());
+		assertEquals(10, archive.getMinTimestamp());
+		assertEquals(30, archive.getMaxTimestamp());
+
+		table.clear();
+		assertEquals(0, archive.size());
+	}
+
+	@Test
+	public void testHistorySelectsFinestCoveringTable() {
+		DataTable small = new DataTable(10, new Column("a", DataFlavour.average));
+		small.setArchives(Arrays.asList(new DataTable.Archive(10, 10), new DataTable.Archive(100, 10)));
+		for (int i = 0; i < 500; i++)
+			small.add(i, i);
+
+		assertSame(small, small.getHistory(0));
+		assertSame(small, small.getHistory(9));
+		assertSame(small.getArchives().get(0), small.getHistory(50));
+		assertSame(small.getArchives().get(1), small.getHistory(300));
+		assertSame(small.getArchives().get(1), small.getHistory(5000));
+		assertSame(table, table.getHistory(5000));
+	}
+
+	@Test
+	public void testReducingMaxEntriesKeepsNewestRows() {
+		fill(table, 150);
+		long usage = table.getMemoryUsage();
+		long nextSequence = table.getNextSequence();
+
+		table.setMaxEntries(10);
+		assertEquals(10, table.size());
+		assertEquals(140, table.getMinTimestamp());
+		assertEquals(nextSequence, table.getNextSequence());
+		assertEquals(140, table.getMinValue(table.getColumn("a")), 0);
+		assertEquals(1490, table.getMaxValue(table.getColumn("b")), 0);
+		assertEquals(1445, table.getSum(table.getColumn("a")), 0);
+		assertTrue(table.getMemoryUsage() < usage / 5);
+
+		fill(table, 5);
+		assertEquals(10, table.size());
+		assertEquals(4, table.getMaxTimestamp());
+
+		table.setMaxEntries(100);
+		fill(table, 50);
+		assertEquals(60, table.size());
+	}
+}